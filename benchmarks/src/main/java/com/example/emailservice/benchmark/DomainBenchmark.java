@@ -0,0 +1,50 @@
+package com.example.emailservice.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.emailservice.business.domain.dto.EmailRequestDTO;
+import com.example.emailservice.business.domain.model.Email;
+import com.example.emailservice.business.domain.service.EmailDomainService;
+
+/**
+ * Etapas de domínio do pipeline, sem Spring: validação da requisição, criação do Email e
+ * verificação de conteúdo
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class DomainBenchmark {
+
+    private final EmailDomainService emailDomainService = new EmailDomainService();
+
+    @Benchmark
+    public EmailRequestDTO validarRequisicao(EmailPayload payload) {
+        EmailRequestDTO requisicao = payload.novaRequisicao();
+        requisicao.validate();
+        return requisicao;
+    }
+
+    @Benchmark
+    public Email criarEmail(EmailPayload payload) {
+        return new Email("destinatario@email.com", payload.recipientName, "remetente@email.com",
+            payload.subject, payload.content);
+    }
+
+    @Benchmark
+    public boolean verificarConteudoApropriado(EmailPayload payload) {
+        return emailDomainService.verificarConteudoApropriado(payload.email);
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.emailservice.benchmark;
+
+import java.util.SplittableRandom;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.example.emailservice.business.domain.dto.EmailRequestDTO;
+import com.example.emailservice.business.domain.model.Email;
+
+/**
+ * Emails usados pelos benchmarks
+ * O conteúdo tem o tamanho informado em caracteres e é gerado com semente fixa, para que todas as execuções
+ * meçam o mesmo texto. Em UNICODE o texto mistura acentos, escrita CJK e emojis (pares substitutos), que
+ * desligam as Strings compactas (Latin-1) e exercitam a codificação UTF-8 na serialização.
+ */
+@State(Scope.Benchmark)
+public class EmailPayload {
+
+    private static final String[] PALAVRAS_ASCII = {
+        "pedido", "entrega", "confirmado", "cliente", "fatura", "prazo", "produto", "cadastro", "acesso", "conta"
+    };
+    private static final String[] PALAVRAS_UNICODE = {
+        "ação", "pré-venda", "coração", "Größe", "日本語", "配送", "😀", "🚚", "número", "Ελληνικά"
+    };
+
+    /**
+     * Tamanho do conteúdo em caracteres: notificação curta, email comum e newsletter
+     */
+    @Param({ "256", "4096", "65536" })
+    public int tamanhoConteudo;
+
+    @Param({ "ASCII", "UNICODE" })
+    public String alfabeto;
+
+    public String recipientName;
+    public String subject;
+    public String content;
+    public Email email;
+
+    @Setup(Level.Trial)
+    public void gerar() {
+        String[] palavras = "UNICODE".equals(alfabeto) ? PALAVRAS_UNICODE : PALAVRAS_ASCII;
+        SplittableRandom aleatorio = new SplittableRandom(42);
+
+        recipientName = "UNICODE".equals(alfabeto) ? "José Ñúñez 山田" : "Joao Silva";
+        subject = texto(palavras, aleatorio, 60);
+        content = texto(palavras, aleatorio, tamanhoConteudo);
+        email = new Email("destinatario@email.com", recipientName, "remetente@email.com", subject, content);
+    }
+
+    /**
+     * Requisição nova, com messageId ainda não gerado, como a recebida pelo controller
+     */
+    public EmailRequestDTO novaRequisicao() {
+        EmailRequestDTO requisicao = new EmailRequestDTO();
+        requisicao.setRecipientEmail("destinatario@email.com");
+        requisicao.setRecipientName(recipientName);
+        requisicao.setSenderEmail("remetente@email.com");
+        requisicao.setSubject(subject);
+        requisicao.setContent(content);
+        return requisicao;
+    }
+
+    private static String texto(String[] palavras, SplittableRandom aleatorio, int tamanho) {
+        StringBuilder texto = new StringBuilder(tamanho + 16);
+        while (texto.length() < tamanho) {
+            texto.append(palavras[aleatorio.nextInt(palavras.length)]).append(' ');
+        }
+        // não corta um par substituto ao meio
+        int fim = texto.length() > tamanho && Character.isLowSurrogate(texto.charAt(tamanho)) ? tamanho + 1 : tamanho;
+        return texto.substring(0, fim).strip();
+    }
+}
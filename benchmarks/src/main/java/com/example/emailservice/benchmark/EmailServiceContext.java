@@ -0,0 +1,48 @@
+package com.example.emailservice.benchmark;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.example.emailservice.EmailServiceRestApplication;
+
+/**
+ * Aplicação completa, iniciada uma vez por fork, para os benchmarks que usam os beans reais
+ * Sem servidor web e com logs da aplicação a partir de WARN. A impressão do email serializado
+ * (EmailIntegrationService.imprimirEmailSerializado) continua sendo escrita, mas vai para um
+ * stream descartado: o custo medido é o do pipeline, não o do terminal.
+ */
+@State(Scope.Benchmark)
+public class EmailServiceContext {
+
+    private ConfigurableApplicationContext contexto;
+    private PrintStream saidaOriginal;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        saidaOriginal = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        contexto = new SpringApplicationBuilder(EmailServiceRestApplication.class)
+            .web(WebApplicationType.NONE)
+            .properties("logging.level.com.example.emailservice=WARN", "spring.main.banner-mode=off")
+            .run();
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        contexto.close();
+        System.setOut(saidaOriginal);
+    }
+
+    public <T> T bean(Class<T> tipo) {
+        return contexto.getBean(tipo);
+    }
+}
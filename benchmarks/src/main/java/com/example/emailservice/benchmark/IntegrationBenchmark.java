@@ -0,0 +1,72 @@
+package com.example.emailservice.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.emailservice.infrastructure.util.JsonSerializer;
+import com.example.emailservice.integration.adapter.impl.AwsEmailAdapter;
+import com.example.emailservice.integration.adapter.impl.OciEmailAdapter;
+import com.example.emailservice.integration.dto.EmailAwsDTO;
+import com.example.emailservice.integration.dto.EmailOciDTO;
+
+/**
+ * Etapas de integração com os beans da aplicação: adaptação para cada provedor e serialização
+ * do DTO adaptado nas três formas oferecidas por JsonSerializer
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class IntegrationBenchmark {
+
+    private AwsEmailAdapter awsEmailAdapter;
+    private OciEmailAdapter ociEmailAdapter;
+    private JsonSerializer jsonSerializer;
+    private EmailAwsDTO emailAws;
+
+    @Setup(Level.Trial)
+    public void preparar(EmailServiceContext aplicacao, EmailPayload payload) {
+        awsEmailAdapter = aplicacao.bean(AwsEmailAdapter.class);
+        ociEmailAdapter = aplicacao.bean(OciEmailAdapter.class);
+        jsonSerializer = aplicacao.bean(JsonSerializer.class);
+        emailAws = awsEmailAdapter.adaptEmail(payload.email);
+    }
+
+    @Benchmark
+    public EmailAwsDTO adaptarAws(EmailPayload payload) {
+        return awsEmailAdapter.adaptEmail(payload.email);
+    }
+
+    @Benchmark
+    public EmailOciDTO adaptarOci(EmailPayload payload) {
+        return ociEmailAdapter.adaptEmail(payload.email);
+    }
+
+    @Benchmark
+    public String serializar() {
+        return jsonSerializer.serialize(emailAws);
+    }
+
+    @Benchmark
+    public String serializarCompacto() {
+        return jsonSerializer.serializeCompact(emailAws);
+    }
+
+    @Benchmark
+    public byte[] serializarEmBytes() {
+        return jsonSerializer.serializeToBytes(emailAws);
+    }
+}
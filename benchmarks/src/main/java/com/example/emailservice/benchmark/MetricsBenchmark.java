@@ -0,0 +1,47 @@
+package com.example.emailservice.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.emailservice.infrastructure.metrics.LatencyRecorder;
+import com.example.emailservice.infrastructure.metrics.PipelineEvent;
+import com.example.emailservice.infrastructure.metrics.PipelineMetrics;
+import com.example.emailservice.shared.enums.PipelineStage;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Instrumentação de cada etapa, sem Spring: medição no PipelineMetrics e evento JFR com a gravação desligada
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class MetricsBenchmark {
+
+    private final PipelineMetrics pipelineMetrics =
+        new PipelineMetrics(new SimpleMeterRegistry(), new LatencyRecorder(60), "aws");
+
+    @Benchmark
+    public void registrarEtapa() {
+        pipelineMetrics.registrar(PipelineStage.ADAPTACAO, "AWS", pipelineMetrics.iniciar(), true);
+    }
+
+    @Benchmark
+    public PipelineEvent eventoEtapa() {
+        PipelineEvent evento = PipelineEvent.iniciar(PipelineStage.ADAPTACAO);
+        evento.concluir("id", "AWS", 0, true);
+        return evento;
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.emailservice.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.emailservice.business.service.EmailProcessingService;
+
+/**
+ * Pipeline completo de EmailProcessingService.processarEmail com a configuração padrão da aplicação
+ * (provedor AWS sem endpoint HTTP: o email é adaptado, serializado e impresso, mas não sai da JVM),
+ * incluindo métricas, limitadores de concorrência e tracing
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Thread)
+public class PipelineBenchmark {
+
+    private EmailProcessingService emailProcessingService;
+
+    @Setup(Level.Trial)
+    public void preparar(EmailServiceContext aplicacao) {
+        emailProcessingService = aplicacao.bean(EmailProcessingService.class);
+    }
+
+    @Benchmark
+    public void processarEmail(EmailPayload payload) {
+        emailProcessingService.processarEmail(payload.novaRequisicao());
+    }
+}
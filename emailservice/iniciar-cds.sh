@@ -0,0 +1,11 @@
+#!/bin/sh
+# Inicia a aplicação com o arquivo CDS gerado por "mvn -Pcds package".
+# Opções da JVM em JAVA_OPTS; argumentos repassados à aplicação (ex.: --server.port=9090).
+CDS="$(cd "$(dirname "$0")" && pwd)/target/cds"
+
+if [ ! -f "$CDS/emailservice.jsa" ]; then
+    echo "Arquivo CDS não encontrado em $CDS; execute mvn -Pcds package." >&2
+    exit 1
+fi
+
+exec java -XX:SharedArchiveFile="$CDS/emailservice.jsa" $JAVA_OPTS -jar "$CDS/emailservice.jar" "$@"
@@ -0,0 +1,62 @@
+package com.example.emailservice.business.domain.dto;
+
+import com.example.emailservice.shared.enums.ValidationResult;
+
+/**
+ * DTO de um anexo informado na requisição
+ * O arquivo é indicado pelo caminho relativo ao diretório de anexos do servidor (mail.anexos.diretorio)
+ */
+public class EmailAttachmentDTO {
+    private String arquivo;
+    private String nome;
+    private String contentType;
+
+    public EmailAttachmentDTO() { }
+
+    public EmailAttachmentDTO(String arquivo, String nome, String contentType) {
+        this.arquivo = arquivo;
+        this.nome = nome;
+        this.contentType = contentType;
+    }
+
+    public String getArquivo() {
+        return arquivo;
+    }
+
+    public void setArquivo(String arquivo) {
+        this.arquivo = arquivo;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public void setNome(String nome) {
+        this.nome = nome;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public void validate() {
+        validar().lancarSeInvalido();
+    }
+
+    public ValidationResult validar() {
+        return arquivo == null || arquivo.isBlank() ? ValidationResult.ARQUIVO_ANEXO_OBRIGATORIO : ValidationResult.VALIDO;
+    }
+
+    @Override
+    public String toString() {
+        return "EmailAttachmentDTO{" +
+            "arquivo='" + arquivo + '\'' +
+            ", nome='" + nome + '\'' +
+            ", contentType='" + contentType + '\'' +
+            '}';
+    }
+}
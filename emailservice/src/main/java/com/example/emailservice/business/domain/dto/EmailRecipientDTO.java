@@ -0,0 +1,65 @@
+package com.example.emailservice.business.domain.dto;
+
+import com.example.emailservice.infrastructure.logging.LogMasking;
+import com.example.emailservice.shared.enums.ValidationResult;
+
+/**
+ * DTO de um destinatário das listas to, cc e bcc de EmailRequestDTO
+ * O nome é opcional; sem ele, o endereço é usado como nome
+ */
+public class EmailRecipientDTO {
+    private String recipientEmail;
+    private String recipientName;
+
+    public EmailRecipientDTO() { }
+
+    public EmailRecipientDTO(String recipientEmail, String recipientName) {
+        this.recipientEmail = recipientEmail;
+        this.recipientName = recipientName;
+    }
+
+    public String getRecipientEmail() {
+        return recipientEmail;
+    }
+
+    public void setRecipientEmail(String recipientEmail) {
+        this.recipientEmail = recipientEmail;
+    }
+
+    public String getRecipientName() {
+        return recipientName;
+    }
+
+    public void setRecipientName(String recipientName) {
+        this.recipientName = recipientName;
+    }
+
+    /**
+     * Nome a usar no email: o informado ou, na falta dele, o endereço
+     */
+    public String getNomeOuEndereco() {
+        return recipientName == null || recipientName.isBlank() ? recipientEmail : recipientName;
+    }
+
+    /**
+     * Valida o endereço sem lançar exceção
+     * @return VALIDO ou a falha encontrada
+     */
+    public ValidationResult validar() {
+        if (recipientEmail == null || recipientEmail.isBlank())
+            return ValidationResult.DESTINATARIO_OBRIGATORIO;
+
+        if (!ValidationResult.isEmailValido(recipientEmail))
+            return ValidationResult.DESTINATARIO_INVALIDO;
+
+        return ValidationResult.VALIDO;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder texto = new StringBuilder(64).append("EmailRecipientDTO{recipientEmail='");
+        LogMasking.anexarEmail(texto, recipientEmail);
+        LogMasking.anexarNome(texto.append("', recipientName='"), recipientName);
+        return texto.append("'}").toString();
+    }
+}
@@ -1,14 +1,34 @@
 package com.example.emailservice.business.domain.dto;
 
+import java.util.List;
+import java.util.Map;
+
+import com.example.emailservice.business.domain.model.Email;
+import com.example.emailservice.infrastructure.logging.LogMasking;
+import com.example.emailservice.shared.constants.EmailConstants;
+import com.example.emailservice.shared.enums.ValidationResult;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 /**
  * DTO para recebimento de dados na camada de apresentação
+ * Assunto e conteúdo podem ser enviados diretamente ou gerados a partir de um template
+ * (templateId e variaveis). Anexos são referenciados por arquivo, sem o conteúdo no corpo da requisição
+ * O destinatário é informado em recipientEmail e recipientName ou, para vários destinatários, nas listas
+ * to, cc e bcc; cada destinatário das listas recebe a sua cópia (EmailFanOutService)
  */
 public class EmailRequestDTO {
+    private String messageId;
     private String recipientEmail;
     private String recipientName;
     private String senderEmail;
     private String subject;
     private String content;
+    private String templateId;
+    private Map<String, String> variaveis;
+    private List<EmailAttachmentDTO> anexos;
+    private List<EmailRecipientDTO> to;
+    private List<EmailRecipientDTO> cc;
+    private List<EmailRecipientDTO> bcc;
 
     public EmailRequestDTO() { }
 
@@ -21,6 +41,18 @@ public class EmailRequestDTO {
         this.validate();
     }
 
+    /**
+     * Identificador do email, gerado no primeiro acesso e repassado à entidade de domínio
+     * Não é lido do corpo da requisição nem escrito na serialização do DTO
+     */
+    @JsonIgnore
+    public String getMessageId() {
+        if (messageId == null) {
+            messageId = Email.gerarMessageId();
+        }
+        return messageId;
+    }
+
     public String getRecipientEmail() {
         return recipientEmail;
     }
@@ -61,37 +93,173 @@ public class EmailRequestDTO {
         this.content = content;
     }
 
+    public String getTemplateId() {
+        return templateId;
+    }
+
+    public void setTemplateId(String templateId) {
+        this.templateId = templateId;
+    }
+
+    public Map<String, String> getVariaveis() {
+        return variaveis;
+    }
+
+    public void setVariaveis(Map<String, String> variaveis) {
+        this.variaveis = variaveis;
+    }
+
+    public List<EmailAttachmentDTO> getAnexos() {
+        return anexos;
+    }
+
+    public void setAnexos(List<EmailAttachmentDTO> anexos) {
+        this.anexos = anexos;
+    }
+
+    public List<EmailRecipientDTO> getTo() {
+        return to;
+    }
+
+    public void setTo(List<EmailRecipientDTO> to) {
+        this.to = to;
+    }
+
+    public List<EmailRecipientDTO> getCc() {
+        return cc;
+    }
+
+    public void setCc(List<EmailRecipientDTO> cc) {
+        this.cc = cc;
+    }
+
+    public List<EmailRecipientDTO> getBcc() {
+        return bcc;
+    }
+
+    public void setBcc(List<EmailRecipientDTO> bcc) {
+        this.bcc = bcc;
+    }
+
+    /**
+     * Indica se os destinatários vêm das listas to, cc e bcc em vez de recipientEmail
+     */
+    public boolean possuiDestinatarios() {
+        return tamanho(to) + tamanho(cc) + tamanho(bcc) > 0;
+    }
+
+    private static int tamanho(List<EmailRecipientDTO> lista) {
+        return lista == null ? 0 : lista.size();
+    }
+
+    /**
+     * Indica se a requisição possui anexos
+     */
+    public boolean possuiAnexos() {
+        return anexos != null && !anexos.isEmpty();
+    }
+
+    /**
+     * Indica se assunto e conteúdo devem ser gerados pelo template informado
+     */
+    public boolean possuiTemplate() {
+        return templateId != null && !templateId.isBlank();
+    }
+
     public void validate() {
-        if (recipientEmail == null || recipientEmail.isBlank())
-            throw new IllegalArgumentException("Email do destinatário é obrigatório");
-        
-        if (!recipientEmail.matches("^[\\w-.]+@[\\w-]+\\.[a-z]{2,}$"))
-            throw new IllegalArgumentException("Email do destinatário deve ter formato válido");
-        
-        if (recipientName == null || recipientName.isBlank())
-            throw new IllegalArgumentException("Nome do destinatário é obrigatório");
-        
+        validar().lancarSeInvalido();
+    }
+
+    /**
+     * Valida a requisição sem lançar exceção
+     * @return VALIDO ou a primeira falha encontrada
+     */
+    public ValidationResult validar() {
+        ValidationResult destinatarios = possuiDestinatarios() ? validarListas() : validarDestinatario();
+        if (!destinatarios.isValido())
+            return destinatarios;
+
         if (senderEmail == null || senderEmail.isBlank())
-            throw new IllegalArgumentException("Email do remetente é obrigatório");
-        
-        if (!senderEmail.matches("^[\\w-.]+@[\\w-]+\\.[a-z]{2,}$"))
-            throw new IllegalArgumentException("Email do remetente deve ter formato válido");
-        
+            return ValidationResult.REMETENTE_OBRIGATORIO;
+
+        if (!ValidationResult.isEmailValido(senderEmail))
+            return ValidationResult.REMETENTE_INVALIDO;
+
+        if (possuiAnexos()) {
+            for (EmailAttachmentDTO anexo : anexos) {
+                ValidationResult resultado = anexo == null ? ValidationResult.ANEXO_NULO : anexo.validar();
+                if (!resultado.isValido())
+                    return resultado;
+            }
+        }
+
+        if (possuiTemplate())
+            return ValidationResult.VALIDO;
+
         if (subject == null || subject.isBlank())
-            throw new IllegalArgumentException("Assunto é obrigatório");
-        
+            return ValidationResult.ASSUNTO_OBRIGATORIO;
+
         if (content == null || content.isBlank())
-            throw new IllegalArgumentException("Conteúdo é obrigatório");
+            return ValidationResult.CONTEUDO_OBRIGATORIO;
+
+        return ValidationResult.VALIDO;
+    }
+
+    private ValidationResult validarDestinatario() {
+        if (recipientEmail == null || recipientEmail.isBlank())
+            return ValidationResult.DESTINATARIO_OBRIGATORIO;
+
+        if (!ValidationResult.isEmailValido(recipientEmail))
+            return ValidationResult.DESTINATARIO_INVALIDO;
+
+        if (recipientName == null || recipientName.isBlank())
+            return ValidationResult.NOME_OBRIGATORIO;
+
+        return ValidationResult.VALIDO;
+    }
+
+    private ValidationResult validarListas() {
+        if (recipientEmail != null && !recipientEmail.isBlank())
+            return ValidationResult.DESTINATARIO_E_LISTAS;
+
+        if (tamanho(to) + tamanho(cc) + tamanho(bcc) > EmailConstants.MAX_DESTINATARIOS)
+            return ValidationResult.DESTINATARIOS_EXCEDIDOS;
+
+        ValidationResult resultado = validarLista(to);
+        if (resultado.isValido())
+            resultado = validarLista(cc);
+        if (resultado.isValido())
+            resultado = validarLista(bcc);
+        return resultado;
+    }
+
+    private static ValidationResult validarLista(List<EmailRecipientDTO> lista) {
+        if (lista == null)
+            return ValidationResult.VALIDO;
+
+        for (EmailRecipientDTO destinatario : lista) {
+            ValidationResult resultado = destinatario == null
+                ? ValidationResult.DESTINATARIO_OBRIGATORIO : destinatario.validar();
+            if (!resultado.isValido())
+                return resultado;
+        }
+        return ValidationResult.VALIDO;
     }
 
     @Override
     public String toString() {
-        return "EmailRequestDTO{" +
-            "recipientEmail='" + recipientEmail + '\'' +
-            ", recipientName='" + recipientName + '\'' +
-            ", senderEmail='" + senderEmail + '\'' + 
-            ", subject='" + subject + '\'' +
-            ", content='" + content + '\'' +
-            '}';
+        StringBuilder texto = new StringBuilder(160).append("EmailRequestDTO{messageId='").append(messageId);
+        LogMasking.anexarEmail(texto.append("', recipientEmail='"), recipientEmail);
+        LogMasking.anexarNome(texto.append("', recipientName='"), recipientName);
+        LogMasking.anexarEmail(texto.append("', senderEmail='"), senderEmail);
+        LogMasking.anexarTexto(texto.append("', subject="), subject);
+        LogMasking.anexarTexto(texto.append(", content="), content);
+        return texto.append(", templateId='").append(templateId)
+            .append("', variaveis=").append(variaveis == null ? 0 : variaveis.size())
+            .append(", anexos=").append(anexos == null ? 0 : anexos.size())
+            .append(", to=").append(tamanho(to))
+            .append(", cc=").append(tamanho(cc))
+            .append(", bcc=").append(tamanho(bcc))
+            .append('}').toString();
     }
 }
\ No newline at end of file
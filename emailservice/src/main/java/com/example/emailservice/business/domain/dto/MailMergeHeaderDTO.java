@@ -0,0 +1,87 @@
+package com.example.emailservice.business.domain.dto;
+
+import java.util.Map;
+
+import com.example.emailservice.shared.enums.ValidationResult;
+
+/**
+ * DTO com a parte compartilhada de uma mala direta: remetente e template
+ * O template pode ser referenciado por templateId ou enviado em subject e content; em ambos os casos
+ * aceita as variáveis de variaveis e as de cada destinatário
+ */
+public class MailMergeHeaderDTO {
+    private String senderEmail;
+    private String subject;
+    private String content;
+    private String templateId;
+    private Map<String, String> variaveis;
+
+    public MailMergeHeaderDTO() { }
+
+    public MailMergeHeaderDTO(String senderEmail, String subject, String content) {
+        this.senderEmail = senderEmail;
+        this.subject = subject;
+        this.content = content;
+    }
+
+    public String getSenderEmail() {
+        return senderEmail;
+    }
+
+    public void setSenderEmail(String senderEmail) {
+        this.senderEmail = senderEmail;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public void setSubject(String subject) {
+        this.subject = subject;
+    }
+
+    public String getContent() {
+        return content;
+    }
+
+    public void setContent(String content) {
+        this.content = content;
+    }
+
+    public String getTemplateId() {
+        return templateId;
+    }
+
+    public void setTemplateId(String templateId) {
+        this.templateId = templateId;
+    }
+
+    public Map<String, String> getVariaveis() {
+        return variaveis;
+    }
+
+    public void setVariaveis(Map<String, String> variaveis) {
+        this.variaveis = variaveis;
+    }
+
+    public boolean possuiTemplate() {
+        return templateId != null && !templateId.isBlank();
+    }
+
+    public void validate() {
+        if (senderEmail == null || senderEmail.isBlank())
+            throw new IllegalArgumentException("Email do remetente é obrigatório");
+
+        if (!ValidationResult.isEmailValido(senderEmail))
+            throw new IllegalArgumentException("Email do remetente deve ter formato válido");
+
+        if (possuiTemplate())
+            return;
+
+        if (subject == null || subject.isBlank())
+            throw new IllegalArgumentException("Assunto ou templateId é obrigatório");
+
+        if (content == null || content.isBlank())
+            throw new IllegalArgumentException("Conteúdo ou templateId é obrigatório");
+    }
+}
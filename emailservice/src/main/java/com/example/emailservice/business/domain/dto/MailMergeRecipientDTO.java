@@ -0,0 +1,66 @@
+package com.example.emailservice.business.domain.dto;
+
+import java.util.Map;
+
+import com.example.emailservice.shared.enums.ValidationResult;
+
+/**
+ * DTO de um destinatário da mala direta, com as variáveis próprias dele
+ */
+public class MailMergeRecipientDTO {
+    private String recipientEmail;
+    private String recipientName;
+    private Map<String, String> variaveis;
+
+    public MailMergeRecipientDTO() { }
+
+    public MailMergeRecipientDTO(String recipientEmail, String recipientName) {
+        this.recipientEmail = recipientEmail;
+        this.recipientName = recipientName;
+    }
+
+    public String getRecipientEmail() {
+        return recipientEmail;
+    }
+
+    public void setRecipientEmail(String recipientEmail) {
+        this.recipientEmail = recipientEmail;
+    }
+
+    public String getRecipientName() {
+        return recipientName;
+    }
+
+    public void setRecipientName(String recipientName) {
+        this.recipientName = recipientName;
+    }
+
+    public Map<String, String> getVariaveis() {
+        return variaveis;
+    }
+
+    public void setVariaveis(Map<String, String> variaveis) {
+        this.variaveis = variaveis;
+    }
+
+    public void validate() {
+        validar().lancarSeInvalido();
+    }
+
+    /**
+     * Valida o destinatário sem lançar exceção
+     * @return VALIDO ou a primeira falha encontrada
+     */
+    public ValidationResult validar() {
+        if (recipientEmail == null || recipientEmail.isBlank())
+            return ValidationResult.DESTINATARIO_OBRIGATORIO;
+
+        if (!ValidationResult.isEmailValido(recipientEmail))
+            return ValidationResult.DESTINATARIO_INVALIDO;
+
+        if (recipientName == null || recipientName.isBlank())
+            return ValidationResult.NOME_OBRIGATORIO;
+
+        return ValidationResult.VALIDO;
+    }
+}
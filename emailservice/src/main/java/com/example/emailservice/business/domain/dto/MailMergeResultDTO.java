@@ -0,0 +1,43 @@
+package com.example.emailservice.business.domain.dto;
+
+import java.util.List;
+
+/**
+ * DTO com o resumo do processamento de uma mala direta
+ * Apenas os primeiros erros são listados, para que a resposta não cresça com o número de destinatários
+ */
+public class MailMergeResultDTO {
+    private final long destinatarios;
+    private final long enviados;
+    private final long falhas;
+    private final boolean interrompido;
+    private final List<String> erros;
+
+    public MailMergeResultDTO(long destinatarios, long enviados, long falhas, boolean interrompido, List<String> erros) {
+        this.destinatarios = destinatarios;
+        this.enviados = enviados;
+        this.falhas = falhas;
+        this.interrompido = interrompido;
+        this.erros = erros;
+    }
+
+    public long getDestinatarios() {
+        return destinatarios;
+    }
+
+    public long getEnviados() {
+        return enviados;
+    }
+
+    public long getFalhas() {
+        return falhas;
+    }
+
+    public boolean isInterrompido() {
+        return interrompido;
+    }
+
+    public List<String> getErros() {
+        return erros;
+    }
+}
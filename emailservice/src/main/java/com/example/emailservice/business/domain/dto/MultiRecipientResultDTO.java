@@ -0,0 +1,43 @@
+package com.example.emailservice.business.domain.dto;
+
+import java.util.List;
+
+/**
+ * DTO com o resultado de um email com vários destinatários: contadores e o resultado de cada destinatário,
+ * na ordem das listas to, cc e bcc, sem repetir endereços
+ */
+public class MultiRecipientResultDTO {
+    private final int destinatarios;
+    private final int enviados;
+    private final int falhas;
+    private final List<RecipientResultDTO> resultados;
+
+    public MultiRecipientResultDTO(List<RecipientResultDTO> resultados) {
+        int enviadosContados = 0;
+        for (RecipientResultDTO resultado : resultados) {
+            if (resultado.isEnviado()) {
+                enviadosContados++;
+            }
+        }
+        this.destinatarios = resultados.size();
+        this.enviados = enviadosContados;
+        this.falhas = resultados.size() - enviadosContados;
+        this.resultados = resultados;
+    }
+
+    public int getDestinatarios() {
+        return destinatarios;
+    }
+
+    public int getEnviados() {
+        return enviados;
+    }
+
+    public int getFalhas() {
+        return falhas;
+    }
+
+    public List<RecipientResultDTO> getResultados() {
+        return resultados;
+    }
+}
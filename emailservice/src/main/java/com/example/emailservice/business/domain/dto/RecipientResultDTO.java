@@ -0,0 +1,64 @@
+package com.example.emailservice.business.domain.dto;
+
+import com.example.emailservice.shared.enums.DeliveryStatus;
+import com.example.emailservice.shared.enums.RecipientType;
+
+/**
+ * DTO com o resultado da cópia de um destinatário em um email com vários destinatários
+ * Em caso de falha, situacao e provedor são nulos e erro traz o motivo
+ */
+public class RecipientResultDTO {
+    private final String recipientEmail;
+    private final RecipientType tipo;
+    private final String messageId;
+    private final String provedor;
+    private final DeliveryStatus situacao;
+    private final String erro;
+
+    public RecipientResultDTO(String recipientEmail, RecipientType tipo, String messageId, String provedor,
+                              DeliveryStatus situacao, String erro) {
+        this.recipientEmail = recipientEmail;
+        this.tipo = tipo;
+        this.messageId = messageId;
+        this.provedor = provedor;
+        this.situacao = situacao;
+        this.erro = erro;
+    }
+
+    public static RecipientResultDTO enviado(String recipientEmail, RecipientType tipo, String messageId,
+                                             String provedor, DeliveryStatus situacao) {
+        return new RecipientResultDTO(recipientEmail, tipo, messageId, provedor, situacao, null);
+    }
+
+    public static RecipientResultDTO falha(String recipientEmail, RecipientType tipo, String messageId, String erro) {
+        return new RecipientResultDTO(recipientEmail, tipo, messageId, null, null, erro);
+    }
+
+    public String getRecipientEmail() {
+        return recipientEmail;
+    }
+
+    public RecipientType getTipo() {
+        return tipo;
+    }
+
+    public String getMessageId() {
+        return messageId;
+    }
+
+    public String getProvedor() {
+        return provedor;
+    }
+
+    public DeliveryStatus getSituacao() {
+        return situacao;
+    }
+
+    public String getErro() {
+        return erro;
+    }
+
+    public boolean isEnviado() {
+        return erro == null;
+    }
+}
@@ -1,39 +1,85 @@
 package com.example.emailservice.business.domain.model;
 
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.example.emailservice.infrastructure.logging.LogMasking;
 
 /**
  * Entidade de domínio representando um Email
  * Contém as regras de negócio e validações de domínio
  */
 public class Email {
-    
+
+    private static final String PREFIXO_MESSAGE_ID = Long.toString(System.currentTimeMillis(), 36) + "."
+        + Integer.toHexString(ThreadLocalRandom.current().nextInt(0x10000)) + ".";
+    private static final AtomicLong SEQUENCIA_MESSAGE_ID = new AtomicLong();
+
+    private final String messageId;
     private final String recipientEmail;
     private final String recipientName;
     private final String senderEmail;
     private final String subject;
     private final String content;
+    private final List<EmailAttachment> anexos;
+    private final List<String> copias;
 
     public Email(String recipientEmail, String recipientName, String senderEmail, String subject, String content) {
+        this(recipientEmail, recipientName, senderEmail, subject, content, List.of());
+    }
+
+    public Email(String recipientEmail, String recipientName, String senderEmail, String subject, String content,
+                 List<EmailAttachment> anexos) {
+        this(null, recipientEmail, recipientName, senderEmail, subject, content, anexos);
+    }
+
+    /**
+     * @param messageId identificador do email ao longo do processamento; nulo gera um novo
+     */
+    public Email(String messageId, String recipientEmail, String recipientName, String senderEmail, String subject,
+                 String content, List<EmailAttachment> anexos) {
+        this(messageId, recipientEmail, recipientName, senderEmail, subject, content, anexos, List.of());
+    }
+
+    /**
+     * @param copias endereços em cópia (cc), listados em todas as cópias de um email com vários destinatários
+     */
+    public Email(String messageId, String recipientEmail, String recipientName, String senderEmail, String subject,
+                 String content, List<EmailAttachment> anexos, List<String> copias) {
+        this.messageId = messageId != null ? messageId : gerarMessageId();
         this.recipientEmail = Objects.requireNonNull(recipientEmail, "E-mail do destinatário não pode ser nulo.");
         this.recipientName = Objects.requireNonNull(recipientName, "Nome do destinatário não pode ser nulo.");
         this.senderEmail = Objects.requireNonNull(senderEmail, "E-mail do remetente não pode ser nulo.");
         this.subject = Objects.requireNonNull(subject, "Assunto não pode ser nulo.");
         this.content = Objects.requireNonNull(content, "Conteúdo não pode ser nulo.");
+        this.anexos = List.copyOf(Objects.requireNonNull(anexos, "Anexos não podem ser nulos."));
+        this.copias = List.copyOf(Objects.requireNonNull(copias, "Cópias não podem ser nulas."));
 
         validateEmail();
     }
 
+    /**
+     * Gera um identificador único no processo, sem sincronização nem aleatoriedade por chamada
+     */
+    public static String gerarMessageId() {
+        return PREFIXO_MESSAGE_ID + Long.toString(SEQUENCIA_MESSAGE_ID.incrementAndGet(), 36);
+    }
+
     /**
      * Valida as regras de negócio do email
+     * Os endereços nas mensagens de erro são mascarados, pois as mensagens vão para o log
      */
     public void validateEmail() {
         if (!isValidEmailFormat(recipientEmail)) {
-            throw new IllegalArgumentException("E-mail do destinatário inválido: " + recipientEmail);
+            throw new IllegalArgumentException(
+                LogMasking.anexarEmail(new StringBuilder("E-mail do destinatário inválido: "), recipientEmail).toString());
         }
 
         if (!isValidEmailFormat(senderEmail)) {
-            throw new IllegalArgumentException("E-mail do remetente inválido: " + senderEmail);
+            throw new IllegalArgumentException(
+                LogMasking.anexarEmail(new StringBuilder("E-mail do remetente inválido: "), senderEmail).toString());
         }
 
         if (recipientName.trim().isEmpty()) {
@@ -61,6 +107,10 @@ public class Email {
                email.length() > 5;
     }
 
+    public String getMessageId() {
+        return messageId;
+    }
+
     public String getRecipientEmail() {
         return recipientEmail;
     }
@@ -81,19 +131,46 @@ public class Email {
         return content;
     }
 
+    public List<EmailAttachment> getAnexos() {
+        return anexos;
+    }
+
+    public boolean possuiAnexos() {
+        return !anexos.isEmpty();
+    }
+
+    public List<String> getCopias() {
+        return copias;
+    }
+
+    /**
+     * Tamanho do conteúdo em caracteres somado ao tamanho dos anexos em bytes
+     */
+    public long getTamanhoPayload() {
+        long tamanho = content.length();
+        for (EmailAttachment anexo : anexos) {
+            tamanho += anexo.tamanho();
+        }
+        return tamanho;
+    }
+
     @Override
     public int hashCode() {
-        return Objects.hash(recipientEmail, recipientName, senderEmail, subject, content);
+        return Objects.hash(recipientEmail, recipientName, senderEmail, subject, content, anexos, copias);
     }
 
     @Override
     public String toString() {
-        return "Email{" +
-            "recipientEmail='" + recipientEmail + '\'' +
-            ", recipientName='" + recipientName + '\'' +
-            ", senderEmail='" + senderEmail + '\'' + 
-            ", subject='" + subject + '\'' +
-            ", content='" + content + '\'' +
-            '}';
+        StringBuilder texto = new StringBuilder(144).append("Email{messageId='").append(messageId);
+        LogMasking.anexarEmail(texto.append("', recipientEmail='"), recipientEmail);
+        LogMasking.anexarNome(texto.append("', recipientName='"), recipientName);
+        LogMasking.anexarEmail(texto.append("', senderEmail='"), senderEmail);
+        LogMasking.anexarTexto(texto.append("', subject="), subject);
+        LogMasking.anexarTexto(texto.append(", content="), content);
+        texto.append(", anexos=").append(anexos.size());
+        if (!copias.isEmpty()) {
+            texto.append(", copias=").append(copias.size());
+        }
+        return texto.append('}').toString();
     }
 }
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.example.emailservice.business.domain.model;
+
+import java.nio.file.Path;
+import java.util.Objects;
+
+/**
+ * Anexo de um email, referenciado pelo arquivo local em vez do conteúdo
+ * O arquivo só é lido no momento da entrega, em blocos, para que anexos grandes não sejam carregados em memória
+ * @param nome nome exibido ao destinatário
+ * @param contentType tipo MIME do anexo
+ * @param arquivo caminho absoluto do arquivo já validado
+ * @param tamanho tamanho do arquivo em bytes no momento da validação
+ */
+public record EmailAttachment(String nome, String contentType, Path arquivo, long tamanho) {
+
+    public EmailAttachment {
+        Objects.requireNonNull(nome, "Nome do anexo não pode ser nulo.");
+        Objects.requireNonNull(contentType, "Tipo do anexo não pode ser nulo.");
+        Objects.requireNonNull(arquivo, "Arquivo do anexo não pode ser nulo.");
+
+        if (nome.isBlank()) {
+            throw new IllegalArgumentException("Nome do anexo não pode estar vazio.");
+        }
+        if (tamanho < 0) {
+            throw new IllegalArgumentException("Tamanho do anexo não pode ser negativo.");
+        }
+    }
+}
@@ -1,9 +1,12 @@
 package com.example.emailservice.business.domain.service;
 
+import java.util.List;
+
 import org.springframework.stereotype.Service;
 
 import com.example.emailservice.business.domain.dto.EmailRequestDTO;
 import com.example.emailservice.business.domain.model.Email;
+import com.example.emailservice.business.domain.model.EmailAttachment;
 
 /**
  * Serviço de domínio responsável por operações relacionadas à entidade Email
@@ -18,12 +21,24 @@ public class EmailDomainService {
      * @return entidade Email validada
      */
     public Email criarEmail(EmailRequestDTO emailRequestDTO) {
+        return criarEmail(emailRequestDTO, List.of());
+    }
+
+    /**
+     * Cria uma entidade de domínio Email com os anexos já resolvidos
+     * @param emailRequestDTO dados recebidos na camada de apresentação
+     * @param anexos anexos validados
+     * @return entidade Email validada
+     */
+    public Email criarEmail(EmailRequestDTO emailRequestDTO, List<EmailAttachment> anexos) {
         return new Email(
+            emailRequestDTO.getMessageId(),
             emailRequestDTO.getRecipientEmail(),
             emailRequestDTO.getRecipientName(),
             emailRequestDTO.getSenderEmail(),
             emailRequestDTO.getSubject(),
-            emailRequestDTO.getContent()
+            emailRequestDTO.getContent(),
+            anexos
         );
     }
 
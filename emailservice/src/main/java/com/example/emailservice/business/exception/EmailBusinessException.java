@@ -3,13 +3,14 @@ package com.example.emailservice.business.exception;
 /**
  * Exceção específica da camada de negócio
  * Representa violações de regras de negócio
+ * Sem stack trace: é lançada a cada requisição recusada e a origem é identificada pela mensagem e pela causa
  */
 public class EmailBusinessException extends RuntimeException {
     public EmailBusinessException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 
     public EmailBusinessException(String message, Throwable cause) {
-        super(message, cause);    
+        super(message, cause, false, false);
     }
 }
\ No newline at end of file
@@ -0,0 +1,136 @@
+package com.example.emailservice.business.service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.example.emailservice.business.domain.dto.EmailAttachmentDTO;
+import com.example.emailservice.business.domain.model.EmailAttachment;
+
+/**
+ * Serviço da camada de negócio responsável pelos anexos
+ * Resolve os arquivos informados na requisição dentro de mail.anexos.diretorio, sem ler o conteúdo:
+ * apenas caminho, tamanho e tipo são validados aqui, e o arquivo é lido em blocos na entrega
+ */
+@Service
+public class EmailAttachmentService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmailAttachmentService.class);
+
+    private static final Pattern CONTENT_TYPE_VALIDO = Pattern.compile("^[A-Za-z0-9!#$&^_.+-]+/[A-Za-z0-9!#$&^_.+-]+$");
+    private static final String CONTENT_TYPE_PADRAO = "application/octet-stream";
+
+    private final Path diretorio;
+    private final long tamanhoMaximoBytes;
+    private final int quantidadeMaxima;
+
+    public EmailAttachmentService(@Value("${mail.anexos.diretorio:}") String diretorio,
+                                  @Value("${mail.anexos.tamanho-maximo-mb:50}") long tamanhoMaximoMb,
+                                  @Value("${mail.anexos.quantidade-maxima:10}") int quantidadeMaxima) {
+        this.diretorio = diretorio == null || diretorio.isBlank() ? null : Path.of(diretorio).toAbsolutePath().normalize();
+        this.tamanhoMaximoBytes = tamanhoMaximoMb * 1024 * 1024;
+        this.quantidadeMaxima = quantidadeMaxima;
+    }
+
+    /**
+     * Valida os anexos informados e os converte para o domínio
+     * @param anexos anexos da requisição, com caminhos relativos a mail.anexos.diretorio
+     * @return anexos com caminho absoluto, tamanho e tipo resolvidos
+     * @throws IllegalArgumentException se os anexos estiverem desabilitados, o caminho sair do diretório
+     * configurado, o arquivo não existir ou os limites forem excedidos
+     */
+    public List<EmailAttachment> resolverAnexos(List<EmailAttachmentDTO> anexos) {
+        if (diretorio == null) {
+            throw new IllegalArgumentException("Anexos não estão habilitados (mail.anexos.diretorio não configurado).");
+        }
+        if (anexos.size() > quantidadeMaxima) {
+            throw new IllegalArgumentException("Quantidade de anexos excede o máximo de " + quantidadeMaxima + ".");
+        }
+
+        List<EmailAttachment> resolvidos = new ArrayList<>(anexos.size());
+        long tamanhoTotal = 0;
+
+        for (EmailAttachmentDTO anexo : anexos) {
+            EmailAttachment resolvido = resolverAnexo(anexo);
+            tamanhoTotal += resolvido.tamanho();
+            if (tamanhoTotal > tamanhoMaximoBytes) {
+                throw new IllegalArgumentException("Tamanho total dos anexos excede o máximo de "
+                    + tamanhoMaximoBytes / (1024 * 1024) + " MB.");
+            }
+            resolvidos.add(resolvido);
+        }
+
+        logger.debug("{} anexo(s) resolvido(s), {} bytes no total.", resolvidos.size(), tamanhoTotal);
+        return resolvidos;
+    }
+
+    private EmailAttachment resolverAnexo(EmailAttachmentDTO anexo) {
+        Path arquivo = resolverCaminho(anexo.getArquivo());
+
+        long tamanho;
+        try {
+            tamanho = Files.size(arquivo);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Não foi possível ler o anexo: " + anexo.getArquivo(), e);
+        }
+
+        String nome = anexo.getNome() == null || anexo.getNome().isBlank()
+            ? arquivo.getFileName().toString()
+            : anexo.getNome();
+
+        return new EmailAttachment(nome, resolverContentType(anexo.getContentType(), arquivo), arquivo, tamanho);
+    }
+
+    /**
+     * Resolve o caminho relativo e confirma que o arquivo real (após seguir links simbólicos) continua
+     * dentro do diretório de anexos
+     */
+    private Path resolverCaminho(String caminho) {
+        Path arquivo;
+        try {
+            arquivo = diretorio.resolve(caminho).normalize();
+        } catch (InvalidPathException e) {
+            throw new IllegalArgumentException("Caminho de anexo inválido: " + caminho, e);
+        }
+
+        if (!arquivo.startsWith(diretorio) || !Files.isRegularFile(arquivo)) {
+            throw new IllegalArgumentException("Anexo não encontrado: " + caminho);
+        }
+
+        try {
+            Path real = arquivo.toRealPath();
+            if (!real.startsWith(diretorio.toRealPath(LinkOption.NOFOLLOW_LINKS))) {
+                throw new IllegalArgumentException("Anexo não encontrado: " + caminho);
+            }
+            return real;
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Anexo não encontrado: " + caminho, e);
+        }
+    }
+
+    private String resolverContentType(String informado, Path arquivo) {
+        if (informado != null && !informado.isBlank()) {
+            if (!CONTENT_TYPE_VALIDO.matcher(informado).matches()) {
+                throw new IllegalArgumentException("Tipo de anexo inválido: " + informado);
+            }
+            return informado;
+        }
+
+        try {
+            String detectado = Files.probeContentType(arquivo);
+            return detectado != null && CONTENT_TYPE_VALIDO.matcher(detectado).matches() ? detectado : CONTENT_TYPE_PADRAO;
+        } catch (IOException e) {
+            return CONTENT_TYPE_PADRAO;
+        }
+    }
+}
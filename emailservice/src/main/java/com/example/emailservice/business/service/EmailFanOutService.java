@@ -0,0 +1,300 @@
+package com.example.emailservice.business.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.example.emailservice.business.domain.dto.EmailRecipientDTO;
+import com.example.emailservice.business.domain.dto.EmailRequestDTO;
+import com.example.emailservice.business.domain.dto.MultiRecipientResultDTO;
+import com.example.emailservice.business.domain.dto.RecipientResultDTO;
+import com.example.emailservice.business.domain.model.Email;
+import com.example.emailservice.business.domain.model.EmailAttachment;
+import com.example.emailservice.business.exception.EmailBusinessException;
+import com.example.emailservice.business.template.CompiledTemplate;
+import com.example.emailservice.business.template.EmailTemplate;
+import com.example.emailservice.infrastructure.blob.Blob;
+import com.example.emailservice.infrastructure.blob.BlobStore;
+import com.example.emailservice.infrastructure.exception.ConcurrencyLimitExceededException;
+import com.example.emailservice.infrastructure.metrics.PipelineMetrics;
+import com.example.emailservice.infrastructure.tracing.PipelineTracing;
+import com.example.emailservice.integration.dto.EmailDeliveryResult;
+import com.example.emailservice.integration.exception.EmailIntegrationException;
+import com.example.emailservice.integration.service.EmailIntegrationService;
+import com.example.emailservice.integration.service.RecipientDispatcher;
+import com.example.emailservice.integration.service.SharedPayloads;
+import com.example.emailservice.shared.enums.RecipientType;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.context.Scope;
+
+/**
+ * Serviço da camada de negócio responsável pelos emails com as listas de destinatários to, cc e bcc
+ * As partes comuns são preparadas uma única vez: template (renderizado uma vez quando não usa recipientName
+ * nem recipientEmail), conteúdo compartilhado pelo BlobStore, anexos resolvidos e regras de conteúdo; sem
+ * template por destinatário, também a adaptação e o JSON de cada provedor (SharedPayloads). Cada
+ * destinatário recebe a sua cópia, montada e enviada em paralelo pelo RecipientDispatcher escolhido em
+ * mail.destinatarios.execucao; cópias que não terminam no prazo da requisição são canceladas e contadas como falha,
+ * assim como as que não conseguem vaga na execução até o fim do prazo.
+ *
+ * Cada cópia é endereçada apenas ao seu destinatário; os endereços de cc aparecem no cabeçalho Cc de todas
+ * as cópias e os de bcc não aparecem em nenhuma. Endereços repetidos entre as listas recebem uma só cópia.
+ */
+@Service
+public class EmailFanOutService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmailFanOutService.class);
+
+    private static final Set<String> VARIAVEIS_DO_DESTINATARIO = Set.of("recipientName", "recipientEmail");
+
+    private final EmailProcessingService emailProcessingService;
+    private final EmailIntegrationService emailIntegrationService;
+    private final EmailTemplateService emailTemplateService;
+    private final EmailAttachmentService emailAttachmentService;
+    private final BlobStore blobStore;
+    private final PipelineMetrics pipelineMetrics;
+    private final PipelineTracing pipelineTracing;
+    private final RecipientDispatcher recipientDispatcher;
+
+    public EmailFanOutService(EmailProcessingService emailProcessingService,
+                              EmailIntegrationService emailIntegrationService,
+                              EmailTemplateService emailTemplateService,
+                              EmailAttachmentService emailAttachmentService,
+                              BlobStore blobStore,
+                              PipelineMetrics pipelineMetrics,
+                              PipelineTracing pipelineTracing,
+                              List<RecipientDispatcher> recipientDispatchers,
+                              @Value("${mail.destinatarios.execucao:EXECUTOR}") String execucao) {
+        this.emailProcessingService = emailProcessingService;
+        this.emailIntegrationService = emailIntegrationService;
+        this.emailTemplateService = emailTemplateService;
+        this.emailAttachmentService = emailAttachmentService;
+        this.blobStore = blobStore;
+        this.pipelineMetrics = pipelineMetrics;
+        this.pipelineTracing = pipelineTracing;
+        this.recipientDispatcher = selecionar(recipientDispatchers, execucao);
+    }
+
+    /**
+     * A execução ESTRUTURADA só existe quando a aplicação é compilada com o perfil Maven java21
+     */
+    private static RecipientDispatcher selecionar(List<RecipientDispatcher> recipientDispatchers, String execucao) {
+        for (RecipientDispatcher recipientDispatcher : recipientDispatchers) {
+            if (recipientDispatcher.getTipo().equalsIgnoreCase(execucao)) {
+                return recipientDispatcher;
+            }
+        }
+        throw new IllegalStateException(String.format("Execução '%s' não disponível. Tipos disponíveis: %s",
+            execucao, recipientDispatchers.stream().map(RecipientDispatcher::getTipo).toList()));
+    }
+
+    /**
+     * Envia uma cópia do email a cada destinatário das listas e aguarda todas as entregas
+     * Falhas de um destinatário (regras, provedor, limite de concorrência) ficam no resultado dele sem
+     * interromper os demais
+     * @param emailRequestDTO requisição validada, com as listas to, cc e bcc
+     * @return resultado de cada destinatário
+     * @throws EmailBusinessException se template, anexos ou conteúdo forem inválidos
+     * @throws EmailIntegrationException se um envio falhar de forma inesperada; os demais são cancelados
+     */
+    public MultiRecipientResultDTO processar(EmailRequestDTO emailRequestDTO) {
+        List<Destinatario> destinatarios = destinatariosUnicos(emailRequestDTO);
+        List<String> copias = enderecos(emailRequestDTO.getCc());
+        List<Blob> blobs = new ArrayList<>();
+        Span span = pipelineTracing.iniciar("EmailFanOutService.processar", emailRequestDTO.getMessageId(),
+            pipelineMetrics.getProvedorPadrao());
+        try (Scope escopo = span.makeCurrent()) {
+            logger.info("Iniciando envio a {} destinatários.", destinatarios.size());
+
+            Modelo modelo = preparar(emailRequestDTO, copias, blobs);
+            if (modelo.isCompartilhado()) {
+                emailProcessingService.aplicarRegrasDeNegocio(
+                    modelo.criarEmail(emailRequestDTO.getMessageId(), destinatarios.get(0)));
+            }
+
+            SharedPayloads compartilhado = modelo.isCompartilhado()
+                ? emailIntegrationService.criarPayloadsCompartilhados() : null;
+            List<Callable<RecipientResultDTO>> envios = new ArrayList<>(destinatarios.size());
+            for (int i = 0; i < destinatarios.size(); i++) {
+                Destinatario destinatario = destinatarios.get(i);
+                String messageId = messageIdDaCopia(emailRequestDTO, i);
+                envios.add(() -> enviar(modelo, compartilhado, destinatario, messageId));
+            }
+
+            List<RecipientResultDTO> resultados = recipientDispatcher.despachar(envios,
+                indice -> falha(emailRequestDTO, destinatarios, indice, "Prazo da requisição excedido."),
+                indice -> falha(emailRequestDTO, destinatarios, indice, "Sem vaga para o envio dentro do prazo da requisição."));
+            MultiRecipientResultDTO resultado = new MultiRecipientResultDTO(resultados);
+
+            logger.info("Envio a destinatários concluído: {} enviados, {} falhas.",
+                resultado.getEnviados(), resultado.getFalhas());
+            return resultado;
+        } catch (IllegalArgumentException e) {
+            PipelineTracing.registrarFalha(span, e);
+            throw new EmailBusinessException("Dados inválidos => " + e.getMessage(), e);
+        } catch (RuntimeException e) {
+            PipelineTracing.registrarFalha(span, e);
+            throw e;
+        } finally {
+            blobStore.liberar(blobs);
+            span.end();
+        }
+    }
+
+    private static RecipientResultDTO falha(EmailRequestDTO emailRequestDTO, List<Destinatario> destinatarios,
+                                            int indice, String erro) {
+        Destinatario destinatario = destinatarios.get(indice);
+        return RecipientResultDTO.falha(destinatario.email(), destinatario.tipo(),
+            messageIdDaCopia(emailRequestDTO, indice), erro);
+    }
+
+    private static String messageIdDaCopia(EmailRequestDTO emailRequestDTO, int indice) {
+        return emailRequestDTO.getMessageId() + "." + (indice + 1);
+    }
+
+    /**
+     * Monta e envia a cópia de um destinatário
+     * Falhas esperadas (dados, regras, provedor, limite de concorrência) viram o resultado do destinatário; as
+     * demais escapam e o RecipientDispatcher cancela os outros envios. Quando a espera é interrompida, a entrega
+     * pendente é cancelada.
+     */
+    private RecipientResultDTO enviar(Modelo modelo, SharedPayloads compartilhado, Destinatario destinatario,
+                                      String messageId) {
+        CompletableFuture<EmailDeliveryResult<?>> entrega = null;
+        try {
+            Email email = modelo.criarEmail(messageId, destinatario);
+            if (!modelo.isCompartilhado()) {
+                emailProcessingService.aplicarRegrasDeNegocio(email);
+            }
+            entrega = emailIntegrationService.enviarEmailAsync(email, compartilhado);
+            EmailDeliveryResult<?> resultado = entrega.get();
+            return RecipientResultDTO.enviado(destinatario.email(), destinatario.tipo(), messageId,
+                resultado.provedor(), resultado.situacao());
+        } catch (ExecutionException e) {
+            Throwable causa = e.getCause() != null ? e.getCause() : e;
+            return RecipientResultDTO.falha(destinatario.email(), destinatario.tipo(), messageId, causa.getMessage());
+        } catch (InterruptedException e) {
+            entrega.cancel(true);
+            Thread.currentThread().interrupt();
+            return RecipientResultDTO.falha(destinatario.email(), destinatario.tipo(), messageId, "Envio cancelado.");
+        } catch (IllegalArgumentException | EmailBusinessException | EmailIntegrationException
+                 | ConcurrencyLimitExceededException e) {
+            return RecipientResultDTO.falha(destinatario.email(), destinatario.tipo(), messageId, e.getMessage());
+        }
+    }
+
+    /**
+     * Resolve template, conteúdo e anexos uma única vez para todas as cópias
+     */
+    private Modelo preparar(EmailRequestDTO emailRequestDTO, List<String> copias, List<Blob> blobs) {
+        String assunto = emailRequestDTO.getSubject();
+        String conteudo = emailRequestDTO.getContent();
+        EmailTemplate template = null;
+        Map<String, String> variaveis = new HashMap<>();
+        if (emailRequestDTO.possuiTemplate()) {
+            template = emailTemplateService.obterTemplate(emailRequestDTO.getTemplateId());
+            variaveis.put("senderEmail", emailRequestDTO.getSenderEmail());
+            if (emailRequestDTO.getVariaveis() != null) {
+                variaveis.putAll(emailRequestDTO.getVariaveis());
+            }
+            assunto = renderizarCompartilhado(template.assunto(), variaveis);
+            conteudo = renderizarCompartilhado(template.conteudo(), variaveis);
+        }
+
+        if (conteudo != null) {
+            Blob blob = blobStore.adquirirTexto(conteudo);
+            blobs.add(blob);
+            conteudo = blob.getTexto();
+        }
+
+        List<EmailAttachment> anexos = emailRequestDTO.possuiAnexos()
+            ? emailAttachmentService.resolverAnexos(emailRequestDTO.getAnexos())
+            : List.of();
+
+        return new Modelo(emailRequestDTO.getSenderEmail(), template, variaveis, assunto, conteudo, anexos, copias);
+    }
+
+    /**
+     * Renderiza o texto do template que não depende do destinatário; retorna null se depender
+     * Variáveis ausentes que não são do destinatário falham aqui, antes de qualquer envio
+     */
+    private static String renderizarCompartilhado(CompiledTemplate compilado, Map<String, String> variaveis) {
+        for (String nome : compilado.getVariaveis()) {
+            if (VARIAVEIS_DO_DESTINATARIO.contains(nome) && !variaveis.containsKey(nome)) {
+                return null;
+            }
+        }
+        return compilado.renderizar(variaveis);
+    }
+
+    /**
+     * Destinatários na ordem to, cc, bcc; um endereço repetido fica com o primeiro tipo em que aparece
+     */
+    private static List<Destinatario> destinatariosUnicos(EmailRequestDTO emailRequestDTO) {
+        Map<String, Destinatario> unicos = new LinkedHashMap<>();
+        adicionar(unicos, emailRequestDTO.getTo(), RecipientType.TO);
+        adicionar(unicos, emailRequestDTO.getCc(), RecipientType.CC);
+        adicionar(unicos, emailRequestDTO.getBcc(), RecipientType.BCC);
+        return List.copyOf(unicos.values());
+    }
+
+    private static void adicionar(Map<String, Destinatario> unicos, List<EmailRecipientDTO> lista, RecipientType tipo) {
+        if (lista == null) {
+            return;
+        }
+        for (EmailRecipientDTO destinatario : lista) {
+            unicos.putIfAbsent(destinatario.getRecipientEmail().toLowerCase(),
+                new Destinatario(destinatario.getRecipientEmail(), destinatario.getNomeOuEndereco(), tipo));
+        }
+    }
+
+    private static List<String> enderecos(List<EmailRecipientDTO> lista) {
+        if (lista == null) {
+            return List.of();
+        }
+        return lista.stream().map(EmailRecipientDTO::getRecipientEmail).distinct().toList();
+    }
+
+    private record Destinatario(String email, String nome, RecipientType tipo) { }
+
+    /**
+     * Partes comuns das cópias; assunto e conteúdo nulos são renderizados por destinatário a partir do template
+     */
+    private record Modelo(String senderEmail, EmailTemplate template, Map<String, String> variaveis, String assunto,
+                          String conteudo, List<EmailAttachment> anexos, List<String> copias) {
+
+        boolean isCompartilhado() {
+            return assunto != null && conteudo != null;
+        }
+
+        Email criarEmail(String messageId, Destinatario destinatario) {
+            String assuntoCopia = assunto;
+            String conteudoCopia = conteudo;
+            if (!isCompartilhado()) {
+                Map<String, String> valores = new HashMap<>();
+                valores.put("recipientName", destinatario.nome());
+                valores.put("recipientEmail", destinatario.email());
+                valores.putAll(variaveis);
+                if (assuntoCopia == null) {
+                    assuntoCopia = template.assunto().renderizar(valores);
+                }
+                if (conteudoCopia == null) {
+                    conteudoCopia = template.conteudo().renderizar(valores);
+                }
+            }
+            return new Email(messageId, destinatario.email(), destinatario.nome(), senderEmail, assuntoCopia,
+                conteudoCopia, anexos, copias);
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package com.example.emailservice.business.service;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
@@ -8,7 +11,18 @@ import com.example.emailservice.business.domain.dto.EmailRequestDTO;
 import com.example.emailservice.business.domain.model.Email;
 import com.example.emailservice.business.domain.service.EmailDomainService;
 import com.example.emailservice.business.exception.EmailBusinessException;
+import com.example.emailservice.infrastructure.blob.Blob;
+import com.example.emailservice.infrastructure.blob.BlobStore;
+import com.example.emailservice.infrastructure.exception.ConcurrencyLimitExceededException;
+import com.example.emailservice.infrastructure.metrics.PipelineEvent;
+import com.example.emailservice.infrastructure.metrics.PipelineMetrics;
+import com.example.emailservice.infrastructure.tracing.PipelineTracing;
+import com.example.emailservice.integration.exception.EmailIntegrationException;
 import com.example.emailservice.integration.service.EmailIntegrationService;
+import com.example.emailservice.shared.enums.PipelineStage;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.context.Scope;
 
 /**
  * Serviço da camada de negócio responsável pelo processamento de emails
@@ -21,37 +35,108 @@ public class EmailProcessingService {
 
     private final EmailDomainService emailDomainService;
     private final EmailIntegrationService emailIntegrationService;
+    private final EmailTemplateService emailTemplateService;
+    private final EmailAttachmentService emailAttachmentService;
+    private final BlobStore blobStore;
+    private final PipelineMetrics pipelineMetrics;
+    private final PipelineTracing pipelineTracing;
 
-    public EmailProcessingService(EmailDomainService emailDomainService, EmailIntegrationService emailIntegrationService) {
+    public EmailProcessingService(EmailDomainService emailDomainService, EmailIntegrationService emailIntegrationService,
+                                  EmailTemplateService emailTemplateService, EmailAttachmentService emailAttachmentService,
+                                  BlobStore blobStore, PipelineMetrics pipelineMetrics, PipelineTracing pipelineTracing) {
         this.emailDomainService = emailDomainService;
         this.emailIntegrationService = emailIntegrationService;
+        this.emailTemplateService = emailTemplateService;
+        this.emailAttachmentService = emailAttachmentService;
+        this.blobStore = blobStore;
+        this.pipelineMetrics = pipelineMetrics;
+        this.pipelineTracing = pipelineTracing;
     }
 
     /**
      * Processa o email aplicando regras de negócio e delegando para integração
      * @param emailRequestDTO dados do email recebidos da apresentação
-     * @return EmailBusinessException em caso de violação de regras de negócio
+     * @throws EmailBusinessException em caso de violação de regras de negócio
+     * @throws EmailIntegrationException se a entrega ao provedor falhar; propagada sem conversão para que o
+     * limitador de concorrência do endpoint a registre como descarte
      */
     public void processarEmail(EmailRequestDTO emailRequestDTO) {
-        try {
+        List<Blob> blobs = new ArrayList<>();
+        long inicio = pipelineMetrics.iniciar();
+        boolean sucesso = false;
+        Span span = pipelineTracing.iniciar("EmailProcessingService.processarEmail", emailRequestDTO.getMessageId(),
+            pipelineMetrics.getProvedorPadrao());
+        try (Scope escopo = span.makeCurrent()) {
             logger.info("Iniciando processamento de email.");
 
-            Email email = emailDomainService.criarEmail(emailRequestDTO);
+            if (emailRequestDTO.possuiTemplate()) {
+                emailTemplateService.aplicarTemplate(emailRequestDTO);
+                logger.debug("Template '{}' aplicado.", emailRequestDTO.getTemplateId());
+            }
+
+            compartilharConteudo(emailRequestDTO, blobs);
+
+            Email email = criarEmail(emailRequestDTO);
             logger.debug("Entidade de domínio criada: {}.", email);
 
             aplicarRegrasDeNegocio(email);
 
             emailIntegrationService.enviarEmail(email);
+            sucesso = true;
 
             logger.info("Email processado com sucesso.");
 
+        } catch (ConcurrencyLimitExceededException e) {
+            PipelineTracing.registrarFalha(span, e);
+            throw e;
+        } catch (EmailIntegrationException e) {
+            logger.error("Erro na entrega do email: {}.", e.getMessage());
+            PipelineTracing.registrarFalha(span, e);
+            throw e;
         } catch (IllegalArgumentException e) {
             logger.error("Erro de validação de domínio: {}.", e.getMessage());
+            PipelineTracing.registrarFalha(span, e);
             throw new EmailBusinessException("Dados inválidos => " + e.getMessage(), e);
         } catch (Exception e) {
             logger.error("Erro no processamento do email: {}.", e.getMessage());
+            PipelineTracing.registrarFalha(span, e);
             throw new EmailBusinessException("Erro no processamento do email: " + e.getMessage(), e);
+        } finally {
+            blobStore.liberar(blobs);
+            pipelineMetrics.registrar(PipelineStage.PROCESSAMENTO, inicio, sucesso);
+            span.end();
+        }
+    }
+
+    private Email criarEmail(EmailRequestDTO emailRequestDTO) {
+        long inicio = pipelineMetrics.iniciar();
+        PipelineEvent evento = PipelineEvent.iniciar(PipelineStage.CRIACAO);
+        try {
+            Email email = emailRequestDTO.possuiAnexos()
+                ? emailDomainService.criarEmail(emailRequestDTO,
+                    emailAttachmentService.resolverAnexos(emailRequestDTO.getAnexos()))
+                : emailDomainService.criarEmail(emailRequestDTO);
+            pipelineMetrics.registrar(PipelineStage.CRIACAO, inicio, true);
+            evento.concluir(email.getMessageId(), pipelineMetrics.getProvedorPadrao(), email.getTamanhoPayload(), true);
+            return email;
+        } catch (RuntimeException e) {
+            pipelineMetrics.registrar(PipelineStage.CRIACAO, inicio, false);
+            evento.concluir(emailRequestDTO.getMessageId(), pipelineMetrics.getProvedorPadrao(), 0, false);
+            throw e;
+        }
+    }
+
+    /**
+     * Troca o conteúdo do DTO pela instância única guardada no BlobStore, para que requisições
+     * simultâneas com o mesmo corpo compartilhem uma só cópia até a entrega
+     */
+    private void compartilharConteudo(EmailRequestDTO emailRequestDTO, List<Blob> blobs) {
+        if (emailRequestDTO.getContent() == null) {
+            return;
         }
+        Blob conteudo = blobStore.adquirirTexto(emailRequestDTO.getContent());
+        blobs.add(conteudo);
+        emailRequestDTO.setContent(conteudo.getTexto());
     }
 
     /**
@@ -60,14 +145,32 @@ public class EmailProcessingService {
      * @return EmailBusinessException se alguma regra for violada
      */
     public void aplicarRegrasDeNegocio(Email email) {
-        if(!emailDomainService.validarEmail(email)) {
-            throw new EmailBusinessException("E-mail não atende aos critérios básicos da validação.");
-        }
+        long inicio = pipelineMetrics.iniciar();
+        PipelineEvent evento = PipelineEvent.iniciar(PipelineStage.REGRAS);
+        try {
+            if(!emailDomainService.validarEmail(email)) {
+                throw new EmailBusinessException("E-mail não atende aos critérios básicos da validação.");
+            }
 
-        if (!emailDomainService.verificarConteudoApropriado(email)) {
-            throw new EmailBusinessException("Conteúdo do email não é apropriado.");
+            if (!emailDomainService.verificarConteudoApropriado(email)) {
+                throw new EmailBusinessException("Conteúdo do email não é apropriado.");
+            }
+        } catch (RuntimeException e) {
+            pipelineMetrics.registrar(PipelineStage.REGRAS, inicio, false);
+            concluirRegras(evento, email, false);
+            throw e;
         }
+        pipelineMetrics.registrar(PipelineStage.REGRAS, inicio, true);
+        concluirRegras(evento, email, true);
 
         logger.debug("Todas as regras de negócio foram aplicadas com sucesso.");
     }
+
+    /**
+     * A validação aceita email nulo (e o rejeita), então o evento não pode depender dele
+     */
+    private void concluirRegras(PipelineEvent evento, Email email, boolean sucesso) {
+        evento.concluir(email != null ? email.getMessageId() : null, pipelineMetrics.getProvedorPadrao(),
+            email != null ? email.getTamanhoPayload() : 0, sucesso);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,120 @@
+package com.example.emailservice.business.service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Service;
+
+import com.example.emailservice.business.domain.dto.EmailRequestDTO;
+import com.example.emailservice.business.exception.EmailBusinessException;
+import com.example.emailservice.business.template.EmailTemplate;
+
+/**
+ * Serviço da camada de negócio responsável pelos templates de email
+ * Os templates são lidos de mail.templates.local, compilados uma única vez e mantidos em um cache
+ * LRU limitado a mail.templates.cache.tamanho entradas
+ */
+@Service
+public class EmailTemplateService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmailTemplateService.class);
+
+    private static final Pattern ID_VALIDO = Pattern.compile("^[A-Za-z0-9_-]{1,64}$");
+    private static final String EXTENSAO = ".txt";
+
+    private final ResourceLoader resourceLoader;
+    private final String local;
+    private final Map<String, EmailTemplate> cache;
+
+    public EmailTemplateService(ResourceLoader resourceLoader,
+                                @Value("${mail.templates.local:classpath:templates/email/}") String local,
+                                @Value("${mail.templates.cache.tamanho:256}") int tamanhoCache) {
+        this.resourceLoader = resourceLoader;
+        this.local = local.endsWith("/") ? local : local + "/";
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, EmailTemplate> maisAntigo) {
+                return size() > tamanhoCache;
+            }
+        };
+    }
+
+    /**
+     * Preenche assunto e conteúdo do DTO a partir do template informado em templateId
+     * Além das variáveis do DTO, os templates podem usar recipientName, recipientEmail e senderEmail
+     * @param emailRequestDTO dados do email com templateId e variáveis
+     * @throws IllegalArgumentException se o template não existir ou faltar alguma variável
+     */
+    public void aplicarTemplate(EmailRequestDTO emailRequestDTO) {
+        EmailTemplate template = obterTemplate(emailRequestDTO.getTemplateId());
+
+        Map<String, String> valores = new HashMap<>();
+        valores.put("recipientName", emailRequestDTO.getRecipientName());
+        valores.put("recipientEmail", emailRequestDTO.getRecipientEmail());
+        valores.put("senderEmail", emailRequestDTO.getSenderEmail());
+        if (emailRequestDTO.getVariaveis() != null) {
+            valores.putAll(emailRequestDTO.getVariaveis());
+        }
+
+        emailRequestDTO.setSubject(template.assunto().renderizar(valores));
+        emailRequestDTO.setContent(template.conteudo().renderizar(valores));
+    }
+
+    /**
+     * Retorna o template compilado, lendo e compilando apenas na primeira vez
+     * @param templateId identificador do template
+     * @return template compilado
+     * @throws IllegalArgumentException se o identificador for inválido ou o template não existir
+     */
+    public EmailTemplate obterTemplate(String templateId) {
+        if (templateId == null || !ID_VALIDO.matcher(templateId).matches()) {
+            throw new IllegalArgumentException("Identificador de template inválido: " + templateId);
+        }
+
+        synchronized (cache) {
+            EmailTemplate template = cache.get(templateId);
+            if (template != null) {
+                return template;
+            }
+        }
+
+        EmailTemplate compilado = EmailTemplate.compilar(templateId, lerTemplate(templateId));
+        logger.debug("Template '{}' compilado com as variáveis {}.", templateId, compilado.conteudo().getVariaveis());
+
+        synchronized (cache) {
+            cache.putIfAbsent(templateId, compilado);
+            return cache.get(templateId);
+        }
+    }
+
+    private String lerTemplate(String templateId) {
+        Resource recurso = resourceLoader.getResource(local + templateId + EXTENSAO);
+        if (!recurso.exists()) {
+            throw new IllegalArgumentException("Template '" + templateId + "' não encontrado.");
+        }
+
+        try {
+            return recurso.getContentAsString(StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new EmailBusinessException("Erro ao ler o template '" + templateId + "': " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Quantidade de templates compilados em cache
+     */
+    public int getTemplatesEmCache() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+}
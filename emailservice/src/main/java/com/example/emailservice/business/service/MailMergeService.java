@@ -0,0 +1,319 @@
+package com.example.emailservice.business.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.example.emailservice.business.domain.dto.MailMergeHeaderDTO;
+import com.example.emailservice.business.domain.dto.MailMergeRecipientDTO;
+import com.example.emailservice.business.domain.dto.MailMergeResultDTO;
+import com.example.emailservice.business.domain.model.Email;
+import com.example.emailservice.business.exception.EmailBusinessException;
+import com.example.emailservice.business.template.CompiledTemplate;
+import com.example.emailservice.business.template.EmailTemplate;
+import com.example.emailservice.infrastructure.exception.ConcurrencyLimitExceededException;
+import com.example.emailservice.infrastructure.logging.LogMasking;
+import com.example.emailservice.integration.service.EmailIntegrationService;
+import com.example.emailservice.shared.enums.ValidationResult;
+
+/**
+ * Serviço da camada de negócio responsável por malas diretas
+ * Os destinatários são consumidos um a um do iterador e cada email é gerado e enviado sob demanda;
+ * no máximo mail.mala-direta.max-pendentes envios ficam em andamento ao mesmo tempo, de modo que a
+ * memória usada não depende do número de destinatários
+ */
+@Service
+public class MailMergeService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MailMergeService.class);
+
+    private static final int MAX_ERROS_LISTADOS = 20;
+    private static final int MAX_TENTATIVAS_SOBRECARGA = 10;
+    private static final long MAX_ESPERA_SOBRECARGA_MS = 100;
+
+    private final EmailProcessingService emailProcessingService;
+    private final EmailIntegrationService emailIntegrationService;
+    private final EmailTemplateService emailTemplateService;
+    private final int maxPendentes;
+
+    public MailMergeService(EmailProcessingService emailProcessingService,
+                            EmailIntegrationService emailIntegrationService,
+                            EmailTemplateService emailTemplateService,
+                            @Value("${mail.mala-direta.max-pendentes:64}") int maxPendentes) {
+        this.emailProcessingService = emailProcessingService;
+        this.emailIntegrationService = emailIntegrationService;
+        this.emailTemplateService = emailTemplateService;
+        this.maxPendentes = maxPendentes;
+    }
+
+    /**
+     * Envia o mesmo template a cada destinatário do iterador
+     * Destinatários inválidos ou recusados são contados como falha sem interromper os demais; um erro
+     * ao ler o próximo destinatário encerra a leitura e marca o resultado como interrompido
+     * @param cabecalho remetente, template e variáveis compartilhadas
+     * @param destinatarios destinatários, lidos sob demanda
+     * @return resumo do processamento
+     * @throws IllegalArgumentException se o cabeçalho ou o template forem inválidos
+     */
+    public MailMergeResultDTO processar(MailMergeHeaderDTO cabecalho, Iterator<MailMergeRecipientDTO> destinatarios) {
+        cabecalho.validate();
+        ModeloMalaDireta modelo = new ModeloMalaDireta(cabecalho, resolverTemplate(cabecalho));
+        Andamento andamento = new Andamento();
+
+        logger.info("Iniciando mala direta de {}.", LogMasking.anexarEmail(new StringBuilder(), cabecalho.getSenderEmail()));
+
+        long linha = 0;
+        while (true) {
+            MailMergeRecipientDTO destinatario;
+            try {
+                if (!destinatarios.hasNext()) {
+                    break;
+                }
+                destinatario = destinatarios.next();
+            } catch (RuntimeException e) {
+                andamento.interromper("Lista de destinatários interrompida após o destinatário " + linha
+                    + ": " + e.getMessage());
+                break;
+            }
+
+            linha++;
+            processarDestinatario(modelo, destinatario, linha, andamento);
+        }
+
+        andamento.aguardarPendentes();
+        MailMergeResultDTO resultado = andamento.resultado(linha);
+
+        logger.info("Mala direta concluída: {} destinatários, {} enviados, {} falhas.",
+            resultado.getDestinatarios(), resultado.getEnviados(), resultado.getFalhas());
+        return resultado;
+    }
+
+    private EmailTemplate resolverTemplate(MailMergeHeaderDTO cabecalho) {
+        if (cabecalho.possuiTemplate()) {
+            return emailTemplateService.obterTemplate(cabecalho.getTemplateId());
+        }
+        return new EmailTemplate(null,
+            CompiledTemplate.compilar(cabecalho.getSubject()),
+            CompiledTemplate.compilar(cabecalho.getContent()));
+    }
+
+    private void processarDestinatario(ModeloMalaDireta modelo, MailMergeRecipientDTO destinatario,
+                                       long linha, Andamento andamento) {
+        ValidationResult validacao = destinatario.validar();
+        if (!validacao.isValido()) {
+            andamento.registrarFalha(linha, destinatario.getRecipientEmail(), validacao.getMensagem());
+            return;
+        }
+
+        Email email;
+        try {
+            email = modelo.criarEmail(destinatario);
+            emailProcessingService.aplicarRegrasDeNegocio(email);
+        } catch (IllegalArgumentException | EmailBusinessException e) {
+            andamento.registrarFalha(linha, destinatario.getRecipientEmail(), e.getMessage());
+            return;
+        }
+
+        andamento.adquirirVaga();
+        enviarComRetentativa(email).whenComplete((resultado, erro) -> {
+            if (erro == null) {
+                andamento.registrarEnvio();
+            } else {
+                andamento.registrarFalha(linha, email.getRecipientEmail(), desembrulhar(erro).getMessage());
+            }
+            andamento.liberarVaga();
+        });
+    }
+
+    /**
+     * Quando o limitador do provedor recusa o envio por sobrecarga, aguarda com espera exponencial
+     * antes de tentar de novo, em vez de perder o destinatário
+     */
+    private CompletableFuture<?> enviarComRetentativa(Email email) {
+        long esperaMs = 1;
+        for (int tentativa = 1; ; tentativa++) {
+            CompletableFuture<?> envio = emailIntegrationService.enviarEmailAsync(email);
+            if (tentativa == MAX_TENTATIVAS_SOBRECARGA || !recusadoPorSobrecarga(envio)) {
+                return envio;
+            }
+
+            try {
+                Thread.sleep(esperaMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return envio;
+            }
+            esperaMs = Math.min(esperaMs * 2, MAX_ESPERA_SOBRECARGA_MS);
+        }
+    }
+
+    private static boolean recusadoPorSobrecarga(CompletableFuture<?> envio) {
+        if (!envio.isCompletedExceptionally()) {
+            return false;
+        }
+        try {
+            envio.join();
+            return false;
+        } catch (CompletionException e) {
+            return desembrulhar(e) instanceof ConcurrencyLimitExceededException;
+        }
+    }
+
+    private static Throwable desembrulhar(Throwable erro) {
+        return erro instanceof CompletionException && erro.getCause() != null ? erro.getCause() : erro;
+    }
+
+    /**
+     * Partes compartilhadas da mala direta, preparadas uma única vez
+     * Remetente e, quando não dependem do destinatário, assunto e conteúdo já renderizados são
+     * reaproveitados por referência em todos os emails
+     */
+    private static final class ModeloMalaDireta {
+
+        private final String senderEmail;
+        private final EmailTemplate template;
+        private final Map<String, String> variaveis;
+        private final Set<String> variaveisAssunto;
+        private final Set<String> variaveisConteudo;
+        private final String assuntoCompartilhado;
+        private final String conteudoCompartilhado;
+
+        ModeloMalaDireta(MailMergeHeaderDTO cabecalho, EmailTemplate template) {
+            this.senderEmail = cabecalho.getSenderEmail();
+            this.template = template;
+
+            Map<String, String> valores = new HashMap<>();
+            if (cabecalho.getVariaveis() != null) {
+                valores.putAll(cabecalho.getVariaveis());
+            }
+            valores.put("senderEmail", senderEmail);
+            this.variaveis = valores;
+
+            this.variaveisAssunto = template.assunto().getVariaveis();
+            this.variaveisConteudo = template.conteudo().getVariaveis();
+            this.assuntoCompartilhado = renderizarCompartilhado(template.assunto(), variaveisAssunto);
+            this.conteudoCompartilhado = renderizarCompartilhado(template.conteudo(), variaveisConteudo);
+        }
+
+        /**
+         * Renderiza antecipadamente o texto que só usa variáveis do cabeçalho; retorna null se ele
+         * depender de algum destinatário
+         */
+        private String renderizarCompartilhado(CompiledTemplate compilado, Set<String> nomes) {
+            for (String nome : nomes) {
+                if (!variaveis.containsKey(nome)) {
+                    return null;
+                }
+            }
+            return compilado.renderizar(variaveis);
+        }
+
+        Email criarEmail(MailMergeRecipientDTO destinatario) {
+            Function<String, String> valores = nome -> switch (nome) {
+                case "recipientName" -> destinatario.getRecipientName();
+                case "recipientEmail" -> destinatario.getRecipientEmail();
+                default -> {
+                    Map<String, String> proprias = destinatario.getVariaveis();
+                    String valor = proprias != null ? proprias.get(nome) : null;
+                    yield valor != null ? valor : variaveis.get(nome);
+                }
+            };
+
+            String assunto = assuntoCompartilhado != null && !sobrescreve(destinatario, variaveisAssunto)
+                ? assuntoCompartilhado
+                : template.assunto().renderizar(valores);
+            String conteudo = conteudoCompartilhado != null && !sobrescreve(destinatario, variaveisConteudo)
+                ? conteudoCompartilhado
+                : template.conteudo().renderizar(valores);
+
+            return new Email(destinatario.getRecipientEmail(), destinatario.getRecipientName(), senderEmail,
+                assunto, conteudo);
+        }
+
+        private static boolean sobrescreve(MailMergeRecipientDTO destinatario, Set<String> nomes) {
+            Map<String, String> proprias = destinatario.getVariaveis();
+            if (proprias == null || proprias.isEmpty()) {
+                return false;
+            }
+            for (String nome : nomes) {
+                if (proprias.containsKey(nome)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Contadores e controle de envios em andamento de uma mala direta
+     */
+    private final class Andamento {
+
+        private final Semaphore vagas = new Semaphore(maxPendentes);
+        private final AtomicLong enviados = new AtomicLong();
+        private final AtomicLong falhas = new AtomicLong();
+        private final List<String> erros = Collections.synchronizedList(new ArrayList<>());
+        private volatile boolean interrompido;
+
+        void adquirirVaga() {
+            try {
+                vagas.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new EmailBusinessException("Mala direta interrompida.", e);
+            }
+        }
+
+        void liberarVaga() {
+            vagas.release();
+        }
+
+        void aguardarPendentes() {
+            vagas.acquireUninterruptibly(maxPendentes);
+            vagas.release(maxPendentes);
+        }
+
+        void registrarEnvio() {
+            enviados.incrementAndGet();
+        }
+
+        void registrarFalha(long linha, String recipientEmail, String mensagem) {
+            falhas.incrementAndGet();
+            adicionarErro("Destinatário " + linha + " (" + recipientEmail + "): " + mensagem);
+        }
+
+        void interromper(String mensagem) {
+            interrompido = true;
+            adicionarErro(mensagem);
+        }
+
+        private void adicionarErro(String mensagem) {
+            synchronized (erros) {
+                if (erros.size() < MAX_ERROS_LISTADOS) {
+                    erros.add(mensagem);
+                }
+            }
+        }
+
+        MailMergeResultDTO resultado(long destinatarios) {
+            synchronized (erros) {
+                return new MailMergeResultDTO(destinatarios, enviados.get(), falhas.get(), interrompido,
+                    List.copyOf(erros));
+            }
+        }
+    }
+}
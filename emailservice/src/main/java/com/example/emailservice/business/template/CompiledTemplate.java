@@ -0,0 +1,136 @@
+package com.example.emailservice.business.template;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Template de texto já analisado em segmentos
+ * O texto é percorrido uma única vez na compilação; a renderização apenas concatena os trechos
+ * literais com os valores das variáveis {{nome}}, sem expressões regulares nem substituições
+ */
+public final class CompiledTemplate {
+
+    private static final String ABERTURA = "{{";
+    private static final String FECHAMENTO = "}}";
+
+    /**
+     * Buffers reaproveitados entre renderizações da mesma thread; buffers que cresceram além do
+     * limite são descartados para não reter memória
+     */
+    private static final int CAPACIDADE_MAXIMA_BUFFER = 64 * 1024;
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(1024));
+
+    private final String[] literais;
+    private final String[] variaveis;
+    private final int tamanhoLiterais;
+
+    private CompiledTemplate(String[] literais, String[] variaveis) {
+        this.literais = literais;
+        this.variaveis = variaveis;
+
+        int tamanho = 0;
+        for (String literal : literais) {
+            tamanho += literal.length();
+        }
+        this.tamanhoLiterais = tamanho;
+    }
+
+    /**
+     * Analisa o texto do template
+     * @param texto texto com marcações {{variavel}}
+     * @return template compilado
+     * @throws IllegalArgumentException se houver marcação não fechada ou nome de variável vazio
+     */
+    public static CompiledTemplate compilar(String texto) {
+        if (texto == null) {
+            throw new IllegalArgumentException("Texto do template não pode ser nulo.");
+        }
+
+        List<String> literais = new ArrayList<>();
+        List<String> variaveis = new ArrayList<>();
+        int posicao = 0;
+
+        while (true) {
+            int inicio = texto.indexOf(ABERTURA, posicao);
+            if (inicio < 0) {
+                literais.add(texto.substring(posicao));
+                break;
+            }
+
+            int fim = texto.indexOf(FECHAMENTO, inicio + ABERTURA.length());
+            if (fim < 0) {
+                throw new IllegalArgumentException("Marcação '{{' sem fechamento na posição " + inicio + " do template.");
+            }
+
+            String nome = texto.substring(inicio + ABERTURA.length(), fim).trim();
+            if (nome.isEmpty()) {
+                throw new IllegalArgumentException("Variável sem nome na posição " + inicio + " do template.");
+            }
+
+            literais.add(texto.substring(posicao, inicio));
+            variaveis.add(nome);
+            posicao = fim + FECHAMENTO.length();
+        }
+
+        return new CompiledTemplate(literais.toArray(String[]::new), variaveis.toArray(String[]::new));
+    }
+
+    /**
+     * Renderiza o template com os valores informados
+     * @param valores valores das variáveis
+     * @return texto renderizado
+     * @throws IllegalArgumentException se alguma variável do template não tiver valor
+     */
+    public String renderizar(Map<String, String> valores) {
+        return renderizar(valores::get);
+    }
+
+    /**
+     * Renderiza o template obtendo cada valor pela função informada, sem exigir um Map montado
+     * @param valores função que retorna o valor da variável, ou null se não houver
+     * @return texto renderizado
+     * @throws IllegalArgumentException se alguma variável do template não tiver valor
+     */
+    public String renderizar(Function<String, String> valores) {
+        StringBuilder buffer = BUFFER.get();
+        buffer.setLength(0);
+
+        renderizar(valores, buffer);
+        String resultado = buffer.toString();
+
+        if (buffer.capacity() > CAPACIDADE_MAXIMA_BUFFER) {
+            BUFFER.remove();
+        }
+        return resultado;
+    }
+
+    /**
+     * Renderiza o template acrescentando o resultado ao destino informado
+     */
+    public void renderizar(Function<String, String> valores, StringBuilder destino) {
+        destino.ensureCapacity(destino.length() + tamanhoLiterais + variaveis.length * 16);
+        destino.append(literais[0]);
+
+        for (int i = 0; i < variaveis.length; i++) {
+            String valor = valores.apply(variaveis[i]);
+            if (valor == null) {
+                throw new IllegalArgumentException("Variável '" + variaveis[i] + "' não informada para o template.");
+            }
+            destino.append(valor).append(literais[i + 1]);
+        }
+    }
+
+    /**
+     * Nomes das variáveis usadas pelo template, na ordem em que aparecem
+     */
+    public Set<String> getVariaveis() {
+        Set<String> nomes = new LinkedHashSet<>();
+        Collections.addAll(nomes, variaveis);
+        return nomes;
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.emailservice.business.template;
+
+/**
+ * Template de email compilado: assunto e conteúdo
+ * @param id identificador do template
+ * @param assunto template do assunto
+ * @param conteudo template do conteúdo
+ */
+public record EmailTemplate(String id, CompiledTemplate assunto, CompiledTemplate conteudo) {
+
+    /**
+     * Compila um template no formato de arquivo: primeira linha é o assunto, seguida de uma linha
+     * em branco e do conteúdo
+     * @throws IllegalArgumentException se o texto não seguir o formato
+     */
+    public static EmailTemplate compilar(String id, String texto) {
+        String normalizado = texto.replace("\r\n", "\n");
+        int separador = normalizado.indexOf("\n\n");
+        if (separador < 0) {
+            throw new IllegalArgumentException("Template '" + id + "' deve ter o assunto na primeira linha, "
+                + "seguido de uma linha em branco e do conteúdo.");
+        }
+
+        return new EmailTemplate(id,
+            CompiledTemplate.compilar(normalizado.substring(0, separador).trim()),
+            CompiledTemplate.compilar(normalizado.substring(separador + 2)));
+    }
+}
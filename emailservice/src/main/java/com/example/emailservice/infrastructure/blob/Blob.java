@@ -0,0 +1,63 @@
+package com.example.emailservice.infrastructure.blob;
+
+/**
+ * Corpo de email referenciado no BlobStore, identificado pelo hash do conteúdo
+ * Compartilhado por todos os emails com o mesmo texto enquanto houver referências
+ */
+public final class Blob {
+
+    private final long chave;
+    private final String texto;
+    private final long tamanho;
+
+    // alterado apenas dentro de ConcurrentHashMap.compute no BlobStore
+    private volatile int referencias;
+
+    Blob(long chave, String texto, long tamanho) {
+        this.chave = chave;
+        this.texto = texto;
+        this.tamanho = tamanho;
+    }
+
+    /**
+     * Chave no BlobStore: XXH64 do texto em UTF-8
+     */
+    public long getChave() {
+        return chave;
+    }
+
+    /**
+     * Chave em hexadecimal com 16 dígitos
+     */
+    public String getEndereco() {
+        return String.format("%016x", chave);
+    }
+
+    public String getTexto() {
+        return texto;
+    }
+
+    /**
+     * Tamanho do texto em bytes, em UTF-8
+     */
+    public long getTamanho() {
+        return tamanho;
+    }
+
+    public int getReferencias() {
+        return referencias;
+    }
+
+    void setReferencias(int referencias) {
+        this.referencias = referencias;
+    }
+
+    @Override
+    public String toString() {
+        return "Blob{" +
+            "endereco='" + getEndereco() + '\'' +
+            ", tamanho=" + tamanho +
+            ", referencias=" + referencias +
+            '}';
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.emailservice.infrastructure.blob;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.example.emailservice.infrastructure.util.XxHash64;
+
+/**
+ * Armazenamento endereçado por conteúdo dos corpos em uso, com deduplicação e contagem de referências
+ * Corpos idênticos usados por vários emails ao mesmo tempo ficam em um único blob, cuja chave é o XXH64 do
+ * texto em UTF-8 (calculado em blocos, sem cópia do texto inteiro) e confirmada com equals
+ * Cada adquirir deve ser pareado com um liberar, e o blob é descartado quando a última referência é liberada
+ *
+ * Em caso de colisão de chave com conteúdo diferente, o novo conteúdo recebe um blob próprio, fora do
+ * índice, e não é compartilhado.
+ */
+@Component("blobStore")
+public class BlobStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(BlobStore.class);
+
+    private final ConcurrentHashMap<Long, Blob> blobs = new ConcurrentHashMap<>();
+
+    /**
+     * Adquire uma referência ao blob do texto, criando-o se ainda não existir
+     * @param texto conteúdo do corpo
+     * @return blob compartilhado; getTexto() devolve a instância única do texto
+     */
+    public Blob adquirirTexto(String texto) {
+        long chave = XxHash64.hashUtf8(texto);
+        Blob[] adquirido = new Blob[1];
+
+        blobs.compute(chave, (c, existente) -> {
+            if (existente != null && existente.getTexto().equals(texto)) {
+                existente.setReferencias(existente.getReferencias() + 1);
+                adquirido[0] = existente;
+                return existente;
+            }
+
+            Blob novo = new Blob(chave, texto, tamanhoUtf8(texto));
+            novo.setReferencias(1);
+            adquirido[0] = novo;
+            if (existente == null) {
+                return novo;
+            }
+            logger.warn("Colisão de chave {} entre conteúdos diferentes; conteúdo não será compartilhado.",
+                novo.getEndereco());
+            return existente;
+        });
+
+        return adquirido[0];
+    }
+
+    /**
+     * Tamanho do texto em UTF-8, contado sem codificá-lo
+     */
+    private static long tamanhoUtf8(String texto) {
+        long tamanho = texto.length();
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            if (c >= 0x80) {
+                tamanho += c >= 0x800 && !Character.isSurrogate(c) ? 2 : 1;
+            }
+        }
+        return tamanho;
+    }
+
+    /**
+     * Libera uma referência ao blob; sem referências, o blob sai do armazenamento
+     */
+    public void liberar(Blob blob) {
+        blobs.computeIfPresent(blob.getChave(), (chave, existente) -> {
+            if (existente != blob) {
+                return existente;
+            }
+            int restantes = existente.getReferencias() - 1;
+            existente.setReferencias(restantes);
+            return restantes > 0 ? existente : null;
+        });
+    }
+
+    /**
+     * Libera uma referência a cada blob da coleção
+     */
+    public void liberar(Collection<Blob> blobs) {
+        for (Blob blob : blobs) {
+            liberar(blob);
+        }
+    }
+
+    /**
+     * Blobs com ao menos uma referência
+     */
+    public int getQuantidade() {
+        return blobs.size();
+    }
+
+    /**
+     * Bytes de conteúdo únicos referenciados pelo armazenamento
+     */
+    public long getBytesArmazenados() {
+        long total = 0;
+        for (Blob blob : blobs.values()) {
+            total += blob.getTamanho();
+        }
+        return total;
+    }
+}
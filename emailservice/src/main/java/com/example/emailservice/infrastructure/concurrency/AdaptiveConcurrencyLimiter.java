@@ -0,0 +1,309 @@
+package com.example.emailservice.infrastructure.concurrency;
+
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Limitador de concorrência adaptativo da camada de infraestrutura
+ * Aprende o limite de requisições simultâneas a partir da latência observada (algoritmo estilo TCP Vegas)
+ *
+ * A cada amostra estima-se a fila formada no destino comparando a latência atual com a menor latência
+ * observada sem carga: fila = limite * (1 - rttSemCarga / rtt). Fila pequena aumenta o limite, fila
+ * grande ou descarte reduzem. Requisições acima do limite são rejeitadas imediatamente.
+ *
+ * De tempos em tempos a latência sem carga é sondada: o limite servido cai no máximo 10% até que
+ * AMOSTRAS_POR_SONDAGEM envios iniciados com a concorrência menor terminem. Se a latência não cai, não
+ * há fila e a latência da sondagem substitui a latência sem carga, como no TCP Vegas, para que um destino
+ * mais lento de forma permanente não prenda o limite em valores baixos. Se a vazão não cai, o limite
+ * reduzido é mantido e a próxima sondagem vem logo, o que traz de volta um limite inicial alto demais.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdaptiveConcurrencyLimiter.class);
+
+    private static final int MULTIPLICADOR_SONDAGEM = 50;
+    private static final int MULTIPLICADOR_SONDAGEM_COM_FILA = 5;
+    private static final int AMOSTRAS_POR_SONDAGEM = 10;
+    private static final double REDUCAO_SONDAGEM = 0.9;
+    private static final double TOLERANCIA_VAZAO = 0.98;
+
+    private final String nome;
+    private final int limiteMinimo;
+    private volatile int limiteMaximo;
+    private final LongSupplier relogioNanos;
+    private final AtomicInteger emUso = new AtomicInteger();
+
+    private volatile int limite;
+    private double limiteEstimado;
+    private long rttSemCarga;
+    private long ultimoAjusteNanos;
+    private long amostrasAteSondagem;
+    private boolean emSondagem;
+    private long inicioSondagemNanos;
+    private long menorRttSondagem;
+    private int amostrasSondagem;
+    private long menorRttJanela = Long.MAX_VALUE;
+    private int amostrasJanela;
+    private long menorRttAntesDaSondagem = Long.MAX_VALUE;
+    private long menorRttReferencia;
+    private int limiteReferencia;
+    private boolean acimaDaCapacidade;
+
+    public AdaptiveConcurrencyLimiter(String nome, int limiteInicial, int limiteMinimo, int limiteMaximo) {
+        this(nome, limiteInicial, limiteMinimo, limiteMaximo, System::nanoTime);
+    }
+
+    public AdaptiveConcurrencyLimiter(String nome, int limiteInicial, int limiteMinimo, int limiteMaximo,
+                                      LongSupplier relogioNanos) {
+        if (limiteMinimo < 1 || limiteMaximo < limiteMinimo) {
+            throw new IllegalArgumentException("Limites de concorrência inválidos para " + nome + ".");
+        }
+
+        this.nome = nome;
+        this.limiteMinimo = limiteMinimo;
+        this.limiteMaximo = limiteMaximo;
+        this.relogioNanos = relogioNanos;
+        this.limiteEstimado = Math.max(limiteMinimo, Math.min(limiteMaximo, limiteInicial));
+        this.limite = (int) limiteEstimado;
+        this.amostrasAteSondagem = proximaSondagem();
+    }
+
+    /**
+     * Tenta reservar uma vaga de execução
+     * @return permissão a ser concluída pelo chamador, ou vazio se o limite foi atingido
+     */
+    public Optional<Permissao> tentarAdquirir() {
+        while (true) {
+            int atual = emUso.get();
+            if (atual >= limite) {
+                return Optional.empty();
+            }
+            if (emUso.compareAndSet(atual, atual + 1)) {
+                return Optional.of(new Permissao(relogioNanos.getAsLong(), atual + 1));
+            }
+        }
+    }
+
+    /**
+     * Atualiza o limite a partir de uma amostra de latência
+     */
+    private synchronized void registrarAmostra(long inicioNanos, long fimNanos, int emUsoNoInicio, boolean descartada) {
+        long rtt = Math.max(1, fimNanos - inicioNanos);
+
+        if (rttSemCarga == 0 || rtt < rttSemCarga) {
+            rttSemCarga = rtt;
+        }
+
+        if (emSondagem) {
+            registrarAmostraDeSondagem(inicioNanos, rtt);
+            return;
+        }
+
+        menorRttJanela = Math.min(menorRttJanela, rtt);
+        if (++amostrasJanela >= AMOSTRAS_POR_SONDAGEM) {
+            menorRttAntesDaSondagem = menorRttJanela;
+            menorRttJanela = Long.MAX_VALUE;
+            amostrasJanela = 0;
+        }
+
+        if (--amostrasAteSondagem <= 0) {
+            iniciarSondagem(fimNanos);
+            return;
+        }
+
+        // Sem demanda suficiente a latência não diz nada sobre a capacidade do destino
+        if (!descartada && emUsoNoInicio * 2 < limiteEstimado) {
+            return;
+        }
+
+        // Como no TCP Vegas, o limite muda no máximo uma vez por RTT: amostras do mesmo intervalo
+        // refletem a mesma concorrência e ajustá-las uma a uma faria o limite oscilar
+        if (fimNanos - ultimoAjusteNanos < rttSemCarga) {
+            return;
+        }
+        ultimoAjusteNanos = fimNanos;
+
+        double novoLimite = calcularNovoLimite(rtt, emUsoNoInicio, descartada);
+        novoLimite = Math.max(limiteMinimo, Math.min(limiteMaximo, novoLimite));
+
+        // A última sondagem mostrou vagas que só formavam fila: crescer de novo as recriaria
+        if (acimaDaCapacidade && novoLimite > limiteEstimado) {
+            return;
+        }
+
+        if ((int) novoLimite != limite) {
+            logger.debug("Limite de concorrência '{}' ajustado de {} para {}.", nome, limite, (int) novoLimite);
+        }
+
+        limiteEstimado = novoLimite;
+        limite = (int) novoLimite;
+    }
+
+    /**
+     * Reduz o limite servido em no máximo 10% para observar a latência com menos concorrência
+     * Uma queda maior rejeitaria de uma vez boa parte das requisições que o destino atende
+     */
+    private void iniciarSondagem(long agoraNanos) {
+        emSondagem = true;
+        inicioSondagemNanos = agoraNanos;
+        menorRttSondagem = Long.MAX_VALUE;
+        amostrasSondagem = 0;
+        menorRttReferencia = menorRttAntesDaSondagem;
+        limiteReferencia = limite;
+        limite = Math.max(limiteMinimo, Math.min(limite - 1, (int) Math.ceil(limite * REDUCAO_SONDAGEM)));
+    }
+
+    /**
+     * Só contam envios iniciados depois da redução: desde a reserva, a concorrência não passou do limite reduzido
+     * A referência é a menor latência das últimas AMOSTRAS_POR_SONDAGEM amostras com o limite cheio
+     */
+    private void registrarAmostraDeSondagem(long inicioNanos, long rtt) {
+        if (inicioNanos < inicioSondagemNanos) {
+            return;
+        }
+
+        menorRttSondagem = Math.min(menorRttSondagem, rtt);
+        if (++amostrasSondagem >= AMOSTRAS_POR_SONDAGEM) {
+            if (menorRttSondagem >= menorRttReferencia) {
+                rttSemCarga = menorRttSondagem;
+                logger.debug("Latência sem carga de '{}' recalculada: {} ns.", nome, rttSemCarga);
+            }
+
+            // Vazão = concorrência / latência (lei de Little): se caiu menos que a tolerância com o limite
+            // reduzido, as vagas retiradas só formavam fila e o limite reduzido é mantido
+            double vazaoAntes = (double) limiteReferencia / menorRttReferencia;
+            double vazaoSondagem = (double) limite / menorRttSondagem;
+            if (limite < limiteReferencia && vazaoSondagem >= vazaoAntes * TOLERANCIA_VAZAO) {
+                logger.debug("Limite de concorrência '{}' ajustado de {} para {}.", nome, limiteReferencia, limite);
+                limiteEstimado = limite;
+                acimaDaCapacidade = true;
+                amostrasAteSondagem = Math.max(AMOSTRAS_POR_SONDAGEM, (long) (MULTIPLICADOR_SONDAGEM_COM_FILA * limiteEstimado));
+            } else {
+                acimaDaCapacidade = false;
+                amostrasAteSondagem = proximaSondagem();
+            }
+            emSondagem = false;
+            menorRttJanela = Long.MAX_VALUE;
+            amostrasJanela = 0;
+            limite = (int) limiteEstimado;
+        }
+    }
+
+    private double calcularNovoLimite(long rtt, int emUsoNoInicio, boolean descartada) {
+        double logLimite = Math.max(1.0, Math.log10(limiteEstimado));
+
+        if (descartada) {
+            return limiteEstimado - logLimite;
+        }
+
+        double fila = Math.ceil(limiteEstimado * (1 - (double) rttSemCarga / rtt));
+        double alfa = 3 * logLimite;
+        double beta = 6 * logLimite;
+
+        if (fila <= logLimite) {
+            return limiteEstimado + beta;
+        } else if (fila < alfa) {
+            return limiteEstimado + logLimite;
+        } else if (fila > beta) {
+            return limiteEstimado - logLimite;
+        }
+
+        return limiteEstimado;
+    }
+
+    /**
+     * Intervalo (em amostras) até a próxima sondagem, com variação aleatória para não sincronizar instâncias
+     */
+    private long proximaSondagem() {
+        return (long) (MULTIPLICADOR_SONDAGEM * limiteEstimado * (0.5 + ThreadLocalRandom.current().nextDouble() * 0.5));
+    }
+
+    /**
+     * Altera o limite máximo em execução; o limite atual é reduzido se estiver acima do novo máximo
+     * Vagas já reservadas não são afetadas: acima do novo limite, novas reservas são rejeitadas até que
+     * as pendentes terminem
+     * @throws IllegalArgumentException se o novo máximo for menor que o limite mínimo
+     */
+    public synchronized void redefinirLimiteMaximo(int novoLimiteMaximo) {
+        if (novoLimiteMaximo < limiteMinimo) {
+            throw new IllegalArgumentException("Limite máximo de " + nome + " deve ser pelo menos " + limiteMinimo + ".");
+        }
+        limiteMaximo = novoLimiteMaximo;
+        if (limiteEstimado > novoLimiteMaximo) {
+            limiteEstimado = novoLimiteMaximo;
+            limite = Math.min(limite, novoLimiteMaximo);
+        }
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public int getLimiteMaximo() {
+        return limiteMaximo;
+    }
+
+    public int getLimite() {
+        return limite;
+    }
+
+    public int getEmUso() {
+        return emUso.get();
+    }
+
+    /**
+     * Vaga reservada no limitador
+     * Deve ser concluída exatamente uma vez com sucesso, descarte ou ignorar; conclusões repetidas, mesmo
+     * vindas de threads diferentes (ex.: término assíncrono e o chamador), são ignoradas
+     */
+    public final class Permissao {
+
+        private final long inicioNanos;
+        private final int emUsoNoInicio;
+        private final AtomicBoolean concluida = new AtomicBoolean();
+
+        private Permissao(long inicioNanos, int emUsoNoInicio) {
+            this.inicioNanos = inicioNanos;
+            this.emUsoNoInicio = emUsoNoInicio;
+        }
+
+        /**
+         * Requisição concluída normalmente; a latência alimenta o limite
+         */
+        public void sucesso() {
+            if (liberar()) {
+                registrarAmostra(inicioNanos, relogioNanos.getAsLong(), emUsoNoInicio, false);
+            }
+        }
+
+        /**
+         * Requisição falhou por sobrecarga ou timeout no destino; o limite é reduzido
+         */
+        public void descartada() {
+            if (liberar()) {
+                registrarAmostra(inicioNanos, relogioNanos.getAsLong(), emUsoNoInicio, true);
+            }
+        }
+
+        /**
+         * Requisição terminou sem informação útil de capacidade (ex.: dados inválidos)
+         */
+        public void ignorar() {
+            liberar();
+        }
+
+        private boolean liberar() {
+            if (!concluida.compareAndSet(false, true)) {
+                return false;
+            }
+            emUso.decrementAndGet();
+            return true;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.emailservice.infrastructure.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.example.emailservice.infrastructure.concurrency.AdaptiveConcurrencyLimiter;
+
+/**
+ * Configuração dos limitadores de concorrência adaptativos
+ * Um limitador protege o endpoint de envio e outro a chamada ao provedor
+ */
+@Configuration
+public class ConcurrencyLimitConfiguration {
+
+    /**
+     * Limitador aplicado em EmailController.enviarEmail
+     */
+    @Bean("enviarEmailLimiter")
+    public AdaptiveConcurrencyLimiter enviarEmailLimiter(
+            @Value("${mail.concorrencia.enviar.limite-inicial:20}") int limiteInicial,
+            @Value("${mail.concorrencia.enviar.limite-minimo:5}") int limiteMinimo,
+            @Value("${mail.concorrencia.enviar.limite-maximo:1000}") int limiteMaximo) {
+        return new AdaptiveConcurrencyLimiter("enviar", limiteInicial, limiteMinimo, limiteMaximo);
+    }
+
+    /**
+     * Limitador aplicado na chamada ao provedor em EmailIntegrationService
+     */
+    @Bean("provedorLimiter")
+    public AdaptiveConcurrencyLimiter provedorLimiter(
+            @Value("${mail.concorrencia.provedor.limite-inicial:20}") int limiteInicial,
+            @Value("${mail.concorrencia.provedor.limite-minimo:5}") int limiteMinimo,
+            @Value("${mail.concorrencia.provedor.limite-maximo:500}") int limiteMaximo) {
+        return new AdaptiveConcurrencyLimiter("provedor", limiteInicial, limiteMinimo, limiteMaximo);
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.emailservice.infrastructure.config;
+
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+import com.example.emailservice.business.domain.dto.MailMergeHeaderDTO;
+import com.example.emailservice.business.domain.dto.MailMergeRecipientDTO;
+import com.example.emailservice.business.domain.dto.MultiRecipientResultDTO;
+import com.example.emailservice.infrastructure.logging.InfoSamplingTurboFilter;
+import com.example.emailservice.integration.dto.EmailAwsDTO;
+import com.example.emailservice.integration.dto.EmailOciDTO;
+import com.example.emailservice.integration.dto.EmailSmtpDTO;
+
+/**
+ * Metadados de alcançabilidade para a imagem nativa (perfil Maven "native")
+ * O processamento AOT do Spring já cobre os beans (inclusive os adapters injetados em EmailAdapterFactory)
+ * e os corpos de @RequestBody e dos endpoints; aqui ficam apenas os acessos que ele não enxerga:
+ * - DTOs dos provedores, serializados por JsonSerializer como Object
+ * - DTOs da mala direta, lidos do NDJSON por ObjectMapper.readerFor
+ * - resultado por destinatário, devolvido por enviarEmail em um ResponseEntity<?>
+ * - InfoSamplingTurboFilter, instanciado e configurado por reflexão a partir do logback-spring.xml
+ * - modelos de email locais em templates/email
+ */
+@Configuration(proxyBeanMethods = false)
+@ImportRuntimeHints(NativeImageHints.class)
+public class NativeImageHints implements RuntimeHintsRegistrar {
+
+    static final Class<?>[] TIPOS_JSON = {
+        EmailAwsDTO.class, EmailOciDTO.class, EmailSmtpDTO.class,
+        MailMergeHeaderDTO.class, MailMergeRecipientDTO.class, MultiRecipientResultDTO.class
+    };
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(), TIPOS_JSON);
+
+        hints.reflection().registerType(InfoSamplingTurboFilter.class,
+            MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+
+        hints.resources().registerPattern("templates/email/*.txt");
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.emailservice.infrastructure.config;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Configuração imutável da integração com os provedores
+ * Cada alteração gera uma nova instância com a versão seguinte (ver ProviderSettingsRegistry); quem lê
+ * a configuração no início de um envio usa a mesma instância até o fim, mesmo que ela seja trocada
+ *
+ * Com pesos, o provedor principal de cada email é sorteado proporcionalmente (ex.: AWS=90,OCI=10);
+ * sem pesos, é sempre o provedor configurado.
+ */
+public final class ProviderSettings {
+
+    private final long versao;
+    private final String provedor;
+    private final String fallback;
+    private final Map<String, Integer> pesos;
+    private final long timeoutMs;
+    private final int limiteMaximoProvedor;
+
+    private final String[] sorteados;
+    private final int[] pesosAcumulados;
+
+    public ProviderSettings(long versao, String provedor, String fallback, Map<String, Integer> pesos,
+                            long timeoutMs, int limiteMaximoProvedor) {
+        if (provedor == null || provedor.isBlank()) {
+            throw new IllegalArgumentException("Provedor é obrigatório.");
+        }
+        if (timeoutMs <= 0) {
+            throw new IllegalArgumentException("Timeout deve ser positivo.");
+        }
+        if (limiteMaximoProvedor < 1) {
+            throw new IllegalArgumentException("Limite máximo do provedor deve ser positivo.");
+        }
+
+        this.versao = versao;
+        this.provedor = provedor;
+        this.fallback = fallback == null ? "" : fallback;
+        this.pesos = Collections.unmodifiableMap(new TreeMap<>(pesos));
+        this.timeoutMs = timeoutMs;
+        this.limiteMaximoProvedor = limiteMaximoProvedor;
+
+        this.sorteados = new String[this.pesos.size()];
+        this.pesosAcumulados = new int[this.pesos.size()];
+        int indice = 0;
+        int acumulado = 0;
+        for (Map.Entry<String, Integer> peso : this.pesos.entrySet()) {
+            if (peso.getValue() == null || peso.getValue() < 0) {
+                throw new IllegalArgumentException("Peso inválido para " + peso.getKey() + ".");
+            }
+            acumulado = Math.addExact(acumulado, peso.getValue());
+            sorteados[indice] = peso.getKey();
+            pesosAcumulados[indice++] = acumulado;
+        }
+        if (!this.pesos.isEmpty() && acumulado == 0) {
+            throw new IllegalArgumentException("Ao menos um peso deve ser positivo.");
+        }
+    }
+
+    /**
+     * Lê pesos no formato PROVEDOR=peso separados por vírgula; texto vazio significa sem pesos
+     */
+    public static Map<String, Integer> lerPesos(String texto) {
+        Map<String, Integer> pesos = new TreeMap<>();
+        if (texto == null || texto.isBlank()) {
+            return pesos;
+        }
+        for (String item : texto.split(",")) {
+            int igual = item.indexOf('=');
+            if (igual <= 0) {
+                throw new IllegalArgumentException("Peso inválido: '" + item.trim() + "'. Use PROVEDOR=peso.");
+            }
+            try {
+                pesos.put(item.substring(0, igual).trim().toUpperCase(), Integer.parseInt(item.substring(igual + 1).trim()));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Peso inválido: '" + item.trim() + "'. Use PROVEDOR=peso.");
+            }
+        }
+        return pesos;
+    }
+
+    /**
+     * Provedor principal de um envio: sorteado pelos pesos, se houver, ou o provedor configurado
+     * Sem alocação nem sincronização; chamado a cada email
+     */
+    public String escolherProvedor() {
+        if (sorteados.length == 0) {
+            return provedor;
+        }
+        int sorteio = ThreadLocalRandom.current().nextInt(pesosAcumulados[pesosAcumulados.length - 1]);
+        for (int i = 0; i < pesosAcumulados.length; i++) {
+            if (sorteio < pesosAcumulados[i]) {
+                return sorteados[i];
+            }
+        }
+        return provedor;
+    }
+
+    /**
+     * Indica se há provedor alternativo para um envio feito pelo provedor informado
+     */
+    public boolean possuiFallback(String provedorDoEnvio) {
+        return !fallback.isBlank() && !fallback.equalsIgnoreCase(provedorDoEnvio);
+    }
+
+    public long getVersao() {
+        return versao;
+    }
+
+    public String getProvedor() {
+        return provedor;
+    }
+
+    public String getFallback() {
+        return fallback;
+    }
+
+    public Map<String, Integer> getPesos() {
+        return pesos;
+    }
+
+    public long getTimeoutMs() {
+        return timeoutMs;
+    }
+
+    public int getLimiteMaximoProvedor() {
+        return limiteMaximoProvedor;
+    }
+
+    @Override
+    public String toString() {
+        return "ProviderSettings{versao=" + versao + ", provedor='" + provedor + "', fallback='" + fallback
+            + "', pesos=" + pesos + ", timeoutMs=" + timeoutMs + ", limiteMaximoProvedor=" + limiteMaximoProvedor + '}';
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.emailservice.infrastructure.config;
+
+import java.util.List;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Endpoint do Actuator para a configuração dos provedores (/actuator/provedores)
+ * - GET: configuração vigente e auditoria das últimas alterações
+ * - POST: altera provedor, fallback, pesos, timeout e limite máximo sem reinício; campos ausentes são mantidos.
+ *   Só com o perfil gestao, que serve o Actuator em uma porta de gerenciamento local (o endpoint não autentica)
+ */
+@Component
+@Endpoint(id = "provedores")
+public class ProviderSettingsEndpoint {
+
+    private final ProviderSettingsRegistry providerSettingsRegistry;
+
+    public ProviderSettingsEndpoint(ProviderSettingsRegistry providerSettingsRegistry) {
+        this.providerSettingsRegistry = providerSettingsRegistry;
+    }
+
+    @ReadOperation
+    public Estado provedores() {
+        return new Estado(providerSettingsRegistry.atual(), providerSettingsRegistry.getAuditoria());
+    }
+
+    /**
+     * @param pesos PROVEDOR=peso separados por vírgula; vazio remove os pesos
+     * @param versaoEsperada versão lida antes da alteração, para não sobrescrever uma alteração concorrente
+     */
+    @WriteOperation
+    public ProviderSettings atualizar(String autor, @Nullable String motivo, @Nullable Long versaoEsperada,
+                                      @Nullable String provedor, @Nullable String fallback, @Nullable String pesos,
+                                      @Nullable Long timeoutMs, @Nullable Integer limiteMaximoProvedor) {
+        return providerSettingsRegistry.atualizar(
+            new ProviderSettingsRegistry.Mudanca(provedor, fallback, pesos, timeoutMs, limiteMaximoProvedor),
+            versaoEsperada, autor, motivo);
+    }
+
+    /**
+     * Resposta da leitura: configuração vigente e alterações mais recentes
+     */
+    public record Estado(ProviderSettings atual, List<ProviderSettingsRegistry.Alteracao> auditoria) {
+    }
+}
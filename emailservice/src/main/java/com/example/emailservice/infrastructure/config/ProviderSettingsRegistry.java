@@ -0,0 +1,143 @@
+package com.example.emailservice.infrastructure.config;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.Marker;
+import org.slf4j.MarkerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.emailservice.infrastructure.concurrency.AdaptiveConcurrencyLimiter;
+import com.example.emailservice.infrastructure.metrics.PipelineMetrics;
+import com.example.emailservice.shared.enums.IntegrationType;
+
+/**
+ * Configuração da integração alterável em execução, sem reinício
+ * A configuração atual é uma instância imutável de ProviderSettings publicada em um campo volatile:
+ * a leitura no caminho quente é uma única leitura sem lock, e cada alteração cria uma cópia com os
+ * campos alterados (copy-on-write). Envios em andamento continuam com a configuração que leram no início;
+ * apenas os envios seguintes usam a nova.
+ *
+ * As alterações são serializadas, validadas e auditadas: as últimas ficam em memória e cada uma é
+ * registrada no log com o marcador AUDITORIA, que não passa pela amostragem de logs INFO.
+ */
+@Component("providerSettingsRegistry")
+public class ProviderSettingsRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProviderSettingsRegistry.class);
+    public static final Marker AUDITORIA = MarkerFactory.getMarker("AUDITORIA");
+
+    private final AdaptiveConcurrencyLimiter provedorLimiter;
+    private final PipelineMetrics pipelineMetrics;
+    private final int tamanhoAuditoria;
+    private final ArrayDeque<Alteracao> auditoria = new ArrayDeque<>();
+
+    private volatile ProviderSettings atual;
+
+    public ProviderSettingsRegistry(@Qualifier("provedorLimiter") AdaptiveConcurrencyLimiter provedorLimiter,
+                                    PipelineMetrics pipelineMetrics,
+                                    @Value("${mail.integracao}") String provedor,
+                                    @Value("${mail.integracao.fallback:}") String fallback,
+                                    @Value("${mail.integracao.pesos:}") String pesos,
+                                    @Value("${mail.integracao.timeout-ms:10000}") long timeoutMs,
+                                    @Value("${mail.integracao.auditoria.tamanho:100}") int tamanhoAuditoria) {
+        this.provedorLimiter = provedorLimiter;
+        this.pipelineMetrics = pipelineMetrics;
+        this.tamanhoAuditoria = tamanhoAuditoria;
+        this.atual = new ProviderSettings(1, provedor, fallback, ProviderSettings.lerPesos(pesos), timeoutMs,
+            provedorLimiter.getLimiteMaximo());
+    }
+
+    /**
+     * Configuração vigente; deve ser lida uma única vez por envio
+     */
+    public ProviderSettings atual() {
+        return atual;
+    }
+
+    /**
+     * Aplica a mudança sobre a configuração vigente e publica a nova versão
+     * @param mudanca campos a alterar; campos nulos mantêm o valor atual
+     * @param versaoEsperada se informada, a alteração só é aplicada se a versão vigente for esta
+     * @param autor responsável pela alteração, registrado na auditoria
+     * @param motivo justificativa opcional
+     * @return a nova configuração
+     * @throws IllegalArgumentException se a mudança for inválida ou a versão vigente for outra
+     */
+    public synchronized ProviderSettings atualizar(Mudanca mudanca, Long versaoEsperada, String autor, String motivo) {
+        if (autor == null || autor.isBlank()) {
+            throw new IllegalArgumentException("Autor da alteração é obrigatório.");
+        }
+        ProviderSettings anterior = atual;
+        if (versaoEsperada != null && versaoEsperada != anterior.getVersao()) {
+            throw new IllegalArgumentException("A configuração foi alterada: versão esperada " + versaoEsperada
+                + ", versão atual " + anterior.getVersao() + ".");
+        }
+
+        ProviderSettings nova = new ProviderSettings(anterior.getVersao() + 1,
+            mudanca.provedor() != null ? validarProvedor(mudanca.provedor()) : anterior.getProvedor(),
+            mudanca.fallback() != null ? validarFallback(mudanca.fallback()) : anterior.getFallback(),
+            mudanca.pesos() != null ? validarPesos(mudanca.pesos()) : anterior.getPesos(),
+            mudanca.timeoutMs() != null ? mudanca.timeoutMs() : anterior.getTimeoutMs(),
+            mudanca.limiteMaximoProvedor() != null ? mudanca.limiteMaximoProvedor() : anterior.getLimiteMaximoProvedor());
+
+        if (nova.getLimiteMaximoProvedor() != anterior.getLimiteMaximoProvedor()) {
+            provedorLimiter.redefinirLimiteMaximo(nova.getLimiteMaximoProvedor());
+        }
+        atual = nova;
+        pipelineMetrics.definirProvedorPadrao(nova.getProvedor());
+
+        Alteracao alteracao = new Alteracao(nova.getVersao(), Instant.now(), autor, motivo, anterior, nova);
+        auditoria.addLast(alteracao);
+        while (auditoria.size() > tamanhoAuditoria) {
+            auditoria.removeFirst();
+        }
+        logger.info(AUDITORIA, "Configuração de provedores alterada por {} ({}): {} -> {}.",
+            autor, motivo, anterior, nova);
+        return nova;
+    }
+
+    /**
+     * Alterações mais recentes, da mais antiga para a mais nova
+     */
+    public synchronized List<Alteracao> getAuditoria() {
+        return new ArrayList<>(auditoria);
+    }
+
+    private static String validarProvedor(String provedor) {
+        if (!IntegrationType.isValid(provedor)) {
+            throw new IllegalArgumentException("Provedor '" + provedor + "' não suportado.");
+        }
+        return provedor.toUpperCase();
+    }
+
+    private static String validarFallback(String fallback) {
+        return fallback.isBlank() ? "" : validarProvedor(fallback);
+    }
+
+    private static Map<String, Integer> validarPesos(String texto) {
+        Map<String, Integer> pesos = ProviderSettings.lerPesos(texto);
+        pesos.keySet().forEach(ProviderSettingsRegistry::validarProvedor);
+        return pesos;
+    }
+
+    /**
+     * Campos a alterar; nulo mantém o valor atual, texto vazio remove fallback ou pesos
+     */
+    public record Mudanca(String provedor, String fallback, String pesos, Long timeoutMs, Integer limiteMaximoProvedor) {
+    }
+
+    /**
+     * Registro de auditoria de uma alteração
+     */
+    public record Alteracao(long versao, Instant instante, String autor, String motivo,
+                            ProviderSettings anterior, ProviderSettings nova) {
+    }
+}
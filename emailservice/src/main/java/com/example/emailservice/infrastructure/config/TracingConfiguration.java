@@ -0,0 +1,56 @@
+package com.example.emailservice.infrastructure.config;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.example.emailservice.infrastructure.tracing.FileSpanExporter;
+import com.example.emailservice.infrastructure.tracing.HeadSampler;
+import com.example.emailservice.infrastructure.tracing.TailSamplingSpanProcessor;
+import com.example.emailservice.infrastructure.util.JsonSerializer;
+
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+
+/**
+ * Configuração do tracing OpenTelemetry montado pelo Actuator
+ * - amostragem na cabeça por management.tracing.sampling.probability, sem descartar os demais rastros
+ * - amostragem na cauda: rastros não amostrados com falha ou lentos também são exportados
+ * - exportação opcional para arquivo NDJSON (mail.tracing.arquivo)
+ */
+@Configuration
+public class TracingConfiguration {
+
+    /**
+     * Substitui o sampler padrão do Actuator, que descartaria os rastros não amostrados
+     */
+    @Bean
+    public Sampler otelSampler(@Value("${management.tracing.sampling.probability:0.1}") double probabilidade) {
+        return HeadSampler.criar(probabilidade);
+    }
+
+    /**
+     * Registrado como SpanProcessor, é incluído pelo Actuator no SdkTracerProvider; exporta para os mesmos
+     * SpanExporter usados pelo BatchSpanProcessor
+     */
+    @Bean
+    public TailSamplingSpanProcessor tailSamplingSpanProcessor(ObjectProvider<SpanExporter> exportadores,
+            @Value("${mail.tracing.cauda.latencia-ms:1000}") long latenciaMs,
+            @Value("${mail.tracing.cauda.max-rastros:10000}") int maxRastros,
+            @Value("${mail.tracing.cauda.espera-maxima-ms:60000}") long esperaMaximaMs) {
+        return new TailSamplingSpanProcessor(() -> SpanExporter.composite(exportadores.orderedStream().toList()),
+            latenciaMs, maxRastros, esperaMaximaMs);
+    }
+
+    @Bean
+    @ConditionalOnExpression("!'${mail.tracing.arquivo:}'.isBlank()")
+    public FileSpanExporter fileSpanExporter(@Value("${mail.tracing.arquivo}") String arquivo,
+                                             JsonSerializer jsonSerializer) throws IOException {
+        return new FileSpanExporter(Path.of(arquivo), jsonSerializer);
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.emailservice.infrastructure.crac;
+
+import java.io.IOException;
+
+import org.crac.CheckpointException;
+import org.crac.Core;
+import org.crac.RestoreException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.example.emailservice.infrastructure.warmup.JitWarmup;
+
+/**
+ * Checkpoint do CRaC com a aplicação já aquecida, para que as instâncias restauradas partam com o JIT pronto
+ * Com mail.crac.checkpoint=true (em uma JVM com CRaC, iniciada com -XX:CRaCCheckpointTo), quando a aplicação
+ * fica pronta passa mail.crac.aquecimento.envios emails sintéticos pelo caminho do envio, com a mesma rotina
+ * do JitWarmup, e então pede o checkpoint. Antes do checkpoint o Spring para o servidor web e os beans
+ * Lifecycle (pool SMTP, cliente HTTP dos provedores, arquivo de spans, agendador das janelas de latência) e
+ * os inicia de novo após o restore.
+ *
+ * O aquecimento não imprime nem entrega os emails e não passa pelos limitadores, métricas e spans, de modo que
+ * a imagem restaurada parte sem tráfego sintético registrado, qualquer que seja o provedor configurado.
+ */
+@Component("checkpointWarmup")
+public class CheckpointWarmup {
+
+    private static final Logger logger = LoggerFactory.getLogger(CheckpointWarmup.class);
+
+    private final JitWarmup jitWarmup;
+    private final boolean checkpoint;
+    private final int envios;
+
+    public CheckpointWarmup(JitWarmup jitWarmup,
+                            @Value("${mail.crac.checkpoint:false}") boolean checkpoint,
+                            @Value("${mail.crac.aquecimento.envios:10000}") int envios) {
+        this.jitWarmup = jitWarmup;
+        this.checkpoint = checkpoint;
+        this.envios = envios;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void aoFicarPronta() {
+        if (!checkpoint) {
+            return;
+        }
+
+        aquecer();
+
+        try {
+            logger.info("Solicitando checkpoint do CRaC.");
+            Core.checkpointRestore();
+            logger.info("Aplicação restaurada do checkpoint.");
+        } catch (CheckpointException | RestoreException e) {
+            logger.warn("Checkpoint do CRaC falhou: {}.", e.getMessage());
+        } catch (UnsupportedOperationException e) {
+            logger.warn("JVM sem suporte a CRaC; seguindo sem checkpoint.");
+        }
+    }
+
+    /**
+     * Passa os emails sintéticos pelo caminho do envio na thread chamadora; falhas apenas encerram o aquecimento
+     * @return quantidade de emails exercitados
+     */
+    int aquecer() {
+        long inicio = System.nanoTime();
+        int exercitados = 0;
+        try {
+            exercitados = jitWarmup.exercitarEnvios(envios);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Aquecimento interrompido: {}.", e.getMessage());
+        }
+        logger.info("Aquecimento: {} de {} envios em {} ms.", exercitados, envios, (System.nanoTime() - inicio) / 1_000_000);
+        return exercitados;
+    }
+}
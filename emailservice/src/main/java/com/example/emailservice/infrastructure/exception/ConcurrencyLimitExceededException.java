@@ -0,0 +1,27 @@
+package com.example.emailservice.infrastructure.exception;
+
+/**
+ * Exceção da camada de infraestrutura
+ * Indica que a requisição foi rejeitada pelo limitador de concorrência (sobrecarga)
+ * Sem stack trace e com a mensagem formatada só quando lida: é lançada justamente quando o serviço está sobrecarregado
+ */
+public class ConcurrencyLimitExceededException extends RuntimeException {
+
+    private final String limitador;
+    private final int limite;
+
+    public ConcurrencyLimitExceededException(String limitador, int limite) {
+        super(null, null, false, false);
+        this.limitador = limitador;
+        this.limite = limite;
+    }
+
+    @Override
+    public String getMessage() {
+        return "Limite de concorrência '" + limitador + "' atingido (" + limite + " requisições simultâneas)";
+    }
+
+    public String getLimitador() {
+        return limitador;
+    }
+}
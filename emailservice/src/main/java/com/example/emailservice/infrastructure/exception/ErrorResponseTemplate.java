@@ -0,0 +1,117 @@
+package com.example.emailservice.infrastructure.exception;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+
+/**
+ * Corpo JSON das respostas de erro, montado a partir de bytes pré-serializados
+ * Formato: {"timestamp":"...","status":400,"error":"TIPO","message":"..."}
+ * O trecho de status e tipo é serializado uma vez por tipo de erro, as mensagens fixas (ex.: as de
+ * ValidationResult) uma vez por mensagem e o timestamp uma vez por segundo; cada resposta apenas copia
+ * os trechos para um array do tamanho exato.
+ */
+public final class ErrorResponseTemplate {
+
+    public static final ErrorResponseTemplate BUSINESS_ERROR = new ErrorResponseTemplate("BUSINESS_ERROR", HttpStatus.BAD_REQUEST);
+    public static final ErrorResponseTemplate INTEGRATION_ERROR = new ErrorResponseTemplate("INTEGRATION_ERROR", HttpStatus.BAD_REQUEST);
+    public static final ErrorResponseTemplate SERVICE_OVERLOADED = new ErrorResponseTemplate("SERVICE_OVERLOADED", HttpStatus.SERVICE_UNAVAILABLE);
+    public static final ErrorResponseTemplate VALIDATION_ERROR = new ErrorResponseTemplate("VALIDATION_ERROR", HttpStatus.BAD_REQUEST);
+    public static final ErrorResponseTemplate DOMAIN_VALIDATION_ERROR = new ErrorResponseTemplate("DOMAIN_VALIDATION_ERROR", HttpStatus.BAD_REQUEST);
+    public static final ErrorResponseTemplate IDEMPOTENCY_CONFLICT = new ErrorResponseTemplate("IDEMPOTENCY_CONFLICT", HttpStatus.CONFLICT);
+    public static final ErrorResponseTemplate IDEMPOTENCY_KEY_REUSED = new ErrorResponseTemplate("IDEMPOTENCY_KEY_REUSED", HttpStatus.UNPROCESSABLE_ENTITY);
+    public static final ErrorResponseTemplate INTERNAL_SERVER_ERROR = new ErrorResponseTemplate("INTERNAL_SERVER_ERROR", HttpStatus.INTERNAL_SERVER_ERROR);
+
+    private static final byte[] INICIO = "{\"timestamp\":\"".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] FIM = "\"}".getBytes(StandardCharsets.UTF_8);
+    private static final DateTimeFormatter FORMATO_INSTANTE = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+    private static final int MAX_MENSAGENS_FIXAS = 256;
+
+    private static volatile Instante instante = new Instante(-1, new byte[0]);
+
+    private final HttpStatus status;
+    private final byte[] meio;
+    private final ConcurrentHashMap<String, byte[]> mensagensFixas = new ConcurrentHashMap<>();
+
+    private ErrorResponseTemplate(String tipo, HttpStatus status) {
+        this.status = status;
+        this.meio = ("\",\"status\":" + status.value() + ",\"error\":\"" + tipo + "\",\"message\":\"")
+            .getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Corpo com uma mensagem variável, escapada a cada chamada
+     */
+    public byte[] renderizar(String mensagem) {
+        return montar(escapar(mensagem));
+    }
+
+    /**
+     * Corpo com uma mensagem constante, escapada apenas na primeira vez
+     * Mensagens montadas com dados da requisição devem usar renderizar
+     */
+    public byte[] renderizarFixa(String mensagem) {
+        byte[] escapada = mensagensFixas.get(mensagem);
+        if (escapada == null) {
+            escapada = escapar(mensagem);
+            if (mensagensFixas.size() < MAX_MENSAGENS_FIXAS) {
+                mensagensFixas.putIfAbsent(mensagem, escapada);
+            }
+        }
+        return montar(escapada);
+    }
+
+    /**
+     * Resposta com o status do tipo de erro e o corpo informado
+     */
+    public ResponseEntity<byte[]> responder(byte[] corpo) {
+        return ResponseEntity.status(status).contentType(MediaType.APPLICATION_JSON).body(corpo);
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+
+    private byte[] montar(byte[] mensagem) {
+        byte[] agora = instanteAtual();
+        byte[] corpo = new byte[INICIO.length + agora.length + meio.length + mensagem.length + FIM.length];
+        int posicao = copiar(INICIO, corpo, 0);
+        posicao = copiar(agora, corpo, posicao);
+        posicao = copiar(meio, corpo, posicao);
+        posicao = copiar(mensagem, corpo, posicao);
+        copiar(FIM, corpo, posicao);
+        return corpo;
+    }
+
+    private static int copiar(byte[] origem, byte[] destino, int posicao) {
+        System.arraycopy(origem, 0, destino, posicao, origem.length);
+        return posicao + origem.length;
+    }
+
+    private static byte[] escapar(String mensagem) {
+        return JsonStringEncoder.getInstance().quoteAsUTF8(mensagem == null ? "" : mensagem);
+    }
+
+    /**
+     * Timestamp no horário local com precisão de segundos, formatado no máximo uma vez por segundo
+     */
+    private static byte[] instanteAtual() {
+        long segundo = System.currentTimeMillis() / 1000;
+        Instante atual = instante;
+        if (atual.segundo() != segundo) {
+            atual = new Instante(segundo, FORMATO_INSTANTE.format(LocalDateTime.now()).getBytes(StandardCharsets.UTF_8));
+            instante = atual;
+        }
+        return atual.bytes();
+    }
+
+    private record Instante(long segundo, byte[] bytes) {
+    }
+}
@@ -1,17 +1,19 @@
 package com.example.emailservice.infrastructure.exception;
 
-import java.time.LocalDateTime;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.ErrorResponse;
+import org.springframework.web.HttpRequestMethodNotSupportedException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.resource.NoResourceFoundException;
 
 import com.example.emailservice.business.exception.EmailBusinessException;
 import com.example.emailservice.integration.exception.EmailIntegrationException;
@@ -19,6 +21,7 @@ import com.example.emailservice.integration.exception.EmailIntegrationException;
 /**
  * Handler global da camada de infraestrutura
  * Trata exceções de todas as camadas da aplicação
+ * Os corpos de erro são montados por ErrorResponseTemplate, sem mapa intermediário nem serialização
  */
 @RestControllerAdvice
 public class GlobalExceptionHandler {
@@ -29,39 +32,54 @@ public class GlobalExceptionHandler {
      * Trata as exceções da camada de negócio
      */
     @ExceptionHandler(EmailBusinessException.class)
-    public ResponseEntity<Map<String, Object>> handleEmailBusinessException(EmailBusinessException ex) {
+    public ResponseEntity<byte[]> handleEmailBusinessException(EmailBusinessException ex) {
         logger.error("Erro de negócio: {}.", ex.getMessage());
 
-        Map<String, Object> errorResponse = createErrorResponse(
-            "BUSINESS_ERROR",
-            ex.getMessage(),
-            HttpStatus.BAD_REQUEST.value()
-        );
-
-        return ResponseEntity.badRequest().body(errorResponse);
+        ErrorResponseTemplate template = ErrorResponseTemplate.BUSINESS_ERROR;
+        return template.responder(template.renderizar(ex.getMessage()));
     }
 
     /**
      * Trata as exceções da camada de integração
      */
     @ExceptionHandler(EmailIntegrationException.class)
-    public ResponseEntity<Map<String, Object>> handleEmailIntegrationException(EmailIntegrationException ex) {
+    public ResponseEntity<byte[]> handleEmailIntegrationException(EmailIntegrationException ex) {
         logger.error("Erro de integração: {}.", ex.getMessage());
 
-        Map<String, Object> errorResponse = createErrorResponse(
-            "INTEGRATION_ERROR",
-            ex.getMessage(),
-            HttpStatus.BAD_REQUEST.value()
-        );
+        ErrorResponseTemplate template = ErrorResponseTemplate.INTEGRATION_ERROR;
+        return template.responder(template.renderizar(ex.getMessage()));
+    }
+
+    /**
+     * Trata as rejeições do limitador de concorrência (sobrecarga)
+     */
+    @ExceptionHandler(ConcurrencyLimitExceededException.class)
+    public ResponseEntity<byte[]> handleConcurrencyLimitExceededException(ConcurrencyLimitExceededException ex) {
+        logger.warn("Requisição rejeitada por sobrecarga: {}.", ex.getMessage());
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, "1")
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(ErrorResponseTemplate.SERVICE_OVERLOADED.renderizar(ex.getMessage()));
+    }
+
+    /**
+     * Trata as rotas inexistentes e os métodos não suportados pela rota, como as operações de escrita do
+     * Actuator desligadas fora do perfil gestao; responde com o status da exceção (404 ou 405, com o cabeçalho
+     * Allow) em vez de cair no erro genérico
+     */
+    @ExceptionHandler({NoResourceFoundException.class, HttpRequestMethodNotSupportedException.class})
+    public ResponseEntity<Void> handleRoutingException(ErrorResponse ex) {
+        logger.warn("Requisição recusada com HTTP {}: {}", ex.getStatusCode().value(), ex.getBody().getDetail());
 
-        return ResponseEntity.badRequest().body(errorResponse);
+        return ResponseEntity.status(ex.getStatusCode()).headers(ex.getHeaders()).build();
     }
 
     /**
      * Trata as exceções de validação da camada de apresentação
      */
     @ExceptionHandler(MethodArgumentNotValidException.class)
-    public ResponseEntity<Map<String, Object>> handleValidationException(MethodArgumentNotValidException ex) {
+    public ResponseEntity<byte[]> handleValidationException(MethodArgumentNotValidException ex) {
         logger.error("Erro de validação: {}.", ex.getMessage());
 
         String validationErrors = ex.getBindingResult()
@@ -70,56 +88,29 @@ public class GlobalExceptionHandler {
             .map(error -> error.getField() + ": " + error.getDefaultMessage())
             .collect(Collectors.joining(", "));
 
-        Map<String, Object> errorResponse = createErrorResponse(
-            "VALIDATION_ERROR",
-            "Dados inválidos => " + validationErrors,
-            HttpStatus.BAD_REQUEST.value()
-        );
-
-        return ResponseEntity.badRequest().body(errorResponse);
+        ErrorResponseTemplate template = ErrorResponseTemplate.VALIDATION_ERROR;
+        return template.responder(template.renderizar("Dados inválidos => " + validationErrors));
     }
 
     /**
      * Trata as exceções de argumento ilegal (camada de domínio)
      */
     @ExceptionHandler(IllegalArgumentException.class)
-    public ResponseEntity<Map<String, Object>> handleIllegalArgumentException(IllegalArgumentException ex) {
+    public ResponseEntity<byte[]> handleIllegalArgumentException(IllegalArgumentException ex) {
         logger.error("Argumento ilegal: {}.", ex.getMessage());
 
-        Map<String, Object> errorResponse = createErrorResponse(
-            "DOMAIN_VALIDATION_ERROR",
-            ex.getMessage(),
-            HttpStatus.BAD_REQUEST.value()
-        );
-
-        return ResponseEntity.badRequest().body(errorResponse);
+        ErrorResponseTemplate template = ErrorResponseTemplate.DOMAIN_VALIDATION_ERROR;
+        return template.responder(template.renderizar(ex.getMessage()));
     }
 
     /**
      * Trata as exceções gerais 
      */
     @ExceptionHandler(Exception.class)
-    public ResponseEntity<Map<String, Object>> handleGenericException(Exception ex) {
+    public ResponseEntity<byte[]> handleGenericException(Exception ex) {
         logger.error("Erro interno do servidor: {}.", ex.getMessage(), ex);
 
-        Map<String, Object> errorResponse = createErrorResponse(
-            "INTERNAL_SERVER_ERROR",
-            "Erro interno do servidor",
-            HttpStatus.INTERNAL_SERVER_ERROR.value()
-        );
-
-        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
-    }
-
-    /**
-     * Cria um mapa de resposta de erro padronizado
-     */
-    private Map<String, Object> createErrorResponse(String errorType, String message, int status) {
-        Map<String, Object> errorResponse = new HashMap<>();
-        errorResponse.put("timestamp", LocalDateTime.now().toString());
-        errorResponse.put("status", status);
-        errorResponse.put("error", errorType);
-        errorResponse.put("message", message);
-        return errorResponse;
+        ErrorResponseTemplate template = ErrorResponseTemplate.INTERNAL_SERVER_ERROR;
+        return template.responder(template.renderizarFixa("Erro interno do servidor"));
     }
 }
\ No newline at end of file
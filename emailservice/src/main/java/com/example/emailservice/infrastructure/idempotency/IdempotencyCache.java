@@ -0,0 +1,213 @@
+package com.example.emailservice.infrastructure.idempotency;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.emailservice.infrastructure.util.XxHash64;
+
+/**
+ * Respostas de POST /api/email/enviar por Idempotency-Key, em um cache limitado em quantidade e em tempo
+ * A chave é guardada pelo hash XXH64 (8 bytes), não pelo texto enviado pelo cliente, e cai em um de
+ * mail.idempotencia.segmentos segmentos LRU, cada um com a própria trava e no máximo
+ * mail.idempotencia.tamanho / segmentos entradas. Cada entrada vale por mail.idempotencia.ttl-s a partir da
+ * criação. A resposta é guardada compacta, como status e corpo JSON já serializado (Resposta), e o 204 é a
+ * constante Resposta.SEM_CONTEUDO: uma entrada de 204 ocupa cerca de 130 bytes (medido em JVM de 64 bits com
+ * compressed oops), e a de um 200 com resultados por destinatário esses bytes mais o corpo serializado. O
+ * consumo cresce com o limite de entradas e com o corpo dos 200, não com o tamanho das chaves.
+ *
+ * Cada entrada guarda também o hash XXH64 do corpo da requisição: a mesma chave com outro corpo é recusada
+ * em vez de devolver a resposta de outro envio. Enquanto a primeira requisição de uma chave executa, as
+ * repetidas aguardam o mesmo resultado em vez de enviar de novo. Só respostas 2xx ficam guardadas: falhas são
+ * repassadas às requisições que aguardavam e a chave é liberada para uma nova tentativa.
+ */
+@Component("idempotencyCache")
+public class IdempotencyCache {
+
+    private final Segmento[] segmentos;
+    private final long ttlNanos;
+    private final long esperaMs;
+    private final LongSupplier relogioNanos;
+
+    @Autowired
+    public IdempotencyCache(@Value("${mail.idempotencia.tamanho:1000000}") int tamanho,
+                            @Value("${mail.idempotencia.segmentos:64}") int segmentos,
+                            @Value("${mail.idempotencia.ttl-s:86400}") long ttlSegundos,
+                            @Value("${mail.idempotencia.espera-ms:30000}") long esperaMs) {
+        this(tamanho, segmentos, ttlSegundos, esperaMs, System::nanoTime);
+    }
+
+    public IdempotencyCache(int tamanho, int segmentos, long ttlSegundos, long esperaMs, LongSupplier relogioNanos) {
+        if (segmentos < 1 || tamanho < segmentos) {
+            throw new IllegalArgumentException("Cache de idempotência deve ter ao menos uma entrada por segmento.");
+        }
+
+        this.segmentos = new Segmento[segmentos];
+        for (int i = 0; i < segmentos; i++) {
+            this.segmentos[i] = new Segmento(tamanho / segmentos);
+        }
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSegundos);
+        this.esperaMs = esperaMs;
+        this.relogioNanos = relogioNanos;
+    }
+
+    /**
+     * Reserva a chave para a requisição atual ou devolve a reserva de quem já a executou ou executa
+     * @param chave valor do cabeçalho Idempotency-Key
+     * @param hashCorpo hash XXH64 do corpo da requisição
+     * @return reserva nova, que o chamador deve concluir ou falhar, ou existente, que deve ser aguardada; a
+     * existente feita com outro corpo é marcada como divergente
+     */
+    public Reserva reservar(String chave, long hashCorpo) {
+        long hash = XxHash64.hash(chave.getBytes(StandardCharsets.UTF_8));
+        Segmento segmento = segmentos[(int) ((hash ^ (hash >>> 32)) & 0x7fffffff) % segmentos.length];
+        return segmento.reservar(hash, hashCorpo, relogioNanos.getAsLong());
+    }
+
+    /**
+     * Entradas guardadas, inclusive as expiradas ainda não descartadas
+     */
+    public int getQuantidade() {
+        int quantidade = 0;
+        for (Segmento segmento : segmentos) {
+            quantidade += segmento.tamanho();
+        }
+        return quantidade;
+    }
+
+    /**
+     * Resultado de uma chave: a primeira requisição executa e conclui, as repetidas aguardam
+     */
+    public final class Reserva {
+
+        private final Segmento segmento;
+        private final long hash;
+        private final long hashCorpo;
+        private final Registro registro;
+        private final boolean nova;
+
+        private Reserva(Segmento segmento, long hash, long hashCorpo, Registro registro, boolean nova) {
+            this.segmento = segmento;
+            this.hash = hash;
+            this.hashCorpo = hashCorpo;
+            this.registro = registro;
+            this.nova = nova;
+        }
+
+        /**
+         * Indica se esta requisição é a primeira da chave e deve executar o envio
+         */
+        public boolean isNova() {
+            return nova;
+        }
+
+        /**
+         * Indica se a chave já foi usada com outro corpo de requisição
+         */
+        public boolean isCorpoDivergente() {
+            return !nova && registro.hashCorpo() != hashCorpo;
+        }
+
+        /**
+         * Entrega a resposta às requisições que aguardam; respostas que não são 2xx liberam a chave
+         */
+        public void concluir(Resposta resposta) {
+            if (resposta.status() / 100 != 2) {
+                segmento.remover(hash, registro);
+            }
+            registro.resposta.complete(resposta);
+        }
+
+        /**
+         * Repassa a falha às requisições que aguardam e libera a chave
+         */
+        public void falhar(RuntimeException erro) {
+            segmento.remover(hash, registro);
+            registro.resposta.completeExceptionally(erro);
+        }
+
+        /**
+         * Aguarda a resposta da primeira requisição da chave por até mail.idempotencia.espera-ms
+         * @return resposta da primeira requisição
+         * @throws RuntimeException a mesma falha da primeira requisição
+         * @throws TimeoutException se a primeira requisição não terminar dentro da espera
+         */
+        public Resposta aguardar() throws TimeoutException {
+            try {
+                return registro.resposta.get(esperaMs, TimeUnit.MILLISECONDS);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException erro) {
+                    throw erro;
+                }
+                throw new IllegalStateException("Falha na primeira requisição da chave.", e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new TimeoutException("Espera interrompida.");
+            }
+        }
+    }
+
+    /**
+     * Resposta guardada de forma compacta: status e corpo JSON já serializado, sem cabeçalhos nem o
+     * ResponseEntity e o DTO que a produziram
+     * @param status status HTTP
+     * @param corpo JSON em UTF-8, ou null para respostas sem corpo
+     */
+    public record Resposta(int status, byte[] corpo) {
+
+        /**
+         * O 204 de todos os envios sem resultados por destinatário
+         */
+        public static final Resposta SEM_CONTEUDO = new Resposta(204, null);
+    }
+
+    /**
+     * Resposta da chave, o hash do corpo que a produziu e o instante em que deixa de valer
+     */
+    private record Registro(CompletableFuture<Resposta> resposta, long hashCorpo, long expiraEm) { }
+
+    /**
+     * Parte do cache com LRU próprio; a trava cobre apenas a consulta e a troca de entradas, nunca a espera
+     */
+    private final class Segmento {
+
+        private final LinkedHashMap<Long, Registro> registros;
+
+        Segmento(int capacidade) {
+            this.registros = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, Registro> maisAntigo) {
+                    return size() > capacidade;
+                }
+            };
+        }
+
+        synchronized Reserva reservar(long hash, long hashCorpo, long agora) {
+            Registro existente = registros.get(hash);
+            if (existente != null && existente.expiraEm() - agora > 0) {
+                return new Reserva(this, hash, hashCorpo, existente, false);
+            }
+
+            Registro novo = new Registro(new CompletableFuture<>(), hashCorpo, agora + ttlNanos);
+            registros.put(hash, novo);
+            return new Reserva(this, hash, hashCorpo, novo, true);
+        }
+
+        synchronized void remover(long hash, Registro registro) {
+            registros.remove(hash, registro);
+        }
+
+        synchronized int tamanho() {
+            return registros.size();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.emailservice.infrastructure.logging;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Marker;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+
+/**
+ * Amostragem dos logs INFO do caminho quente
+ * Para cada mensagem (identificada pelo formato, que é uma constante no código) apenas uma a cada
+ * "taxa" ocorrências é registrada, sempre começando pela primeira. A decisão é tomada antes da
+ * formatação da mensagem e da criação do evento, de modo que as mensagens descartadas não alocam.
+ *
+ * Apenas loggers com o prefixo configurado são amostrados; WARN, ERROR, DEBUG e eventos com marcador
+ * (ex.: AUDITORIA) não são afetados.
+ * Configurado no logback-spring.xml a partir de mail.log.amostragem-info (1 = sem amostragem).
+ */
+public class InfoSamplingTurboFilter extends TurboFilter {
+
+    private final ConcurrentHashMap<String, AtomicLong> contadores = new ConcurrentHashMap<>();
+    private volatile int taxa = 1;
+    private volatile String prefixo = "";
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String formato, Object[] parametros,
+                              Throwable erro) {
+        if (level != Level.INFO || formato == null || taxa <= 1 || erro != null || marker != null
+                || !logger.getName().startsWith(prefixo)) {
+            return FilterReply.NEUTRAL;
+        }
+
+        AtomicLong contador = contadores.get(formato);
+        if (contador == null) {
+            contador = contadores.computeIfAbsent(formato, chave -> new AtomicLong());
+        }
+        return contador.getAndIncrement() % taxa == 0 ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    public int getTaxa() {
+        return taxa;
+    }
+
+    /**
+     * @param taxa uma mensagem registrada a cada taxa ocorrências; valores até 1 desligam a amostragem
+     */
+    public void setTaxa(int taxa) {
+        this.taxa = taxa;
+    }
+
+    public String getPrefixo() {
+        return prefixo;
+    }
+
+    public void setPrefixo(String prefixo) {
+        this.prefixo = prefixo == null ? "" : prefixo;
+    }
+}
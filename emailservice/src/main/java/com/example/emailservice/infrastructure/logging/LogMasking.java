@@ -0,0 +1,59 @@
+package com.example.emailservice.infrastructure.logging;
+
+/**
+ * Mascaramento de dados pessoais nos logs
+ * Os valores mascarados são escritos diretamente no StringBuilder do chamador, caractere a caractere,
+ * sem substring, regex ou concatenação intermediária: o custo é um único buffer por toString
+ *
+ * - endereço: primeiro caractere e domínio (j***@email.com)
+ * - nome: apenas a inicial (J***)
+ * - texto livre (assunto, conteúdo): apenas o tamanho ([27 caracteres])
+ */
+public final class LogMasking {
+
+    private static final String OCULTO = "***";
+
+    private LogMasking() { }
+
+    /**
+     * Escreve o endereço mantendo apenas o primeiro caractere da parte local e o domínio
+     * Sem arroba, o valor inteiro é tratado como parte local
+     */
+    public static StringBuilder anexarEmail(StringBuilder destino, String email) {
+        if (email == null) {
+            return destino.append("null");
+        }
+        int arroba = email.lastIndexOf('@');
+        if (arroba > 0) {
+            destino.append(email.charAt(0));
+        }
+        destino.append(OCULTO);
+        if (arroba >= 0) {
+            destino.append(email, arroba, email.length());
+        }
+        return destino;
+    }
+
+    /**
+     * Escreve apenas a inicial do nome
+     */
+    public static StringBuilder anexarNome(StringBuilder destino, String nome) {
+        if (nome == null) {
+            return destino.append("null");
+        }
+        if (!nome.isEmpty()) {
+            destino.append(nome.charAt(0));
+        }
+        return destino.append(OCULTO);
+    }
+
+    /**
+     * Escreve apenas o tamanho do texto
+     */
+    public static StringBuilder anexarTexto(StringBuilder destino, String texto) {
+        if (texto == null) {
+            return destino.append("null");
+        }
+        return destino.append('[').append(texto.length()).append(" caracteres]");
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.emailservice.infrastructure.metrics;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Endpoint do Actuator com os percentis de latência (/actuator/latencias)
+ * - GET: p50/p99/p99.9/max em microssegundos por provedor e etapa, desde o início e na última janela;
+ *   com intervaloEsperadoUs, os valores são corrigidos para omissão coordenada
+ * - DELETE: descarta as medições, para isolar uma rodada do gerador de carga; só com o perfil gestao
+ */
+@Component
+@Endpoint(id = "latencias")
+public class LatencyEndpoint {
+
+    private final LatencyRecorder latencyRecorder;
+
+    public LatencyEndpoint(LatencyRecorder latencyRecorder) {
+        this.latencyRecorder = latencyRecorder;
+    }
+
+    /**
+     * @param intervaloEsperadoUs intervalo entre requisições do gerador de carga, em microssegundos
+     */
+    @ReadOperation
+    public Relatorio latencias(@Nullable Long intervaloEsperadoUs) {
+        if (intervaloEsperadoUs != null && intervaloEsperadoUs <= 0) {
+            throw new IllegalArgumentException("intervaloEsperadoUs deve ser maior que zero.");
+        }
+        long intervaloEsperadoNanos = intervaloEsperadoUs == null ? 0 : TimeUnit.MICROSECONDS.toNanos(intervaloEsperadoUs);
+        return new Relatorio(latencyRecorder.getJanelaSegundos(), intervaloEsperadoUs,
+            latencyRecorder.consultar(intervaloEsperadoNanos));
+    }
+
+    @DeleteOperation
+    public void reiniciar() {
+        latencyRecorder.reiniciar();
+    }
+
+    /**
+     * Resposta do endpoint; intervaloEsperadoUs é nulo quando os valores não foram corrigidos
+     */
+    public record Relatorio(long janelaSegundos, Long intervaloEsperadoUs, List<LatencyRecorder.Estatisticas> series) {
+    }
+}
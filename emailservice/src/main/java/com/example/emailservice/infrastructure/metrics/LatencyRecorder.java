@@ -0,0 +1,231 @@
+package com.example.emailservice.infrastructure.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.Lifecycle;
+import org.springframework.stereotype.Component;
+
+import com.example.emailservice.shared.enums.PipelineStage;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Histogramas de latência (HdrHistogram) por provedor e etapa do processamento
+ * Cada série tem um Recorder: a gravação é lock-free e não aloca, e a leitura troca o histograma ativo
+ * sem bloquear quem grava. Os valores lidos são acumulados em dois histogramas:
+ * - atual: tudo desde o início (ou desde o último reiniciar)
+ * - janela: a última janela completa de mail.latencia.janela-s segundos
+ *
+ * Os histogramas têm faixa fixa (1 ns a 10 min, 2 dígitos significativos, ~35 KB cada), sem redimensionamento
+ * durante a gravação; durações acima do máximo são gravadas como o máximo.
+ *
+ * A correção de omissão coordenada (copyCorrectedForCoordinatedOmission) é aplicada na leitura, com o
+ * intervalo esperado entre requisições informado pelo gerador de carga.
+ *
+ * Como Lifecycle, a thread que fecha as janelas é encerrada antes de um checkpoint do CRaC e recriada após o restore.
+ */
+@Component("latencyRecorder")
+public class LatencyRecorder implements Lifecycle {
+
+    private static final PipelineStage[] ETAPAS = PipelineStage.values();
+    private static final long MAXIMO_NANOS = TimeUnit.MINUTES.toNanos(10);
+    private static final int DIGITOS_SIGNIFICATIVOS = 2;
+
+    private final long janelaSegundos;
+    private final ConcurrentHashMap<String, Serie[]> series = new ConcurrentHashMap<>();
+    private volatile ScheduledExecutorService agendador;
+
+    public LatencyRecorder(@Value("${mail.latencia.janela-s:60}") long janelaSegundos) {
+        if (janelaSegundos <= 0) {
+            throw new IllegalArgumentException("mail.latencia.janela-s deve ser maior que zero.");
+        }
+        this.janelaSegundos = janelaSegundos;
+        this.agendador = agendar();
+    }
+
+    private ScheduledExecutorService agendar() {
+        ScheduledExecutorService novo = Executors.newSingleThreadScheduledExecutor(tarefa -> {
+            Thread thread = new Thread(tarefa, "latencia-janela");
+            thread.setDaemon(true);
+            return thread;
+        });
+        novo.scheduleAtFixedRate(this::fecharJanela, janelaSegundos, janelaSegundos, TimeUnit.SECONDS);
+        return novo;
+    }
+
+    /**
+     * Grava a duração de uma etapa
+     * @param duracaoNanos duração em nanossegundos; valores negativos são ignorados
+     */
+    public void registrar(PipelineStage etapa, String provedor, long duracaoNanos) {
+        if (duracaoNanos >= 0) {
+            seriesDe(provedor)[etapa.ordinal()].recorder.recordValue(Math.min(duracaoNanos, MAXIMO_NANOS));
+        }
+    }
+
+    /**
+     * Percentis de todas as séries que já receberam medições
+     * @param intervaloEsperadoNanos intervalo entre requisições do gerador de carga para corrigir a omissão
+     * coordenada; zero ou negativo devolve os valores gravados sem correção
+     */
+    public List<Estatisticas> consultar(long intervaloEsperadoNanos) {
+        List<Estatisticas> resultado = new ArrayList<>();
+        for (String provedor : new TreeSet<>(series.keySet())) {
+            for (Serie serie : series.get(provedor)) {
+                Estatisticas estatisticas = serie.consultar(provedor, intervaloEsperadoNanos);
+                if (estatisticas.atual().amostras() > 0) {
+                    resultado.add(estatisticas);
+                }
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Encerra a janela corrente: as medições desde o último fechamento passam a ser a janela consultada
+     */
+    public void fecharJanela() {
+        for (Serie[] porEtapa : series.values()) {
+            for (Serie serie : porEtapa) {
+                serie.fecharJanela();
+            }
+        }
+    }
+
+    /**
+     * Descarta todas as medições, por exemplo antes de uma rodada do gerador de carga
+     */
+    public void reiniciar() {
+        for (Serie[] porEtapa : series.values()) {
+            for (Serie serie : porEtapa) {
+                serie.reiniciar();
+            }
+        }
+    }
+
+    public long getJanelaSegundos() {
+        return janelaSegundos;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (agendador.isShutdown()) {
+            agendador = agendar();
+        }
+    }
+
+    @Override
+    public void stop() {
+        agendador.shutdownNow();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return !agendador.isShutdown();
+    }
+
+    @PreDestroy
+    public void fechar() {
+        agendador.shutdownNow();
+    }
+
+    private Serie[] seriesDe(String provedor) {
+        Serie[] registradas = series.get(provedor);
+        return registradas != null ? registradas : series.computeIfAbsent(provedor, chave -> {
+            Serie[] novas = new Serie[ETAPAS.length];
+            for (PipelineStage etapa : ETAPAS) {
+                novas[etapa.ordinal()] = new Serie(etapa);
+            }
+            return novas;
+        });
+    }
+
+    /**
+     * Recorder de uma etapa de um provedor e os histogramas acumulados a partir dele
+     * Só o Recorder é acessado por quem grava; o restante é protegido pelo monitor da série.
+     */
+    private static final class Serie {
+
+        private final PipelineStage etapa;
+        private final Recorder recorder = new Recorder(1, MAXIMO_NANOS, DIGITOS_SIGNIFICATIVOS);
+        private final Histogram atual = new Histogram(1, MAXIMO_NANOS, DIGITOS_SIGNIFICATIVOS);
+        private final Histogram emAndamento = new Histogram(1, MAXIMO_NANOS, DIGITOS_SIGNIFICATIVOS);
+        private final Histogram janela = new Histogram(1, MAXIMO_NANOS, DIGITOS_SIGNIFICATIVOS);
+        private Histogram intervalo;
+
+        Serie(PipelineStage etapa) {
+            this.etapa = etapa;
+        }
+
+        synchronized Estatisticas consultar(String provedor, long intervaloEsperadoNanos) {
+            drenar();
+            return new Estatisticas(provedor, etapa.getTag(),
+                Percentis.de(corrigir(atual, intervaloEsperadoNanos)),
+                Percentis.de(corrigir(janela, intervaloEsperadoNanos)));
+        }
+
+        synchronized void fecharJanela() {
+            drenar();
+            janela.reset();
+            janela.add(emAndamento);
+            emAndamento.reset();
+        }
+
+        synchronized void reiniciar() {
+            recorder.reset();
+            atual.reset();
+            emAndamento.reset();
+            janela.reset();
+        }
+
+        /**
+         * Move o que foi gravado desde a última leitura para os histogramas acumulados, reaproveitando o
+         * histograma de intervalo devolvido na leitura anterior
+         */
+        private void drenar() {
+            intervalo = recorder.getIntervalHistogram(intervalo);
+            atual.add(intervalo);
+            emAndamento.add(intervalo);
+        }
+
+        private static Histogram corrigir(Histogram histograma, long intervaloEsperadoNanos) {
+            return intervaloEsperadoNanos > 0
+                ? histograma.copyCorrectedForCoordinatedOmission(intervaloEsperadoNanos)
+                : histograma;
+        }
+    }
+
+    /**
+     * Percentis de uma etapa de um provedor, desde o início e na última janela
+     */
+    public record Estatisticas(String provedor, String etapa, Percentis atual, Percentis janela) {
+    }
+
+    /**
+     * Percentis em microssegundos
+     */
+    public record Percentis(long amostras, double p50, double p99, double p999, double max) {
+
+        private static final double NANOS_POR_MICRO = 1_000.0;
+
+        static Percentis de(Histogram histograma) {
+            if (histograma.getTotalCount() == 0) {
+                return new Percentis(0, 0, 0, 0, 0);
+            }
+            return new Percentis(histograma.getTotalCount(),
+                histograma.getValueAtPercentile(50) / NANOS_POR_MICRO,
+                histograma.getValueAtPercentile(99) / NANOS_POR_MICRO,
+                histograma.getValueAtPercentile(99.9) / NANOS_POR_MICRO,
+                histograma.getMaxValue() / NANOS_POR_MICRO);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.emailservice.infrastructure.metrics;
+
+import com.example.emailservice.shared.enums.PipelineStage;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Registered;
+import jdk.jfr.StackTrace;
+
+/**
+ * Eventos JFR das etapas síncronas do processamento, um tipo por etapa
+ * Habilitados por padrão e sem limiar, aparecem em qualquer gravação contínua (jcmd JFR.start ou
+ * -XX:StartFlightRecording) e podem ser filtrados por messageId para ligar perfis de alocação e latência
+ * a um email específico.
+ *
+ * Sem gravação ativa para o tipo, iniciar devolve uma instância compartilhada que não faz nada: nenhum
+ * evento é alocado e os campos não são preenchidos.
+ */
+@Category({ "Email Service", "Pipeline" })
+@StackTrace(false)
+public abstract class PipelineEvent extends Event {
+
+    @Label("Message ID")
+    @Description("Identificador do email")
+    String messageId;
+
+    @Label("Provedor")
+    String provedor;
+
+    @Label("Tamanho do payload")
+    @Description("Conteúdo em caracteres mais anexos em bytes; nas etapas após a adaptação, o JSON do provedor")
+    long tamanhoPayload;
+
+    @Label("Sucesso")
+    boolean sucesso;
+
+    /**
+     * Cria e inicia o evento da etapa, ou devolve o evento compartilhado sem efeito se o tipo não estiver
+     * habilitado em nenhuma gravação
+     * @throws IllegalArgumentException para etapas sem evento próprio (entrega, integração e processamento,
+     * que são assíncronas ou agregadas e já medidas em PipelineMetrics)
+     */
+    public static PipelineEvent iniciar(PipelineStage etapa) {
+        EventType tipo = Tipos.POR_ETAPA[etapa.ordinal()];
+        if (tipo == null) {
+            throw new IllegalArgumentException("Etapa sem evento JFR: " + etapa + ".");
+        }
+        if (!tipo.isEnabled()) {
+            return Desligado.INSTANCIA;
+        }
+
+        PipelineEvent evento = switch (etapa) {
+            case VALIDACAO -> new Validacao();
+            case CRIACAO -> new Criacao();
+            case REGRAS -> new Regras();
+            case ADAPTACAO -> new Adaptacao();
+            case SERIALIZACAO -> new Serializacao();
+            default -> new Impressao();
+        };
+        evento.begin();
+        return evento;
+    }
+
+    /**
+     * Encerra o evento e o grava se a gravação estiver ativa para o tipo
+     */
+    public void concluir(String messageId, String provedor, long tamanhoPayload, boolean sucesso) {
+        end();
+        if (shouldCommit()) {
+            this.messageId = messageId;
+            this.provedor = provedor;
+            this.tamanhoPayload = tamanhoPayload;
+            this.sucesso = sucesso;
+            commit();
+        }
+    }
+
+    @Name("com.example.emailservice.Validacao")
+    @Label("Validação da requisição")
+    public static final class Validacao extends PipelineEvent {
+    }
+
+    @Name("com.example.emailservice.Criacao")
+    @Label("Criação do email")
+    public static final class Criacao extends PipelineEvent {
+    }
+
+    @Name("com.example.emailservice.Regras")
+    @Label("Filtro de conteúdo")
+    public static final class Regras extends PipelineEvent {
+    }
+
+    @Name("com.example.emailservice.Adaptacao")
+    @Label("Adaptação para o provedor")
+    public static final class Adaptacao extends PipelineEvent {
+    }
+
+    @Name("com.example.emailservice.Serializacao")
+    @Label("Serialização JSON")
+    public static final class Serializacao extends PipelineEvent {
+    }
+
+    @Name("com.example.emailservice.Impressao")
+    @Label("Escrita do email serializado")
+    public static final class Impressao extends PipelineEvent {
+    }
+
+    /**
+     * Evento devolvido quando o tipo da etapa não está habilitado; não é registrado no JFR
+     */
+    @Registered(false)
+    private static final class Desligado extends PipelineEvent {
+
+        static final Desligado INSTANCIA = new Desligado();
+
+        @Override
+        public void concluir(String messageId, String provedor, long tamanhoPayload, boolean sucesso) {
+        }
+    }
+
+    /**
+     * Tipo JFR de cada etapa, indexado pelo ordinal; null para etapas sem evento
+     */
+    private static final class Tipos {
+
+        static final EventType[] POR_ETAPA = new EventType[PipelineStage.values().length];
+
+        static {
+            POR_ETAPA[PipelineStage.VALIDACAO.ordinal()] = EventType.getEventType(Validacao.class);
+            POR_ETAPA[PipelineStage.CRIACAO.ordinal()] = EventType.getEventType(Criacao.class);
+            POR_ETAPA[PipelineStage.REGRAS.ordinal()] = EventType.getEventType(Regras.class);
+            POR_ETAPA[PipelineStage.ADAPTACAO.ordinal()] = EventType.getEventType(Adaptacao.class);
+            POR_ETAPA[PipelineStage.SERIALIZACAO.ordinal()] = EventType.getEventType(Serializacao.class);
+            POR_ETAPA[PipelineStage.IMPRESSAO.ordinal()] = EventType.getEventType(Impressao.class);
+        }
+    }
+}
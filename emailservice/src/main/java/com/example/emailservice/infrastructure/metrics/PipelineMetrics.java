@@ -0,0 +1,146 @@
+package com.example.emailservice.infrastructure.metrics;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.emailservice.shared.enums.DeliveryStatus;
+import com.example.emailservice.shared.enums.PipelineStage;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Métricas do processamento de emails, expostas pelo Actuator (/actuator/prometheus)
+ * - email.pipeline.etapa: timer por etapa, provedor e resultado (sucesso/falha)
+ * - email.envios: contador de envios por provedor e resultado (entregue/nao_enviado/falha)
+ *
+ * Os medidores de cada provedor são registrados uma única vez e guardados em arrays indexados pela
+ * etapa e pelo resultado, de modo que registrar uma medição não cria tags nem consulta o registry.
+ * As durações também são gravadas no LatencyRecorder, que mantém os percentis completos por etapa.
+ */
+@Component("pipelineMetrics")
+public class PipelineMetrics {
+
+    public static final String METRICA_ETAPA = "email.pipeline.etapa";
+    public static final String METRICA_ENVIOS = "email.envios";
+
+    private static final PipelineStage[] ETAPAS = PipelineStage.values();
+    private static final DeliveryStatus[] SITUACOES = DeliveryStatus.values();
+    private static final String SUCESSO = "sucesso";
+    private static final String FALHA = "falha";
+
+    private final MeterRegistry registry;
+    private final LatencyRecorder latencyRecorder;
+    private volatile String provedorPadrao;
+    private final ConcurrentHashMap<String, Timer[]> timers = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Counter[]> envios = new ConcurrentHashMap<>();
+
+    public PipelineMetrics(MeterRegistry registry, LatencyRecorder latencyRecorder,
+                           @Value("${mail.integracao:AWS}") String provedorPadrao) {
+        this.registry = registry;
+        this.latencyRecorder = latencyRecorder;
+        this.provedorPadrao = provedorPadrao.toUpperCase();
+    }
+
+    /**
+     * Marca o início de uma etapa
+     * @return instante de início em nanossegundos, a ser passado para registrar
+     */
+    public long iniciar() {
+        return System.nanoTime();
+    }
+
+    /**
+     * Registra a duração de uma etapa anterior à escolha do adapter, atribuída ao provedor configurado
+     */
+    public void registrar(PipelineStage etapa, long inicioNanos, boolean sucesso) {
+        registrar(etapa, provedorPadrao, inicioNanos, sucesso);
+    }
+
+    /**
+     * Registra a duração de uma etapa
+     * @param etapa etapa medida
+     * @param provedor provedor que atendeu a etapa
+     * @param inicioNanos valor retornado por iniciar
+     * @param sucesso false se a etapa terminou com exceção
+     */
+    public void registrar(PipelineStage etapa, String provedor, long inicioNanos, boolean sucesso) {
+        long duracao = System.nanoTime() - inicioNanos;
+        timersDe(provedor)[etapa.ordinal() * 2 + (sucesso ? 0 : 1)].record(duracao, TimeUnit.NANOSECONDS);
+        latencyRecorder.registrar(etapa, provedor, duracao);
+    }
+
+    /**
+     * Conta um envio concluído
+     */
+    public void registrarEnvio(String provedor, DeliveryStatus situacao) {
+        enviosDe(provedor)[situacao.ordinal()].increment();
+    }
+
+    /**
+     * Conta um envio que falhou
+     */
+    public void registrarFalhaEnvio(String provedor) {
+        enviosDe(provedor)[SITUACOES.length].increment();
+    }
+
+    public String getProvedorPadrao() {
+        return provedorPadrao;
+    }
+
+    /**
+     * Troca o provedor ao qual as etapas anteriores à escolha do adapter são atribuídas
+     */
+    public void definirProvedorPadrao(String provedor) {
+        this.provedorPadrao = provedor.toUpperCase();
+    }
+
+    private Timer[] timersDe(String provedor) {
+        Timer[] registrados = timers.get(provedor);
+        return registrados != null ? registrados : timers.computeIfAbsent(provedor, this::registrarTimers);
+    }
+
+    private Counter[] enviosDe(String provedor) {
+        Counter[] registrados = envios.get(provedor);
+        return registrados != null ? registrados : envios.computeIfAbsent(provedor, this::registrarEnvios);
+    }
+
+    private Timer[] registrarTimers(String provedor) {
+        Timer[] novos = new Timer[ETAPAS.length * 2];
+        for (PipelineStage etapa : ETAPAS) {
+            novos[etapa.ordinal() * 2] = criarTimer(etapa, provedor, SUCESSO);
+            novos[etapa.ordinal() * 2 + 1] = criarTimer(etapa, provedor, FALHA);
+        }
+        return novos;
+    }
+
+    private Timer criarTimer(PipelineStage etapa, String provedor, String resultado) {
+        return Timer.builder(METRICA_ETAPA)
+            .description("Duração de cada etapa do processamento de email")
+            .tag("etapa", etapa.getTag())
+            .tag("provedor", provedor)
+            .tag("resultado", resultado)
+            .register(registry);
+    }
+
+    private Counter[] registrarEnvios(String provedor) {
+        Counter[] novos = new Counter[SITUACOES.length + 1];
+        for (DeliveryStatus situacao : SITUACOES) {
+            novos[situacao.ordinal()] = criarContador(provedor, situacao.name().toLowerCase());
+        }
+        novos[SITUACOES.length] = criarContador(provedor, FALHA);
+        return novos;
+    }
+
+    private Counter criarContador(String provedor, String resultado) {
+        return Counter.builder(METRICA_ENVIOS)
+            .description("Envios de email concluídos por provedor e resultado")
+            .tag("provedor", provedor)
+            .tag("resultado", resultado)
+            .register(registry);
+    }
+}
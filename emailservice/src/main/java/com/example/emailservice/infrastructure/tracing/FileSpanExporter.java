@@ -0,0 +1,125 @@
+package com.example.emailservice.infrastructure.tracing;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.Lifecycle;
+
+import com.example.emailservice.infrastructure.util.JsonSerializer;
+
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+
+/**
+ * Exporta spans para um arquivo local, um JSON por linha (NDJSON)
+ * Permite inspecionar os rastros sem um coletor, por exemplo em testes de carga ou em desenvolvimento
+ * Como Lifecycle, fecha o arquivo antes de um checkpoint do CRaC e o reabre (em modo append) após o restore;
+ * spans exportados nesse intervalo são descartados
+ */
+public class FileSpanExporter implements SpanExporter, Lifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(FileSpanExporter.class);
+    private static final byte[] NOVA_LINHA = { '\n' };
+
+    private final Path arquivo;
+    private final JsonSerializer jsonSerializer;
+    private OutputStream saida;
+
+    public FileSpanExporter(Path arquivo, JsonSerializer jsonSerializer) throws IOException {
+        this.arquivo = arquivo;
+        this.jsonSerializer = jsonSerializer;
+        Path diretorio = arquivo.toAbsolutePath().getParent();
+        if (diretorio != null) {
+            Files.createDirectories(diretorio);
+        }
+        this.saida = abrir();
+    }
+
+    private OutputStream abrir() throws IOException {
+        return Files.newOutputStream(arquivo, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    @Override
+    public synchronized CompletableResultCode export(Collection<SpanData> spans) {
+        if (saida == null) {
+            return CompletableResultCode.ofFailure();
+        }
+        try {
+            for (SpanData span : spans) {
+                saida.write(jsonSerializer.serializeToBytes(converter(span)));
+                saida.write(NOVA_LINHA);
+            }
+            saida.flush();
+            return CompletableResultCode.ofSuccess();
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Falha ao exportar spans para {}: {}.", arquivo, e.getMessage());
+            return CompletableResultCode.ofFailure();
+        }
+    }
+
+    private Map<String, Object> converter(SpanData span) {
+        Map<String, Object> registro = new LinkedHashMap<>();
+        registro.put("traceId", span.getTraceId());
+        registro.put("spanId", span.getSpanId());
+        registro.put("parentSpanId", span.getParentSpanContext().isValid() ? span.getParentSpanId() : null);
+        registro.put("nome", span.getName());
+        registro.put("tipo", span.getKind().name());
+        registro.put("inicioEpochNanos", span.getStartEpochNanos());
+        registro.put("duracaoUs", (span.getEndEpochNanos() - span.getStartEpochNanos()) / 1_000);
+        registro.put("status", span.getStatus().getStatusCode().name());
+        registro.put("amostradoNaCabeca", span.getSpanContext().isSampled());
+
+        Map<String, Object> atributos = new LinkedHashMap<>();
+        span.getAttributes().forEach((chave, valor) -> atributos.put(chave.getKey(), valor));
+        registro.put("atributos", atributos);
+        return registro;
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+        return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public synchronized void start() {
+        if (saida == null) {
+            try {
+                saida = abrir();
+            } catch (IOException e) {
+                logger.warn("Falha ao reabrir {}: {}.", arquivo, e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void stop() {
+        shutdown();
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return saida != null;
+    }
+
+    @Override
+    public synchronized CompletableResultCode shutdown() {
+        if (saida != null) {
+            try {
+                saida.close();
+            } catch (IOException e) {
+                logger.warn("Falha ao fechar {}: {}.", arquivo, e.getMessage());
+            }
+            saida = null;
+        }
+        return CompletableResultCode.ofSuccess();
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.emailservice.infrastructure.tracing;
+
+import java.util.List;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.trace.data.LinkData;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import io.opentelemetry.sdk.trace.samplers.SamplingDecision;
+import io.opentelemetry.sdk.trace.samplers.SamplingResult;
+
+/**
+ * Amostragem na cabeça do rastro: uma fração dos rastros (pelo traceId) é marcada como amostrada e
+ * exportada normalmente; os demais não são descartados, ficam como RECORD_ONLY para que o
+ * TailSamplingSpanProcessor decida no fim do rastro
+ *
+ * Rastros com pai amostrado continuam amostrados; a decisão é propagada no traceparent.
+ */
+public final class HeadSampler implements Sampler {
+
+    private final Sampler delegado;
+
+    private HeadSampler(Sampler delegado) {
+        this.delegado = delegado;
+    }
+
+    /**
+     * @param probabilidade fração dos rastros amostrada na cabeça, entre 0 e 1
+     */
+    public static Sampler criar(double probabilidade) {
+        if (probabilidade < 0 || probabilidade > 1) {
+            throw new IllegalArgumentException("Probabilidade de amostragem deve estar entre 0 e 1.");
+        }
+        Sampler somenteGravar = new HeadSampler(Sampler.alwaysOff());
+        return Sampler.parentBasedBuilder(new HeadSampler(Sampler.traceIdRatioBased(probabilidade)))
+            .setRemoteParentNotSampled(somenteGravar)
+            .setLocalParentNotSampled(somenteGravar)
+            .build();
+    }
+
+    @Override
+    public SamplingResult shouldSample(Context contextoPai, String traceId, String nome, SpanKind tipo,
+                                       Attributes atributos, List<LinkData> links) {
+        SamplingResult resultado = delegado.shouldSample(contextoPai, traceId, nome, tipo, atributos, links);
+        return resultado.getDecision() == SamplingDecision.DROP ? SamplingResult.recordOnly() : resultado;
+    }
+
+    @Override
+    public String getDescription() {
+        return "HeadSampler{" + delegado.getDescription() + "}";
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.emailservice.infrastructure.tracing;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.api.trace.TracerProvider;
+
+/**
+ * Spans OpenTelemetry do processamento de emails
+ * Usa o Tracer configurado pelo Actuator (micrometer-tracing-bridge-otel); com o tracing desligado
+ * (management.tracing.enabled=false ou testes sem @AutoConfigureObservability) os spans são no-op.
+ *
+ * Os spans são criados como filhos do contexto corrente: o span HTTP do Spring MVC no controller e,
+ * nas camadas seguintes, o span que o chamador tornou corrente.
+ */
+@Component("pipelineTracing")
+public class PipelineTracing {
+
+    public static final String ESCOPO = "com.example.emailservice";
+    public static final AttributeKey<String> MESSAGE_ID = AttributeKey.stringKey("email.message_id");
+    public static final AttributeKey<String> PROVEDOR = AttributeKey.stringKey("email.provedor");
+    public static final AttributeKey<String> MOTIVO = AttributeKey.stringKey("email.motivo");
+
+    private final Tracer tracer;
+
+    @Autowired
+    public PipelineTracing(ObjectProvider<Tracer> tracer) {
+        this(tracer.getIfAvailable(() -> TracerProvider.noop().get(ESCOPO)));
+    }
+
+    public PipelineTracing(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    /**
+     * Instância sem exportação, para uso fora do contexto Spring
+     */
+    public static PipelineTracing desabilitado() {
+        return new PipelineTracing(TracerProvider.noop().get(ESCOPO));
+    }
+
+    /**
+     * Inicia um span filho do contexto corrente; o chamador deve encerrá-lo com end()
+     */
+    public Span iniciar(String nome) {
+        return tracer.spanBuilder(nome).startSpan();
+    }
+
+    /**
+     * Inicia um span identificando o email e o provedor
+     */
+    public Span iniciar(String nome, String messageId, String provedor) {
+        return tracer.spanBuilder(nome)
+            .setAttribute(MESSAGE_ID, messageId)
+            .setAttribute(PROVEDOR, provedor)
+            .startSpan();
+    }
+
+    /**
+     * Marca o span como falho, com a exceção como evento
+     */
+    public static void registrarFalha(Span span, Throwable erro) {
+        span.recordException(erro);
+        span.setStatus(StatusCode.ERROR, erro.getMessage() != null ? erro.getMessage() : erro.getClass().getSimpleName());
+    }
+
+    /**
+     * Marca o span como falho sem exceção, para as falhas tratadas como resultado (ex.: validação),
+     * com um evento simples no lugar do stack trace
+     */
+    public static void registrarFalha(Span span, String mensagem) {
+        span.addEvent("falha", Attributes.of(MOTIVO, mensagem));
+        span.setStatus(StatusCode.ERROR, mensagem);
+    }
+}
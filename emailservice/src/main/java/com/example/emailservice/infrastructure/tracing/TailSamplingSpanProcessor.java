@@ -0,0 +1,186 @@
+package com.example.emailservice.infrastructure.tracing;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.ReadWriteSpan;
+import io.opentelemetry.sdk.trace.ReadableSpan;
+import io.opentelemetry.sdk.trace.SpanProcessor;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+
+/**
+ * Amostragem na cauda dos rastros não amostrados na cabeça (RECORD_ONLY, ver HeadSampler)
+ * Os spans de cada rastro ficam em memória até o fim do span raiz local (sem pai ou com pai remoto);
+ * o rastro é exportado se algum span falhou ou se a raiz durou pelo menos o limite configurado,
+ * e descartado caso contrário. Rastros amostrados na cabeça são ignorados aqui: o BatchSpanProcessor
+ * do Actuator já os exporta. A exportação ocorre na thread que encerra a raiz; como só rastros com falha
+ * ou lentos chegam a ela, o custo fica fora do caminho comum.
+ *
+ * A memória é limitada: acima de maxRastros pendentes, novos rastros não são guardados, e rastros cuja
+ * raiz não terminou em esperaMaxima (spans que terminam depois da raiz) são descartados.
+ */
+public class TailSamplingSpanProcessor implements SpanProcessor {
+
+    private final Supplier<SpanExporter> fornecedorExportador;
+    private volatile SpanExporter exportador;
+    private final long limiteNanos;
+    private final int maxRastros;
+    private final long esperaMaximaNanos;
+    private final ConcurrentHashMap<String, Rastro> pendentes = new ConcurrentHashMap<>();
+    private final AtomicLong exportados = new AtomicLong();
+    private final AtomicLong descartados = new AtomicLong();
+    private final AtomicLong rastrosDesdeLimpeza = new AtomicLong();
+
+    /**
+     * @param exportador exportador dos rastros mantidos; obtido na primeira exportação
+     * @param limiteMs duração mínima da raiz, em ms, para manter um rastro sem falhas
+     * @param maxRastros máximo de rastros aguardando a raiz
+     * @param esperaMaximaMs tempo máximo que um rastro aguarda a raiz
+     */
+    public TailSamplingSpanProcessor(Supplier<SpanExporter> exportador, long limiteMs, int maxRastros,
+                                     long esperaMaximaMs) {
+        this.fornecedorExportador = exportador;
+        this.limiteNanos = TimeUnit.MILLISECONDS.toNanos(limiteMs);
+        this.maxRastros = maxRastros;
+        this.esperaMaximaNanos = TimeUnit.MILLISECONDS.toNanos(esperaMaximaMs);
+    }
+
+    @Override
+    public void onStart(Context contextoPai, ReadWriteSpan span) {
+        // a decisão depende apenas de spans encerrados
+    }
+
+    @Override
+    public boolean isStartRequired() {
+        return false;
+    }
+
+    @Override
+    public void onEnd(ReadableSpan span) {
+        SpanContext contexto = span.getSpanContext();
+        if (contexto.isSampled() || !contexto.isValid()) {
+            return;
+        }
+
+        String traceId = contexto.getTraceId();
+        SpanContext pai = span.getParentSpanContext();
+        if (pai.isValid() && !pai.isRemote()) {
+            guardar(traceId, span.toSpanData());
+            return;
+        }
+
+        SpanData raiz = span.toSpanData();
+        Rastro rastro = pendentes.remove(traceId);
+        List<SpanData> spans = rastro != null ? rastro.copiar() : new ArrayList<>(1);
+        spans.add(raiz);
+
+        if (manter(raiz, spans)) {
+            exportados.incrementAndGet();
+            exportador().export(spans);
+        } else {
+            descartados.incrementAndGet();
+        }
+        limparAbandonados();
+    }
+
+    @Override
+    public boolean isEndRequired() {
+        return true;
+    }
+
+    private SpanExporter exportador() {
+        SpanExporter atual = exportador;
+        if (atual == null) {
+            atual = fornecedorExportador.get();
+            exportador = atual;
+        }
+        return atual;
+    }
+
+    private void guardar(String traceId, SpanData span) {
+        Rastro rastro = pendentes.get(traceId);
+        if (rastro == null) {
+            if (pendentes.size() >= maxRastros) {
+                return;
+            }
+            rastro = pendentes.computeIfAbsent(traceId, chave -> new Rastro());
+        }
+        rastro.adicionar(span);
+    }
+
+    private boolean manter(SpanData raiz, List<SpanData> spans) {
+        if (raiz.getEndEpochNanos() - raiz.getStartEpochNanos() >= limiteNanos) {
+            return true;
+        }
+        for (SpanData span : spans) {
+            if (span.getStatus().getStatusCode() == StatusCode.ERROR) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * A cada maxRastros raízes, remove os rastros que esperam há mais que esperaMaxima
+     */
+    private void limparAbandonados() {
+        if (rastrosDesdeLimpeza.incrementAndGet() % Math.max(1, maxRastros) != 0) {
+            return;
+        }
+        long limite = System.nanoTime() - esperaMaximaNanos;
+        pendentes.values().removeIf(rastro -> rastro.criadoNanos < limite);
+    }
+
+    /**
+     * Rastros exportados pela amostragem na cauda
+     */
+    public long getExportados() {
+        return exportados.get();
+    }
+
+    /**
+     * Rastros descartados por não terem falha nem lentidão
+     */
+    public long getDescartados() {
+        return descartados.get();
+    }
+
+    /**
+     * Rastros aguardando o fim da raiz
+     */
+    public int getPendentes() {
+        return pendentes.size();
+    }
+
+    /**
+     * Os exportadores pertencem ao Actuator, que os encerra; aqui só os rastros pendentes são descartados
+     */
+    @Override
+    public CompletableResultCode shutdown() {
+        pendentes.clear();
+        return CompletableResultCode.ofSuccess();
+    }
+
+    private static final class Rastro {
+
+        private final long criadoNanos = System.nanoTime();
+        private final List<SpanData> spans = new ArrayList<>();
+
+        synchronized void adicionar(SpanData span) {
+            spans.add(span);
+        }
+
+        synchronized List<SpanData> copiar() {
+            return new ArrayList<>(spans);
+        }
+    }
+}
@@ -5,8 +5,12 @@ import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
 import com.example.emailservice.integration.exception.EmailIntegrationException;
+import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import com.fasterxml.jackson.core.json.JsonWriteFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 
 /**
  * Utilitário da camada de infraestrutura para serialização JSON
@@ -19,6 +23,9 @@ public class JsonSerializer {
 
     private final ObjectMapper objectMapper;
 
+    // criado no primeiro serialize e reaproveitado; ObjectWriter é imutável, então a corrida na criação é benigna
+    private ObjectWriter escritorFormatado;
+
     public JsonSerializer(ObjectMapper objectMapper) {
         this.objectMapper = objectMapper;
     }
@@ -31,7 +38,12 @@ public class JsonSerializer {
      */
     public String serialize(Object objeto) {
         try {
-            String json = objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(objeto);
+            ObjectWriter escritor = escritorFormatado;
+            if (escritor == null) {
+                escritor = objectMapper.writerWithDefaultPrettyPrinter();
+                escritorFormatado = escritor;
+            }
+            String json = escritor.writeValueAsString(objeto);
             logger.debug("Objeto serializado com sucesso.");
             return json;
         } catch (JsonProcessingException e) {
@@ -56,4 +68,51 @@ public class JsonSerializer {
             throw new EmailIntegrationException("Erro na serialização JSON compacto: ", e.getMessage(), e);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Serializa um objeto para JSON compacto diretamente em bytes UTF-8
+     * Evita a String intermediária quando o resultado vai direto para a rede
+     * @param objeto objeto a ser serializado
+     * @return bytes do JSON compacto
+     * @throws EmailIntegrationException em caso de erro na serialização
+     */
+    public byte[] serializeToBytes(Object objeto) {
+        try {
+            return objectMapper.writeValueAsBytes(objeto);
+        } catch (JsonProcessingException e) {
+            logger.error("Erro ao serializar objeto para bytes JSON: {}.", e.getMessage());
+            throw new EmailIntegrationException("Erro na serialização JSON em bytes: ", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Serializa um texto como valor JSON, entre aspas, em bytes UTF-8
+     * Produz os mesmos bytes de serializeToBytes(texto); com o escape padrão do ObjectMapper, escapa o texto
+     * direto, sem criar um gerador a cada chamada. Textos com pares substitutos (caracteres fora do BMP) passam
+     * pelo gerador, que pode escrevê-los como escapes Unicode em vez de UTF-8
+     * @param texto texto a ser serializado; nulo produz null
+     * @return bytes do valor JSON
+     */
+    public byte[] serializeTextToBytes(String texto) {
+        JsonFactory fabrica = objectMapper.getFactory();
+        if (texto == null || fabrica.getCharacterEscapes() != null
+            || fabrica.isEnabled(JsonWriteFeature.ESCAPE_NON_ASCII.mappedFeature()) || possuiSubstitutos(texto)) {
+            return serializeToBytes(texto);
+        }
+        byte[] escapado = JsonStringEncoder.getInstance().quoteAsUTF8(texto);
+        byte[] json = new byte[escapado.length + 2];
+        json[0] = '"';
+        System.arraycopy(escapado, 0, json, 1, escapado.length);
+        json[json.length - 1] = '"';
+        return json;
+    }
+
+    private static boolean possuiSubstitutos(String texto) {
+        for (int i = 0; i < texto.length(); i++) {
+            if (Character.isSurrogate(texto.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
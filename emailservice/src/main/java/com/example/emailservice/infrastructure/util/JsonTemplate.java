@@ -0,0 +1,86 @@
+package com.example.emailservice.infrastructure.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * JSON serializado uma única vez com lacunas no lugar de alguns valores
+ * O JSON é dividido nas posições dos valores marcados; preencher devolve as partes fixas, sempre as mesmas
+ * instâncias, intercaladas com os valores de cada uso, sem copiar o restante do documento
+ *
+ * Instâncias são imutáveis e podem ser compartilhadas entre threads.
+ */
+public final class JsonTemplate {
+
+    private final byte[][] fixas;
+    private final int[] ordem;
+
+    private JsonTemplate(byte[][] fixas, int[] ordem) {
+        this.fixas = fixas;
+        this.ordem = ordem;
+    }
+
+    /**
+     * Divide o JSON nas posições dos marcadores
+     * @param json JSON serializado com os marcadores no lugar dos valores
+     * @param marcadores cada marcador já serializado como valor JSON (com aspas, no caso de texto)
+     * @return o template, ou null se algum marcador não aparece exatamente uma vez no JSON
+     */
+    public static JsonTemplate compilar(byte[] json, List<byte[]> marcadores) {
+        int quantidade = marcadores.size();
+        long[] posicoes = new long[quantidade];
+        for (int i = 0; i < quantidade; i++) {
+            byte[] marcador = marcadores.get(i);
+            int posicao = indiceDe(json, marcador, 0);
+            if (marcador.length == 0 || posicao < 0 || indiceDe(json, marcador, posicao + 1) >= 0) {
+                return null;
+            }
+            posicoes[i] = ((long) posicao << 32) | i;
+        }
+        Arrays.sort(posicoes);
+
+        byte[][] fixas = new byte[quantidade + 1][];
+        int[] ordem = new int[quantidade];
+        int inicio = 0;
+        for (int i = 0; i < quantidade; i++) {
+            int posicao = (int) (posicoes[i] >>> 32);
+            ordem[i] = (int) posicoes[i];
+            if (posicao < inicio) {
+                return null;
+            }
+            fixas[i] = Arrays.copyOfRange(json, inicio, posicao);
+            inicio = posicao + marcadores.get(ordem[i]).length;
+        }
+        fixas[quantidade] = Arrays.copyOfRange(json, inicio, json.length);
+        return new JsonTemplate(fixas, ordem);
+    }
+
+    /**
+     * Monta o JSON com os valores informados no lugar dos marcadores
+     * @param valores valores já serializados, na ordem dos marcadores passados a compilar
+     * @return partes do JSON, que formam o documento quando concatenadas
+     */
+    public List<byte[]> preencher(List<byte[]> valores) {
+        if (valores.size() != ordem.length) {
+            throw new IllegalArgumentException("Esperados " + ordem.length + " valores, recebidos " + valores.size() + ".");
+        }
+        List<byte[]> partes = new ArrayList<>(fixas.length + ordem.length);
+        for (int i = 0; i < ordem.length; i++) {
+            partes.add(fixas[i]);
+            partes.add(valores.get(ordem[i]));
+        }
+        partes.add(fixas[ordem.length]);
+        return partes;
+    }
+
+    private static int indiceDe(byte[] json, byte[] marcador, int inicio) {
+        int ultimo = json.length - marcador.length;
+        for (int i = inicio; i <= ultimo; i++) {
+            if (Arrays.equals(json, i, i + marcador.length, marcador, 0, marcador.length)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,202 @@
+package com.example.emailservice.infrastructure.util;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Implementação do hash não criptográfico XXH64 (xxHash de 64 bits)
+ * Usado para endereçar conteúdo: rápido o bastante para percorrer anexos grandes e com distribuição
+ * suficiente para que colisões sejam raras (que ainda assim são tratadas pelo chamador)
+ *
+ * Instâncias acumulam dados em partes (atualizar) e não são thread-safe; hash(byte[]), hashUtf8 e
+ * hash(Path) calculam de uma vez.
+ */
+public final class XxHash64 {
+
+    private static final long PRIME64_1 = 0x9E3779B185EBCA87L;
+    private static final long PRIME64_2 = 0xC2B2AE3D27D4EB4FL;
+    private static final long PRIME64_3 = 0x165667B19E3779F9L;
+    private static final long PRIME64_4 = 0x85EBCA77C2B2AE63L;
+    private static final long PRIME64_5 = 0x27D4EB2F165667C5L;
+
+    private static final int TAMANHO_FAIXA = 32;
+    private static final int TAMANHO_LEITURA_ARQUIVO = 64 * 1024;
+    private static final int TAMANHO_BLOCO_TEXTO = 1024;
+
+    private static final VarHandle LONG_LE = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle INT_LE = MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private final long seed;
+    private final byte[] pendente = new byte[TAMANHO_FAIXA];
+    private int tamanhoPendente;
+    private long tamanhoTotal;
+    private long v1;
+    private long v2;
+    private long v3;
+    private long v4;
+
+    public XxHash64() {
+        this(0);
+    }
+
+    public XxHash64(long seed) {
+        this.seed = seed;
+        this.v1 = seed + PRIME64_1 + PRIME64_2;
+        this.v2 = seed + PRIME64_2;
+        this.v3 = seed;
+        this.v4 = seed - PRIME64_1;
+    }
+
+    /**
+     * Calcula o hash de um array de bytes
+     */
+    public static long hash(byte[] dados) {
+        return new XxHash64().atualizar(dados, 0, dados.length).valor();
+    }
+
+    /**
+     * Calcula o hash do texto codificado em UTF-8, igual a hash(texto.getBytes(UTF_8))
+     * O texto é codificado em blocos pequenos, sem criar uma cópia do texto inteiro em bytes
+     */
+    public static long hashUtf8(CharSequence texto) {
+        XxHash64 hash = new XxHash64();
+        CharsetEncoder codificador = StandardCharsets.UTF_8.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        CharBuffer entrada = CharBuffer.wrap(texto);
+        ByteBuffer saida = ByteBuffer.allocate(TAMANHO_BLOCO_TEXTO);
+
+        CoderResult resultado;
+        do {
+            resultado = codificador.encode(entrada, saida, true);
+            hash.atualizar(saida.array(), 0, saida.position());
+            saida.clear();
+        } while (resultado.isOverflow());
+        while (codificador.flush(saida).isOverflow()) {
+            hash.atualizar(saida.array(), 0, saida.position());
+            saida.clear();
+        }
+        hash.atualizar(saida.array(), 0, saida.position());
+        return hash.valor();
+    }
+
+    /**
+     * Calcula o hash do conteúdo de um arquivo, lido em blocos via FileChannel
+     * @throws IOException se o arquivo não puder ser lido
+     */
+    public static long hash(Path arquivo) throws IOException {
+        XxHash64 hash = new XxHash64();
+        ByteBuffer buffer = ByteBuffer.allocate(TAMANHO_LEITURA_ARQUIVO);
+
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            while (canal.read(buffer) >= 0) {
+                hash.atualizar(buffer.array(), 0, buffer.position());
+                buffer.clear();
+            }
+        }
+        return hash.valor();
+    }
+
+    /**
+     * Acrescenta bytes ao hash
+     * @return a própria instância, para encadeamento
+     */
+    public XxHash64 atualizar(byte[] dados, int inicio, int tamanho) {
+        tamanhoTotal += tamanho;
+        int posicao = inicio;
+        int fim = inicio + tamanho;
+
+        if (tamanhoPendente > 0) {
+            int copiar = Math.min(TAMANHO_FAIXA - tamanhoPendente, tamanho);
+            System.arraycopy(dados, posicao, pendente, tamanhoPendente, copiar);
+            tamanhoPendente += copiar;
+            posicao += copiar;
+            if (tamanhoPendente < TAMANHO_FAIXA) {
+                return this;
+            }
+            processarFaixa(pendente, 0);
+            tamanhoPendente = 0;
+        }
+
+        while (fim - posicao >= TAMANHO_FAIXA) {
+            processarFaixa(dados, posicao);
+            posicao += TAMANHO_FAIXA;
+        }
+
+        if (posicao < fim) {
+            System.arraycopy(dados, posicao, pendente, 0, fim - posicao);
+            tamanhoPendente = fim - posicao;
+        }
+        return this;
+    }
+
+    /**
+     * Valor do hash dos bytes acumulados até aqui; a instância pode continuar recebendo dados
+     */
+    public long valor() {
+        long h;
+        if (tamanhoTotal >= TAMANHO_FAIXA) {
+            h = Long.rotateLeft(v1, 1) + Long.rotateLeft(v2, 7) + Long.rotateLeft(v3, 12) + Long.rotateLeft(v4, 18);
+            h = mesclar(h, v1);
+            h = mesclar(h, v2);
+            h = mesclar(h, v3);
+            h = mesclar(h, v4);
+        } else {
+            h = seed + PRIME64_5;
+        }
+        h += tamanhoTotal;
+
+        int posicao = 0;
+        while (tamanhoPendente - posicao >= 8) {
+            h ^= rodada(0, (long) LONG_LE.get(pendente, posicao));
+            h = Long.rotateLeft(h, 27) * PRIME64_1 + PRIME64_4;
+            posicao += 8;
+        }
+        if (tamanhoPendente - posicao >= 4) {
+            h ^= ((int) INT_LE.get(pendente, posicao) & 0xFFFFFFFFL) * PRIME64_1;
+            h = Long.rotateLeft(h, 23) * PRIME64_2 + PRIME64_3;
+            posicao += 4;
+        }
+        while (posicao < tamanhoPendente) {
+            h ^= (pendente[posicao] & 0xFFL) * PRIME64_5;
+            h = Long.rotateLeft(h, 11) * PRIME64_1;
+            posicao++;
+        }
+
+        h ^= h >>> 33;
+        h *= PRIME64_2;
+        h ^= h >>> 29;
+        h *= PRIME64_3;
+        h ^= h >>> 32;
+        return h;
+    }
+
+    private void processarFaixa(byte[] dados, int posicao) {
+        v1 = rodada(v1, (long) LONG_LE.get(dados, posicao));
+        v2 = rodada(v2, (long) LONG_LE.get(dados, posicao + 8));
+        v3 = rodada(v3, (long) LONG_LE.get(dados, posicao + 16));
+        v4 = rodada(v4, (long) LONG_LE.get(dados, posicao + 24));
+    }
+
+    private static long rodada(long acumulador, long entrada) {
+        acumulador += entrada * PRIME64_2;
+        acumulador = Long.rotateLeft(acumulador, 31);
+        return acumulador * PRIME64_1;
+    }
+
+    private static long mesclar(long h, long acumulador) {
+        h ^= rodada(0, acumulador);
+        return h * PRIME64_1 + PRIME64_4;
+    }
+}
@@ -0,0 +1,203 @@
+package com.example.emailservice.infrastructure.warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.CompilationMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.example.emailservice.business.domain.dto.EmailRequestDTO;
+import com.example.emailservice.business.domain.model.Email;
+import com.example.emailservice.business.domain.service.EmailDomainService;
+import com.example.emailservice.infrastructure.util.JsonSerializer;
+import com.example.emailservice.integration.adapter.IEmailProviderAdapter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Aquecimento do JIT na partida, antes de a aplicação ser considerada pronta
+ * Em uma thread própria, passa emails sintéticos pelo caminho do envio (leitura do JSON, validação, criação do
+ * email de domínio, regras, adaptEmail de todos os adapters e serialização) em lotes de mail.aquecimento.lote,
+ * descartando a saída em vez de imprimi-la ou entregá-la. Termina quando o tempo de compilação do JIT deixa de
+ * crescer (até mail.aquecimento.limiar-ms por lote em três lotes seguidos, após mail.aquecimento.lotes-minimos)
+ * ou ao fim de mail.aquecimento.max-s. Até lá a prontidão fica em OUT_OF_SERVICE (JitWarmupHealthIndicator).
+ *
+ * Nada é registrado em métricas nem em spans: as medições começam com o primeiro envio real. O mesmo caminho
+ * sintético é usado pelo CheckpointWarmup antes do checkpoint do CRaC (exercitarEnvios).
+ */
+@Component("jitWarmup")
+public class JitWarmup {
+
+    private static final Logger logger = LoggerFactory.getLogger(JitWarmup.class);
+    private static final int LOTES_ESTAVEIS = 3;
+
+    private final ObjectMapper objectMapper;
+    private final EmailDomainService emailDomainService;
+    private final List<IEmailProviderAdapter<?>> adapters;
+    private final JsonSerializer jsonSerializer;
+    private final boolean habilitado;
+    private final int lote;
+    private final int lotesMinimos;
+    private final long limiarMs;
+    private final long maxNanos;
+    private final PrintStream descarte = new PrintStream(OutputStream.nullOutputStream());
+
+    private volatile boolean concluido;
+    private volatile int lotes;
+    private volatile long duracaoMs;
+    private volatile Thread thread;
+
+    public JitWarmup(ObjectMapper objectMapper,
+                     EmailDomainService emailDomainService,
+                     List<IEmailProviderAdapter<?>> adapters,
+                     JsonSerializer jsonSerializer,
+                     @Value("${mail.aquecimento.habilitado:true}") boolean habilitado,
+                     @Value("${mail.aquecimento.lote:1000}") int lote,
+                     @Value("${mail.aquecimento.lotes-minimos:10}") int lotesMinimos,
+                     @Value("${mail.aquecimento.limiar-ms:5}") long limiarMs,
+                     @Value("${mail.aquecimento.max-s:30}") long maxSegundos) {
+        this.objectMapper = objectMapper;
+        this.emailDomainService = emailDomainService;
+        this.adapters = adapters;
+        this.jsonSerializer = jsonSerializer;
+        this.habilitado = habilitado;
+        this.lote = lote;
+        this.lotesMinimos = lotesMinimos;
+        this.limiarMs = limiarMs;
+        this.maxNanos = TimeUnit.SECONDS.toNanos(maxSegundos);
+        this.concluido = !habilitado;
+    }
+
+    /**
+     * Inicia o aquecimento assim que o contexto sobe; o servidor web já atende, mas a prontidão só é
+     * liberada ao final
+     */
+    @EventListener(ApplicationStartedEvent.class)
+    public void aoIniciar() {
+        if (!habilitado || thread != null) {
+            return;
+        }
+        thread = new Thread(this::aquecer, "aquecimento-jit");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @PreDestroy
+    public void fechar() {
+        Thread atual = thread;
+        if (atual != null) {
+            atual.interrupt();
+        }
+    }
+
+    /**
+     * Executa os lotes até a compilação estabilizar; falhas encerram o aquecimento sem bloquear a prontidão
+     */
+    void aquecer() {
+        long inicio = System.nanoTime();
+        CompilationMXBean compilacao = ManagementFactory.getCompilationMXBean();
+        boolean mensuravel = compilacao != null && compilacao.isCompilationTimeMonitoringSupported();
+        long compilacaoInicial = mensuravel ? compilacao.getTotalCompilationTime() : 0;
+        long anterior = compilacaoInicial;
+        int estaveis = 0;
+        try {
+            byte[][] amostras = amostras();
+            while (!Thread.currentThread().isInterrupted() && System.nanoTime() - inicio < maxNanos) {
+                for (int i = 0; i < lote; i++) {
+                    exercitar(amostras[i % amostras.length]);
+                }
+                lotes++;
+
+                if (mensuravel) {
+                    long atual = compilacao.getTotalCompilationTime();
+                    estaveis = atual - anterior <= limiarMs ? estaveis + 1 : 0;
+                    anterior = atual;
+                }
+                if (lotes >= lotesMinimos && (!mensuravel || estaveis >= LOTES_ESTAVEIS)) {
+                    break;
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Aquecimento do JIT interrompido por falha: {}.", e.getMessage());
+        } finally {
+            duracaoMs = (System.nanoTime() - inicio) / 1_000_000;
+            concluido = true;
+        }
+        logger.info("Aquecimento do JIT concluído: {} lotes de {} em {} ms, {} ms de compilação.",
+            lotes, lote, duracaoMs, mensuravel ? anterior - compilacaoInicial : -1);
+    }
+
+    /**
+     * Passa a quantidade pedida de emails sintéticos pelo caminho do envio, na thread chamadora e
+     * independentemente de mail.aquecimento.habilitado, sem imprimir, entregar nem registrar métricas ou spans
+     * @param envios quantidade de emails sintéticos
+     * @return quantidade exercitada; menor que envios se a thread for interrompida
+     * @throws IOException se um email sintético não puder ser lido
+     */
+    public int exercitarEnvios(int envios) throws IOException {
+        byte[][] amostras = amostras();
+        int exercitados = 0;
+        while (exercitados < envios && !Thread.currentThread().isInterrupted()) {
+            exercitar(amostras[exercitados % amostras.length]);
+            exercitados++;
+        }
+        return exercitados;
+    }
+
+    /**
+     * Um envio sintético pelo caminho síncrono do EmailController até a serialização de cada provedor
+     */
+    private void exercitar(byte[] corpo) throws IOException {
+        EmailRequestDTO emailRequestDTO = objectMapper.readValue(corpo, EmailRequestDTO.class);
+        if (!emailRequestDTO.validar().isValido()) {
+            throw new IllegalStateException("Email de aquecimento inválido.");
+        }
+        Email email = emailDomainService.criarEmail(emailRequestDTO);
+        if (!emailDomainService.validarEmail(email) || !emailDomainService.verificarConteudoApropriado(email)) {
+            throw new IllegalStateException("Email de aquecimento rejeitado pelas regras de negócio.");
+        }
+        for (IEmailProviderAdapter<?> adapter : adapters) {
+            Object emailAdaptado = adapter.adaptEmail(email);
+            descarte.writeBytes(jsonSerializer.serializeToBytes(emailAdaptado));
+        }
+    }
+
+    /**
+     * Corpos de requisição com conteúdos de tamanhos variados, para que o JIT não especialize em um só perfil
+     */
+    private byte[][] amostras() throws IOException {
+        String[] conteudos = {
+            "Seu pedido foi confirmado.",
+            "Olá, João! Sua fatura de março está disponível. ".repeat(20),
+            "Relatório semanal de entregas: pedidos processados, devoluções e pendências. ".repeat(100)
+        };
+        byte[][] amostras = new byte[conteudos.length][];
+        for (int i = 0; i < conteudos.length; i++) {
+            amostras[i] = objectMapper.writeValueAsBytes(new EmailRequestDTO("aquecimento" + i + "@email.com",
+                "Destinatário de Aquecimento", "remetente@email.com", "Aquecimento " + i, conteudos[i]));
+        }
+        return amostras;
+    }
+
+    public boolean isConcluido() {
+        return concluido;
+    }
+
+    public int getLotes() {
+        return lotes;
+    }
+
+    public long getDuracaoMs() {
+        return duracaoMs;
+    }
+}
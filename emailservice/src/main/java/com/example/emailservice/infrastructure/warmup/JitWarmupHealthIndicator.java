@@ -0,0 +1,29 @@
+package com.example.emailservice.infrastructure.warmup;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Estado do aquecimento do JIT no /actuator/health (componente jitWarmup), incluído no grupo readiness:
+ * OUT_OF_SERVICE enquanto o aquecimento não termina
+ */
+@Component("jitWarmupHealthIndicator")
+public class JitWarmupHealthIndicator implements HealthIndicator {
+
+    private final JitWarmup jitWarmup;
+
+    public JitWarmupHealthIndicator(JitWarmup jitWarmup) {
+        this.jitWarmup = jitWarmup;
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder builder = jitWarmup.isConcluido() ? Health.up() : Health.outOfService();
+        builder.withDetail("lotes", jitWarmup.getLotes());
+        if (jitWarmup.isConcluido()) {
+            builder.withDetail("duracaoMs", jitWarmup.getDuracaoMs());
+        }
+        return builder.build();
+    }
+}
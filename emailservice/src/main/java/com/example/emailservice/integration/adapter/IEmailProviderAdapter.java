@@ -1,23 +1,100 @@
 package com.example.emailservice.integration.adapter;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
 import com.example.emailservice.business.domain.model.Email;
+import com.example.emailservice.integration.dto.EmailDeliveryResult;
+import com.example.emailservice.integration.exception.EmailIntegrationException;
 
 /**
  * Interface para adaptadores de provedores de email
  * Define o contrato para integração com diferentes provedores
+ * @param <T> formato do email esperado pelo provedor
  */
-public interface IEmailProviderAdapter {
+public interface IEmailProviderAdapter<T> {
     
     /**
      * Adapta o email de domínio para o formato específico do provedor
      * @param email entidade de domínio
      * @return objeto adaptado para o provedor
      */
-    Object adaptEmail(Email email);
+    T adaptEmail(Email email);
+
+    /**
+     * Adapta a cópia de um email com vários destinatários a partir da cópia já adaptada de outro destinatário
+     * Apenas o destinatário muda entre as cópias; os demais campos podem ser reaproveitados de modelo.
+     * Por padrão adapta o email inteiro
+     * @param modelo objeto retornado por adaptEmail para outra cópia do mesmo email
+     * @param email cópia do email para este destinatário
+     * @return objeto adaptado para o provedor
+     */
+    default T adaptarCopia(T modelo, Email email) {
+        return adaptEmail(email);
+    }
+
+    /**
+     * Valores dos campos que mudam entre as cópias de um email com vários destinatários, como serializados
+     * O pipeline serializa o restante do JSON uma única vez por requisição e, em cada cópia, serializa apenas
+     * estes valores; a lista vazia (padrão) faz cada cópia ser serializada por inteiro
+     * @param emailAdaptado objeto retornado por adaptEmail ou adaptarCopia
+     * @return valores do destinatário, na ordem que o adapter escolher; podem ser nulos
+     */
+    default List<String> camposDoDestinatario(T emailAdaptado) {
+        return List.of();
+    }
+
+    /**
+     * Entrega o email adaptado ao provedor sem bloquear a thread chamadora
+     * Adapters sem transporte próprio completam imediatamente com situação NAO_ENVIADO
+     * @param emailAdaptado objeto retornado por adaptEmail
+     * @return futuro com o resultado da entrega; completa com EmailIntegrationException em caso de falha
+     */
+    default CompletableFuture<EmailDeliveryResult<T>> entregarAsync(T emailAdaptado) {
+        return CompletableFuture.completedFuture(EmailDeliveryResult.naoEnviado(getProviderType(), emailAdaptado));
+    }
+
+    /**
+     * Entrega o email adaptado reaproveitando o JSON já serializado pelo pipeline
+     * Adapters que enviam JSON ao provedor usam estes bytes em vez de serializar de novo; por padrão são
+     * ignorados e a entrega segue por entregarAsync(T)
+     * @param emailAdaptado objeto retornado por adaptEmail
+     * @param json emailAdaptado serializado em JSON (UTF-8), em partes que formam o corpo quando concatenadas;
+     * nas cópias de um email com vários destinatários, as partes fixas são compartilhadas entre as cópias
+     * @return futuro com o resultado da entrega; completa com EmailIntegrationException em caso de falha
+     */
+    default CompletableFuture<EmailDeliveryResult<T>> entregarAsync(T emailAdaptado, List<byte[]> json) {
+        return entregarAsync(emailAdaptado);
+    }
+
+    /**
+     * Versão síncrona de entregarAsync: aguarda o resultado e relança a falha original
+     * @param emailAdaptado objeto retornado por adaptEmail
+     * @return resultado da entrega
+     */
+    default EmailDeliveryResult<T> entregar(T emailAdaptado) {
+        try {
+            return entregarAsync(emailAdaptado).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw new EmailIntegrationException("Falha na entrega ao provedor " + getProviderType() + ".", e.getCause());
+        }
+    }
+
+    /**
+     * Indica se o provedor entrega anexos; emails com anexos não são enviados por adapters que retornam false
+     * @return true se adaptEmail e entregarAsync transportam os anexos do email
+     */
+    default boolean suportaAnexos() {
+        return false;
+    }
 
     /**
      * Retorna o tipo de provedor que este adapter suporta
      * @return identificação do provedor
      */
     String getProviderType();
-}
\ No newline at end of file
+}
@@ -1,10 +1,18 @@
 package com.example.emailservice.integration.adapter.impl;
 
+import java.net.URI;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import com.example.emailservice.business.domain.model.Email;
 import com.example.emailservice.integration.adapter.IEmailProviderAdapter;
+import com.example.emailservice.integration.dto.EmailDeliveryResult;
 import com.example.emailservice.integration.dto.EmailOciDTO;
+import com.example.emailservice.integration.http.ProviderHttpClient;
 import com.example.emailservice.shared.enums.IntegrationType;
 
 /**
@@ -12,8 +20,17 @@ import com.example.emailservice.shared.enums.IntegrationType;
  * Converte entidade de domínio para formato OCI
  */
 @Component("ociEmailAdapter")
-public class OciEmailAdapter implements IEmailProviderAdapter {
-    
+public class OciEmailAdapter implements IEmailProviderAdapter<EmailOciDTO> {
+
+    private final ProviderHttpClient httpClient;
+    private final URI endpoint;
+
+    public OciEmailAdapter(ProviderHttpClient httpClient,
+                           @Value("${mail.http.oci.endpoint:}") String endpoint) {
+        this.httpClient = httpClient;
+        this.endpoint = endpoint == null || endpoint.isBlank() ? null : URI.create(endpoint);
+    }
+
     @Override
     public EmailOciDTO adaptEmail(Email email) {
         if (email == null) {
@@ -25,10 +42,59 @@ public class OciEmailAdapter implements IEmailProviderAdapter {
             email.getRecipientName(),
             email.getSenderEmail(),
             email.getSubject(),
-            email.getContent()
+            email.getContent(),
+            email.getCopias()
         );
     }
 
+    /**
+     * Reaproveita do modelo o remetente, o assunto, o conteúdo e as cópias, já truncados
+     */
+    @Override
+    public EmailOciDTO adaptarCopia(EmailOciDTO modelo, Email email) {
+        return new EmailOciDTO(
+            email.getRecipientEmail(),
+            email.getRecipientName(),
+            modelo.getSenderEmail(),
+            modelo.getSubject(),
+            modelo.getBody(),
+            modelo.getCc()
+        );
+    }
+
+    @Override
+    public List<String> camposDoDestinatario(EmailOciDTO emailAdaptado) {
+        return Arrays.asList(emailAdaptado.getRecipientEmail(), emailAdaptado.getRecipientName());
+    }
+
+    /**
+     * Envia o email à API HTTP do provedor, quando um endpoint está configurado
+     * O futuro completa com o status HTTP devolvido pelo provedor
+     */
+    @Override
+    public CompletableFuture<EmailDeliveryResult<EmailOciDTO>> entregarAsync(EmailOciDTO emailAdaptado) {
+        if (endpoint == null) {
+            return CompletableFuture.completedFuture(EmailDeliveryResult.naoEnviado(getProviderType(), emailAdaptado));
+        }
+        return concluir(emailAdaptado, httpClient.postarJson(endpoint, emailAdaptado));
+    }
+
+    /**
+     * Como entregarAsync(T), enviando os bytes já serializados sem serializar o email de novo
+     */
+    @Override
+    public CompletableFuture<EmailDeliveryResult<EmailOciDTO>> entregarAsync(EmailOciDTO emailAdaptado, List<byte[]> json) {
+        if (endpoint == null) {
+            return CompletableFuture.completedFuture(EmailDeliveryResult.naoEnviado(getProviderType(), emailAdaptado));
+        }
+        return concluir(emailAdaptado, httpClient.postarJson(endpoint, json));
+    }
+
+    private CompletableFuture<EmailDeliveryResult<EmailOciDTO>> concluir(EmailOciDTO emailAdaptado,
+                                                                   CompletableFuture<Integer> envio) {
+        return envio.thenApply(status -> EmailDeliveryResult.entregue(getProviderType(), emailAdaptado, "HTTP " + status));
+    }
+
     @Override
     public String getProviderType() {
         return IntegrationType.OCI.name();
@@ -0,0 +1,88 @@
+package com.example.emailservice.integration.adapter.impl;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.springframework.stereotype.Component;
+
+import com.example.emailservice.business.domain.model.Email;
+import com.example.emailservice.integration.adapter.IEmailProviderAdapter;
+import com.example.emailservice.integration.dto.EmailDeliveryResult;
+import com.example.emailservice.integration.dto.EmailSmtpDTO;
+import com.example.emailservice.integration.smtp.SmtpConnectionPool;
+import com.example.emailservice.shared.enums.IntegrationType;
+
+/**
+ * Adapter para entrega via servidor SMTP (relay on-premises)
+ * Converte entidade de domínio para o envelope SMTP e entrega pelo pool de sessões persistentes
+ * Único provedor com suporte a anexos, que são transmitidos em blocos a partir dos arquivos
+ */
+@Component("smtpEmailAdapter")
+public class SmtpEmailAdapter implements IEmailProviderAdapter<EmailSmtpDTO> {
+
+    private final SmtpConnectionPool connectionPool;
+
+    public SmtpEmailAdapter(SmtpConnectionPool connectionPool) {
+        this.connectionPool = connectionPool;
+    }
+
+    @Override
+    public EmailSmtpDTO adaptEmail(Email email) {
+        if (email == null) {
+            throw new IllegalArgumentException("Email de domínio não pode ser nulo.");
+        }
+
+        EmailSmtpDTO emailSmtp = new EmailSmtpDTO(
+            email.getSenderEmail(),
+            email.getRecipientEmail(),
+            email.getRecipientName(),
+            email.getSubject(),
+            email.getContent(),
+            email.getAnexos()
+        );
+        emailSmtp.setCc(email.getCopias());
+        return emailSmtp;
+    }
+
+    /**
+     * Reaproveita do modelo o remetente, o assunto, o conteúdo e as cópias, já truncados
+     */
+    @Override
+    public EmailSmtpDTO adaptarCopia(EmailSmtpDTO modelo, Email email) {
+        EmailSmtpDTO emailSmtp = new EmailSmtpDTO(
+            modelo.getMailFrom(),
+            email.getRecipientEmail(),
+            email.getRecipientName(),
+            modelo.getSubject(),
+            modelo.getContent(),
+            modelo.getAnexos()
+        );
+        emailSmtp.setCc(modelo.getCc());
+        return emailSmtp;
+    }
+
+    @Override
+    public List<String> camposDoDestinatario(EmailSmtpDTO emailAdaptado) {
+        return Arrays.asList(emailAdaptado.getRcptTo(), emailAdaptado.getRecipientName());
+    }
+
+    /**
+     * Entrega pelo pool de sessões SMTP; o futuro completa com o Message-ID atribuído à mensagem
+     */
+    @Override
+    public CompletableFuture<EmailDeliveryResult<EmailSmtpDTO>> entregarAsync(EmailSmtpDTO emailAdaptado) {
+        return connectionPool.enviarAsync(emailAdaptado)
+            .thenApply(messageId -> EmailDeliveryResult.entregue(getProviderType(), emailAdaptado, messageId));
+    }
+
+    @Override
+    public boolean suportaAnexos() {
+        return true;
+    }
+
+    @Override
+    public String getProviderType() {
+        return IntegrationType.SMTP.name();
+    }
+}
@@ -1,6 +1,10 @@
 package com.example.emailservice.integration.dto;
 
+import java.util.List;
+
+import com.example.emailservice.infrastructure.logging.LogMasking;
 import com.example.emailservice.shared.constants.EmailConstants;
+import com.fasterxml.jackson.annotation.JsonInclude;
 
 /**
  * DTO para integração com AWS
@@ -13,6 +17,8 @@ public class EmailAwsDTO {
     private String sender;
     private String subject;
     private String content;
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private List<String> cc = List.of();
     
     public EmailAwsDTO() { }
 
@@ -25,6 +31,15 @@ public class EmailAwsDTO {
         this.content = truncate(content, EmailConstants.AWS_CONTENT_MAX_LENGTH);
     }
 
+    /**
+     * @param cc endereços em cópia, listados no campo cc (omitido quando vazio)
+     */
+    public EmailAwsDTO(String recipient, String recipientName, String sender,
+                       String subject, String content, List<String> cc) {
+        this(recipient, recipientName, sender, subject, content);
+        setCc(cc);
+    }
+
     /**
      * Trunca string respeitando limite de caracteres da AWS
      */
@@ -73,14 +88,22 @@ public class EmailAwsDTO {
         this.content = truncate(content, EmailConstants.AWS_CONTENT_MAX_LENGTH);
     }
 
+    public List<String> getCc() {
+        return cc;
+    }
+
+    public void setCc(List<String> cc) {
+        this.cc = cc == null ? List.of() : cc;
+    }
+
     @Override
     public String toString() {
-        return "EmailAwsDTO{" +
-            "recipient='" + recipient + '\'' +
-            ", recipientName='" + recipientName + '\'' +
-            ", sender='" + sender + '\'' + 
-            ", subject='" + subject + '\'' +
-            ", content='" + content + '\'' +
-            '}';
+        StringBuilder texto = new StringBuilder(112).append("EmailAwsDTO{recipient='");
+        LogMasking.anexarEmail(texto, recipient);
+        LogMasking.anexarNome(texto.append("', recipientName='"), recipientName);
+        LogMasking.anexarEmail(texto.append("', sender='"), sender);
+        LogMasking.anexarTexto(texto.append("', subject="), subject);
+        LogMasking.anexarTexto(texto.append(", content="), content);
+        return texto.append('}').toString();
     }
 }
\ No newline at end of file
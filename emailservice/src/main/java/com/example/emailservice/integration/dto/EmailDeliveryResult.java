@@ -0,0 +1,24 @@
+package com.example.emailservice.integration.dto;
+
+import com.example.emailservice.shared.enums.DeliveryStatus;
+
+/**
+ * Resultado da entrega de um email a um provedor
+ * Carrega o payload no formato do provedor (EmailAwsDTO, EmailOciDTO, EmailSmtpDTO) e o identificador
+ * devolvido pelo transporte, como o status HTTP ou o Message-ID SMTP
+ * @param <T> tipo do email adaptado para o provedor
+ */
+public record EmailDeliveryResult<T>(String provedor, T emailAdaptado, DeliveryStatus situacao, String detalhe) {
+
+    public static <T> EmailDeliveryResult<T> entregue(String provedor, T emailAdaptado, String detalhe) {
+        return new EmailDeliveryResult<>(provedor, emailAdaptado, DeliveryStatus.ENTREGUE, detalhe);
+    }
+
+    public static <T> EmailDeliveryResult<T> naoEnviado(String provedor, T emailAdaptado) {
+        return new EmailDeliveryResult<>(provedor, emailAdaptado, DeliveryStatus.NAO_ENVIADO, null);
+    }
+
+    public boolean isEntregue() {
+        return situacao == DeliveryStatus.ENTREGUE;
+    }
+}
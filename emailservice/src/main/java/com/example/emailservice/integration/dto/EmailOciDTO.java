@@ -1,6 +1,10 @@
 package com.example.emailservice.integration.dto;
 
+import java.util.List;
+
+import com.example.emailservice.infrastructure.logging.LogMasking;
 import com.example.emailservice.shared.constants.EmailConstants;
+import com.fasterxml.jackson.annotation.JsonInclude;
 
 /**
  * DTO para integração com OCI
@@ -13,6 +17,8 @@ public class EmailOciDTO {
     private String senderEmail;
     private String subject;
     private String body;
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private List<String> cc = List.of();
     
     public EmailOciDTO() { }
 
@@ -25,6 +31,15 @@ public class EmailOciDTO {
         this.body = truncate(body, EmailConstants.OCI_BODY_MAX_LENGTH);
     }
 
+    /**
+     * @param cc endereços em cópia, listados no campo cc (omitido quando vazio)
+     */
+    public EmailOciDTO(String recipientEmail, String recipientName, String senderEmail,
+                       String subject, String body, List<String> cc) {
+        this(recipientEmail, recipientName, senderEmail, subject, body);
+        setCc(cc);
+    }
+
     /**
      * Trunca string respeitando limite de caracteres da OCI
      */
@@ -73,14 +88,22 @@ public class EmailOciDTO {
         this.body = truncate(body, EmailConstants.OCI_BODY_MAX_LENGTH);
     }
 
+    public List<String> getCc() {
+        return cc;
+    }
+
+    public void setCc(List<String> cc) {
+        this.cc = cc == null ? List.of() : cc;
+    }
+
     @Override
     public String toString() {
-        return "EmailOciDTO{" +
-            "recipientEmail='" + recipientEmail + '\'' +
-            ", recipientName='" + recipientName + '\'' +
-            ", senderEmail='" + senderEmail + '\'' + 
-            ", subject='" + subject + '\'' +
-            ", body='" + body + '\'' +
-            '}';
+        StringBuilder texto = new StringBuilder(112).append("EmailOciDTO{recipientEmail='");
+        LogMasking.anexarEmail(texto, recipientEmail);
+        LogMasking.anexarNome(texto.append("', recipientName='"), recipientName);
+        LogMasking.anexarEmail(texto.append("', senderEmail='"), senderEmail);
+        LogMasking.anexarTexto(texto.append("', subject="), subject);
+        LogMasking.anexarTexto(texto.append(", body="), body);
+        return texto.append('}').toString();
     }
 }
\ No newline at end of file
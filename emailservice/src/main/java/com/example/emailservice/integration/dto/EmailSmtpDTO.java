@@ -0,0 +1,120 @@
+package com.example.emailservice.integration.dto;
+
+import java.util.List;
+
+import com.example.emailservice.business.domain.model.EmailAttachment;
+import com.example.emailservice.infrastructure.logging.LogMasking;
+import com.example.emailservice.shared.constants.EmailConstants;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * DTO para integração com servidor SMTP
+ * Representa o envelope (MAIL FROM / RCPT TO), os cabeçalhos da mensagem e os anexos, que são lidos
+ * dos arquivos apenas durante a escrita da mensagem
+ */
+public class EmailSmtpDTO {
+
+    private String mailFrom;
+    private String rcptTo;
+    private String recipientName;
+    private String subject;
+    private String content;
+    private List<EmailAttachment> anexos = List.of();
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private List<String> cc = List.of();
+
+    public EmailSmtpDTO() { }
+
+    public EmailSmtpDTO(String mailFrom, String rcptTo, String recipientName,
+                        String subject, String content) {
+        this.mailFrom = truncate(mailFrom, EmailConstants.SMTP_ADDRESS_MAX_LENGTH);
+        this.rcptTo = truncate(rcptTo, EmailConstants.SMTP_ADDRESS_MAX_LENGTH);
+        this.recipientName = truncate(recipientName, EmailConstants.SMTP_RECIPIENT_NAME_MAX_LENGTH);
+        this.subject = truncate(subject, EmailConstants.SMTP_SUBJECT_MAX_LENGTH);
+        this.content = content;
+    }
+
+    public EmailSmtpDTO(String mailFrom, String rcptTo, String recipientName,
+                        String subject, String content, List<EmailAttachment> anexos) {
+        this(mailFrom, rcptTo, recipientName, subject, content);
+        setAnexos(anexos);
+    }
+
+    /**
+     * Trunca string respeitando os limites do protocolo SMTP
+     */
+    private String truncate(String value, int maxLength) {
+        if (value == null) return null;
+        return value.length() > maxLength ? value.substring(0, maxLength) : value;
+    }
+
+    public String getMailFrom() {
+        return mailFrom;
+    }
+
+    public void setMailFrom(String mailFrom) {
+        this.mailFrom = truncate(mailFrom, EmailConstants.SMTP_ADDRESS_MAX_LENGTH);
+    }
+
+    public String getRcptTo() {
+        return rcptTo;
+    }
+
+    public void setRcptTo(String rcptTo) {
+        this.rcptTo = truncate(rcptTo, EmailConstants.SMTP_ADDRESS_MAX_LENGTH);
+    }
+
+    public String getRecipientName() {
+        return recipientName;
+    }
+
+    public void setRecipientName(String recipientName) {
+        this.recipientName = truncate(recipientName, EmailConstants.SMTP_RECIPIENT_NAME_MAX_LENGTH);
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public void setSubject(String subject) {
+        this.subject = truncate(subject, EmailConstants.SMTP_SUBJECT_MAX_LENGTH);
+    }
+
+    public String getContent() {
+        return content;
+    }
+
+    public void setContent(String content) {
+        this.content = content;
+    }
+
+    public List<EmailAttachment> getAnexos() {
+        return anexos;
+    }
+
+    public void setAnexos(List<EmailAttachment> anexos) {
+        this.anexos = anexos == null ? List.of() : List.copyOf(anexos);
+    }
+
+    /**
+     * Endereços do cabeçalho Cc; não entram no envelope, que tem apenas rcptTo
+     */
+    public List<String> getCc() {
+        return cc;
+    }
+
+    public void setCc(List<String> cc) {
+        this.cc = cc == null ? List.of() : cc;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder texto = new StringBuilder(112).append("EmailSmtpDTO{mailFrom='");
+        LogMasking.anexarEmail(texto, mailFrom);
+        LogMasking.anexarEmail(texto.append("', rcptTo='"), rcptTo);
+        LogMasking.anexarNome(texto.append("', recipientName='"), recipientName);
+        LogMasking.anexarTexto(texto.append("', subject="), subject);
+        LogMasking.anexarTexto(texto.append(", content="), content);
+        return texto.append(", anexos=").append(anexos.size()).append('}').toString();
+    }
+}
@@ -5,17 +5,18 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 /**
  * Exceção específica da camada de integração
  * Representa violações de regras de integração
+ * Sem stack trace própria; quando há causa (erro do provedor, timeout, serialização), a stack trace dela é mantida
  */
 public class EmailIntegrationException extends RuntimeException {
     public EmailIntegrationException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 
     public EmailIntegrationException(String message, Throwable cause) {
-        super(message, cause);    
+        super(message, cause, false, false);
     }
     
     public EmailIntegrationException(String message, String cause, JsonProcessingException jpe) {
-        super(message, jpe);    
+        super(message, jpe, false, false);
     }
 }
\ No newline at end of file
@@ -0,0 +1,17 @@
+package com.example.emailservice.integration.exception;
+
+/**
+ * Falha de integração em que a mensagem comprovadamente não chegou ao provedor
+ * Ex.: conexão recusada, sessão SMTP encerrada antes do fim do DATA, provedor recusando a requisição
+ * com HTTP 429 ou 503. Só estas falhas autorizam o reenvio por outro provedor: após um timeout ou uma
+ * queda de conexão no meio da entrega o provedor pode já ter aceitado a mensagem
+ */
+public class EmailNotDeliveredException extends EmailIntegrationException {
+    public EmailNotDeliveredException(String message) {
+        super(message);
+    }
+
+    public EmailNotDeliveredException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -18,9 +18,9 @@ import com.example.emailservice.integration.exception.EmailIntegrationException;
 @Component("emailAdapterFactory")
 public class EmailAdapterFactory {
     
-    private final Map<String, IEmailProviderAdapter> adapters;
+    private final Map<String, IEmailProviderAdapter<?>> adapters;
 
-    public EmailAdapterFactory(List<IEmailProviderAdapter> adapterList) {
+    public EmailAdapterFactory(List<IEmailProviderAdapter<?>> adapterList) {
         this.adapters = adapterList.stream()
             .collect(Collectors.toMap(
                 IEmailProviderAdapter::getProviderType,
@@ -35,12 +35,12 @@ public class EmailAdapterFactory {
      * @return adapter correspondente
      * @throws EmailIntegrationException se o tipo não for suportado
      */
-    public IEmailProviderAdapter createAdapter(String providerType) {
+    public IEmailProviderAdapter<?> createAdapter(String providerType) {
         if (providerType == null || providerType.trim().isEmpty()) {
             throw new EmailIntegrationException("Tipo de provedor não pode ser nulo ou vazio");
         }
 
-        IEmailProviderAdapter adapter = adapters.get(providerType.toUpperCase());
+        IEmailProviderAdapter<?> adapter = adapters.get(providerType.toUpperCase());
         if (adapter == null) {
             throw new EmailIntegrationException(
                 String.format("Tipo de provedor '%s' não suportado. Tipos disponíveis: %s",
@@ -0,0 +1,293 @@
+package com.example.emailservice.integration.http;
+
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpConnectTimeoutException;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.Lifecycle;
+import org.springframework.stereotype.Component;
+
+import com.example.emailservice.infrastructure.util.JsonSerializer;
+import com.example.emailservice.integration.exception.EmailIntegrationException;
+import com.example.emailservice.integration.exception.EmailNotDeliveredException;
+
+import io.opentelemetry.api.trace.propagation.W3CTraceContextPropagator;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.propagation.TextMapSetter;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Cliente HTTP compartilhado para as APIs dos provedores
+ * Usa um único java.net.http.HttpClient não bloqueante: conexões são mantidas em pool pelo próprio
+ * cliente e, com HTTP/2, várias requisições são multiplexadas na mesma conexão com cada provedor
+ *
+ * O número de requisições em andamento é limitado por mail.http.max-requisicoes, somando todas as conexões
+ * e provedores (não é um limite por conexão), sem bloquear threads: requisições acima do limite aguardam em
+ * fila e são disparadas quando uma anterior termina.
+ *
+ * O tempo que uma conexão ociosa fica no pool é do próprio JDK (propriedade de sistema
+ * jdk.httpclient.keepalive.timeout, lida uma única vez por JVM) e deve ser definido na linha de comando,
+ * ex.: -Djdk.httpclient.keepalive.timeout=300.
+ *
+ * Como Lifecycle, descarta o cliente e as threads antes de um checkpoint do CRaC e cria outros após o
+ * restore. O HttpClient do Java 17 não tem close: o cliente descartado, com as conexões do pool, é
+ * liberado quando coletado.
+ */
+@Component("providerHttpClient")
+public class ProviderHttpClient implements Lifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProviderHttpClient.class);
+
+    private static final TextMapSetter<HttpRequest.Builder> CABECALHOS = HttpRequest.Builder::header;
+
+    private final JsonSerializer jsonSerializer;
+    private final Duration timeoutConexao;
+    private final Duration timeoutRequisicao;
+    private final int threads;
+    private final int maxRequisicoes;
+    private final Semaphore requisicoes;
+    private final ConcurrentLinkedQueue<Runnable> pendentes = new ConcurrentLinkedQueue<>();
+
+    private volatile HttpClient httpClient;
+    private volatile ExecutorService executor;
+
+    public ProviderHttpClient(JsonSerializer jsonSerializer,
+                              @Value("${mail.http.connect-timeout-ms:2000}") long timeoutConexaoMs,
+                              @Value("${mail.http.request-timeout-ms:5000}") long timeoutRequisicaoMs,
+                              @Value("${mail.http.max-requisicoes:100}") int maxRequisicoes,
+                              @Value("${mail.http.threads:4}") int threads) {
+        this.jsonSerializer = jsonSerializer;
+        this.timeoutConexao = Duration.ofMillis(timeoutConexaoMs);
+        this.timeoutRequisicao = Duration.ofMillis(timeoutRequisicaoMs);
+        this.threads = threads;
+        this.maxRequisicoes = maxRequisicoes;
+        this.requisicoes = new Semaphore(maxRequisicoes);
+        abrir();
+    }
+
+    private void abrir() {
+        this.executor = Executors.newFixedThreadPool(threads, criarThreadFactory());
+        this.httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_2)
+            .connectTimeout(timeoutConexao)
+            .followRedirects(HttpClient.Redirect.NEVER)
+            .executor(executor)
+            .build();
+    }
+
+    private static ThreadFactory criarThreadFactory() {
+        AtomicInteger contador = new AtomicInteger();
+        return tarefa -> {
+            Thread thread = new Thread(tarefa, "provider-http-" + contador.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Serializa o payload em JSON e o envia via POST, sem bloquear a thread chamadora
+     * @param endpoint URI da API do provedor
+     * @param payload objeto adaptado para o provedor
+     * @return futuro com o status HTTP, como em postarJson(URI, byte[])
+     */
+    public CompletableFuture<Integer> postarJson(URI endpoint, Object payload) {
+        byte[] corpo;
+        try {
+            corpo = jsonSerializer.serializeToBytes(payload);
+        } catch (EmailIntegrationException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return postarJson(endpoint, corpo);
+    }
+
+    /**
+     * Envia o JSON já serializado via POST, sem bloquear a thread chamadora
+     * O corpo é escrito direto dos bytes, sem String intermediária; o contexto de tracing corrente segue no
+     * cabeçalho traceparent (W3C Trace Context)
+     * @param endpoint URI da API do provedor
+     * @param corpo JSON em UTF-8
+     * @return futuro com o status HTTP; completa com EmailIntegrationException em caso de falha, status fora
+     * de 2xx ou timeout, e com EmailNotDeliveredException quando a requisição comprovadamente não foi processada
+     * (conexão recusada ou não estabelecida, HTTP 429 ou 503)
+     */
+    public CompletableFuture<Integer> postarJson(URI endpoint, byte[] corpo) {
+        return postar(endpoint, HttpRequest.BodyPublishers.ofByteArray(corpo));
+    }
+
+    /**
+     * Como postarJson(URI, byte[]), com o JSON em partes escritas em sequência
+     * As partes compartilhadas pelas cópias de um email com vários destinatários não são copiadas para um corpo
+     * único por cópia; o tamanho do corpo continua conhecido e segue no Content-Length
+     * @param endpoint URI da API do provedor
+     * @param partes JSON em UTF-8, na ordem em que compõem o corpo
+     * @return futuro com o status HTTP, como em postarJson(URI, byte[])
+     */
+    public CompletableFuture<Integer> postarJson(URI endpoint, List<byte[]> partes) {
+        if (partes.size() == 1) {
+            return postarJson(endpoint, partes.get(0));
+        }
+        HttpRequest.BodyPublisher[] publicadores = new HttpRequest.BodyPublisher[partes.size()];
+        for (int i = 0; i < publicadores.length; i++) {
+            publicadores[i] = HttpRequest.BodyPublishers.ofByteArray(partes.get(i));
+        }
+        return postar(endpoint, HttpRequest.BodyPublishers.concat(publicadores));
+    }
+
+    private CompletableFuture<Integer> postar(URI endpoint, HttpRequest.BodyPublisher corpo) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(endpoint)
+            .timeout(timeoutRequisicao)
+            .header("Content-Type", "application/json")
+            .POST(corpo);
+        W3CTraceContextPropagator.getInstance().inject(Context.current(), builder, CABECALHOS);
+        HttpRequest requisicao = builder.build();
+
+        HttpClient cliente = httpClient;
+        if (cliente == null) {
+            return CompletableFuture.failedFuture(new EmailNotDeliveredException("Cliente HTTP dos provedores encerrado."));
+        }
+        return comLimiteDeRequisicoes(() -> cliente.sendAsync(requisicao, HttpResponse.BodyHandlers.discarding()))
+            .handle((resposta, erro) -> {
+                if (erro != null) {
+                    throw traduzirErro(endpoint, erro);
+                }
+                if (resposta.statusCode() == 429 || resposta.statusCode() == 503) {
+                    throw new EmailNotDeliveredException("Provedor respondeu HTTP " + resposta.statusCode()
+                        + " em " + endpoint + ".");
+                }
+                if (resposta.statusCode() / 100 != 2) {
+                    throw new EmailIntegrationException("Provedor respondeu HTTP " + resposta.statusCode()
+                        + " em " + endpoint + ".");
+                }
+                logger.debug("POST {} concluído com HTTP {} ({}).", endpoint, resposta.statusCode(), resposta.version());
+                return resposta.statusCode();
+            });
+    }
+
+    private EmailIntegrationException traduzirErro(URI endpoint, Throwable erro) {
+        Throwable causa = erro instanceof CompletionException && erro.getCause() != null ? erro.getCause() : erro;
+
+        if (causa instanceof EmailIntegrationException emailIntegrationException) {
+            return emailIntegrationException;
+        }
+        if (causa instanceof ConnectException || causa instanceof HttpConnectTimeoutException) {
+            return new EmailNotDeliveredException("Falha ao conectar a " + endpoint + ": " + causa.getMessage(), causa);
+        }
+        if (causa instanceof HttpTimeoutException) {
+            return new EmailIntegrationException("Timeout de " + timeoutRequisicao.toMillis()
+                + " ms na chamada a " + endpoint + ".", causa);
+        }
+        return new EmailIntegrationException("Falha na chamada HTTP a " + endpoint + ": " + causa.getMessage(), causa);
+    }
+
+    /**
+     * Dispara a requisição se houver vaga no limite global; caso contrário enfileira sem bloquear
+     */
+    private <T> CompletableFuture<T> comLimiteDeRequisicoes(Supplier<CompletableFuture<T>> envio) {
+        CompletableFuture<T> resultado = new CompletableFuture<>();
+
+        Runnable tarefa = () -> {
+            try {
+                envio.get().whenComplete((valor, erro) -> {
+                    liberarRequisicao();
+                    if (erro != null) {
+                        resultado.completeExceptionally(erro);
+                    } else {
+                        resultado.complete(valor);
+                    }
+                });
+            } catch (RuntimeException e) {
+                liberarRequisicao();
+                resultado.completeExceptionally(e);
+            }
+        };
+
+        if (requisicoes.tryAcquire()) {
+            tarefa.run();
+        } else {
+            pendentes.add(tarefa);
+            despacharPendentes();
+        }
+
+        return resultado;
+    }
+
+    private void liberarRequisicao() {
+        requisicoes.release();
+        despacharPendentes();
+    }
+
+    private void despacharPendentes() {
+        while (!pendentes.isEmpty() && requisicoes.tryAcquire()) {
+            Runnable tarefa = pendentes.poll();
+            if (tarefa == null) {
+                requisicoes.release();
+                return;
+            }
+            tarefa.run();
+        }
+    }
+
+    /**
+     * Requisições aguardando vaga no limite de requisições em andamento
+     */
+    public int getPendentes() {
+        return pendentes.size();
+    }
+
+    /**
+     * Cria novo cliente e threads depois de stop (ex.: após o restore do CRaC)
+     */
+    @Override
+    public synchronized void start() {
+        if (executor.isShutdown()) {
+            abrir();
+        }
+    }
+
+    /**
+     * Aguarda as requisições em andamento e na fila por até mail.http.request-timeout-ms, encerra as threads
+     * e descarta o cliente
+     */
+    @Override
+    public synchronized void stop() {
+        long limite = System.nanoTime() + timeoutRequisicao.toNanos();
+        try {
+            while ((requisicoes.availablePermits() < maxRequisicoes || !pendentes.isEmpty()) && System.nanoTime() < limite) {
+                TimeUnit.MILLISECONDS.sleep(10);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        httpClient = null;
+        executor.shutdown();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return !executor.isShutdown();
+    }
+
+    @PreDestroy
+    public void fechar() {
+        executor.shutdown();
+    }
+}
@@ -1,15 +1,35 @@
 package com.example.emailservice.integration.service;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
 import com.example.emailservice.business.domain.model.Email;
+import com.example.emailservice.infrastructure.concurrency.AdaptiveConcurrencyLimiter;
+import com.example.emailservice.infrastructure.config.ProviderSettings;
+import com.example.emailservice.infrastructure.config.ProviderSettingsRegistry;
+import com.example.emailservice.infrastructure.exception.ConcurrencyLimitExceededException;
+import com.example.emailservice.infrastructure.metrics.PipelineEvent;
+import com.example.emailservice.infrastructure.metrics.PipelineMetrics;
+import com.example.emailservice.infrastructure.tracing.PipelineTracing;
 import com.example.emailservice.infrastructure.util.JsonSerializer;
 import com.example.emailservice.integration.adapter.IEmailProviderAdapter;
+import com.example.emailservice.integration.dto.EmailDeliveryResult;
 import com.example.emailservice.integration.exception.EmailIntegrationException;
+import com.example.emailservice.integration.exception.EmailNotDeliveredException;
 import com.example.emailservice.integration.factory.EmailAdapterFactory;
+import com.example.emailservice.shared.enums.PipelineStage;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.Scope;
 
 /**
  * Serviço da camada de integração
@@ -22,49 +42,297 @@ public class EmailIntegrationService {
 
     private final EmailAdapterFactory adapterFactory;
     private final JsonSerializer jsonSerializer;
-    private final String mailIntegracao;
+    private final ProviderSettingsRegistry providerSettingsRegistry;
+    private final AdaptiveConcurrencyLimiter provedorLimiter;
+    private final PipelineMetrics pipelineMetrics;
+    private final PipelineTracing pipelineTracing;
 
     public EmailIntegrationService(EmailAdapterFactory adapterFactory,
                                    JsonSerializer jsonSerializer,
-                                   @Value("${mail.integracao}") String mailIntegracao) {
+                                   ProviderSettingsRegistry providerSettingsRegistry,
+                                   @Qualifier("provedorLimiter") AdaptiveConcurrencyLimiter provedorLimiter,
+                                   PipelineMetrics pipelineMetrics,
+                                   PipelineTracing pipelineTracing) {
         this.adapterFactory = adapterFactory;
         this.jsonSerializer = jsonSerializer;
-        this.mailIntegracao = mailIntegracao;
+        this.providerSettingsRegistry = providerSettingsRegistry;
+        this.provedorLimiter = provedorLimiter;
+        this.pipelineMetrics = pipelineMetrics;
+        this.pipelineTracing = pipelineTracing;
     }
 
     /**
-     * Envia o email através do provedor configurado
+     * Envia o email através do provedor configurado e aguarda a entrega
+     * Versão síncrona de enviarEmailAsync
      * @param email entidade de domínio
-     * @return EmailIntegrationException em caso de erro na integração
+     * @throws EmailIntegrationException em caso de erro na integração
+     * @throws ConcurrencyLimitExceededException se o limite de chamadas ao provedor foi atingido
      */
     public void enviarEmail(Email email) {
         try {
-            logger.info("Iniciando integração com provedor: {}.", mailIntegracao);
+            enviarEmailAsync(email).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw new EmailIntegrationException("Erro na integração: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    /**
+     * Envia o email através do provedor configurado sem aguardar a entrega
+     * A entrega é limitada a mail.integracao.timeout-ms. Se houver mail.integracao.fallback, o email é reenviado
+     * pelo provedor alternativo apenas quando a falha comprova que o principal não o recebeu
+     * (EmailNotDeliveredException); após um timeout ou uma queda no meio da entrega o principal pode já ter
+     * aceitado a mensagem, e reenviá-la entregaria cópias duplicadas. O provedor alternativo passa pelo mesmo
+     * provedorLimiter que o principal
+     * O span EmailIntegrationService.enviarEmail cobre a integração inteira e é o pai dos spans de cada etapa,
+     * inclusive os do provedor alternativo, criados na thread que completou a primeira entrega
+     * A configuração dos provedores é lida uma única vez: uma troca durante o envio vale apenas para os próximos
+     * @param email entidade de domínio
+     * @return futuro com o resultado; completa com EmailIntegrationException ou ConcurrencyLimitExceededException
+     */
+    public CompletableFuture<EmailDeliveryResult<?>> enviarEmailAsync(Email email) {
+        return enviarEmailAsync(email, null);
+    }
+
+    /**
+     * Como enviarEmailAsync(Email), para uma das cópias de um email com vários destinatários
+     * A adaptação e a serialização reaproveitam as partes comuns às cópias da requisição
+     * @param email cópia do email para um dos destinatários
+     * @param compartilhado partes comuns às cópias, de criarPayloadsCompartilhados; nulo adapta e serializa
+     * o email inteiro
+     * @return futuro com o resultado, como em enviarEmailAsync(Email)
+     */
+    public CompletableFuture<EmailDeliveryResult<?>> enviarEmailAsync(Email email, SharedPayloads compartilhado) {
+        ProviderSettings configuracao = providerSettingsRegistry.atual();
+        String mailIntegracao = configuracao.escolherProvedor();
+        logger.info("Iniciando integração com provedor: {}.", mailIntegracao);
+        long inicio = pipelineMetrics.iniciar();
+        Span span = pipelineTracing.iniciar("EmailIntegrationService.enviarEmail", email.getMessageId(),
+            mailIntegracao.toUpperCase());
+        Context contexto = Context.current().with(span);
+
+        CompletableFuture<EmailDeliveryResult<?>> entrega;
+        try (Scope escopo = contexto.makeCurrent()) {
+            entrega = entregarLimitado(mailIntegracao, configuracao.getTimeoutMs(), email, compartilhado);
+        }
+
+        if (configuracao.possuiFallback(mailIntegracao)) {
+            entrega = entrega.exceptionallyCompose(erro -> {
+                try (Scope escopo = contexto.makeCurrent()) {
+                    return entregarComFallback(email, compartilhado, configuracao, mailIntegracao, erro);
+                }
+            });
+        }
 
-            IEmailProviderAdapter adapter = adapterFactory.createAdapter(mailIntegracao);
+        return entrega.handle((resultado, erro) -> {
+            if (erro != null) {
+                pipelineMetrics.registrar(PipelineStage.INTEGRACAO, mailIntegracao.toUpperCase(), inicio, false);
+                pipelineMetrics.registrarFalhaEnvio(mailIntegracao.toUpperCase());
+                RuntimeException falha = traduzirErro(erro, mailIntegracao, configuracao.getTimeoutMs());
+                PipelineTracing.registrarFalha(span, falha);
+                span.end();
+                throw falha;
+            }
+            span.end();
+            pipelineMetrics.registrar(PipelineStage.INTEGRACAO, resultado.provedor(), inicio, true);
+            pipelineMetrics.registrarEnvio(resultado.provedor(), resultado.situacao());
+            logger.info("Email integrado com sucesso através do provedor: {}.", resultado.provedor());
+            return resultado;
+        });
+    }
 
-            Object emailAdaptado = adapter.adaptEmail(email);
+    /**
+     * Partes comuns às cópias de um email com vários destinatários, para enviarEmailAsync(Email, SharedPayloads)
+     * Todas as cópias devem ter o mesmo remetente, assunto, conteúdo, anexos e cópias; muda apenas o destinatário
+     */
+    public SharedPayloads criarPayloadsCompartilhados() {
+        return new SharedPayloads(jsonSerializer);
+    }
 
-            String jsonEmail = jsonSerializer.serialize(emailAdaptado);
-            imprimirEmailSerializado(jsonEmail, mailIntegracao);
+    /**
+     * Reserva uma vaga no provedorLimiter e entrega pelo provedor informado, liberando a vaga ao fim
+     * Falhas antes da entrega (adapter inexistente, adaptação, serialização) são devolvidas como
+     * EmailNotDeliveredException: nada foi enviado ao provedor
+     */
+    private CompletableFuture<EmailDeliveryResult<?>> entregarLimitado(String tipoIntegracao, long timeoutMs,
+                                                                      Email email, SharedPayloads compartilhado) {
+        try {
+            IEmailProviderAdapter<?> adapter = adapterFactory.createAdapter(tipoIntegracao);
 
-            logger.info("Email integrado com sucesso através do provedor: {}.", mailIntegracao);
-        } catch (Exception e) {
-            logger.error("Erro na integração com o provedor {}: {}.", mailIntegracao, e.getMessage());
-            throw new EmailIntegrationException("Erro na integração: " + e.getMessage(), e);
+            AdaptiveConcurrencyLimiter.Permissao permissao = provedorLimiter.tentarAdquirir()
+                .orElseThrow(() -> new ConcurrencyLimitExceededException(
+                    provedorLimiter.getNome(), provedorLimiter.getLimite()));
+
+            return entregarCom(adapter, tipoIntegracao, timeoutMs, email, compartilhado)
+                .whenComplete((resultado, erro) -> {
+                    if (erro == null) {
+                        permissao.sucesso();
+                    } else {
+                        permissao.descartada();
+                    }
+                });
+        } catch (ConcurrencyLimitExceededException | EmailNotDeliveredException e) {
+            return CompletableFuture.failedFuture(e);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(new EmailNotDeliveredException(e.getMessage(), e));
         }
     }
 
+    /**
+     * Adapta, imprime e entrega o email; falhas síncronas são devolvidas no futuro
+     * Cada etapa é medida em PipelineMetrics com o provedor do adapter e tem um span filho do contexto
+     * corrente; as etapas síncronas também emitem um PipelineEvent (JFR). O span da entrega fica corrente
+     * durante a chamada ao adapter, para que o contexto chegue às threads e requisições do provedor
+     */
+    private <T> CompletableFuture<EmailDeliveryResult<?>> entregarCom(IEmailProviderAdapter<T> adapter,
+                                                                     String tipoIntegracao, long timeoutMs,
+                                                                     Email email, SharedPayloads compartilhado) {
+        String provedor = tipoIntegracao.toUpperCase();
+        String messageId = email.getMessageId();
+        long tamanho = email.getTamanhoPayload();
+        PipelineStage etapa = PipelineStage.ADAPTACAO;
+        PipelineEvent evento = PipelineEvent.iniciar(etapa);
+        Span passo = pipelineTracing.iniciar(nomeSpan(etapa), messageId, provedor);
+        long inicio = pipelineMetrics.iniciar();
+        try {
+            if (email.possuiAnexos() && !adapter.suportaAnexos()) {
+                throw new EmailIntegrationException("O provedor " + tipoIntegracao + " não suporta anexos.");
+            }
+
+            T emailAdaptado = compartilhado == null ? adapter.adaptEmail(email)
+                : compartilhado.adaptar(adapter, email);
+            inicio = proximaEtapa(etapa, provedor, inicio);
+            evento.concluir(messageId, provedor, tamanho, true);
+            passo.end();
+
+            etapa = PipelineStage.SERIALIZACAO;
+            evento = PipelineEvent.iniciar(etapa);
+            passo = pipelineTracing.iniciar(nomeSpan(etapa), messageId, provedor);
+            List<byte[]> json = compartilhado == null ? List.of(jsonSerializer.serializeToBytes(emailAdaptado))
+                : compartilhado.serializar(adapter, emailAdaptado);
+            tamanho = tamanho(json);
+            inicio = proximaEtapa(etapa, provedor, inicio);
+            evento.concluir(messageId, provedor, tamanho, true);
+            passo.end();
+
+            etapa = PipelineStage.IMPRESSAO;
+            evento = PipelineEvent.iniciar(etapa);
+            passo = pipelineTracing.iniciar(nomeSpan(etapa), messageId, provedor);
+            imprimirEmailSerializado(json, tipoIntegracao);
+            inicio = proximaEtapa(etapa, provedor, inicio);
+            evento.concluir(messageId, provedor, tamanho, true);
+            passo.end();
+
+            etapa = PipelineStage.ENTREGA;
+            passo = pipelineTracing.iniciar(nomeSpan(etapa), messageId, provedor);
+            Span entrega = passo;
+            long inicioEntrega = inicio;
+            CompletableFuture<EmailDeliveryResult<T>> futuro;
+            try (Scope escopo = entrega.makeCurrent()) {
+                futuro = adapter.entregarAsync(emailAdaptado, json);
+            }
+            return generalizar(futuro
+                .orTimeout(timeoutMs, TimeUnit.MILLISECONDS)
+                .whenComplete((resultado, erro) -> {
+                    pipelineMetrics.registrar(PipelineStage.ENTREGA, provedor, inicioEntrega, erro == null);
+                    if (erro != null) {
+                        PipelineTracing.registrarFalha(entrega, desembrulhar(erro));
+                    }
+                    entrega.end();
+                }));
+        } catch (RuntimeException e) {
+            pipelineMetrics.registrar(etapa, provedor, inicio, false);
+            if (etapa != PipelineStage.ENTREGA) {
+                evento.concluir(messageId, provedor, tamanho, false);
+            }
+            PipelineTracing.registrarFalha(passo, e);
+            passo.end();
+            if (etapa != PipelineStage.ENTREGA && !(e instanceof EmailNotDeliveredException)) {
+                return CompletableFuture.failedFuture(new EmailNotDeliveredException(e.getMessage(), e));
+            }
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Trata o futuro do resultado de um provedor como futuro de EmailDeliveryResult<?>, sem um estágio a mais
+     * Seguro porque o futuro devolvido é um estágio dependente, que só é lido e nunca completado por fora
+     */
+    @SuppressWarnings("unchecked")
+    private static CompletableFuture<EmailDeliveryResult<?>> generalizar(
+            CompletableFuture<? extends EmailDeliveryResult<?>> futuro) {
+        return (CompletableFuture<EmailDeliveryResult<?>>) futuro;
+    }
+
+    private static long tamanho(List<byte[]> json) {
+        long tamanho = 0;
+        for (byte[] parte : json) {
+            tamanho += parte.length;
+        }
+        return tamanho;
+    }
+
+    private static String nomeSpan(PipelineStage etapa) {
+        return "email." + etapa.getTag();
+    }
+
+    /**
+     * Registra a etapa concluída e devolve o início da próxima
+     */
+    private long proximaEtapa(PipelineStage etapa, String provedor, long inicio) {
+        pipelineMetrics.registrar(etapa, provedor, inicio, true);
+        return pipelineMetrics.iniciar();
+    }
+
+    private CompletableFuture<EmailDeliveryResult<?>> entregarComFallback(Email email, SharedPayloads compartilhado,
+                                                                          ProviderSettings configuracao,
+                                                                          String mailIntegracao, Throwable erro) {
+        Throwable causa = desembrulhar(erro);
+        if (!(causa instanceof EmailNotDeliveredException)) {
+            return CompletableFuture.failedFuture(causa);
+        }
+
+        logger.warn("Provedor {} não recebeu o email ({}); tentando provedor alternativo {}.",
+            mailIntegracao, causa.getMessage(), configuracao.getFallback());
+        return entregarLimitado(configuracao.getFallback(), configuracao.getTimeoutMs(), email, compartilhado);
+    }
+
+    private RuntimeException traduzirErro(Throwable erro, String mailIntegracao, long timeoutMs) {
+        Throwable causa = desembrulhar(erro);
+
+        if (causa instanceof ConcurrencyLimitExceededException e) {
+            logger.warn("Chamada ao provedor {} rejeitada: {}.", mailIntegracao, e.getMessage());
+            return e;
+        }
+        if (causa instanceof TimeoutException) {
+            logger.error("Tempo limite de {} ms excedido na integração com o provedor {}.", timeoutMs, mailIntegracao);
+            return new EmailIntegrationException("Erro na integração: tempo limite de " + timeoutMs
+                + " ms excedido.", causa);
+        }
+        logger.error("Erro na integração com o provedor {}: {}.", mailIntegracao, causa.getMessage());
+        return new EmailIntegrationException("Erro na integração: " + causa.getMessage(), causa);
+    }
+
+    private static Throwable desembrulhar(Throwable erro) {
+        return erro instanceof CompletionException && erro.getCause() != null ? erro.getCause() : erro;
+    }
+
     /**
      * Imprime o email serializado no console
-     * @param jsonEmail JSON do email
+     * Os mesmos bytes enviados ao provedor são escritos direto no stream, sem String intermediária
+     * @param json JSON do email em UTF-8, em partes escritas em sequência
      * @param tipoIntegracao tipo de integração utilizada
      */
-    public void imprimirEmailSerializado(String jsonEmail, String tipoIntegracao) {
+    public void imprimirEmailSerializado(List<byte[]> json, String tipoIntegracao) {
         System.out.println("\n" + "=".repeat(80));
         System.out.println("EMAIL SERIALIZADO PARA INTEGRAÇÃO: " + tipoIntegracao.toUpperCase());
         System.out.println("=".repeat(80));
-        System.out.println(jsonEmail);
+        for (byte[] parte : json) {
+            System.out.write(parte, 0, parte.length);
+        }
+        System.out.println();
         System.out.println("=".repeat(80) + "\n");
     }
 }
\ No newline at end of file
@@ -0,0 +1,194 @@
+package com.example.emailservice.integration.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.Lifecycle;
+import org.springframework.stereotype.Component;
+
+import com.example.emailservice.integration.exception.EmailIntegrationException;
+
+import io.opentelemetry.context.Context;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Execução padrão (mail.destinatarios.execucao=EXECUTOR) dos envios a vários destinatários
+ * Um pool compartilhado de mail.destinatarios.paralelismo threads com fila de mail.destinatarios.fila tarefas.
+ * Cada requisição mantém no máximo mail.destinatarios.paralelismo envios no pool e só submete o próximo quando
+ * um dos seus termina, então uma lista grande não ocupa a fila sozinha. Com a fila cheia de envios de outras
+ * requisições, a requisição aguarda vaga até o fim do prazo, sem rodar o envio na sua thread; os que não
+ * conseguem vaga recebem o resultado de recusado. Ao fim do prazo, ou na primeira falha fatal, os envios
+ * pendentes são cancelados com interrupção.
+ */
+@Component("executorRecipientDispatcher")
+public class ExecutorRecipientDispatcher implements RecipientDispatcher, Lifecycle {
+
+    public static final String TIPO = "EXECUTOR";
+
+    private static final long ESPERA_POR_VAGA_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final int paralelismo;
+    private final int fila;
+    private final long prazoNanos;
+
+    private volatile ExecutorService executor;
+
+    public ExecutorRecipientDispatcher(@Value("${mail.destinatarios.paralelismo:8}") int paralelismo,
+                                       @Value("${mail.destinatarios.fila:256}") int fila,
+                                       @Value("${mail.destinatarios.prazo-ms:30000}") long prazoMs) {
+        this.paralelismo = paralelismo;
+        this.fila = fila;
+        this.prazoNanos = TimeUnit.MILLISECONDS.toNanos(prazoMs);
+        this.executor = criarExecutor();
+    }
+
+    private ExecutorService criarExecutor() {
+        AtomicInteger contador = new AtomicInteger();
+        ThreadFactory threadFactory = tarefa -> {
+            Thread thread = new Thread(tarefa, "destinatarios-" + contador.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return Context.taskWrapping(new ThreadPoolExecutor(paralelismo, paralelismo, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(fila), threadFactory));
+    }
+
+    @Override
+    public <T> List<T> despachar(List<Callable<T>> envios, IntFunction<T> expirado, IntFunction<T> recusado) {
+        long prazo = System.nanoTime() + prazoNanos;
+        ExecutorCompletionService<T> conclusoes = new ExecutorCompletionService<>(executor);
+        List<Future<T>> futuros = new ArrayList<>(envios.size());
+        Map<Future<T>, Integer> indices = new HashMap<>();
+        List<T> resultados = new ArrayList<>(Collections.nCopies(envios.size(), null));
+        boolean[] concluidos = new boolean[envios.size()];
+        int emAndamento = 0;
+        boolean semVaga = false;
+        try {
+            while (futuros.size() < envios.size() || emAndamento > 0) {
+                if (futuros.size() < envios.size() && emAndamento < paralelismo) {
+                    Future<T> futuro = submeter(conclusoes, envios.get(futuros.size()));
+                    semVaga = futuro == null;
+                    if (futuro != null) {
+                        indices.put(futuro, futuros.size());
+                        futuros.add(futuro);
+                        emAndamento++;
+                        continue;
+                    }
+                    if (emAndamento == 0) {
+                        // A fila está ocupada por outras requisições: nenhuma conclusão própria para aguardar
+                        long restante = prazo - System.nanoTime();
+                        if (restante <= 0) {
+                            break;
+                        }
+                        TimeUnit.NANOSECONDS.sleep(Math.min(restante, ESPERA_POR_VAGA_NANOS));
+                        continue;
+                    }
+                }
+
+                Future<T> futuro = conclusoes.poll(prazo - System.nanoTime(), TimeUnit.NANOSECONDS);
+                if (futuro == null) {
+                    break;
+                }
+                int indice = indices.get(futuro);
+                resultados.set(indice, futuro.get());
+                concluidos[indice] = true;
+                emAndamento--;
+            }
+
+            for (int i = 0; i < futuros.size(); i++) {
+                if (!concluidos[i]) {
+                    Future<T> futuro = futuros.get(i);
+                    resultados.set(i, futuro.cancel(true) ? expirado.apply(i) : futuro.get());
+                }
+            }
+            for (int i = futuros.size(); i < envios.size(); i++) {
+                resultados.set(i, semVaga ? recusado.apply(i) : expirado.apply(i));
+            }
+            return resultados;
+        } catch (ExecutionException e) {
+            cancelar(futuros);
+            throw new EmailIntegrationException("Envio aos destinatários interrompido: "
+                + e.getCause().getMessage(), e.getCause());
+        } catch (InterruptedException e) {
+            cancelar(futuros);
+            Thread.currentThread().interrupt();
+            throw new EmailIntegrationException("Envio aos destinatários interrompido.", e);
+        } catch (RejectedExecutionException e) {
+            cancelar(futuros);
+            throw new EmailIntegrationException("Envio a listas de destinatários encerrado.", e);
+        }
+    }
+
+    /**
+     * Enfileira o envio no pool
+     * @return futuro do envio, ou null se a fila estiver cheia
+     * @throws RejectedExecutionException se o pool estiver encerrado
+     */
+    private <T> Future<T> submeter(ExecutorCompletionService<T> conclusoes, Callable<T> envio) {
+        try {
+            return conclusoes.submit(envio);
+        } catch (RejectedExecutionException e) {
+            if (executor.isShutdown()) {
+                throw e;
+            }
+            return null;
+        }
+    }
+
+    private static void cancelar(List<? extends Future<?>> futuros) {
+        for (Future<?> futuro : futuros) {
+            futuro.cancel(true);
+        }
+    }
+
+    @Override
+    public String getTipo() {
+        return TIPO;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (executor.isShutdown()) {
+            executor = criarExecutor();
+        }
+    }
+
+    /**
+     * Recusa novos envios e aguarda os que estão em andamento
+     */
+    @Override
+    public synchronized void stop() {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return !executor.isShutdown();
+    }
+
+    @PreDestroy
+    public void fechar() {
+        stop();
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.emailservice.integration.service;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.function.IntFunction;
+
+import com.example.emailservice.integration.exception.EmailIntegrationException;
+
+/**
+ * Execução em paralelo dos envios de um email com vários destinatários, escolhida por mail.destinatarios.execucao
+ * Todos os envios de uma chamada pertencem a ela: terminam, são cancelados ou expiram antes de despachar retornar,
+ * dentro do prazo mail.destinatarios.prazo-ms contado a partir da chamada
+ */
+public interface RecipientDispatcher {
+
+    /**
+     * Executa um envio por destinatário e aguarda todos
+     * Cada envio deve devolver as próprias falhas como resultado; uma exceção lançada por ele é fatal e cancela
+     * os demais
+     * @param envios envios por destinatário
+     * @param expirado resultado, pelo índice, dos envios que começaram mas não terminaram dentro do prazo
+     * @param recusado resultado, pelo índice, dos envios que não conseguiram vaga na execução até o fim do prazo
+     * @return resultados na ordem dos envios
+     * @throws EmailIntegrationException se algum envio lançar exceção ou a execução estiver encerrada
+     */
+    <T> List<T> despachar(List<Callable<T>> envios, IntFunction<T> expirado, IntFunction<T> recusado);
+
+    /**
+     * Executa um envio por destinatário e aguarda todos; envios expirados e recusados recebem o mesmo resultado
+     * @see #despachar(List, IntFunction, IntFunction)
+     */
+    default <T> List<T> despachar(List<Callable<T>> envios, IntFunction<T> expirado) {
+        return despachar(envios, expirado, expirado);
+    }
+
+    /**
+     * Valor de mail.destinatarios.execucao que seleciona esta implementação
+     */
+    String getTipo();
+}
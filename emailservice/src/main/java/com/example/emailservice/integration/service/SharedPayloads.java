@@ -0,0 +1,91 @@
+package com.example.emailservice.integration.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import com.example.emailservice.business.domain.model.Email;
+import com.example.emailservice.infrastructure.util.JsonSerializer;
+import com.example.emailservice.infrastructure.util.JsonTemplate;
+import com.example.emailservice.integration.adapter.IEmailProviderAdapter;
+
+/**
+ * Partes compartilhadas pelas cópias de um email com vários destinatários, dentro de uma requisição
+ * Na primeira cópia entregue por um provedor, o email é adaptado como modelo e serializado uma única vez, com
+ * marcadores no lugar dos campos do destinatário (IEmailProviderAdapter.camposDoDestinatario). Cada cópia
+ * reaproveita do modelo os campos comuns (adaptarCopia) e serializa apenas os seus, de modo que o custo de um
+ * destinatário a mais não depende do tamanho do conteúdo. Adapters sem campos do destinatário, ou cujo JSON não
+ * contém cada marcador exatamente uma vez, serializam as cópias por inteiro.
+ *
+ * Thread-safe: as cópias de uma requisição são entregues em paralelo.
+ */
+public final class SharedPayloads {
+
+    private final JsonSerializer jsonSerializer;
+    private final ConcurrentHashMap<String, Modelo<?>> modelos = new ConcurrentHashMap<>();
+
+    public SharedPayloads(JsonSerializer jsonSerializer) {
+        this.jsonSerializer = jsonSerializer;
+    }
+
+    /**
+     * Adapta a cópia do email a partir do modelo do provedor, criado a partir dela se for a primeira
+     */
+    public <T> T adaptar(IEmailProviderAdapter<T> adapter, Email email) {
+        return adapter.adaptarCopia(modelo(adapter, email).emailAdaptado(), email);
+    }
+
+    /**
+     * Serializa a cópia adaptada por adaptar, preenchendo o JSON do modelo com os campos do destinatário
+     * @return partes do JSON, como em IEmailProviderAdapter.entregarAsync(T, List)
+     */
+    public <T> List<byte[]> serializar(IEmailProviderAdapter<T> adapter, T emailAdaptado) {
+        Modelo<?> modelo = modelos.get(adapter.getProviderType());
+        if (modelo == null || modelo.json() == null) {
+            return List.of(jsonSerializer.serializeToBytes(emailAdaptado));
+        }
+        List<String> campos = adapter.camposDoDestinatario(emailAdaptado);
+        List<byte[]> valores = new ArrayList<>(campos.size());
+        for (String campo : campos) {
+            valores.add(jsonSerializer.serializeTextToBytes(campo));
+        }
+        return modelo.json().preencher(valores);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Modelo<T> modelo(IEmailProviderAdapter<T> adapter, Email email) {
+        return (Modelo<T>) modelos.computeIfAbsent(adapter.getProviderType(), provedor -> criarModelo(adapter, email));
+    }
+
+    /**
+     * Adapta o email e compila o JSON de uma cópia com destinatário e nome aleatórios, que servem de marcadores
+     */
+    private <T> Modelo<T> criarModelo(IEmailProviderAdapter<T> adapter, Email email) {
+        T emailAdaptado = adapter.adaptEmail(email);
+        if (adapter.camposDoDestinatario(emailAdaptado).isEmpty()) {
+            return new Modelo<>(emailAdaptado, null);
+        }
+
+        ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+        String destinatario = "d" + Long.toHexString(aleatorio.nextLong()) + "@marcador.invalid";
+        String nome = "n" + Long.toHexString(aleatorio.nextLong());
+        T marcado = adapter.adaptarCopia(emailAdaptado, new Email(email.getMessageId(), destinatario, nome,
+            email.getSenderEmail(), email.getSubject(), email.getContent(), email.getAnexos(), email.getCopias()));
+
+        List<String> campos = adapter.camposDoDestinatario(marcado);
+        List<byte[]> marcadores = new ArrayList<>(campos.size());
+        for (String campo : campos) {
+            if (!destinatario.equals(campo) && !nome.equals(campo)) {
+                return new Modelo<>(emailAdaptado, null);
+            }
+            marcadores.add(jsonSerializer.serializeTextToBytes(campo));
+        }
+        return new Modelo<>(emailAdaptado, JsonTemplate.compilar(jsonSerializer.serializeToBytes(marcado), marcadores));
+    }
+
+    /**
+     * @param json JSON com lacunas nos campos do destinatário; nulo quando as cópias são serializadas por inteiro
+     */
+    private record Modelo<T>(T emailAdaptado, JsonTemplate json) { }
+}
@@ -0,0 +1,149 @@
+package com.example.emailservice.integration.smtp;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Base64;
+
+import com.example.emailservice.business.domain.model.EmailAttachment;
+import com.example.emailservice.integration.dto.EmailSmtpDTO;
+import com.example.emailservice.shared.constants.EmailConstants;
+
+/**
+ * Escreve a mensagem MIME diretamente no stream da sessão SMTP, sem montá-la em memória
+ * Corpo e anexos vão em base64 (o que dispensa 8BITMIME e dot-stuffing); os anexos são lidos do arquivo
+ * via FileChannel em blocos de tamanho fixo, codificados e escritos antes da leitura do bloco seguinte,
+ * de modo que a memória usada não depende do tamanho dos arquivos
+ *
+ * Mantém buffers reaproveitados entre mensagens e, por isso, não é thread-safe: cada sessão tem o seu.
+ */
+final class MimeMessageWriter {
+
+    private static final byte[] CRLF = { '\r', '\n' };
+    private static final int BYTES_POR_LINHA = EmailConstants.SMTP_BASE64_LINE_LENGTH / 4 * 3;
+    private static final int LINHAS_POR_BLOCO = 128;
+
+    private final OutputStream saida;
+    private final Base64.Encoder encoder = Base64.getEncoder();
+    private final byte[] bloco = new byte[BYTES_POR_LINHA * LINHAS_POR_BLOCO];
+    private final byte[] codificado = new byte[EmailConstants.SMTP_BASE64_LINE_LENGTH * LINHAS_POR_BLOCO];
+    private final ByteBuffer buffer = ByteBuffer.wrap(bloco);
+
+    MimeMessageWriter(OutputStream saida) {
+        this.saida = saida;
+    }
+
+    /**
+     * Escreve cabeçalhos e corpo; com anexos, a mensagem vira multipart/mixed com o texto como primeira parte
+     * @param email envelope, conteúdo e anexos
+     * @param messageId identificador para o cabeçalho Message-ID
+     */
+    void escrever(EmailSmtpDTO email, String messageId) throws IOException {
+        escreverLinha("Date: " + DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now()));
+        escreverLinha("From: <" + email.getMailFrom() + ">");
+        escreverLinha("To: " + formatarEndereco(email.getRecipientName(), email.getRcptTo()));
+        if (!email.getCc().isEmpty()) {
+            escreverLinha("Cc: " + String.join(", ", email.getCc()));
+        }
+        escreverLinha("Subject: " + SmtpHeaders.codificar(email.getSubject()));
+        escreverLinha("Message-ID: <" + messageId + ">");
+        escreverLinha("MIME-Version: 1.0");
+
+        if (email.getAnexos().isEmpty()) {
+            escreverTexto(email.getContent());
+            return;
+        }
+
+        String boundary = gerarBoundary(messageId);
+        escreverLinha("Content-Type: multipart/mixed; boundary=\"" + boundary + "\"");
+        saida.write(CRLF);
+
+        escreverLinha("--" + boundary);
+        escreverTexto(email.getContent());
+
+        for (EmailAttachment anexo : email.getAnexos()) {
+            escreverLinha("--" + boundary);
+            escreverAnexo(anexo);
+        }
+        escreverLinha("--" + boundary + "--");
+    }
+
+    private void escreverTexto(String conteudo) throws IOException {
+        escreverLinha("Content-Type: text/plain; charset=UTF-8");
+        escreverLinha("Content-Transfer-Encoding: base64");
+        saida.write(CRLF);
+
+        byte[] corpo = conteudo.getBytes(StandardCharsets.UTF_8);
+        for (int i = 0; i < corpo.length; i += bloco.length) {
+            int tamanho = Math.min(bloco.length, corpo.length - i);
+            System.arraycopy(corpo, i, bloco, 0, tamanho);
+            escreverBloco(tamanho);
+        }
+    }
+
+    private void escreverAnexo(EmailAttachment anexo) throws IOException {
+        escreverLinha("Content-Type: " + anexo.contentType());
+        escreverLinha("Content-Disposition: attachment; " + SmtpHeaders.parametroNomeArquivo(anexo.nome()));
+        escreverLinha("Content-Transfer-Encoding: base64");
+        saida.write(CRLF);
+
+        try (FileChannel canal = FileChannel.open(anexo.arquivo(), StandardOpenOption.READ)) {
+            int lidos;
+            while ((lidos = preencherBloco(canal)) > 0) {
+                escreverBloco(lidos);
+            }
+        }
+    }
+
+    /**
+     * Lê do canal até completar o bloco ou chegar ao fim do arquivo, para que só o último bloco fique
+     * incompleto e todas as linhas anteriores tenham exatamente 76 caracteres
+     */
+    private int preencherBloco(ReadableByteChannel canal) throws IOException {
+        buffer.clear();
+        while (buffer.hasRemaining() && canal.read(buffer) >= 0) {
+            // continua lendo: FileChannel pode devolver menos bytes que o espaço disponível
+        }
+        return buffer.position();
+    }
+
+    /**
+     * Codifica os primeiros bytes do bloco e escreve em linhas de 76 caracteres
+     */
+    private void escreverBloco(int tamanho) throws IOException {
+        int bytesCodificados = tamanho == bloco.length
+            ? encoder.encode(bloco, codificado)
+            : encoder.encode(Arrays.copyOf(bloco, tamanho), codificado);
+
+        for (int i = 0; i < bytesCodificados; i += EmailConstants.SMTP_BASE64_LINE_LENGTH) {
+            saida.write(codificado, i, Math.min(EmailConstants.SMTP_BASE64_LINE_LENGTH, bytesCodificados - i));
+            saida.write(CRLF);
+        }
+    }
+
+    /**
+     * O boundary nunca aparece nas partes: "=_" não ocorre em base64 nem nos cabeçalhos gerados
+     */
+    private String gerarBoundary(String messageId) {
+        return "=_emailservice_" + Integer.toHexString(messageId.hashCode()) + "_" + Long.toHexString(System.nanoTime());
+    }
+
+    private String formatarEndereco(String nome, String endereco) {
+        if (nome == null || nome.isBlank()) {
+            return "<" + endereco + ">";
+        }
+        return SmtpHeaders.codificarNome(nome) + " <" + endereco + ">";
+    }
+
+    private void escreverLinha(String linha) throws IOException {
+        saida.write(linha.getBytes(StandardCharsets.UTF_8));
+        saida.write(CRLF);
+    }
+}
@@ -0,0 +1,262 @@
+package com.example.emailservice.integration.smtp;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+import com.example.emailservice.integration.dto.EmailSmtpDTO;
+import com.example.emailservice.integration.exception.EmailNotDeliveredException;
+
+/**
+ * Sessão SMTP persistente com um servidor relay
+ * Mantém o socket aberto entre mensagens e envia MAIL/RCPT/DATA em lote quando o servidor anuncia PIPELINING
+ *
+ * Falhas de transporte são lançadas como IOException (a conexão deve ser descartada): SmtpNotSentException
+ * quando ocorrem antes do terminador do DATA, com a mensagem certamente não entregue. Rejeições do servidor
+ * viram EmailNotDeliveredException e a sessão continua utilizável após o RSET.
+ */
+class SmtpConnection implements Closeable {
+
+    private static final byte[] CRLF = { '\r', '\n' };
+    private static final byte[] FIM_DATA = ".\r\n".getBytes(StandardCharsets.US_ASCII);
+
+    private final Socket socket;
+    private final BufferedReader entrada;
+    private final OutputStream saida;
+    private final String helo;
+    private final MimeMessageWriter mensagem;
+
+    private boolean pipelining;
+    private long ultimoUsoNanos;
+    private int mensagensEnviadas;
+
+    private SmtpConnection(Socket socket, String helo) throws IOException {
+        this.socket = socket;
+        this.entrada = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+        this.saida = new BufferedOutputStream(socket.getOutputStream(), 16 * 1024);
+        this.helo = helo;
+        this.mensagem = new MimeMessageWriter(saida);
+        this.ultimoUsoNanos = System.nanoTime();
+    }
+
+    /**
+     * Abre a conexão, lê a saudação e negocia as extensões via EHLO
+     */
+    static SmtpConnection abrir(String host, int port, int timeoutMs, String helo) throws IOException {
+        Socket socket = new Socket();
+        try {
+            socket.setTcpNoDelay(true);
+            socket.setKeepAlive(true);
+            socket.connect(new InetSocketAddress(host, port), timeoutMs);
+            socket.setSoTimeout(timeoutMs);
+
+            SmtpConnection conexao = new SmtpConnection(socket, helo);
+            conexao.esperar(conexao.lerResposta(), 220, "saudação");
+            conexao.negociarExtensoes();
+            return conexao;
+        } catch (IOException e) {
+            socket.close();
+            throw new SmtpNotSentException(e);
+        } catch (RuntimeException e) {
+            socket.close();
+            throw e;
+        }
+    }
+
+    private void negociarExtensoes() throws IOException {
+        escreverLinha("EHLO " + helo);
+        saida.flush();
+
+        Resposta resposta = lerResposta();
+        esperar(resposta, 250, "EHLO");
+
+        for (String linha : resposta.texto().split("\n")) {
+            if (linha.trim().toUpperCase(Locale.ROOT).equals("PIPELINING")) {
+                pipelining = true;
+            }
+        }
+    }
+
+    /**
+     * Envia uma mensagem reaproveitando a sessão
+     * @param email envelope e conteúdo
+     * @param messageId identificador para o cabeçalho Message-ID
+     * @throws SmtpNotSentException se o transporte falhar antes do terminador do DATA
+     * @throws IOException se o transporte falhar depois dele, quando o servidor pode ter aceitado a mensagem
+     */
+    void enviar(EmailSmtpDTO email, String messageId) throws IOException {
+        SmtpHeaders.validarEndereco(email.getMailFrom());
+        SmtpHeaders.validarEndereco(email.getRcptTo());
+
+        try {
+            enviarAteODados(email, messageId);
+        } catch (SmtpNotSentException e) {
+            throw e;
+        } catch (IOException e) {
+            throw new SmtpNotSentException(e);
+        }
+
+        saida.write(FIM_DATA);
+        saida.flush();
+
+        Resposta aceite = lerResposta();
+        ultimoUsoNanos = System.nanoTime();
+        mensagensEnviadas++;
+
+        if (aceite.codigo() != 250) {
+            throw new EmailNotDeliveredException("Servidor SMTP rejeitou a mensagem: " + aceite);
+        }
+    }
+
+    /**
+     * Envelope, DATA e conteúdo, sem o terminador: até aqui o servidor não pode ter aceitado a mensagem
+     */
+    private void enviarAteODados(EmailSmtpDTO email, String messageId) throws IOException {
+        Resposta mailFrom;
+        Resposta rcptTo;
+        Resposta data;
+
+        if (pipelining) {
+            escreverLinha("MAIL FROM:<" + email.getMailFrom() + ">");
+            escreverLinha("RCPT TO:<" + email.getRcptTo() + ">");
+            escreverLinha("DATA");
+            saida.flush();
+
+            mailFrom = lerResposta();
+            rcptTo = lerResposta();
+            data = lerResposta();
+        } else {
+            mailFrom = comando("MAIL FROM:<" + email.getMailFrom() + ">");
+            rcptTo = mailFrom.codigo() == 250 ? comando("RCPT TO:<" + email.getRcptTo() + ">") : null;
+            data = rcptTo != null && rcptTo.codigo() / 100 == 2 ? comando("DATA") : null;
+        }
+
+        boolean envelopeAceito = mailFrom.codigo() == 250 && rcptTo != null && rcptTo.codigo() / 100 == 2;
+
+        if (data != null && data.codigo() == 354 && !envelopeAceito) {
+            // RFC 2920: o servidor aceitou DATA apesar da rejeição; encerra a mensagem vazia e descarta
+            saida.write(FIM_DATA);
+            saida.flush();
+            lerResposta();
+        }
+
+        if (!envelopeAceito || data == null || data.codigo() != 354) {
+            comando("RSET");
+            Resposta rejeicao = mailFrom.codigo() != 250 ? mailFrom : (rcptTo != null && rcptTo.codigo() / 100 != 2 ? rcptTo : data);
+            throw new EmailNotDeliveredException("Servidor SMTP rejeitou a mensagem: " + rejeicao);
+        }
+
+        mensagem.escrever(email, messageId);
+    }
+
+    /**
+     * Verifica se a sessão ainda pode ser reaproveitada
+     */
+    boolean isReutilizavel(long agoraNanos, long maxOciosoNanos, int maxMensagens) {
+        return !socket.isClosed()
+            && agoraNanos - ultimoUsoNanos < maxOciosoNanos
+            && mensagensEnviadas < maxMensagens;
+    }
+
+    boolean isPipelining() {
+        return pipelining;
+    }
+
+    int getMensagensEnviadas() {
+        return mensagensEnviadas;
+    }
+
+    private Resposta comando(String linha) throws IOException {
+        escreverLinha(linha);
+        saida.flush();
+        return lerResposta();
+    }
+
+    private void escreverLinha(String linha) throws IOException {
+        saida.write(linha.getBytes(StandardCharsets.UTF_8));
+        saida.write(CRLF);
+    }
+
+    /**
+     * Lê uma resposta possivelmente multilinha ("250-..." seguido de "250 ...")
+     */
+    private Resposta lerResposta() throws IOException {
+        StringBuilder texto = new StringBuilder();
+        while (true) {
+            String linha = entrada.readLine();
+            if (linha == null) {
+                throw new IOException("Conexão SMTP encerrada pelo servidor.");
+            }
+            if (!isRespostaValida(linha)) {
+                throw new IOException("Resposta SMTP inválida: " + linha);
+            }
+
+            int codigo = (linha.charAt(0) - '0') * 100 + (linha.charAt(1) - '0') * 10 + (linha.charAt(2) - '0');
+            if (texto.length() > 0) {
+                texto.append('\n');
+            }
+            texto.append(linha.length() > 4 ? linha.substring(4) : "");
+
+            if (linha.length() == 3 || linha.charAt(3) == ' ') {
+                return new Resposta(codigo, texto.toString());
+            }
+        }
+    }
+
+    /**
+     * Três dígitos seguidos de fim de linha, espaço ou hífen (RFC 5321, 4.2); qualquer outra coisa indica que
+     * a sessão perdeu o sincronismo com o servidor e deve ser descartada
+     */
+    private static boolean isRespostaValida(String linha) {
+        if (linha.length() < 3) {
+            return false;
+        }
+        for (int i = 0; i < 3; i++) {
+            if (linha.charAt(i) < '0' || linha.charAt(i) > '9') {
+                return false;
+            }
+        }
+        return linha.length() == 3 || linha.charAt(3) == ' ' || linha.charAt(3) == '-';
+    }
+
+    private void esperar(Resposta resposta, int codigo, String etapa) throws IOException {
+        if (resposta.codigo() != codigo) {
+            throw new IOException("Resposta SMTP inesperada em " + etapa + ": " + resposta);
+        }
+    }
+
+    /**
+     * Encerra a sessão com QUIT, ignorando falhas
+     */
+    @Override
+    public void close() {
+        try {
+            if (!socket.isClosed()) {
+                escreverLinha("QUIT");
+                saida.flush();
+            }
+        } catch (IOException e) {
+            // conexão já inutilizável; apenas fecha o socket
+        } finally {
+            try {
+                socket.close();
+            } catch (IOException e) {
+                // ignorado
+            }
+        }
+    }
+
+    private record Resposta(int codigo, String texto) {
+        @Override
+        public String toString() {
+            return codigo + " " + texto;
+        }
+    }
+}
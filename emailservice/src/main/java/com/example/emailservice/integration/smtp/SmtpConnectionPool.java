@@ -0,0 +1,255 @@
+package com.example.emailservice.integration.smtp;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.Lifecycle;
+import org.springframework.stereotype.Component;
+
+import com.example.emailservice.integration.dto.EmailSmtpDTO;
+import com.example.emailservice.integration.exception.EmailIntegrationException;
+import com.example.emailservice.integration.exception.EmailNotDeliveredException;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.context.Context;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Pool de sessões SMTP persistentes com o relay configurado
+ * As conexões são abertas sob demanda, reaproveitadas para várias mensagens (LIFO, para manter as
+ * sessões mais recentes aquecidas) e descartadas quando ficam ociosas ou atingem o limite de mensagens
+ * Como Lifecycle, fecha sessões e threads antes de um checkpoint do CRaC e volta a operar após o restore
+ */
+@Component("smtpConnectionPool")
+public class SmtpConnectionPool implements Lifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(SmtpConnectionPool.class);
+
+    private final String host;
+    private final int port;
+    private final int timeoutMs;
+    private final long maxOciosoNanos;
+    private final int maxMensagensPorConexao;
+    private final String helo;
+    private final int tamanho;
+
+    private final Semaphore vagas;
+    private final LinkedBlockingDeque<SmtpConnection> ociosas = new LinkedBlockingDeque<>();
+    private final AtomicLong conexoesAbertas = new AtomicLong();
+    private final AtomicLong sequenciaMensagens = new AtomicLong();
+
+    private volatile ExecutorService executor;
+    private volatile boolean encerrado;
+
+    public SmtpConnectionPool(@Value("${mail.smtp.host:localhost}") String host,
+                              @Value("${mail.smtp.port:25}") int port,
+                              @Value("${mail.smtp.pool.tamanho:4}") int tamanho,
+                              @Value("${mail.smtp.timeout-ms:10000}") int timeoutMs,
+                              @Value("${mail.smtp.pool.ocioso-max-ms:30000}") long maxOciosoMs,
+                              @Value("${mail.smtp.pool.mensagens-por-conexao:100}") int maxMensagensPorConexao,
+                              @Value("${mail.smtp.helo:emailservice.local}") String helo) {
+        this.host = host;
+        this.port = port;
+        this.timeoutMs = timeoutMs;
+        this.maxOciosoNanos = TimeUnit.MILLISECONDS.toNanos(maxOciosoMs);
+        this.maxMensagensPorConexao = maxMensagensPorConexao;
+        this.helo = helo;
+        this.tamanho = tamanho;
+        this.vagas = new Semaphore(tamanho, true);
+        this.executor = criarExecutor();
+    }
+
+    private ExecutorService criarExecutor() {
+        return Context.taskWrapping(Executors.newFixedThreadPool(tamanho, criarThreadFactory()));
+    }
+
+    private static ThreadFactory criarThreadFactory() {
+        AtomicInteger contador = new AtomicInteger();
+        return tarefa -> {
+            Thread thread = new Thread(tarefa, "smtp-envio-" + contador.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Entrega a mensagem em uma das threads do pool, sem bloquear a thread chamadora
+     * O protocolo SMTP é bloqueante; as entregas aguardam em fila por uma das sessões, de modo que o
+     * número de threads ocupadas nunca passa do tamanho do pool. O contexto de tracing do chamador
+     * acompanha a tarefa até a thread do pool
+     * @param email envelope e conteúdo
+     * @return futuro com o Message-ID da mensagem; completa com EmailIntegrationException em caso de falha
+     */
+    public CompletableFuture<String> enviarAsync(EmailSmtpDTO email) {
+        return CompletableFuture.supplyAsync(() -> enviar(email), executor);
+    }
+
+    /**
+     * Entrega a mensagem usando uma sessão do pool
+     * Se uma sessão reaproveitada falhar no transporte antes do terminador do DATA (ex.: o servidor a encerrou
+     * por inatividade), a mensagem é reenviada uma vez em uma sessão nova. Falhas depois do terminador não são
+     * reenviadas: o servidor pode já ter aceitado a mensagem
+     * @param email envelope e conteúdo
+     * @return Message-ID atribuído à mensagem
+     * @throws EmailNotDeliveredException se a mensagem certamente não foi entregue (sem sessão disponível,
+     * falha antes do terminador do DATA, rejeição do servidor)
+     * @throws EmailIntegrationException se o transporte falhar quando a mensagem pode ter sido aceita
+     */
+    public String enviar(EmailSmtpDTO email) {
+        adquirirVaga();
+        try {
+            String messageId = gerarMessageId();
+            SmtpConnection conexao = obterConexao();
+            boolean reaproveitada = conexao.getMensagensEnviadas() > 0;
+            Span.current().addEvent(reaproveitada ? "smtp.sessao_reaproveitada" : "smtp.sessao_nova");
+
+            try {
+                enviarNaSessao(conexao, email, messageId);
+            } catch (SmtpNotSentException e) {
+                if (!reaproveitada) {
+                    throw e;
+                }
+                logger.debug("Sessão SMTP reaproveitada falhou ({}); reenviando em nova sessão.", e.getMessage());
+                enviarNaSessao(abrirConexao(), email, messageId);
+            }
+            return messageId;
+        } catch (SmtpNotSentException e) {
+            throw new EmailNotDeliveredException("Falha na comunicação com o servidor SMTP " + host + ":" + port
+                + ": " + e.getMessage(), e);
+        } catch (IOException e) {
+            throw new EmailIntegrationException("Falha na comunicação com o servidor SMTP " + host + ":" + port
+                + " após o envio da mensagem: " + e.getMessage(), e);
+        } finally {
+            vagas.release();
+        }
+    }
+
+    /**
+     * Envia na sessão e decide o destino dela: volta ao pool após sucesso ou rejeição do servidor,
+     * é fechada após falha de transporte
+     */
+    private void enviarNaSessao(SmtpConnection conexao, EmailSmtpDTO email, String messageId) throws IOException {
+        try {
+            conexao.enviar(email, messageId);
+        } catch (IOException e) {
+            conexao.close();
+            throw e;
+        } catch (RuntimeException e) {
+            devolver(conexao);
+            throw e;
+        }
+        devolver(conexao);
+    }
+
+    private void adquirirVaga() {
+        try {
+            if (!vagas.tryAcquire(timeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new EmailNotDeliveredException("Nenhuma sessão SMTP disponível em " + timeoutMs + " ms.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new EmailNotDeliveredException("Interrompido aguardando sessão SMTP.", e);
+        }
+    }
+
+    private SmtpConnection obterConexao() throws IOException {
+        long agora = System.nanoTime();
+        SmtpConnection conexao;
+        while ((conexao = ociosas.pollFirst()) != null) {
+            if (conexao.isReutilizavel(agora, maxOciosoNanos, maxMensagensPorConexao)) {
+                return conexao;
+            }
+            conexao.close();
+        }
+        return abrirConexao();
+    }
+
+    private SmtpConnection abrirConexao() throws IOException {
+        SmtpConnection conexao = SmtpConnection.abrir(host, port, timeoutMs, helo);
+        conexoesAbertas.incrementAndGet();
+        logger.debug("Nova sessão SMTP com {}:{} (pipelining: {}).", host, port, conexao.isPipelining());
+        return conexao;
+    }
+
+    private void devolver(SmtpConnection conexao) {
+        if (encerrado) {
+            conexao.close();
+            return;
+        }
+        ociosas.offerFirst(conexao);
+    }
+
+    private String gerarMessageId() {
+        return System.currentTimeMillis() + "." + sequenciaMensagens.incrementAndGet() + "@" + helo;
+    }
+
+    /**
+     * Total de sessões abertas desde a criação do pool
+     */
+    public long getConexoesAbertas() {
+        return conexoesAbertas.get();
+    }
+
+    /**
+     * Sessões ociosas prontas para reuso
+     */
+    public int getConexoesOciosas() {
+        return ociosas.size();
+    }
+
+    /**
+     * Reabre o pool depois de stop (ex.: após o restore do CRaC); as sessões voltam a ser abertas sob demanda
+     */
+    @Override
+    public synchronized void start() {
+        if (encerrado) {
+            executor = criarExecutor();
+            encerrado = false;
+        }
+    }
+
+    /**
+     * Encerra todas as sessões ociosas com QUIT e as threads de envio, aguardando as entregas em andamento
+     * por até mail.smtp.timeout-ms; sessões devolvidas depois disso são fechadas na devolução
+     */
+    @Override
+    public synchronized void stop() {
+        encerrado = true;
+        executor.shutdown();
+        fecharOciosas();
+        try {
+            executor.awaitTermination(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        fecharOciosas();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return !encerrado;
+    }
+
+    @PreDestroy
+    public void fechar() {
+        stop();
+    }
+
+    private void fecharOciosas() {
+        SmtpConnection conexao;
+        while ((conexao = ociosas.pollFirst()) != null) {
+            conexao.close();
+        }
+    }
+}
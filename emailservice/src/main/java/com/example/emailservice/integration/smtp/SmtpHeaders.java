@@ -0,0 +1,130 @@
+package com.example.emailservice.integration.smtp;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import com.example.emailservice.integration.exception.EmailIntegrationException;
+
+/**
+ * Utilitário para montagem segura de cabeçalhos e envelope SMTP
+ * Valores fora do ASCII imprimível (inclusive CR/LF) são codificados como encoded-words (RFC 2047),
+ * o que também impede injeção de cabeçalhos
+ */
+final class SmtpHeaders {
+
+    private static final int MAX_BYTES_POR_PALAVRA = 45;
+
+    private SmtpHeaders() {
+        throw new IllegalStateException("Classe utilitária não deve ser inicializada.");
+    }
+
+    /**
+     * Codifica o valor de um cabeçalho não estruturado (ex.: Subject)
+     */
+    static String codificar(String valor) {
+        if (valor == null) {
+            return "";
+        }
+        return isAsciiImprimivel(valor) ? valor : codificarPalavras(valor);
+    }
+
+    /**
+     * Codifica o nome de exibição de um endereço (ex.: "João" <joao@exemplo.com>)
+     */
+    static String codificarNome(String nome) {
+        if (!isAsciiImprimivel(nome)) {
+            return codificarPalavras(nome);
+        }
+        return '"' + nome.replace("\\", "\\\\").replace("\"", "\\\"") + '"';
+    }
+
+    /**
+     * Monta o parâmetro filename de Content-Disposition; nomes fora do ASCII imprimível usam a forma
+     * estendida da RFC 2231 (filename*=UTF-8''...)
+     */
+    static String parametroNomeArquivo(String nome) {
+        if (isAsciiImprimivel(nome)) {
+            return "filename=\"" + nome.replace("\\", "\\\\").replace("\"", "\\\"") + '"';
+        }
+
+        StringBuilder resultado = new StringBuilder("filename*=UTF-8''");
+        for (byte b : nome.getBytes(StandardCharsets.UTF_8)) {
+            int c = b & 0xFF;
+            if ((c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')
+                    || c == '.' || c == '-' || c == '_') {
+                resultado.append((char) c);
+            } else {
+                resultado.append('%').append(Character.toUpperCase(Character.forDigit(c >> 4, 16)))
+                    .append(Character.toUpperCase(Character.forDigit(c & 0xF, 16)));
+            }
+        }
+        return resultado.toString();
+    }
+
+    /**
+     * Garante que o endereço pode ser usado em MAIL FROM / RCPT TO sem alterar o comando
+     * @throws EmailIntegrationException se o endereço contém espaços, controles ou delimitadores
+     */
+    static void validarEndereco(String endereco) {
+        if (endereco == null || endereco.isEmpty()) {
+            throw new EmailIntegrationException("Endereço SMTP não pode ser vazio.");
+        }
+
+        for (int i = 0; i < endereco.length(); i++) {
+            char c = endereco.charAt(i);
+            if (c <= ' ' || c > '~' || c == '<' || c == '>') {
+                throw new EmailIntegrationException("Endereço SMTP contém caracteres inválidos.");
+            }
+        }
+    }
+
+    private static boolean isAsciiImprimivel(String valor) {
+        for (int i = 0; i < valor.length(); i++) {
+            char c = valor.charAt(i);
+            if (c < ' ' || c > '~') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Divide o texto em encoded-words de até 45 bytes UTF-8 sem quebrar caracteres multibyte,
+     * dobrando a linha entre as palavras
+     */
+    private static String codificarPalavras(String valor) {
+        StringBuilder resultado = new StringBuilder();
+        int inicio = 0;
+
+        while (inicio < valor.length()) {
+            int fim = inicio;
+            int bytes = 0;
+            while (fim < valor.length()) {
+                int codePoint = valor.codePointAt(fim);
+                int tamanho = bytesUtf8(codePoint);
+                if (bytes + tamanho > MAX_BYTES_POR_PALAVRA) {
+                    break;
+                }
+                bytes += tamanho;
+                fim += Character.charCount(codePoint);
+            }
+
+            if (resultado.length() > 0) {
+                resultado.append("\r\n ");
+            }
+            resultado.append("=?UTF-8?B?")
+                .append(Base64.getEncoder().encodeToString(valor.substring(inicio, fim).getBytes(StandardCharsets.UTF_8)))
+                .append("?=");
+            inicio = fim;
+        }
+
+        return resultado.toString();
+    }
+
+    private static int bytesUtf8(int codePoint) {
+        if (codePoint < 0x80) return 1;
+        if (codePoint < 0x800) return 2;
+        if (codePoint < 0x10000) return 3;
+        return 4;
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.emailservice.integration.smtp;
+
+import java.io.IOException;
+
+/**
+ * Falha de transporte antes de o terminador do DATA ser escrito
+ * O servidor só aceita a mensagem após o ".\r\n", então ela certamente não foi entregue e pode ser reenviada;
+ * falhas depois disso (ex.: timeout aguardando o 250) continuam como IOException comum
+ */
+class SmtpNotSentException extends IOException {
+
+    SmtpNotSentException(IOException causa) {
+        super(causa.getMessage(), causa);
+    }
+}
@@ -1,16 +1,41 @@
 package com.example.emailservice.presentation.controller;
 
+import java.util.concurrent.TimeoutException;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.example.emailservice.business.domain.dto.EmailRequestDTO;
+import com.example.emailservice.business.domain.dto.MultiRecipientResultDTO;
+import com.example.emailservice.business.exception.EmailBusinessException;
+import com.example.emailservice.business.service.EmailFanOutService;
 import com.example.emailservice.business.service.EmailProcessingService;
+import com.example.emailservice.infrastructure.concurrency.AdaptiveConcurrencyLimiter;
+import com.example.emailservice.infrastructure.exception.ConcurrencyLimitExceededException;
+import com.example.emailservice.infrastructure.exception.ErrorResponseTemplate;
+import com.example.emailservice.infrastructure.idempotency.IdempotencyCache;
+import com.example.emailservice.infrastructure.metrics.PipelineEvent;
+import com.example.emailservice.infrastructure.metrics.PipelineMetrics;
+import com.example.emailservice.infrastructure.tracing.PipelineTracing;
+import com.example.emailservice.infrastructure.util.JsonSerializer;
+import com.example.emailservice.infrastructure.util.XxHash64;
+import com.example.emailservice.infrastructure.warmup.JitWarmup;
+import com.example.emailservice.shared.constants.EmailConstants;
+import com.example.emailservice.shared.enums.PipelineStage;
+import com.example.emailservice.shared.enums.ValidationResult;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.context.Scope;
 
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.GetMapping;
 
 @RestController
@@ -19,35 +44,191 @@ public class EmailController {
     
     private static final Logger logger = LoggerFactory.getLogger(EmailController.class);
 
+    public static final String CABECALHO_IDEMPOTENCIA = "Idempotency-Key";
+    public static final String CABECALHO_REPETIDA = "Idempotent-Replayed";
+    private static final String MENSAGEM_EM_ANDAMENTO = "Requisição com a mesma Idempotency-Key ainda em andamento.";
+    private static final String MENSAGEM_CORPO_DIVERGENTE = "Idempotency-Key já usada com outro corpo de requisição.";
+
     private final EmailProcessingService emailProcessingService;
+    private final EmailFanOutService emailFanOutService;
+    private final AdaptiveConcurrencyLimiter enviarEmailLimiter;
+    private final PipelineMetrics pipelineMetrics;
+    private final PipelineTracing pipelineTracing;
+    private final JitWarmup jitWarmup;
+    private final IdempotencyCache idempotencyCache;
+    private final JsonSerializer jsonSerializer;
 
-    public EmailController(EmailProcessingService emailProcessingService) {
+    public EmailController(EmailProcessingService emailProcessingService, EmailFanOutService emailFanOutService,
+                           @Qualifier("enviarEmailLimiter") AdaptiveConcurrencyLimiter enviarEmailLimiter,
+                           PipelineMetrics pipelineMetrics, PipelineTracing pipelineTracing, JitWarmup jitWarmup,
+                           IdempotencyCache idempotencyCache, JsonSerializer jsonSerializer) {
         this.emailProcessingService = emailProcessingService;
+        this.emailFanOutService = emailFanOutService;
+        this.enviarEmailLimiter = enviarEmailLimiter;
+        this.pipelineMetrics = pipelineMetrics;
+        this.pipelineTracing = pipelineTracing;
+        this.jitWarmup = jitWarmup;
+        this.idempotencyCache = idempotencyCache;
+        this.jsonSerializer = jsonSerializer;
     }
 
     /**
      * Endpoint para envio de email
      * @param emailRequestDTO dados do email validados
-     * @return ResponseEntity com status 204 em caso de sucesso
+     * Requisições inválidas são respondidas com 400 sem lançar exceção, com o corpo de erro pré-serializado
+     * Com as listas to, cc e bcc cada destinatário recebe a sua cópia e a resposta traz o resultado de cada um
+     * Com o cabeçalho Idempotency-Key a resposta 2xx fica guardada e as repetições da chave a recebem de volta,
+     * com Idempotent-Replayed: true, sem novo envio; repetições que chegam durante o envio aguardam o resultado
+     * e a mesma chave com outro corpo recebe 422
+     * @param chaveIdempotencia valor do cabeçalho Idempotency-Key, opcional
+     * @return ResponseEntity com status 204 em caso de sucesso, ou 200 com os resultados por destinatário
+     * @throws ConcurrencyLimitExceededException se o limite de concorrência foi atingido
      */
     @PostMapping("/enviar")
-    public ResponseEntity<Void> enviarEmail(@RequestBody EmailRequestDTO emailRequestDTO) {
-        logger.info("Recebida solicitação de envio de email.");
-        logger.debug("Dados do email: {}.", emailRequestDTO);
+    public ResponseEntity<?> enviarEmail(@RequestBody EmailRequestDTO emailRequestDTO,
+                                         @RequestHeader(value = CABECALHO_IDEMPOTENCIA, required = false)
+                                         String chaveIdempotencia) {
+        if (chaveIdempotencia == null) {
+            return executar(emailRequestDTO);
+        }
+        if (chaveIdempotencia.isBlank() || chaveIdempotencia.length() > EmailConstants.MAX_CHAVE_IDEMPOTENCIA) {
+            ErrorResponseTemplate template = ErrorResponseTemplate.DOMAIN_VALIDATION_ERROR;
+            return template.responder(template.renderizarFixa(ValidationResult.CHAVE_IDEMPOTENCIA_INVALIDA.getMensagem()));
+        }
+
+        IdempotencyCache.Reserva reserva = idempotencyCache.reservar(chaveIdempotencia, hashCorpo(emailRequestDTO));
+        if (reserva.isCorpoDivergente()) {
+            logger.warn("Idempotency-Key repetida com outro corpo de requisição.");
+            ErrorResponseTemplate template = ErrorResponseTemplate.IDEMPOTENCY_KEY_REUSED;
+            return template.responder(template.renderizarFixa(MENSAGEM_CORPO_DIVERGENTE));
+        }
+        if (!reserva.isNova()) {
+            return repetir(reserva);
+        }
+        try {
+            IdempotencyCache.Resposta resposta = compactar(executar(emailRequestDTO));
+            reserva.concluir(resposta);
+            return responder(resposta, false);
+        } catch (RuntimeException e) {
+            reserva.falhar(e);
+            throw e;
+        }
+    }
+
+    private ResponseEntity<?> executar(EmailRequestDTO emailRequestDTO) {
+        AdaptiveConcurrencyLimiter.Permissao permissao = enviarEmailLimiter.tentarAdquirir()
+            .orElseThrow(() -> new ConcurrencyLimitExceededException(
+                enviarEmailLimiter.getNome(), enviarEmailLimiter.getLimite()));
 
-        emailRequestDTO.validate();
-        emailProcessingService.processarEmail(emailRequestDTO);
+        Span span = pipelineTracing.iniciar("EmailController.enviarEmail", emailRequestDTO.getMessageId(),
+            pipelineMetrics.getProvedorPadrao());
+        try (Scope escopo = span.makeCurrent()) {
+            logger.info("Recebida solicitação de envio de email.");
+            logger.debug("Dados do email: {}.", emailRequestDTO);
+
+            ValidationResult validacao = validar(emailRequestDTO);
+            if (!validacao.isValido()) {
+                logger.info("Requisição de envio inválida: {}.", validacao.getMensagem());
+                permissao.ignorar();
+                PipelineTracing.registrarFalha(span, validacao.getMensagem());
+                ErrorResponseTemplate template = ErrorResponseTemplate.DOMAIN_VALIDATION_ERROR;
+                return template.responder(template.renderizarFixa(validacao.getMensagem()));
+            }
+            if (emailRequestDTO.possuiDestinatarios()) {
+                MultiRecipientResultDTO resultado = emailFanOutService.processar(emailRequestDTO);
+                permissao.sucesso();
+                return ResponseEntity.ok(resultado);
+            }
+            emailProcessingService.processarEmail(emailRequestDTO);
+
+            logger.info("Email enviado com sucesso.");
+            permissao.sucesso();
+            return ResponseEntity.noContent().build();
+        } catch (EmailBusinessException | IllegalArgumentException e) {
+            // Erros do cliente não dizem nada sobre a capacidade; falhas e timeouts do provedor reduzem o limite
+            permissao.ignorar();
+            PipelineTracing.registrarFalha(span, e);
+            throw e;
+        } catch (RuntimeException e) {
+            permissao.descartada();
+            PipelineTracing.registrarFalha(span, e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+
+    /**
+     * Hash do corpo da requisição, comparado entre as repetições de uma chave
+     * Calculado sobre o DTO serializado, sem o messageId gerado pelo serviço: a mesma requisição com outra
+     * formatação ou ordem de campos tem o mesmo hash
+     */
+    private long hashCorpo(EmailRequestDTO emailRequestDTO) {
+        return XxHash64.hash(jsonSerializer.serializeToBytes(emailRequestDTO));
+    }
+
+    /**
+     * Forma guardada da resposta: o 204 compartilhado, ou o status com o corpo serializado uma única vez
+     */
+    private IdempotencyCache.Resposta compactar(ResponseEntity<?> resposta) {
+        int status = resposta.getStatusCode().value();
+        Object corpo = resposta.getBody();
+        if (corpo == null) {
+            return status == HttpStatus.NO_CONTENT.value() ? IdempotencyCache.Resposta.SEM_CONTEUDO
+                : new IdempotencyCache.Resposta(status, null);
+        }
+        if (corpo instanceof byte[] bytes) {
+            return new IdempotencyCache.Resposta(status, bytes);
+        }
+        return new IdempotencyCache.Resposta(status, jsonSerializer.serializeToBytes(corpo));
+    }
+
+    private static ResponseEntity<byte[]> responder(IdempotencyCache.Resposta resposta, boolean repetida) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(resposta.status());
+        if (repetida) {
+            builder.header(CABECALHO_REPETIDA, "true");
+        }
+        if (resposta.corpo() == null) {
+            return builder.build();
+        }
+        return builder.contentType(MediaType.APPLICATION_JSON).body(resposta.corpo());
+    }
+
+    /**
+     * Resposta da primeira requisição com a mesma chave, aguardando-a se ainda estiver em andamento
+     * Falhas da primeira requisição são lançadas de novo e tratadas pelo GlobalExceptionHandler
+     */
+    private ResponseEntity<?> repetir(IdempotencyCache.Reserva reserva) {
+        try {
+            IdempotencyCache.Resposta resposta = reserva.aguardar();
+            logger.info("Requisição repetida com Idempotency-Key; devolvendo a resposta já produzida.");
+            return responder(resposta, true);
+        } catch (TimeoutException e) {
+            logger.warn("Requisição com Idempotency-Key ainda em andamento após a espera.");
+            ErrorResponseTemplate template = ErrorResponseTemplate.IDEMPOTENCY_CONFLICT;
+            return template.responder(template.renderizarFixa(MENSAGEM_EM_ANDAMENTO));
+        }
+    }
 
-        logger.info("Email enviado com sucesso.");
-        return ResponseEntity.noContent().build();
+    private ValidationResult validar(EmailRequestDTO emailRequestDTO) {
+        long inicio = pipelineMetrics.iniciar();
+        PipelineEvent evento = PipelineEvent.iniciar(PipelineStage.VALIDACAO);
+        long tamanho = emailRequestDTO.getContent() != null ? emailRequestDTO.getContent().length() : 0;
+        ValidationResult resultado = emailRequestDTO.validar();
+        pipelineMetrics.registrar(PipelineStage.VALIDACAO, inicio, resultado.isValido());
+        evento.concluir(emailRequestDTO.getMessageId(), pipelineMetrics.getProvedorPadrao(), tamanho, resultado.isValido());
+        return resultado;
     }
 
     /**
      * Endpoint de health check
-     * @return status da aplicação
+     * @return status da aplicação; 503 enquanto o aquecimento do JIT não termina
      */
     @GetMapping("/health")
     public ResponseEntity<String> healthCheck() {
+        if (!jitWarmup.isConcluido()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body("Email Service em aquecimento.");
+        }
         return ResponseEntity.ok("Email Service está funcionando!");
     }
 }
\ No newline at end of file
@@ -0,0 +1,69 @@
+package com.example.emailservice.presentation.controller;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.emailservice.business.domain.dto.MailMergeHeaderDTO;
+import com.example.emailservice.business.domain.dto.MailMergeRecipientDTO;
+import com.example.emailservice.business.domain.dto.MailMergeResultDTO;
+import com.example.emailservice.business.service.MailMergeService;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@RestController
+@RequestMapping("/api/email")
+public class MailMergeController {
+
+    private static final Logger logger = LoggerFactory.getLogger(MailMergeController.class);
+
+    public static final String APPLICATION_NDJSON = "application/x-ndjson";
+
+    private final MailMergeService mailMergeService;
+    private final ObjectMapper objectMapper;
+
+    public MailMergeController(MailMergeService mailMergeService, ObjectMapper objectMapper) {
+        this.mailMergeService = mailMergeService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Endpoint de mala direta
+     * O corpo é NDJSON: a primeira linha é o cabeçalho (remetente e template) e cada linha seguinte é
+     * um destinatário. O corpo é lido à medida que os emails são enviados, sem ser carregado inteiro.
+     * @param corpo corpo da requisição
+     * @return ResponseEntity com status 200 e o resumo do processamento
+     */
+    @PostMapping(value = "/mala-direta", consumes = APPLICATION_NDJSON)
+    public ResponseEntity<MailMergeResultDTO> enviarMalaDireta(InputStream corpo) throws IOException {
+        logger.info("Recebida solicitação de mala direta.");
+
+        try (JsonParser parser = objectMapper.createParser(corpo)) {
+            MailMergeHeaderDTO cabecalho = lerCabecalho(parser);
+
+            try (MappingIterator<MailMergeRecipientDTO> destinatarios =
+                     objectMapper.readerFor(MailMergeRecipientDTO.class).readValues(parser)) {
+                return ResponseEntity.ok(mailMergeService.processar(cabecalho, destinatarios));
+            }
+        }
+    }
+
+    private MailMergeHeaderDTO lerCabecalho(JsonParser parser) throws IOException {
+        try {
+            if (parser.nextToken() == null) {
+                throw new IllegalArgumentException("Cabeçalho da mala direta é obrigatório");
+            }
+            return objectMapper.readValue(parser, MailMergeHeaderDTO.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Cabeçalho da mala direta inválido: " + e.getOriginalMessage());
+        }
+    }
+}
@@ -19,12 +19,24 @@ public final class EmailConstants {
     public static final int OCI_SUBJECT_MAX_LENGTH = 100;
     public static final int OCI_BODY_MAX_LENGTH = 250;
 
+    // Limites SMTP (RFC 5321 e RFC 5322)
+    public static final int SMTP_ADDRESS_MAX_LENGTH = 254;
+    public static final int SMTP_RECIPIENT_NAME_MAX_LENGTH = 100;
+    public static final int SMTP_SUBJECT_MAX_LENGTH = 250;
+    public static final int SMTP_BASE64_LINE_LENGTH = 76;
+
     // Validações gerais
     public static final int GENERAL_EMAIL_MIN_LENGTH = 5;
     public static final int GENERAL_NAME_MAX_LENGTH = 100;
     public static final int GENERAL_SUBJECT_MAX_LENGTH = 250;
     public static final int GENERAL_CONTENT_MAX_LENGTH = 500;
 
+    // Destinatários somados das listas to, cc e bcc de uma requisição
+    public static final int MAX_DESTINATARIOS = 1000;
+
+    // Cabeçalho Idempotency-Key de /api/email/enviar
+    public static final int MAX_CHAVE_IDEMPOTENCIA = 255;
+
     // Mensagens de erro
     public static final String ERROR_NULL_EMAIL = "Email não pode ser nulo";
     public static final String ERROR_EMPTY_FIELD = "Campo não pode estar vazio";
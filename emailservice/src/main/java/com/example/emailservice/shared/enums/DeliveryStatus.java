@@ -0,0 +1,19 @@
+package com.example.emailservice.shared.enums;
+
+/**
+ * Enum compartilhado representando a situação de uma entrega ao provedor
+ */
+public enum DeliveryStatus {
+    ENTREGUE("Aceito pelo provedor"),
+    NAO_ENVIADO("Apenas serializado; provedor sem transporte configurado");
+
+    private final String description;
+
+    DeliveryStatus(String description) {
+        this.description = description;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+}
@@ -5,7 +5,8 @@ package com.example.emailservice.shared.enums;
  */
 public enum IntegrationType {
     AWS("Amazon Web Services"),
-    OCI("Oracle Cloud Infrastructure");
+    OCI("Oracle Cloud Infrastructure"),
+    SMTP("Servidor SMTP local");
 
     private final String description;
 
@@ -0,0 +1,38 @@
+package com.example.emailservice.shared.enums;
+
+import java.util.Locale;
+
+/**
+ * Enum compartilhado representando as etapas do processamento de um email
+ * Usado para identificar a etapa nas métricas
+ */
+public enum PipelineStage {
+    VALIDACAO("Validação da requisição"),
+    CRIACAO("Criação da entidade de domínio"),
+    REGRAS("Regras de negócio e filtro de conteúdo"),
+    ADAPTACAO("Adaptação para o formato do provedor"),
+    SERIALIZACAO("Serialização JSON"),
+    IMPRESSAO("Escrita do email serializado"),
+    ENTREGA("Entrega ao provedor"),
+    INTEGRACAO("Integração completa com o provedor, incluindo fallback"),
+    PROCESSAMENTO("Processamento completo do email");
+
+    private final String description;
+    private final String tag;
+
+    PipelineStage(String description) {
+        this.description = description;
+        this.tag = name().toLowerCase(Locale.ROOT);
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * Valor usado na tag "etapa" das métricas
+     */
+    public String getTag() {
+        return tag;
+    }
+}
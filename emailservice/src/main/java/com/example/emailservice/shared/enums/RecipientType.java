@@ -0,0 +1,20 @@
+package com.example.emailservice.shared.enums;
+
+/**
+ * Enum compartilhado com o tipo de destinatário de um email com lista de destinatários
+ */
+public enum RecipientType {
+    TO("Destinatário principal"),
+    CC("Cópia, visível a todos os destinatários"),
+    BCC("Cópia oculta, não listada para os demais destinatários");
+
+    private final String description;
+
+    RecipientType(String description) {
+        this.description = description;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.emailservice.shared.enums;
+
+import java.util.regex.Pattern;
+
+import com.example.emailservice.shared.constants.EmailConstants;
+
+/**
+ * Enum compartilhado com o resultado da validação de uma requisição
+ * Cada falha é uma constante com mensagem fixa: validar não lança exceção nem aloca, e a resposta de erro
+ * de cada constante pode ser serializada uma única vez
+ */
+public enum ValidationResult {
+    VALIDO(null),
+    DESTINATARIO_OBRIGATORIO("Email do destinatário é obrigatório"),
+    DESTINATARIO_INVALIDO("Email do destinatário deve ter formato válido"),
+    DESTINATARIO_E_LISTAS("Informe recipientEmail ou as listas to, cc e bcc, não ambos"),
+    DESTINATARIOS_EXCEDIDOS("As listas to, cc e bcc aceitam até " + EmailConstants.MAX_DESTINATARIOS + " destinatários"),
+    NOME_OBRIGATORIO("Nome do destinatário é obrigatório"),
+    REMETENTE_OBRIGATORIO("Email do remetente é obrigatório"),
+    REMETENTE_INVALIDO("Email do remetente deve ter formato válido"),
+    ANEXO_NULO("Anexo não pode ser nulo"),
+    ARQUIVO_ANEXO_OBRIGATORIO("Arquivo do anexo é obrigatório"),
+    ASSUNTO_OBRIGATORIO("Assunto é obrigatório"),
+    CONTEUDO_OBRIGATORIO("Conteúdo é obrigatório"),
+    CHAVE_IDEMPOTENCIA_INVALIDA("Idempotency-Key deve ter de 1 a " + EmailConstants.MAX_CHAVE_IDEMPOTENCIA + " caracteres");
+
+    /**
+     * Formato aceito para endereços de email, compilado uma única vez
+     */
+    public static final Pattern FORMATO_EMAIL = Pattern.compile("^[\\w-.]+@[\\w-]+\\.[a-z]{2,}$");
+
+    private final String mensagem;
+
+    ValidationResult(String mensagem) {
+        this.mensagem = mensagem;
+    }
+
+    public boolean isValido() {
+        return this == VALIDO;
+    }
+
+    public String getMensagem() {
+        return mensagem;
+    }
+
+    /**
+     * Para quem ainda trata a validação por exceção
+     * @throws IllegalArgumentException com a mensagem da falha, se houver
+     */
+    public void lancarSeInvalido() {
+        if (this != VALIDO) {
+            throw new IllegalArgumentException(mensagem);
+        }
+    }
+
+    public static boolean isEmailValido(String email) {
+        return FORMATO_EMAIL.matcher(email).matches();
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.emailservice.integration.service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.StructuredTaskScope;
+import java.util.concurrent.StructuredTaskScope.Subtask;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeoutException;
+import java.util.function.IntFunction;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.emailservice.integration.exception.EmailIntegrationException;
+
+import io.opentelemetry.context.Context;
+
+/**
+ * Execução estruturada (mail.destinatarios.execucao=ESTRUTURADA) dos envios a vários destinatários
+ * Disponível apenas no build com o perfil Maven java21: usa StructuredTaskScope, em preview no Java 21.
+ * Cada envio é uma subtarefa, em uma thread virtual, do escopo aberto pela requisição. A primeira falha fatal
+ * encerra o escopo e interrompe as subtarefas irmãs; ao fim do prazo as pendentes também são interrompidas.
+ * O escopo só fecha depois que todas as suas threads terminam, então nenhum envio sobrevive a despachar.
+ * No máximo mail.destinatarios.paralelismo envios de uma mesma requisição correm ao mesmo tempo. Threads
+ * virtuais não se esgotam, então nenhum envio é recusado: os que não terminam no prazo são expirados.
+ */
+@Component("structuredRecipientDispatcher")
+public class StructuredRecipientDispatcher implements RecipientDispatcher {
+
+    public static final String TIPO = "ESTRUTURADA";
+
+    private final int paralelismo;
+    private final long prazoMs;
+    private final ThreadFactory threadFactory = Thread.ofVirtual().name("destinatario-", 1).factory();
+
+    public StructuredRecipientDispatcher(@Value("${mail.destinatarios.paralelismo:8}") int paralelismo,
+                                         @Value("${mail.destinatarios.prazo-ms:30000}") long prazoMs) {
+        this.paralelismo = paralelismo;
+        this.prazoMs = prazoMs;
+    }
+
+    @Override
+    public <T> List<T> despachar(List<Callable<T>> envios, IntFunction<T> expirado, IntFunction<T> recusado) {
+        Instant prazo = Instant.now().plusMillis(prazoMs);
+        Semaphore vagas = new Semaphore(paralelismo);
+        Context contexto = Context.current();
+        try (StructuredTaskScope.ShutdownOnFailure escopo =
+                 new StructuredTaskScope.ShutdownOnFailure("destinatarios", threadFactory)) {
+            List<Subtask<T>> subtarefas = new ArrayList<>(envios.size());
+            for (Callable<T> envio : envios) {
+                Callable<T> limitado = () -> {
+                    vagas.acquire();
+                    try {
+                        return envio.call();
+                    } finally {
+                        vagas.release();
+                    }
+                };
+                subtarefas.add(escopo.fork(contexto.wrap(limitado)));
+            }
+
+            try {
+                escopo.joinUntil(prazo);
+            } catch (TimeoutException e) {
+                escopo.shutdown();
+                escopo.join();
+            }
+            escopo.throwIfFailed(erro -> new EmailIntegrationException("Envio aos destinatários interrompido: "
+                + erro.getMessage(), erro));
+
+            List<T> resultados = new ArrayList<>(subtarefas.size());
+            for (int i = 0; i < subtarefas.size(); i++) {
+                Subtask<T> subtarefa = subtarefas.get(i);
+                resultados.add(subtarefa.state() == Subtask.State.SUCCESS ? subtarefa.get() : expirado.apply(i));
+            }
+            return resultados;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new EmailIntegrationException("Envio aos destinatários interrompido.", e);
+        }
+    }
+
+    @Override
+    public String getTipo() {
+        return TIPO;
+    }
+}
@@ -0,0 +1,200 @@
+package com.example.emailservice;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.TestPropertySource;
+
+import com.example.emailservice.business.domain.dto.EmailRequestDTO;
+import com.example.emailservice.business.domain.model.Email;
+import com.example.emailservice.business.service.EmailProcessingService;
+import com.example.emailservice.infrastructure.config.ProviderSettingsRegistry;
+import com.example.emailservice.infrastructure.util.JsonSerializer;
+import com.example.emailservice.integration.adapter.impl.AwsEmailAdapter;
+import com.example.emailservice.integration.adapter.impl.OciEmailAdapter;
+import com.example.emailservice.integration.adapter.impl.SmtpEmailAdapter;
+import com.example.emailservice.integration.dto.EmailAwsDTO;
+import com.example.emailservice.integration.service.SharedPayloads;
+
+/**
+ * Orçamento de alocação por chamada, com a aplicação completa (inclusive tracing)
+ * Mede os bytes alocados na thread chamadora (ThreadMXBean.getThreadAllocatedBytes) em média por rodada, depois
+ * de um aquecimento para o JIT, e fica com a menor das rodadas: uma compilação ou desotimização no meio da medição,
+ * que depende dos testes que rodaram antes, não conta. Alocações de outras threads, como a do appender assíncrono
+ * de logs, ficam de fora.
+ * Os orçamentos estão em alocacao.properties e só devem subir junto com a justificativa da mudança.
+ */
+@SpringBootTest
+@AutoConfigureObservability
+@TestPropertySource(locations = "classpath:alocacao.properties")
+@DirtiesContext
+@DisplayName("Orçamento de alocação - Testes de Integração")
+public class AllocationBudgetTest {
+
+    private static final int AQUECIMENTO = 5_000;
+    private static final int RODADAS = 5;
+    private static final int MEDICOES = 1_000;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Autowired
+    private EmailProcessingService emailProcessingService;
+
+    @Autowired
+    private ProviderSettingsRegistry providerSettingsRegistry;
+
+    @Autowired
+    private AwsEmailAdapter awsEmailAdapter;
+
+    @Autowired
+    private OciEmailAdapter ociEmailAdapter;
+
+    @Autowired
+    private SmtpEmailAdapter smtpEmailAdapter;
+
+    @Autowired
+    private JsonSerializer jsonSerializer;
+
+    @Value("${alocacao.tamanho-conteudo}")
+    private int tamanhoConteudo;
+
+    private PrintStream saidaOriginal;
+    private String conteudo;
+    private Email email;
+
+    @BeforeEach
+    void setup() {
+        assumeTrue(THREADS.isThreadAllocatedMemorySupported(), "JVM sem medição de alocação por thread");
+        THREADS.setThreadAllocatedMemoryEnabled(true);
+
+        // o pipeline imprime cada email serializado; a formatação continua sendo medida, o terminal não
+        saidaOriginal = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+
+        conteudo = "Seu pedido foi confirmado e será entregue no prazo. ".repeat(tamanhoConteudo / 51 + 1)
+            .substring(0, tamanhoConteudo);
+        email = new Email("destinatario@email.com", "João Silva", "remetente@email.com", "Pedido confirmado", conteudo);
+    }
+
+    @AfterEach
+    void restaurar() {
+        if (saidaOriginal != null) {
+            System.setOut(saidaOriginal);
+        }
+    }
+
+    private EmailRequestDTO requisicao() {
+        return new EmailRequestDTO("destinatario@email.com", "João Silva", "remetente@email.com",
+            "Pedido confirmado", conteudo);
+    }
+
+    /**
+     * Menor média de bytes alocados por chamada na thread atual entre as rodadas, após o aquecimento
+     */
+    private long bytesPorChamada(Runnable chamada) {
+        for (int i = 0; i < AQUECIMENTO; i++) {
+            chamada.run();
+        }
+        long thread = Thread.currentThread().getId();
+        long menor = Long.MAX_VALUE;
+        for (int rodada = 0; rodada < RODADAS; rodada++) {
+            long antes = THREADS.getThreadAllocatedBytes(thread);
+            for (int i = 0; i < MEDICOES; i++) {
+                chamada.run();
+            }
+            menor = Math.min(menor, (THREADS.getThreadAllocatedBytes(thread) - antes) / MEDICOES);
+        }
+        return menor;
+    }
+
+    private void trocarProvedor(String provedor) {
+        providerSettingsRegistry.atualizar(new ProviderSettingsRegistry.Mudanca(provedor, null, null, null, null),
+            null, "AllocationBudgetTest", null);
+    }
+
+    private void assertDentroDoOrcamento(String caminho, long orcamento, Runnable chamada) {
+        long medido = bytesPorChamada(chamada);
+        assertTrue(medido <= orcamento, caminho + " alocou " + medido + " bytes por chamada; orçamento: " + orcamento);
+    }
+
+    @Test
+    @DisplayName("Deve processar um email pelo AWS dentro do orçamento de alocação")
+    void processarEmail_PeloAws_DeveRespeitarOrcamento(@Value("${alocacao.pipeline.aws}") long orcamento) {
+        assertDentroDoOrcamento("processarEmail (AWS)", orcamento,
+            () -> emailProcessingService.processarEmail(requisicao()));
+    }
+
+    @Test
+    @DisplayName("Deve processar um email pelo OCI dentro do orçamento de alocação")
+    void processarEmail_PeloOci_DeveRespeitarOrcamento(@Value("${alocacao.pipeline.oci}") long orcamento) {
+        trocarProvedor("OCI");
+        try {
+            assertDentroDoOrcamento("processarEmail (OCI)", orcamento,
+                () -> emailProcessingService.processarEmail(requisicao()));
+        } finally {
+            trocarProvedor("AWS");
+        }
+    }
+
+    @Test
+    @DisplayName("Deve adaptar o email para cada provedor dentro do orçamento de alocação")
+    void adaptEmail_DeveRespeitarOrcamentoPorProvedor(@Value("${alocacao.adaptador.aws}") long aws,
+                                                      @Value("${alocacao.adaptador.oci}") long oci,
+                                                      @Value("${alocacao.adaptador.smtp}") long smtp) {
+        assertDentroDoOrcamento("AwsEmailAdapter.adaptEmail", aws, () -> awsEmailAdapter.adaptEmail(email));
+        assertDentroDoOrcamento("OciEmailAdapter.adaptEmail", oci, () -> ociEmailAdapter.adaptEmail(email));
+        assertDentroDoOrcamento("SmtpEmailAdapter.adaptEmail", smtp, () -> smtpEmailAdapter.adaptEmail(email));
+    }
+
+    @Test
+    @DisplayName("Deve serializar o email adaptado dentro do orçamento de alocação")
+    void serializar_DeveRespeitarOrcamento(@Value("${alocacao.json.formatado}") long formatado,
+                                           @Value("${alocacao.json.compacto}") long compacto,
+                                           @Value("${alocacao.json.bytes}") long bytes) {
+        EmailAwsDTO emailAws = awsEmailAdapter.adaptEmail(email);
+
+        assertDentroDoOrcamento("JsonSerializer.serialize", formatado, () -> jsonSerializer.serialize(emailAws));
+        assertDentroDoOrcamento("JsonSerializer.serializeCompact", compacto,
+            () -> jsonSerializer.serializeCompact(emailAws));
+        assertDentroDoOrcamento("JsonSerializer.serializeToBytes", bytes,
+            () -> jsonSerializer.serializeToBytes(emailAws));
+    }
+
+    @Test
+    @DisplayName("Deve adaptar e serializar cada cópia de um email com vários destinatários sem depender do tamanho do conteúdo")
+    void copiaCompartilhada_DeveRespeitarOrcamentoSemDependerDoConteudo(@Value("${alocacao.json.copia}") long orcamento) {
+        long curto = bytesPorCopia("Pedido confirmado.");
+        long longo = bytesPorCopia(conteudo.repeat(4));
+
+        assertTrue(curto <= orcamento, "Cópia com conteúdo curto alocou " + curto + " bytes; orçamento: " + orcamento);
+        assertTrue(longo <= orcamento, "Cópia com conteúdo longo alocou " + longo + " bytes; orçamento: " + orcamento);
+        assertTrue(longo <= curto + 64, "Cópia com conteúdo longo alocou " + longo + " bytes; com curto, " + curto);
+    }
+
+    /**
+     * Bytes alocados por cópia adicional pelo SMTP, que não trunca o conteúdo
+     */
+    private long bytesPorCopia(String conteudoDoEmail) {
+        SharedPayloads compartilhado = new SharedPayloads(jsonSerializer);
+        compartilhado.adaptar(smtpEmailAdapter, new Email(null, "primeiro@email.com", "Primeiro", "remetente@email.com",
+            "Pedido confirmado", conteudoDoEmail, List.of(), List.of()));
+        Email copia = new Email(null, "destinatario@email.com", "João Silva", "remetente@email.com",
+            "Pedido confirmado", conteudoDoEmail, List.of(), List.of());
+        return bytesPorChamada(() -> compartilhado.serializar(smtpEmailAdapter, compartilhado.adaptar(smtpEmailAdapter, copia)));
+    }
+}
@@ -1,10 +1,13 @@
 package com.example.emailservice.business.domain.model;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.List;
+
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
@@ -47,6 +50,20 @@ public class EmailTest {
             new Email("destinatario@email.com", "João Silva", "remetente@email.com", "Assunto do Email", null));
     }
 
+    @Test
+    @DisplayName("Deve manter as cópias informadas e considerá-las no hashCode")
+    void criarEmailComCopias() {
+        Email comCopias = new Email("id-1", "destinatario@email.com", "João Silva", "remetente@email.com",
+            "Assunto do Email", "Conteúdo", List.of(), List.of("copia@email.com"));
+        Email semCopias = new Email("id-1", "destinatario@email.com", "João Silva", "remetente@email.com",
+            "Assunto do Email", "Conteúdo", List.of());
+
+        assertEquals(List.of("copia@email.com"), comCopias.getCopias());
+        assertTrue(semCopias.getCopias().isEmpty());
+        assertNotEquals(comCopias.hashCode(), semCopias.hashCode());
+        assertTrue(comCopias.toString().contains("copias=1"));
+    }
+
     @Test
     @DisplayName("Deve lançar IllegalArgumentException quando email do destinatário for inválido")
     void criarEmailComEmailDestinatarioInvalido() {
@@ -61,6 +78,18 @@ public class EmailTest {
             new Email("destinatario@email.com", "João Silva", "remetente_invalido", "Assunto do Email", "Conteúdo do email de teste"));
     }
 
+    @Test
+    @DisplayName("Deve mascarar o endereço inválido na mensagem da exceção")
+    void criarEmail_ComEnderecoInvalido_DeveMascararMensagem() {
+        IllegalArgumentException destinatario = assertThrows(IllegalArgumentException.class, () ->
+            new Email("destinatario@email", "João Silva", "remetente@email.com", "Assunto do Email", "Conteúdo"));
+        IllegalArgumentException remetente = assertThrows(IllegalArgumentException.class, () ->
+            new Email("destinatario@email.com", "João Silva", "remetente@email", "Assunto do Email", "Conteúdo"));
+
+        assertEquals("E-mail do destinatário inválido: d***@email", destinatario.getMessage());
+        assertEquals("E-mail do remetente inválido: r***@email", remetente.getMessage());
+    }
+
     @Test
     @DisplayName("Deve lançar IllegalArgumentException quando campos obrigatórios estiverem vazios")
     void criarEmailComCamposVazios() {
@@ -75,7 +104,7 @@ public class EmailTest {
     }
 
     @Test
-    @DisplayName("hashCode e toString devem retornar valores corretos")
+    @DisplayName("hashCode e toString devem retornar valores corretos, com os dados pessoais mascarados")
     void testarHashCodeEToString() {
         Email email = new Email(
             "destinatario@email.com", 
@@ -85,11 +114,21 @@ public class EmailTest {
             "Conteúdo do email de teste");
         
         assertNotNull(email.hashCode());
-        String str = email.toString();
-        assertTrue(str.contains("destinatario@email.com"));
-        assertTrue(str.contains("João Silva"));
-        assertTrue(str.contains("remetente@email.com"));
-        assertTrue(str.contains("Assunto do Email"));
-        assertTrue(str.contains("Conteúdo do email de teste"));
+        assertEquals("Email{messageId='" + email.getMessageId() + "', recipientEmail='d***@email.com', "
+            + "recipientName='J***', senderEmail='r***@email.com', subject=[16 caracteres], "
+            + "content=[26 caracteres], anexos=0}", email.toString());
+    }
+
+    @Test
+    @DisplayName("Deve gerar message id único quando não informado e preservar o informado")
+    void criarEmail_DeveAtribuirMessageId() {
+        Email primeiro = new Email("destinatario@email.com", "João Silva", "remetente@email.com", "Assunto", "Conteúdo");
+        Email segundo = new Email("destinatario@email.com", "João Silva", "remetente@email.com", "Assunto", "Conteúdo");
+        Email informado = new Email("id-123", "destinatario@email.com", "João Silva", "remetente@email.com",
+            "Assunto", "Conteúdo", List.of());
+
+        assertNotNull(primeiro.getMessageId());
+        assertNotEquals(primeiro.getMessageId(), segundo.getMessageId());
+        assertEquals("id-123", informado.getMessageId());
     }
-}
\ No newline at end of file
+}
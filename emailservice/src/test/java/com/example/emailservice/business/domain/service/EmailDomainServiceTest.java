@@ -45,6 +45,7 @@ public class EmailDomainServiceTest {
         assertEquals("remetente@email.com", email.getSenderEmail());
         assertEquals("Assunto do Email", email.getSubject());
         assertEquals("Conteúdo do email de teste", email.getContent());
+        assertEquals(validEmailRequestDTO.getMessageId(), email.getMessageId());
     }
 
     @DisplayName("Deve lançar exceção quando DTO tem recipientEmail nulo")
@@ -0,0 +1,112 @@
+package com.example.emailservice.business.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.example.emailservice.business.domain.dto.EmailAttachmentDTO;
+import com.example.emailservice.business.domain.model.EmailAttachment;
+
+@DisplayName("EmailAttachmentService - Testes Unitários")
+public class EmailAttachmentServiceTest {
+
+    @TempDir
+    Path raiz;
+
+    private Path diretorio;
+    private EmailAttachmentService emailAttachmentService;
+
+    @BeforeEach
+    void setup() throws Exception {
+        diretorio = Files.createDirectory(raiz.resolve("anexos"));
+        Files.write(diretorio.resolve("relatorio.pdf"), new byte[1024]);
+        Files.writeString(raiz.resolve("segredo.txt"), "fora do diretório de anexos");
+        emailAttachmentService = new EmailAttachmentService(diretorio.toString(), 1, 2);
+    }
+
+    @Test
+    @DisplayName("Deve resolver caminho, tamanho, nome e tipo do anexo sem ler o conteúdo")
+    void resolverAnexos_ComArquivoValido_DeveResolverMetadados() throws Exception {
+        List<EmailAttachment> anexos = emailAttachmentService.resolverAnexos(
+            List.of(new EmailAttachmentDTO("relatorio.pdf", null, "application/pdf")));
+
+        assertEquals(1, anexos.size());
+        assertEquals("relatorio.pdf", anexos.get(0).nome());
+        assertEquals("application/pdf", anexos.get(0).contentType());
+        assertEquals(1024, anexos.get(0).tamanho());
+        assertEquals(diretorio.resolve("relatorio.pdf").toRealPath(), anexos.get(0).arquivo());
+    }
+
+    @Test
+    @DisplayName("Deve usar o nome informado e o tipo padrão quando o tipo não é detectado")
+    void resolverAnexos_ComNomeInformado_DeveUsarNomeInformado() throws Exception {
+        Files.write(diretorio.resolve("dados.bin9"), new byte[] { 1, 2, 3 });
+
+        EmailAttachment anexo = emailAttachmentService.resolverAnexos(
+            List.of(new EmailAttachmentDTO("dados.bin9", "Relatório de Março.bin", null))).get(0);
+
+        assertEquals("Relatório de Março.bin", anexo.nome());
+        assertEquals("application/octet-stream", anexo.contentType());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar caminho que sai do diretório de anexos")
+    void resolverAnexos_ComCaminhoForaDoDiretorio_DeveLancarExcecao() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+            () -> emailAttachmentService.resolverAnexos(List.of(new EmailAttachmentDTO("../segredo.txt", null, null))));
+
+        assertEquals("Anexo não encontrado: ../segredo.txt", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar link simbólico que aponta para fora do diretório de anexos")
+    void resolverAnexos_ComLinkParaForaDoDiretorio_DeveLancarExcecao() throws Exception {
+        Files.createSymbolicLink(diretorio.resolve("atalho.txt"), raiz.resolve("segredo.txt"));
+
+        assertThrows(IllegalArgumentException.class,
+            () -> emailAttachmentService.resolverAnexos(List.of(new EmailAttachmentDTO("atalho.txt", null, null))));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar arquivo inexistente")
+    void resolverAnexos_ComArquivoInexistente_DeveLancarExcecao() {
+        assertThrows(IllegalArgumentException.class,
+            () -> emailAttachmentService.resolverAnexos(List.of(new EmailAttachmentDTO("inexistente.pdf", null, null))));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar anexos acima do tamanho total ou da quantidade máxima")
+    void resolverAnexos_AcimaDosLimites_DeveLancarExcecao() throws Exception {
+        Files.write(diretorio.resolve("grande.bin"), new byte[1024 * 1024]);
+        EmailAttachmentDTO pequeno = new EmailAttachmentDTO("relatorio.pdf", null, null);
+
+        assertThrows(IllegalArgumentException.class, () -> emailAttachmentService.resolverAnexos(
+            List.of(pequeno, new EmailAttachmentDTO("grande.bin", null, null))));
+        assertThrows(IllegalArgumentException.class, () -> emailAttachmentService.resolverAnexos(
+            List.of(pequeno, pequeno, pequeno)));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar tipo de anexo que poderia alterar o cabeçalho da mensagem")
+    void resolverAnexos_ComTipoInvalido_DeveLancarExcecao() {
+        assertThrows(IllegalArgumentException.class, () -> emailAttachmentService.resolverAnexos(
+            List.of(new EmailAttachmentDTO("relatorio.pdf", null, "text/plain\r\nBcc: intruso@email.com"))));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar anexos quando o diretório não está configurado")
+    void resolverAnexos_SemDiretorio_DeveLancarExcecao() {
+        EmailAttachmentService desabilitado = new EmailAttachmentService("", 50, 10);
+
+        assertThrows(IllegalArgumentException.class, () -> desabilitado.resolverAnexos(
+            List.of(new EmailAttachmentDTO("relatorio.pdf", null, null))));
+    }
+}
@@ -0,0 +1,249 @@
+package com.example.emailservice.business.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.example.emailservice.business.domain.dto.EmailRecipientDTO;
+import com.example.emailservice.business.domain.dto.EmailRequestDTO;
+import com.example.emailservice.business.domain.dto.MultiRecipientResultDTO;
+import com.example.emailservice.business.domain.dto.RecipientResultDTO;
+import com.example.emailservice.business.domain.model.Email;
+import com.example.emailservice.business.exception.EmailBusinessException;
+import com.example.emailservice.business.template.EmailTemplate;
+import com.example.emailservice.infrastructure.blob.BlobStore;
+import com.example.emailservice.infrastructure.metrics.PipelineMetrics;
+import com.example.emailservice.infrastructure.tracing.PipelineTracing;
+import com.example.emailservice.integration.dto.EmailDeliveryResult;
+import com.example.emailservice.integration.exception.EmailIntegrationException;
+import com.example.emailservice.integration.service.EmailIntegrationService;
+import com.example.emailservice.integration.service.ExecutorRecipientDispatcher;
+import com.example.emailservice.integration.service.RecipientDispatcher;
+import com.example.emailservice.integration.service.SharedPayloads;
+import com.example.emailservice.shared.enums.DeliveryStatus;
+import com.example.emailservice.shared.enums.RecipientType;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("EmailFanOutService - Testes Unitários")
+public class EmailFanOutServiceTest {
+
+    @Mock
+    private EmailProcessingService emailProcessingService;
+
+    @Mock
+    private EmailIntegrationService emailIntegrationService;
+
+    @Mock
+    private EmailTemplateService emailTemplateService;
+
+    @Mock
+    private EmailAttachmentService emailAttachmentService;
+
+    @Mock
+    private PipelineMetrics pipelineMetrics;
+
+    private BlobStore blobStore;
+    private ExecutorRecipientDispatcher recipientDispatcher;
+    private EmailFanOutService emailFanOutService;
+    private EmailRequestDTO emailRequestDTO;
+    private final Queue<Email> enviados = new ConcurrentLinkedQueue<>();
+
+    @BeforeEach
+    void setup() {
+        blobStore = new BlobStore();
+        recipientDispatcher = new ExecutorRecipientDispatcher(4, 16, 5000);
+        emailFanOutService = criar(recipientDispatcher, "EXECUTOR");
+
+        emailRequestDTO = new EmailRequestDTO();
+        emailRequestDTO.setSenderEmail("remetente@email.com");
+        emailRequestDTO.setSubject("Reunião de planejamento");
+        emailRequestDTO.setContent("A reunião foi remarcada para quinta-feira.");
+        emailRequestDTO.setTo(List.of(new EmailRecipientDTO("ana@email.com", "Ana"),
+            new EmailRecipientDTO("bruno@email.com", null)));
+        emailRequestDTO.setCc(List.of(new EmailRecipientDTO("carla@email.com", "Carla"),
+            new EmailRecipientDTO("ana@email.com", "Ana")));
+        emailRequestDTO.setBcc(List.of(new EmailRecipientDTO("diego@email.com", "Diego")));
+    }
+
+    @AfterEach
+    void encerrar() {
+        recipientDispatcher.fechar();
+    }
+
+    private EmailFanOutService criar(RecipientDispatcher dispatcher, String execucao) {
+        return new EmailFanOutService(emailProcessingService, emailIntegrationService, emailTemplateService,
+            emailAttachmentService, blobStore, pipelineMetrics, PipelineTracing.desabilitado(), List.of(dispatcher),
+            execucao);
+    }
+
+    private void entregarTodos() {
+        when(emailIntegrationService.enviarEmailAsync(any(), any())).thenAnswer(invocacao -> {
+            Email email = invocacao.getArgument(0);
+            enviados.add(email);
+            return CompletableFuture.completedFuture(EmailDeliveryResult.entregue("AWS", email, null));
+        });
+    }
+
+    private List<Email> enviadosPorDestinatario() {
+        return enviados.stream().sorted(Comparator.comparing(Email::getRecipientEmail)).toList();
+    }
+
+    @Test
+    @DisplayName("Deve enviar uma cópia por destinatário, sem repetir endereços, listando só o cc")
+    void processar_ComListas_DeveEnviarUmaCopiaPorDestinatario() {
+        entregarTodos();
+
+        MultiRecipientResultDTO resultado = emailFanOutService.processar(emailRequestDTO);
+
+        assertEquals(4, resultado.getDestinatarios());
+        assertEquals(4, resultado.getEnviados());
+        assertEquals(0, resultado.getFalhas());
+        assertEquals(List.of("ana@email.com", "bruno@email.com", "carla@email.com", "diego@email.com"),
+            resultado.getResultados().stream().map(RecipientResultDTO::getRecipientEmail).toList());
+        assertEquals(List.of(RecipientType.TO, RecipientType.TO, RecipientType.CC, RecipientType.BCC),
+            resultado.getResultados().stream().map(RecipientResultDTO::getTipo).toList());
+        assertEquals(emailRequestDTO.getMessageId() + ".3", resultado.getResultados().get(2).getMessageId());
+        assertEquals(DeliveryStatus.ENTREGUE, resultado.getResultados().get(0).getSituacao());
+
+        List<Email> emails = enviadosPorDestinatario();
+        assertEquals(4, emails.size());
+        assertEquals("bruno@email.com", emails.get(1).getRecipientName());
+        for (Email email : emails) {
+            assertEquals(List.of("carla@email.com", "ana@email.com"), email.getCopias());
+        }
+        assertSame(emails.get(0).getContent(), emails.get(3).getContent());
+        assertEquals(0, blobStore.getQuantidade());
+    }
+
+    @Test
+    @DisplayName("Deve aplicar as regras de conteúdo uma única vez e compartilhar o JSON quando assunto e conteúdo são compartilhados")
+    void processar_ComConteudoCompartilhado_DeveAplicarRegrasUmaVez() {
+        entregarTodos();
+        SharedPayloads compartilhado = new SharedPayloads(null);
+        when(emailIntegrationService.criarPayloadsCompartilhados()).thenReturn(compartilhado);
+
+        emailFanOutService.processar(emailRequestDTO);
+
+        verify(emailProcessingService, times(1)).aplicarRegrasDeNegocio(any());
+        verify(emailIntegrationService, times(4)).enviarEmailAsync(any(), same(compartilhado));
+    }
+
+    @Test
+    @DisplayName("Deve renderizar o template por destinatário quando ele usa recipientName")
+    void processar_ComTemplatePorDestinatario_DeveRenderizarCadaCopia() {
+        entregarTodos();
+        emailRequestDTO.setSubject(null);
+        emailRequestDTO.setContent(null);
+        emailRequestDTO.setTemplateId("convite");
+        emailRequestDTO.setVariaveis(Map.of("dia", "quinta-feira"));
+        when(emailTemplateService.obterTemplate("convite")).thenReturn(
+            EmailTemplate.compilar("convite", "Reunião de {{dia}}\n\nOlá, {{recipientName}}! Até {{dia}}."));
+
+        emailFanOutService.processar(emailRequestDTO);
+
+        List<Email> emails = enviadosPorDestinatario();
+        assertEquals("Olá, Ana! Até quinta-feira.", emails.get(0).getContent());
+        assertEquals("Olá, Diego! Até quinta-feira.", emails.get(3).getContent());
+        assertSame(emails.get(0).getSubject(), emails.get(3).getSubject());
+        verify(emailProcessingService, times(4)).aplicarRegrasDeNegocio(any());
+        verify(emailIntegrationService, times(4)).enviarEmailAsync(any(), isNull());
+        verify(emailIntegrationService, never()).criarPayloadsCompartilhados();
+    }
+
+    @Test
+    @DisplayName("Deve recusar o email inteiro quando falta variável compartilhada do template")
+    void processar_ComVariavelAusente_DeveLancarExcecaoSemEnviar() {
+        emailRequestDTO.setSubject(null);
+        emailRequestDTO.setContent(null);
+        emailRequestDTO.setTemplateId("convite");
+        when(emailTemplateService.obterTemplate("convite")).thenReturn(
+            EmailTemplate.compilar("convite", "Reunião de {{dia}}\n\nOlá, {{recipientName}}!"));
+
+        assertThrows(EmailBusinessException.class, () -> emailFanOutService.processar(emailRequestDTO));
+        verify(emailIntegrationService, never()).enviarEmailAsync(any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve registrar a falha de um destinatário sem interromper os demais")
+    void processar_ComFalhaDeUmDestinatario_DeveSeguirComOsDemais() {
+        when(emailIntegrationService.enviarEmailAsync(any(), any())).thenAnswer(invocacao -> {
+            Email email = invocacao.getArgument(0);
+            if (email.getRecipientEmail().equals("carla@email.com")) {
+                return CompletableFuture.failedFuture(new EmailIntegrationException("Provedor indisponível."));
+            }
+            return CompletableFuture.completedFuture(EmailDeliveryResult.entregue("OCI", email, null));
+        });
+
+        MultiRecipientResultDTO resultado = emailFanOutService.processar(emailRequestDTO);
+
+        assertEquals(3, resultado.getEnviados());
+        assertEquals(1, resultado.getFalhas());
+        RecipientResultDTO falha = resultado.getResultados().get(2);
+        assertFalse(falha.isEnviado());
+        assertEquals("Provedor indisponível.", falha.getErro());
+        assertNull(falha.getProvedor());
+        assertEquals("OCI", resultado.getResultados().get(3).getProvedor());
+    }
+
+    @Test
+    @DisplayName("Deve registrar como falha os destinatários cujo envio não terminou ou não teve vaga no prazo")
+    void processar_ComEnviosExpirados_DeveRegistrarFalhaPorPrazo() {
+        RecipientDispatcher semTempo = new RecipientDispatcher() {
+            @Override
+            public <T> List<T> despachar(List<Callable<T>> envios, IntFunction<T> expirado, IntFunction<T> recusado) {
+                return IntStream.range(0, envios.size())
+                    .mapToObj(indice -> indice < 2 ? expirado.apply(indice) : recusado.apply(indice)).toList();
+            }
+
+            @Override
+            public String getTipo() {
+                return "SEM_TEMPO";
+            }
+        };
+
+        MultiRecipientResultDTO resultado = criar(semTempo, "sem_tempo").processar(emailRequestDTO);
+
+        assertEquals(4, resultado.getFalhas());
+        assertEquals("Prazo da requisição excedido.", resultado.getResultados().get(0).getErro());
+        assertEquals("Sem vaga para o envio dentro do prazo da requisição.", resultado.getResultados().get(3).getErro());
+        assertEquals(emailRequestDTO.getMessageId() + ".4", resultado.getResultados().get(3).getMessageId());
+        verify(emailIntegrationService, never()).enviarEmailAsync(any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve recusar na criação uma execução de destinatários não disponível")
+    void criar_ComExecucaoIndisponivel_DeveLancarExcecao() {
+        IllegalStateException erro = assertThrows(IllegalStateException.class,
+            () -> criar(recipientDispatcher, "ESTRUTURADA"));
+
+        assertTrue(erro.getMessage().contains("[EXECUTOR]"));
+    }
+}
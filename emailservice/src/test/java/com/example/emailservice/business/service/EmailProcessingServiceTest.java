@@ -2,6 +2,7 @@ package com.example.emailservice.business.service;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
@@ -14,19 +15,40 @@ import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.LoggerFactory;
 
+import com.example.emailservice.business.domain.dto.EmailAttachmentDTO;
 import com.example.emailservice.business.domain.dto.EmailRequestDTO;
 import com.example.emailservice.business.domain.model.Email;
+import com.example.emailservice.business.domain.model.EmailAttachment;
 import com.example.emailservice.business.domain.service.EmailDomainService;
 import com.example.emailservice.business.exception.EmailBusinessException;
+import com.example.emailservice.infrastructure.blob.Blob;
+import com.example.emailservice.infrastructure.blob.BlobStore;
+import com.example.emailservice.infrastructure.exception.ConcurrencyLimitExceededException;
+import com.example.emailservice.infrastructure.metrics.PipelineMetrics;
+import com.example.emailservice.infrastructure.tracing.PipelineTracing;
+import com.example.emailservice.integration.exception.EmailIntegrationException;
 import com.example.emailservice.integration.service.EmailIntegrationService;
+import com.example.emailservice.shared.enums.PipelineStage;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("EmailProcessingService - Testes Unitários")
@@ -38,6 +60,21 @@ public class EmailProcessingServiceTest {
     @Mock
     private EmailIntegrationService emailIntegrationService;
 
+    @Mock
+    private EmailTemplateService emailTemplateService;
+
+    @Mock
+    private EmailAttachmentService emailAttachmentService;
+
+    @Spy
+    private BlobStore blobStore = new BlobStore();
+
+    @Mock
+    private PipelineMetrics pipelineMetrics;
+
+    @Spy
+    private PipelineTracing pipelineTracing = PipelineTracing.desabilitado();
+
     @InjectMocks
     private EmailProcessingService emailProcessingService;
 
@@ -79,6 +116,29 @@ public class EmailProcessingServiceTest {
         verify(emailIntegrationService).enviarEmail(emailMock);
     }
 
+    @Test
+    @DisplayName("Não deve registrar no log o endereço inválido sem máscara")
+    void processarEmail_ComEnderecoInvalido_DeveMascararLog() {
+        Logger logger = (Logger) LoggerFactory.getLogger(EmailProcessingService.class);
+        ListAppender<ILoggingEvent> eventos = new ListAppender<>();
+        eventos.start();
+        logger.addAppender(eventos);
+        when(emailDomainService.criarEmail(validEmailRequestDTO)).thenAnswer(invocacao ->
+            new Email("joao.silva@email", "João Silva", "remetente@email.com", "Assunto do Email", "Conteúdo"));
+
+        try {
+            assertThrows(EmailBusinessException.class, () -> emailProcessingService.processarEmail(validEmailRequestDTO));
+        } finally {
+            logger.detachAppender(eventos);
+        }
+
+        List<String> erros = eventos.list.stream()
+            .filter(evento -> evento.getLevel() == Level.ERROR)
+            .map(ILoggingEvent::getFormattedMessage)
+            .toList();
+        assertEquals(List.of("Erro de validação de domínio: E-mail do destinatário inválido: j***@email."), erros);
+    }
+
     @Test
     @DisplayName("Deve lançar EmailBusinessException quando domainService.criarEmail lança IllegalArgumentException")
     void processarEmail_ComIllegalArgumentException_DeveLancarEmailBusinessException() {
@@ -118,6 +178,21 @@ public class EmailProcessingServiceTest {
         verify(emailIntegrationService).enviarEmail(emailMock);
     }
 
+    @Test
+    @DisplayName("Deve propagar EmailIntegrationException sem convertê-la quando a entrega falha")
+    void processarEmail_ComFalhaNaEntrega_DevePropagarEmailIntegrationException() {
+        EmailIntegrationException falha = new EmailIntegrationException("Provedor indisponível");
+        when(emailDomainService.criarEmail(validEmailRequestDTO)).thenReturn(emailMock);
+        when(emailDomainService.validarEmail(emailMock)).thenReturn(true);
+        when(emailDomainService.verificarConteudoApropriado(emailMock)).thenReturn(true);
+        doThrow(falha).when(emailIntegrationService).enviarEmail(emailMock);
+
+        EmailIntegrationException exception = assertThrows(EmailIntegrationException.class,
+            () -> emailProcessingService.processarEmail(validEmailRequestDTO));
+
+        assertSame(falha, exception);
+    }
+
     @Test
     @DisplayName("Deve lançar EmailBusinessException quando validação do email falha")
     void aplicarRegrasDeNegocio_ComValidacaoInvalida_DeveLancarEmailBusinessException() {
@@ -201,4 +276,117 @@ public class EmailProcessingServiceTest {
         verify(emailDomainService).validarEmail(emailMock);
         verifyNoInteractions(emailIntegrationService);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Deve propagar ConcurrencyLimitExceededException sem convertê-la em erro de negócio")
+    void processarEmail_ComLimiteDeConcorrenciaAtingido_DevePropagarExcecao() {
+        when(emailDomainService.criarEmail(validEmailRequestDTO)).thenReturn(emailMock);
+        when(emailDomainService.validarEmail(emailMock)).thenReturn(true);
+        when(emailDomainService.verificarConteudoApropriado(emailMock)).thenReturn(true);
+        doThrow(new ConcurrencyLimitExceededException("provedor", 10))
+            .when(emailIntegrationService).enviarEmail(emailMock);
+
+        assertThrows(ConcurrencyLimitExceededException.class,
+            () -> emailProcessingService.processarEmail(validEmailRequestDTO));
+    }
+
+    @Test
+    @DisplayName("Deve aplicar o template antes de criar a entidade quando templateId é informado")
+    void processarEmail_ComTemplate_DeveAplicarTemplateAntesDeCriarEmail() {
+        validEmailRequestDTO.setTemplateId("boas-vindas");
+        when(emailDomainService.criarEmail(validEmailRequestDTO)).thenReturn(emailMock);
+        when(emailDomainService.validarEmail(emailMock)).thenReturn(true);
+        when(emailDomainService.verificarConteudoApropriado(emailMock)).thenReturn(true);
+
+        emailProcessingService.processarEmail(validEmailRequestDTO);
+
+        var inOrder = inOrder(emailTemplateService, emailDomainService);
+        inOrder.verify(emailTemplateService).aplicarTemplate(validEmailRequestDTO);
+        inOrder.verify(emailDomainService).criarEmail(validEmailRequestDTO);
+    }
+
+    @Test
+    @DisplayName("Não deve consultar templates quando templateId não é informado")
+    void processarEmail_SemTemplate_NaoDeveAplicarTemplate() {
+        when(emailDomainService.criarEmail(validEmailRequestDTO)).thenReturn(emailMock);
+        when(emailDomainService.validarEmail(emailMock)).thenReturn(true);
+        when(emailDomainService.verificarConteudoApropriado(emailMock)).thenReturn(true);
+
+        emailProcessingService.processarEmail(validEmailRequestDTO);
+
+        verifyNoInteractions(emailTemplateService);
+    }
+
+    @Test
+    @DisplayName("Deve resolver os anexos e criar a entidade com eles quando a requisição possui anexos")
+    void processarEmail_ComAnexos_DeveResolverAnexos(@TempDir Path diretorio) throws Exception {
+        Path arquivo = Files.write(diretorio.resolve("relatorio.pdf"), new byte[1024]);
+        List<EmailAttachmentDTO> anexosRequisicao = List.of(new EmailAttachmentDTO("relatorio.pdf", null, null));
+        List<EmailAttachment> anexos = List.of(new EmailAttachment("relatorio.pdf", "application/pdf", arquivo, 1024));
+        validEmailRequestDTO.setAnexos(anexosRequisicao);
+        when(emailAttachmentService.resolverAnexos(anexosRequisicao)).thenReturn(anexos);
+        when(emailDomainService.criarEmail(validEmailRequestDTO, anexos)).thenReturn(emailMock);
+        when(emailDomainService.validarEmail(emailMock)).thenReturn(true);
+        when(emailDomainService.verificarConteudoApropriado(emailMock)).thenReturn(true);
+
+        emailProcessingService.processarEmail(validEmailRequestDTO);
+
+        verify(emailDomainService).criarEmail(validEmailRequestDTO, anexos);
+        verify(emailIntegrationService).enviarEmail(emailMock);
+        assertEquals(0, blobStore.getQuantidade());
+    }
+
+    @Test
+    @DisplayName("Deve lançar EmailBusinessException quando um anexo é inválido")
+    void processarEmail_ComAnexoInvalido_DeveLancarEmailBusinessException() {
+        validEmailRequestDTO.setAnexos(List.of(new EmailAttachmentDTO("../segredo.txt", null, null)));
+        when(emailAttachmentService.resolverAnexos(any()))
+            .thenThrow(new IllegalArgumentException("Anexo não encontrado: ../segredo.txt"));
+
+        EmailBusinessException exception = assertThrows(EmailBusinessException.class,
+            () -> emailProcessingService.processarEmail(validEmailRequestDTO));
+
+        assertEquals("Dados inválidos => Anexo não encontrado: ../segredo.txt", exception.getMessage());
+        verifyNoInteractions(emailIntegrationService);
+    }
+
+    @Test
+    @DisplayName("Deve usar a instância única do conteúdo durante a entrega e liberá-la ao final")
+    void processarEmail_ComConteudoRepetido_DeveCompartilharELiberarBlob() {
+        Blob existente = blobStore.adquirirTexto(new String("Conteúdo do email de teste"));
+        when(emailDomainService.criarEmail(validEmailRequestDTO)).thenReturn(emailMock);
+        when(emailDomainService.validarEmail(emailMock)).thenReturn(true);
+        when(emailDomainService.verificarConteudoApropriado(emailMock)).thenReturn(true);
+
+        emailProcessingService.processarEmail(validEmailRequestDTO);
+
+        assertSame(existente.getTexto(), validEmailRequestDTO.getContent());
+        assertEquals(1, blobStore.getQuantidade());
+        assertEquals(1, existente.getReferencias());
+    }
+
+    @Test
+    @DisplayName("Deve liberar os blobs quando o processamento falha")
+    void processarEmail_ComErroNaIntegracao_DeveLiberarBlobs() {
+        when(emailDomainService.criarEmail(validEmailRequestDTO)).thenReturn(emailMock);
+        when(emailDomainService.validarEmail(emailMock)).thenReturn(true);
+        when(emailDomainService.verificarConteudoApropriado(emailMock)).thenReturn(true);
+        doThrow(new RuntimeException("Falha no provedor")).when(emailIntegrationService).enviarEmail(emailMock);
+
+        assertThrows(EmailBusinessException.class, () -> emailProcessingService.processarEmail(validEmailRequestDTO));
+
+        assertEquals(0, blobStore.getQuantidade());
+    }
+
+    @Test
+    @DisplayName("Deve registrar a etapa de regras de negócio como falha quando o conteúdo é recusado")
+    void aplicarRegrasDeNegocio_ComConteudoInapropriado_DeveRegistrarFalha() {
+        when(emailDomainService.validarEmail(emailMock)).thenReturn(true);
+        when(emailDomainService.verificarConteudoApropriado(emailMock)).thenReturn(false);
+        when(pipelineMetrics.iniciar()).thenReturn(42L);
+
+        assertThrows(EmailBusinessException.class, () -> emailProcessingService.aplicarRegrasDeNegocio(emailMock));
+
+        verify(pipelineMetrics).registrar(PipelineStage.REGRAS, 42L, false);
+    }
+}
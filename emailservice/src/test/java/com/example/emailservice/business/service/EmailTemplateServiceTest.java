@@ -0,0 +1,111 @@
+package com.example.emailservice.business.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import com.example.emailservice.business.domain.dto.EmailRequestDTO;
+import com.example.emailservice.business.template.EmailTemplate;
+
+@DisplayName("EmailTemplateService - Testes Unitários")
+public class EmailTemplateServiceTest {
+
+    @TempDir
+    Path diretorio;
+
+    private EmailTemplateService emailTemplateService;
+
+    @BeforeEach
+    void setup() throws Exception {
+        escreverTemplate("pedido", "Pedido {{pedido}} enviado\n\nOlá, {{recipientName}}. Seu pedido {{pedido}} saiu para entrega.");
+        emailTemplateService = new EmailTemplateService(new DefaultResourceLoader(), diretorio.toUri().toString(), 2);
+    }
+
+    private void escreverTemplate(String id, String texto) throws Exception {
+        Files.writeString(diretorio.resolve(id + ".txt"), texto, StandardCharsets.UTF_8);
+    }
+
+    private EmailRequestDTO criarRequisicao(String templateId, Map<String, String> variaveis) {
+        EmailRequestDTO dto = new EmailRequestDTO();
+        dto.setRecipientEmail("destinatario@email.com");
+        dto.setRecipientName("João Silva");
+        dto.setSenderEmail("remetente@email.com");
+        dto.setTemplateId(templateId);
+        dto.setVariaveis(variaveis);
+        return dto;
+    }
+
+    @Test
+    @DisplayName("Deve preencher assunto e conteúdo a partir do template e das variáveis")
+    void aplicarTemplate_ComVariaveis_DevePreencherAssuntoEConteudo() {
+        EmailRequestDTO dto = criarRequisicao("pedido", Map.of("pedido", "#123"));
+
+        emailTemplateService.aplicarTemplate(dto);
+
+        assertEquals("Pedido #123 enviado", dto.getSubject());
+        assertEquals("Olá, João Silva. Seu pedido #123 saiu para entrega.", dto.getContent());
+    }
+
+    @Test
+    @DisplayName("Deve compilar o template uma única vez e reutilizá-lo do cache")
+    void obterTemplate_ChamadasRepetidas_DeveReutilizarTemplateCompilado() throws Exception {
+        EmailTemplate primeiro = emailTemplateService.obterTemplate("pedido");
+        escreverTemplate("pedido", "Outro assunto\n\nOutro conteúdo");
+        EmailTemplate segundo = emailTemplateService.obterTemplate("pedido");
+
+        assertSame(primeiro, segundo);
+        assertEquals(1, emailTemplateService.getTemplatesEmCache());
+    }
+
+    @Test
+    @DisplayName("Deve descartar o template usado há mais tempo quando o cache está cheio")
+    void obterTemplate_ComCacheCheio_DeveDescartarMenosRecente() throws Exception {
+        escreverTemplate("a", "A\n\nA");
+        escreverTemplate("b", "B\n\nB");
+
+        EmailTemplate pedido = emailTemplateService.obterTemplate("pedido");
+        emailTemplateService.obterTemplate("a");
+        emailTemplateService.obterTemplate("pedido");
+        EmailTemplate a = emailTemplateService.obterTemplate("a");
+        emailTemplateService.obterTemplate("b");
+
+        assertEquals(2, emailTemplateService.getTemplatesEmCache());
+        assertSame(a, emailTemplateService.obterTemplate("a"));
+        assertTrue(pedido != emailTemplateService.obterTemplate("pedido"), "Template menos recente deveria ter sido descartado");
+    }
+
+    @Test
+    @DisplayName("Deve lançar IllegalArgumentException para template inexistente ou identificador inválido")
+    void obterTemplate_ComTemplateInvalido_DeveLancarExcecao() {
+        IllegalArgumentException inexistente = assertThrows(IllegalArgumentException.class,
+            () -> emailTemplateService.obterTemplate("inexistente"));
+        assertThrows(IllegalArgumentException.class, () -> emailTemplateService.obterTemplate("../segredo"));
+
+        assertEquals("Template 'inexistente' não encontrado.", inexistente.getMessage());
+    }
+
+    @Test
+    @DisplayName("Deve carregar os templates distribuídos no classpath")
+    void obterTemplate_DoClasspath_DeveCarregarTemplatePadrao() {
+        EmailTemplateService servicoClasspath = new EmailTemplateService(new DefaultResourceLoader(),
+            "classpath:templates/email/", 16);
+        EmailRequestDTO dto = criarRequisicao("boas-vindas", Map.of("produto", "Email Service", "link", "https://exemplo.com"));
+
+        servicoClasspath.aplicarTemplate(dto);
+
+        assertEquals("Bem-vindo(a), João Silva!", dto.getSubject());
+        assertTrue(dto.getContent().contains("Sua conta em Email Service foi criada com sucesso."));
+    }
+}
@@ -0,0 +1,256 @@
+package com.example.emailservice.business.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.LoggerFactory;
+
+import com.example.emailservice.business.domain.dto.MailMergeHeaderDTO;
+import com.example.emailservice.business.domain.dto.MailMergeRecipientDTO;
+import com.example.emailservice.business.domain.dto.MailMergeResultDTO;
+import com.example.emailservice.business.domain.model.Email;
+import com.example.emailservice.business.exception.EmailBusinessException;
+import com.example.emailservice.infrastructure.exception.ConcurrencyLimitExceededException;
+import com.example.emailservice.integration.service.EmailIntegrationService;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.read.ListAppender;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("MailMergeService - Testes Unitários")
+public class MailMergeServiceTest {
+
+    @Mock
+    private EmailProcessingService emailProcessingService;
+
+    @Mock
+    private EmailIntegrationService emailIntegrationService;
+
+    @Mock
+    private EmailTemplateService emailTemplateService;
+
+    private MailMergeService mailMergeService;
+    private MailMergeHeaderDTO cabecalho;
+
+    @BeforeEach
+    void setup() {
+        mailMergeService = new MailMergeService(emailProcessingService, emailIntegrationService, emailTemplateService, 4);
+        cabecalho = new MailMergeHeaderDTO("remetente@email.com", "Novidades de {{mes}}", "Olá, {{recipientName}}!");
+        cabecalho.setVariaveis(Map.of("mes", "outubro"));
+    }
+
+    /**
+     * Gera os destinatários sob demanda, sem montar a lista em memória
+     */
+    private Iterator<MailMergeRecipientDTO> gerarDestinatarios(int quantidade) {
+        return new Iterator<>() {
+            private int gerados;
+
+            @Override
+            public boolean hasNext() {
+                return gerados < quantidade;
+            }
+
+            @Override
+            public MailMergeRecipientDTO next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                gerados++;
+                return new MailMergeRecipientDTO("destinatario" + gerados + "@email.com", "Destinatário " + gerados);
+            }
+        };
+    }
+
+    @Test
+    @DisplayName("Deve reaproveitar remetente e assunto compartilhados e renderizar o conteúdo por destinatário")
+    void processar_ComTemplateCompartilhado_DeveReaproveitarPartesComuns() {
+        List<Email> enviados = new ArrayList<>();
+        when(emailIntegrationService.enviarEmailAsync(any())).thenAnswer(invocacao -> {
+            enviados.add(invocacao.getArgument(0));
+            return CompletableFuture.completedFuture(null);
+        });
+
+        MailMergeResultDTO resultado = mailMergeService.processar(cabecalho, gerarDestinatarios(3));
+
+        assertEquals(3, resultado.getEnviados());
+        assertEquals("Novidades de outubro", enviados.get(0).getSubject());
+        assertEquals("Olá, Destinatário 2!", enviados.get(1).getContent());
+        assertSame(enviados.get(0).getSubject(), enviados.get(2).getSubject());
+        assertSame(enviados.get(0).getSenderEmail(), enviados.get(2).getSenderEmail());
+    }
+
+    @Test
+    @DisplayName("Deve renderizar o assunto do destinatário quando ele sobrescreve uma variável compartilhada")
+    void processar_ComVariavelDoDestinatario_DeveSobrescreverValorCompartilhado() {
+        List<Email> enviados = new ArrayList<>();
+        when(emailIntegrationService.enviarEmailAsync(any())).thenAnswer(invocacao -> {
+            enviados.add(invocacao.getArgument(0));
+            return CompletableFuture.completedFuture(null);
+        });
+        MailMergeRecipientDTO comVariavel = new MailMergeRecipientDTO("ana@email.com", "Ana");
+        comVariavel.setVariaveis(Map.of("mes", "novembro"));
+
+        mailMergeService.processar(cabecalho,
+            List.of(new MailMergeRecipientDTO("bruno@email.com", "Bruno"), comVariavel).iterator());
+
+        assertEquals("Novidades de outubro", enviados.get(0).getSubject());
+        assertEquals("Novidades de novembro", enviados.get(1).getSubject());
+        assertNotSame(enviados.get(0).getSubject(), enviados.get(1).getSubject());
+    }
+
+    @Test
+    @DisplayName("Deve processar muitos destinatários sem ultrapassar o limite de envios pendentes")
+    void processar_ComMuitosDestinatarios_DeveRespeitarLimiteDePendentes() {
+        ExecutorService provedor = Executors.newFixedThreadPool(8);
+        AtomicInteger emAndamento = new AtomicInteger();
+        AtomicInteger picoEmAndamento = new AtomicInteger();
+
+        when(emailIntegrationService.enviarEmailAsync(any())).thenAnswer(invocacao -> {
+            picoEmAndamento.accumulateAndGet(emAndamento.incrementAndGet(), Math::max);
+            return CompletableFuture.runAsync(emAndamento::decrementAndGet,
+                CompletableFuture.delayedExecutor(100, TimeUnit.MICROSECONDS, provedor));
+        });
+
+        try {
+            MailMergeResultDTO resultado = mailMergeService.processar(cabecalho, gerarDestinatarios(10_000));
+
+            assertEquals(10_000, resultado.getDestinatarios());
+            assertEquals(10_000, resultado.getEnviados());
+            assertTrue(picoEmAndamento.get() <= 4, "Envios simultâneos: " + picoEmAndamento.get());
+        } finally {
+            provedor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve contar destinatários inválidos ou recusados como falha e continuar com os demais")
+    void processar_ComDestinatariosInvalidos_DeveContarFalhasEContinuar() {
+        when(emailIntegrationService.enviarEmailAsync(any())).thenReturn(CompletableFuture.completedFuture(null));
+        doAnswer(invocacao -> {
+            Email email = invocacao.getArgument(0);
+            if (email.getRecipientEmail().startsWith("spam")) {
+                throw new EmailBusinessException("Conteúdo do email não é apropriado.");
+            }
+            return null;
+        }).when(emailProcessingService).aplicarRegrasDeNegocio(any());
+
+        MailMergeResultDTO resultado = mailMergeService.processar(cabecalho, List.of(
+            new MailMergeRecipientDTO("ana@email.com", "Ana"),
+            new MailMergeRecipientDTO("email-invalido", "Sem Email"),
+            new MailMergeRecipientDTO("spam@email.com", "Spam"),
+            new MailMergeRecipientDTO("bruno@email.com", "Bruno")).iterator());
+
+        assertEquals(4, resultado.getDestinatarios());
+        assertEquals(2, resultado.getEnviados());
+        assertEquals(2, resultado.getFalhas());
+        assertEquals("Destinatário 2 (email-invalido): Email do destinatário deve ter formato válido",
+            resultado.getErros().get(0));
+        assertFalse(resultado.isInterrompido());
+    }
+
+    @Test
+    @DisplayName("Deve tentar novamente quando o provedor recusa o envio por sobrecarga")
+    void processar_ComProvedorSobrecarregado_DeveTentarNovamente() {
+        when(emailIntegrationService.enviarEmailAsync(any()))
+            .thenReturn(CompletableFuture.failedFuture(new ConcurrencyLimitExceededException("provedor", 1)))
+            .thenReturn(CompletableFuture.completedFuture(null));
+
+        MailMergeResultDTO resultado = mailMergeService.processar(cabecalho, gerarDestinatarios(1));
+
+        assertEquals(1, resultado.getEnviados());
+        verify(emailIntegrationService, times(2)).enviarEmailAsync(any());
+    }
+
+    @Test
+    @DisplayName("Deve marcar o resultado como interrompido quando a leitura dos destinatários falha")
+    void processar_ComErroNaLeitura_DeveInterromper() {
+        when(emailIntegrationService.enviarEmailAsync(any())).thenReturn(CompletableFuture.completedFuture(null));
+        Iterator<MailMergeRecipientDTO> destinatarios = new Iterator<>() {
+            private boolean entregue;
+
+            @Override
+            public boolean hasNext() {
+                if (entregue) {
+                    throw new IllegalStateException("linha malformada");
+                }
+                return true;
+            }
+
+            @Override
+            public MailMergeRecipientDTO next() {
+                entregue = true;
+                return new MailMergeRecipientDTO("ana@email.com", "Ana");
+            }
+        };
+
+        MailMergeResultDTO resultado = mailMergeService.processar(cabecalho, destinatarios);
+
+        assertTrue(resultado.isInterrompido());
+        assertEquals(1, resultado.getEnviados());
+        assertTrue(resultado.getErros().get(0).contains("linha malformada"));
+    }
+
+    @Test
+    @DisplayName("Deve lançar IllegalArgumentException sem enviar quando o cabeçalho é inválido")
+    void processar_ComCabecalhoInvalido_DeveLancarExcecao() {
+        MailMergeHeaderDTO semRemetente = new MailMergeHeaderDTO(null, "Assunto", "Conteúdo");
+
+        assertThrows(IllegalArgumentException.class,
+            () -> mailMergeService.processar(semRemetente, gerarDestinatarios(1)));
+
+        verifyNoInteractions(emailIntegrationService);
+    }
+
+    @Test
+    @DisplayName("Deve registrar no log o remetente com o endereço mascarado")
+    void processar_ComRemetente_DeveMascararLog() {
+        Logger logger = (Logger) LoggerFactory.getLogger(MailMergeService.class);
+        ListAppender<ILoggingEvent> eventos = new ListAppender<>();
+        eventos.start();
+        logger.addAppender(eventos);
+        // sem a amostragem de INFO configurada pelos testes de integração que rodaram antes
+        List<TurboFilter> filtros = List.copyOf(logger.getLoggerContext().getTurboFilterList());
+        logger.getLoggerContext().getTurboFilterList().clear();
+
+        try {
+            mailMergeService.processar(cabecalho, gerarDestinatarios(0));
+        } finally {
+            logger.getLoggerContext().getTurboFilterList().addAll(filtros);
+            logger.detachAppender(eventos);
+        }
+
+        List<String> mensagens = eventos.list.stream().map(ILoggingEvent::getFormattedMessage).toList();
+        assertTrue(mensagens.contains("Iniciando mala direta de r***@email.com."));
+        assertTrue(mensagens.stream().noneMatch(mensagem -> mensagem.contains("remetente@email.com")));
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.emailservice.business.template;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("CompiledTemplate - Testes Unitários")
+public class CompiledTemplateTest {
+
+    @Test
+    @DisplayName("Deve substituir as variáveis pelos valores informados")
+    void renderizar_ComTodasAsVariaveis_DeveSubstituirValores() {
+        CompiledTemplate template = CompiledTemplate.compilar("Olá, {{nome}}! Seu pedido {{ pedido }} foi enviado.");
+
+        String resultado = template.renderizar(Map.of("nome", "João", "pedido", "#123"));
+
+        assertEquals("Olá, João! Seu pedido #123 foi enviado.", resultado);
+    }
+
+    @Test
+    @DisplayName("Deve renderizar template sem variáveis e variáveis nas extremidades")
+    void renderizar_ComVariaveisNasExtremidades_DeveRenderizarCorretamente() {
+        assertEquals("Texto fixo", CompiledTemplate.compilar("Texto fixo").renderizar(Map.of()));
+        assertEquals("João e Maria", CompiledTemplate.compilar("{{a}} e {{b}}").renderizar(Map.of("a", "João", "b", "Maria")));
+    }
+
+    @Test
+    @DisplayName("Não deve reinterpretar marcações presentes nos valores")
+    void renderizar_ComMarcacaoNoValor_DeveManterValorLiteral() {
+        CompiledTemplate template = CompiledTemplate.compilar("Nome: {{nome}}");
+
+        assertEquals("Nome: {{senha}}", template.renderizar(Map.of("nome", "{{senha}}", "senha", "segredo")));
+    }
+
+    @Test
+    @DisplayName("Deve produzir resultados independentes ao reaproveitar o buffer da thread")
+    void renderizar_VariasVezes_NaoDeveMisturarResultados() {
+        CompiledTemplate template = CompiledTemplate.compilar("Olá, {{nome}}.");
+
+        String primeiro = template.renderizar(Map.of("nome", "nome bem mais longo que o segundo"));
+        String segundo = template.renderizar(Map.of("nome", "Ana"));
+
+        assertEquals("Olá, nome bem mais longo que o segundo.", primeiro);
+        assertEquals("Olá, Ana.", segundo);
+    }
+
+    @Test
+    @DisplayName("Deve lançar IllegalArgumentException quando falta valor para uma variável")
+    void renderizar_SemValorParaVariavel_DeveLancarExcecao() {
+        CompiledTemplate template = CompiledTemplate.compilar("Olá, {{nome}}.");
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+            () -> template.renderizar(Map.of()));
+
+        assertEquals("Variável 'nome' não informada para o template.", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Deve lançar IllegalArgumentException para marcação sem fechamento ou sem nome")
+    void compilar_ComMarcacaoInvalida_DeveLancarExcecao() {
+        assertThrows(IllegalArgumentException.class, () -> CompiledTemplate.compilar("Olá, {{nome."));
+        assertThrows(IllegalArgumentException.class, () -> CompiledTemplate.compilar("Olá, {{ }}."));
+    }
+
+    @Test
+    @DisplayName("Deve listar as variáveis do template na ordem em que aparecem")
+    void getVariaveis_DeveRetornarNomesSemRepeticao() {
+        CompiledTemplate template = CompiledTemplate.compilar("{{b}} {{a}} {{b}}");
+
+        assertEquals(List.of("b", "a"), List.copyOf(template.getVariaveis()));
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.emailservice.infrastructure.blob;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.example.emailservice.infrastructure.util.XxHash64;
+
+@DisplayName("BlobStore - Testes Unitários")
+public class BlobStoreTest {
+
+    private BlobStore blobStore;
+
+    @BeforeEach
+    void setup() {
+        blobStore = new BlobStore();
+    }
+
+    @Test
+    @DisplayName("Deve compartilhar um único blob entre textos iguais")
+    void adquirirTexto_ComTextosIguais_DeveCompartilharBlob() {
+        String primeiro = new String("Conteúdo do email de teste");
+        String segundo = new String("Conteúdo do email de teste");
+
+        Blob blobPrimeiro = blobStore.adquirirTexto(primeiro);
+        Blob blobSegundo = blobStore.adquirirTexto(segundo);
+
+        assertSame(blobPrimeiro, blobSegundo);
+        assertSame(primeiro, blobSegundo.getTexto());
+        assertEquals(2, blobSegundo.getReferencias());
+        assertEquals(1, blobStore.getQuantidade());
+    }
+
+    @Test
+    @DisplayName("Deve descartar o blob quando a última referência é liberada")
+    void liberar_UltimaReferencia_DeveDescartarBlob() {
+        Blob primeiro = blobStore.adquirirTexto("Conteúdo");
+        Blob segundo = blobStore.adquirirTexto("Conteúdo");
+
+        blobStore.liberar(primeiro);
+        assertEquals(1, blobStore.getQuantidade());
+
+        blobStore.liberar(segundo);
+        assertEquals(0, blobStore.getQuantidade());
+        assertEquals(0, blobStore.getBytesArmazenados());
+        assertNotSame(primeiro, blobStore.adquirirTexto("Conteúdo"));
+    }
+
+    @Test
+    @DisplayName("Deve endereçar o blob pelo XXH64 do texto em UTF-8 e contar o tamanho em bytes")
+    void adquirirTexto_ComAcentos_DeveEnderecarPeloConteudo() {
+        String texto = "Conteúdo com acentuação e emoji \uD83D\uDCE7";
+        byte[] utf8 = texto.getBytes(StandardCharsets.UTF_8);
+
+        Blob blob = blobStore.adquirirTexto(texto);
+
+        assertEquals(XxHash64.hash(utf8), blob.getChave());
+        assertEquals(utf8.length, blob.getTamanho());
+        assertEquals(utf8.length, blobStore.getBytesArmazenados());
+    }
+
+    @Test
+    @DisplayName("Deve manter a contagem de referências correta sob acesso concorrente")
+    void adquirirELiberar_Concorrente_DeveDescartarTudoAoFinal() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> tarefas = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                tarefas.add(executor.submit(() -> {
+                    for (int j = 0; j < 10_000; j++) {
+                        Blob blob = blobStore.adquirirTexto("Corpo " + (j % 10));
+                        assertEquals("Corpo " + (j % 10), blob.getTexto());
+                        blobStore.liberar(blob);
+                    }
+                }));
+            }
+            for (Future<?> tarefa : tarefas) {
+                tarefa.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(0, blobStore.getQuantidade());
+    }
+}
@@ -0,0 +1,235 @@
+package com.example.emailservice.infrastructure.concurrency;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("AdaptiveConcurrencyLimiter - Testes Unitários")
+public class AdaptiveConcurrencyLimiterTest {
+
+    private static final long LATENCIA_BASE = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private long relogio;
+    private long latenciaBase;
+
+    @BeforeEach
+    void setup() {
+        relogio = 0;
+        latenciaBase = LATENCIA_BASE;
+    }
+
+    private AdaptiveConcurrencyLimiter criarLimiter(int inicial, int minimo, int maximo) {
+        return new AdaptiveConcurrencyLimiter("teste", inicial, minimo, maximo, () -> relogio);
+    }
+
+    /**
+     * Provedor simulado: atende até "capacidade" envios simultâneos na latência base;
+     * acima disso os envios entram em fila e a latência cresce proporcionalmente
+     */
+    private long latenciaDoProvedor(int concorrencia, int capacidade) {
+        return latenciaBase * Math.max(concorrencia, capacidade) / capacidade;
+    }
+
+    /**
+     * Executa rodadas em que a demanda sempre excede o limite e devolve o limite ao final
+     */
+    private List<Integer> simular(AdaptiveConcurrencyLimiter limiter, int capacidade, int rodadas) {
+        List<Integer> limites = new ArrayList<>();
+
+        for (int rodada = 0; rodada < rodadas; rodada++) {
+            List<AdaptiveConcurrencyLimiter.Permissao> permissoes = new ArrayList<>();
+            Optional<AdaptiveConcurrencyLimiter.Permissao> permissao;
+            while ((permissao = limiter.tentarAdquirir()).isPresent()) {
+                permissoes.add(permissao.get());
+            }
+
+            long inicio = relogio;
+            long latencia = latenciaDoProvedor(permissoes.size(), capacidade);
+            for (AdaptiveConcurrencyLimiter.Permissao p : permissoes) {
+                relogio = inicio + latencia;
+                p.sucesso();
+            }
+            limites.add(limiter.getLimite());
+        }
+
+        return limites;
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar aquisições acima do limite atual")
+    void tentarAdquirir_AcimaDoLimite_DeveRejeitar() {
+        AdaptiveConcurrencyLimiter limiter = criarLimiter(3, 1, 10);
+
+        assertTrue(limiter.tentarAdquirir().isPresent());
+        assertTrue(limiter.tentarAdquirir().isPresent());
+        assertTrue(limiter.tentarAdquirir().isPresent());
+        assertTrue(limiter.tentarAdquirir().isEmpty());
+        assertEquals(3, limiter.getEmUso());
+    }
+
+    @Test
+    @DisplayName("Deve liberar a vaga uma única vez mesmo com conclusões repetidas")
+    void permissao_ConcluidaDuasVezes_DeveLiberarUmaVez() {
+        AdaptiveConcurrencyLimiter limiter = criarLimiter(2, 1, 10);
+
+        AdaptiveConcurrencyLimiter.Permissao primeira = limiter.tentarAdquirir().orElseThrow();
+        limiter.tentarAdquirir().orElseThrow();
+
+        primeira.ignorar();
+        primeira.ignorar();
+        primeira.sucesso();
+
+        assertEquals(1, limiter.getEmUso());
+    }
+
+    @Test
+    @DisplayName("Deve liberar a vaga uma única vez quando threads diferentes concluem a mesma permissão")
+    void permissao_ConcluidaEmParalelo_DeveLiberarUmaVez() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = criarLimiter(500, 1, 500);
+
+        for (int rodada = 0; rodada < 200; rodada++) {
+            limiter.tentarAdquirir().orElseThrow();
+            AdaptiveConcurrencyLimiter.Permissao permissao = limiter.tentarAdquirir().orElseThrow();
+            CountDownLatch largada = new CountDownLatch(1);
+            List<Thread> threads = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                Thread thread = new Thread(() -> {
+                    try {
+                        largada.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    permissao.ignorar();
+                });
+                thread.start();
+                threads.add(thread);
+            }
+            largada.countDown();
+            for (Thread thread : threads) {
+                thread.join();
+            }
+
+            assertEquals(rodada + 1, limiter.getEmUso());
+        }
+    }
+
+    @Test
+    @DisplayName("Deve lançar IllegalArgumentException para limites inválidos")
+    void criar_ComLimitesInvalidos_DeveLancarExcecao() {
+        assertThrows(IllegalArgumentException.class, () -> criarLimiter(10, 0, 10));
+        assertThrows(IllegalArgumentException.class, () -> criarLimiter(10, 5, 4));
+    }
+
+    @Test
+    @DisplayName("Deve aplicar um novo limite máximo sem interromper as vagas reservadas")
+    void redefinirLimiteMaximo_AbaixoDoLimiteAtual_DeveReduzirLimite() {
+        AdaptiveConcurrencyLimiter limiter = criarLimiter(5, 1, 10);
+        AdaptiveConcurrencyLimiter.Permissao reservada = limiter.tentarAdquirir().orElseThrow();
+        limiter.tentarAdquirir().orElseThrow();
+
+        limiter.redefinirLimiteMaximo(2);
+
+        assertEquals(2, limiter.getLimiteMaximo());
+        assertEquals(2, limiter.getLimite());
+        assertTrue(limiter.tentarAdquirir().isEmpty());
+        reservada.sucesso();
+        assertTrue(limiter.tentarAdquirir().isPresent());
+        assertThrows(IllegalArgumentException.class, () -> limiter.redefinirLimiteMaximo(0));
+    }
+
+    @Test
+    @DisplayName("Deve reduzir o limite quando chamadas são descartadas")
+    void descartada_DeveReduzirLimite() {
+        AdaptiveConcurrencyLimiter limiter = criarLimiter(50, 1, 100);
+
+        for (int i = 0; i < 20; i++) {
+            AdaptiveConcurrencyLimiter.Permissao permissao = limiter.tentarAdquirir().orElseThrow();
+            relogio += LATENCIA_BASE;
+            permissao.descartada();
+        }
+
+        assertTrue(limiter.getLimite() < 50, "Limite deveria cair, atual: " + limiter.getLimite());
+    }
+
+    @Test
+    @DisplayName("Deve convergir para perto da capacidade real do provedor partindo de um limite baixo")
+    void simulacao_PartindoDeLimiteBaixo_DeveConvergirParaCapacidade() {
+        int capacidade = 40;
+        AdaptiveConcurrencyLimiter limiter = criarLimiter(5, 5, 1000);
+
+        List<Integer> limites = simular(limiter, capacidade, 2000);
+
+        assertLimiteEstavelPertoDaCapacidade(limites, capacidade);
+    }
+
+    @Test
+    @DisplayName("Deve convergir para perto da capacidade real do provedor partindo de um limite alto")
+    void simulacao_PartindoDeLimiteAlto_DeveConvergirParaCapacidade() {
+        int capacidade = 40;
+        AdaptiveConcurrencyLimiter limiter = criarLimiter(800, 5, 1000);
+
+        List<Integer> limites = simular(limiter, capacidade, 2000);
+
+        assertLimiteEstavelPertoDaCapacidade(limites, capacidade);
+    }
+
+    @Test
+    @DisplayName("Deve acompanhar a queda de capacidade do provedor")
+    void simulacao_ComQuedaDeCapacidade_DeveReduzirLimite() {
+        AdaptiveConcurrencyLimiter limiter = criarLimiter(5, 5, 1000);
+        simular(limiter, 80, 1500);
+
+        List<Integer> limites = simular(limiter, 20, 2000);
+
+        assertLimiteEstavelPertoDaCapacidade(limites, 20);
+    }
+
+    @Test
+    @DisplayName("Deve manter o limite aprendido quando a latência sem carga é sondada de novo")
+    void simulacao_ComSondagens_NaoDeveDerrubarLimite() {
+        int capacidade = 400;
+        AdaptiveConcurrencyLimiter limiter = criarLimiter(5, 5, 2000);
+        simular(limiter, capacidade, 300);
+
+        List<Integer> limites = simular(limiter, capacidade, 500);
+
+        for (int i = 1; i < limites.size(); i++) {
+            assertTrue(limites.get(i) >= limites.get(i - 1) * 0.9,
+                "Limite caiu de " + limites.get(i - 1) + " para " + limites.get(i) + " na rodada " + i);
+        }
+        assertTrue(limites.stream().allMatch(limite -> limite >= capacidade * 0.9), "Limites: " + limites);
+    }
+
+    @Test
+    @DisplayName("Deve voltar à capacidade quando o provedor fica mais lento de forma permanente")
+    void simulacao_ComProvedorMaisLento_DeveRecuperarLimite() {
+        AdaptiveConcurrencyLimiter limiter = criarLimiter(5, 5, 1000);
+        simular(limiter, 40, 1000);
+
+        latenciaBase = 3 * LATENCIA_BASE;
+        List<Integer> limites = simular(limiter, 40, 4000);
+
+        assertLimiteEstavelPertoDaCapacidade(limites, 40);
+    }
+
+    /**
+     * Verifica a parte final da simulação, incluindo as rodadas de sondagem, em que o limite cai no máximo 10%
+     */
+    private void assertLimiteEstavelPertoDaCapacidade(List<Integer> limites, int capacidade) {
+        List<Integer> finais = limites.subList(limites.size() / 2, limites.size());
+        for (int limite : finais) {
+            assertTrue(limite >= capacidade * 0.9 && limite <= capacidade * 2,
+                "Limite " + limite + " fora da faixa esperada para capacidade " + capacidade);
+        }
+    }
+}
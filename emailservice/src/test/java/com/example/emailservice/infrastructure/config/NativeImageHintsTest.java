@@ -0,0 +1,47 @@
+package com.example.emailservice.infrastructure.config;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import com.example.emailservice.business.domain.dto.MailMergeRecipientDTO;
+import com.example.emailservice.infrastructure.logging.InfoSamplingTurboFilter;
+import com.example.emailservice.integration.dto.EmailAwsDTO;
+import com.example.emailservice.integration.dto.EmailOciDTO;
+
+@DisplayName("NativeImageHints - Testes Unitários")
+public class NativeImageHintsTest {
+
+    private RuntimeHints hints;
+
+    @BeforeEach
+    void setup() {
+        hints = new RuntimeHints();
+        new NativeImageHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    @DisplayName("Deve registrar os getters dos DTOs dos provedores para a serialização JSON")
+    void registerHints_DeveRegistrarDtosDosProvedores() {
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(EmailAwsDTO.class, "getRecipient").test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(EmailOciDTO.class, "getBody").test(hints));
+    }
+
+    @Test
+    @DisplayName("Deve registrar os DTOs lidos do NDJSON da mala direta")
+    void registerHints_DeveRegistrarDtosDaMalaDireta() {
+        assertTrue(RuntimeHintsPredicates.reflection()
+            .onMethod(MailMergeRecipientDTO.class, "setRecipientEmail").test(hints));
+    }
+
+    @Test
+    @DisplayName("Deve registrar o filtro do logback e os modelos de email locais")
+    void registerHints_DeveRegistrarFiltroDeLogsEModelos() {
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(InfoSamplingTurboFilter.class, "setTaxa").test(hints));
+        assertTrue(RuntimeHintsPredicates.resource().forResource("templates/email/boas-vindas.txt").test(hints));
+    }
+}
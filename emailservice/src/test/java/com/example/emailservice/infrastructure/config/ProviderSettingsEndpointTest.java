@@ -0,0 +1,99 @@
+package com.example.emailservice.infrastructure.config;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.jayway.jsonpath.JsonPath;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "management.server.port=0")
+@ActiveProfiles("gestao")
+@AutoConfigureObservability(tracing = false)
+@DirtiesContext
+@DisplayName("Endpoint de provedores - Testes de Integração")
+public class ProviderSettingsEndpointTest {
+
+    private final HttpClient cliente = HttpClient.newHttpClient();
+
+    @LocalServerPort
+    private int portaApi;
+
+    @LocalManagementPort
+    private int portaGestao;
+
+    private HttpResponse<String> requisitar(int porta, String metodo, String caminho, String corpo)
+            throws IOException, InterruptedException {
+        HttpRequest.Builder requisicao = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + porta + caminho))
+            .header("Content-Type", "application/json")
+            .method(metodo, corpo == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(corpo));
+        return cliente.send(requisicao.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private void enviarEmail() throws Exception {
+        HttpResponse<String> resposta = requisitar(portaApi, "POST", "/api/email/enviar", """
+            {"recipientEmail":"destinatario@email.com","recipientName":"João Silva",
+             "senderEmail":"remetente@email.com","subject":"Assunto","content":"Conteúdo"}
+            """);
+        assertEquals(204, resposta.statusCode());
+    }
+
+    @Test
+    @DisplayName("Deve trocar o provedor em execução, auditar a troca e rejeitar versões desatualizadas")
+    void provedores_ComAlteracao_DeveAplicarSemReinicio() throws Exception {
+        HttpResponse<String> estado = requisitar(portaGestao, "GET", "/actuator/provedores", null);
+        assertEquals(200, estado.statusCode());
+        assertEquals(1, (int) JsonPath.read(estado.body(), "$.atual.versao"));
+        assertEquals("AWS", JsonPath.read(estado.body(), "$.atual.provedor"));
+        assertEquals(List.of(), JsonPath.read(estado.body(), "$.auditoria"));
+
+        HttpResponse<String> alterado = requisitar(portaGestao, "POST", "/actuator/provedores", """
+            {"autor":"ana","motivo":"migração","versaoEsperada":1,"provedor":"oci","pesos":"OCI=1"}
+            """);
+        assertEquals(200, alterado.statusCode());
+        assertEquals(2, (int) JsonPath.read(alterado.body(), "$.versao"));
+        assertEquals("OCI", JsonPath.read(alterado.body(), "$.provedor"));
+        assertEquals(10000, (int) JsonPath.read(alterado.body(), "$.timeoutMs"));
+        enviarEmail();
+
+        estado = requisitar(portaGestao, "GET", "/actuator/provedores", null);
+        assertEquals("ana", JsonPath.read(estado.body(), "$.auditoria[0].autor"));
+        assertEquals("AWS", JsonPath.read(estado.body(), "$.auditoria[0].anterior.provedor"));
+        assertEquals(1, (int) JsonPath.read(estado.body(), "$.auditoria[0].nova.pesos.OCI"));
+        HttpResponse<String> latencias = requisitar(portaGestao, "GET", "/actuator/latencias", null);
+        assertThat(JsonPath.read(latencias.body(), "$.series[?(@.etapa == 'integracao')].provedor"), hasItem("OCI"));
+
+        HttpResponse<String> desatualizado = requisitar(portaGestao, "POST", "/actuator/provedores", """
+            {"autor":"bia","versaoEsperada":1,"provedor":"SMTP"}
+            """);
+        assertEquals(400, desatualizado.statusCode());
+    }
+
+    @Test
+    @DisplayName("Deve servir as escritas do Actuator apenas na porta de gerenciamento, inclusive o DELETE de latências")
+    void gestao_ComPortaSeparada_DeveExporEscritasSomenteNela() throws Exception {
+        enviarEmail();
+
+        assertEquals(404, requisitar(portaApi, "GET", "/actuator/provedores", null).statusCode());
+        assertEquals(404, requisitar(portaApi, "DELETE", "/actuator/latencias", null).statusCode());
+
+        assertEquals(204, requisitar(portaGestao, "DELETE", "/actuator/latencias", null).statusCode());
+        HttpResponse<String> latencias = requisitar(portaGestao, "GET", "/actuator/latencias", null);
+        assertEquals(List.of(), JsonPath.read(latencias.body(), "$.series"));
+    }
+}
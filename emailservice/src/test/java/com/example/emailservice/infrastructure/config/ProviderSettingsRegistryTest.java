@@ -0,0 +1,118 @@
+package com.example.emailservice.infrastructure.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.example.emailservice.infrastructure.concurrency.AdaptiveConcurrencyLimiter;
+import com.example.emailservice.infrastructure.metrics.LatencyRecorder;
+import com.example.emailservice.infrastructure.metrics.PipelineMetrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("ProviderSettingsRegistry - Testes Unitários")
+public class ProviderSettingsRegistryTest {
+
+    private AdaptiveConcurrencyLimiter provedorLimiter;
+    private ProviderSettingsRegistry registry;
+
+    @BeforeEach
+    void setup() {
+        provedorLimiter = new AdaptiveConcurrencyLimiter("provedor", 10, 1, 20);
+        PipelineMetrics pipelineMetrics = new PipelineMetrics(new SimpleMeterRegistry(), new LatencyRecorder(60), "AWS");
+        registry = new ProviderSettingsRegistry(provedorLimiter, pipelineMetrics, "AWS", "", "", 1000, 2);
+    }
+
+    private ProviderSettingsRegistry.Mudanca mudanca(String provedor, String fallback, String pesos) {
+        return new ProviderSettingsRegistry.Mudanca(provedor, fallback, pesos, null, null);
+    }
+
+    @Test
+    @DisplayName("Deve iniciar na versão 1 com as propriedades e o limite máximo do limiter")
+    void atual_AposCriacao_DeveRefletirPropriedades() {
+        ProviderSettings atual = registry.atual();
+
+        assertEquals(1, atual.getVersao());
+        assertEquals("AWS", atual.getProvedor());
+        assertEquals(1000, atual.getTimeoutMs());
+        assertEquals(20, atual.getLimiteMaximoProvedor());
+        assertFalse(atual.possuiFallback("AWS"));
+        assertEquals("AWS", atual.escolherProvedor());
+    }
+
+    @Test
+    @DisplayName("Deve publicar uma nova versão sem alterar a instância lida antes da troca")
+    void atualizar_DeveCopiarConfiguracaoEAplicarLimite() {
+        ProviderSettings anterior = registry.atual();
+
+        ProviderSettings nova = registry.atualizar(new ProviderSettingsRegistry.Mudanca("oci", "aws", null, 500L, 5),
+            1L, "operador", "teste");
+
+        assertSame(nova, registry.atual());
+        assertEquals(2, nova.getVersao());
+        assertEquals("OCI", nova.getProvedor());
+        assertEquals("AWS", nova.getFallback());
+        assertEquals(500, nova.getTimeoutMs());
+        assertEquals(5, provedorLimiter.getLimiteMaximo());
+        assertEquals("AWS", anterior.getProvedor());
+        assertEquals(1000, anterior.getTimeoutMs());
+    }
+
+    @Test
+    @DisplayName("Deve sortear o provedor de cada envio proporcionalmente aos pesos")
+    void escolherProvedor_ComPesos_DeveRespeitarProporcao() {
+        registry.atualizar(mudanca(null, null, "AWS=3, oci=1, SMTP=0"), null, "operador", null);
+
+        Map<String, Integer> contagem = new HashMap<>();
+        for (int i = 0; i < 40_000; i++) {
+            contagem.merge(registry.atual().escolherProvedor(), 1, Integer::sum);
+        }
+
+        assertEquals(Map.of("AWS", 3, "OCI", 1, "SMTP", 0), registry.atual().getPesos());
+        assertFalse(contagem.containsKey("SMTP"));
+        assertTrue(Math.abs(contagem.get("AWS") - 30_000) < 1_000, "Sorteios de AWS: " + contagem.get("AWS"));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar mudanças inválidas, sem autor ou sobre versão desatualizada sem alterar a configuração")
+    void atualizar_ComMudancaInvalida_DeveLancarExcecao() {
+        assertThrows(IllegalArgumentException.class, () -> registry.atualizar(mudanca("SES", null, null), null, "operador", null));
+        assertThrows(IllegalArgumentException.class, () -> registry.atualizar(mudanca(null, null, "AWS=x"), null, "operador", null));
+        assertThrows(IllegalArgumentException.class, () -> registry.atualizar(mudanca(null, null, "AWS=0"), null, "operador", null));
+        assertThrows(IllegalArgumentException.class, () -> registry.atualizar(mudanca(null, null, "SES=1"), null, "operador", null));
+        assertThrows(IllegalArgumentException.class, () -> registry.atualizar(
+            new ProviderSettingsRegistry.Mudanca(null, null, null, 0L, null), null, "operador", null));
+        assertThrows(IllegalArgumentException.class, () -> registry.atualizar(mudanca("OCI", null, null), null, " ", null));
+        assertThrows(IllegalArgumentException.class, () -> registry.atualizar(mudanca("OCI", null, null), 7L, "operador", null));
+
+        assertEquals(1, registry.atual().getVersao());
+        assertTrue(registry.getAuditoria().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve manter na auditoria apenas as alterações mais recentes")
+    void getAuditoria_DeveRegistrarAlteracoesMaisRecentes() {
+        registry.atualizar(mudanca("OCI", null, null), null, "ana", "primeira");
+        registry.atualizar(mudanca("SMTP", null, null), null, "bia", "segunda");
+        registry.atualizar(mudanca("AWS", "OCI", null), null, "caio", "terceira");
+
+        List<ProviderSettingsRegistry.Alteracao> auditoria = registry.getAuditoria();
+
+        assertEquals(2, auditoria.size());
+        assertEquals("bia", auditoria.get(0).autor());
+        assertEquals("OCI", auditoria.get(0).anterior().getProvedor());
+        assertEquals("SMTP", auditoria.get(0).nova().getProvedor());
+        assertEquals(4, auditoria.get(1).versao());
+        assertEquals("terceira", auditoria.get(1).motivo());
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.emailservice.infrastructure.crac;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.example.emailservice.infrastructure.metrics.LatencyRecorder;
+import com.example.emailservice.infrastructure.metrics.PipelineMetrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+@SpringBootTest(properties = "mail.crac.aquecimento.envios=5")
+@DisplayName("CheckpointWarmup - Testes de Integração")
+public class CheckpointWarmupTest {
+
+    @Autowired
+    private CheckpointWarmup checkpointWarmup;
+
+    @Autowired
+    private LatencyRecorder latencyRecorder;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("Deve exercitar o caminho do envio sem registrar métricas nem latências")
+    void aquecer_DeveExercitarSemRegistrarMetricas() {
+        int exercitados = checkpointWarmup.aquecer();
+
+        assertEquals(5, exercitados);
+        assertTrue(latencyRecorder.consultar(0).isEmpty());
+        assertEquals(0, meterRegistry.find(PipelineMetrics.METRICA_ETAPA).timers().stream()
+            .mapToLong(Timer::count).sum());
+        assertEquals(0, meterRegistry.find(PipelineMetrics.METRICA_ENVIOS).counters().stream()
+            .mapToDouble(Counter::count).sum());
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.emailservice.infrastructure.exception;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+
+import java.io.IOException;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import com.example.emailservice.business.exception.EmailBusinessException;
+import com.example.emailservice.integration.exception.EmailIntegrationException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@DisplayName("ErrorResponseTemplate - Testes Unitários")
+public class ErrorResponseTemplateTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private Map<String, Object> ler(byte[] corpo) throws IOException {
+        return objectMapper.readValue(corpo, new TypeReference<Map<String, Object>>() { });
+    }
+
+    @Test
+    @DisplayName("Deve gerar JSON válido escapando aspas, barras e quebras de linha da mensagem")
+    void renderizar_ComCaracteresEspeciais_DeveEscaparMensagem() throws IOException {
+        String mensagem = "Campo \"assunto\" inválido\\\n<fim>";
+
+        Map<String, Object> corpo = ler(ErrorResponseTemplate.BUSINESS_ERROR.renderizar(mensagem));
+
+        assertEquals(mensagem, corpo.get("message"));
+        assertEquals("BUSINESS_ERROR", corpo.get("error"));
+        assertEquals(400, corpo.get("status"));
+    }
+
+    @Test
+    @DisplayName("Deve reutilizar a mensagem fixa escapada, devolvendo um corpo novo a cada chamada")
+    void renderizarFixa_ChamadasRepetidas_DeveGerarCorposIguaisEIndependentes() throws IOException {
+        byte[] primeiro = ErrorResponseTemplate.DOMAIN_VALIDATION_ERROR.renderizarFixa("Assunto é obrigatório");
+        byte[] segundo = ErrorResponseTemplate.DOMAIN_VALIDATION_ERROR.renderizarFixa("Assunto é obrigatório");
+
+        assertNotSame(primeiro, segundo);
+        assertEquals("Assunto é obrigatório", ler(primeiro).get("message"));
+        assertEquals(ler(primeiro).get("message"), ler(segundo).get("message"));
+    }
+
+    @Test
+    @DisplayName("Deve tratar mensagem nula como vazia")
+    void renderizar_ComMensagemNula_DeveGerarMensagemVazia() throws IOException {
+        assertEquals("", ler(ErrorResponseTemplate.INTEGRATION_ERROR.renderizar(null)).get("message"));
+    }
+
+    @Test
+    @DisplayName("Deve responder com o status do tipo de erro e conteúdo JSON")
+    void responder_DeveUsarStatusDoTipoDeErro() {
+        ResponseEntity<byte[]> resposta = ErrorResponseTemplate.SERVICE_OVERLOADED
+            .responder(ErrorResponseTemplate.SERVICE_OVERLOADED.renderizarFixa("Serviço sobrecarregado"));
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, resposta.getStatusCode());
+        assertEquals(MediaType.APPLICATION_JSON, resposta.getHeaders().getContentType());
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, ErrorResponseTemplate.INTERNAL_SERVER_ERROR.getStatus());
+    }
+
+    @Test
+    @DisplayName("As exceções de domínio não devem capturar stack trace")
+    void excecoesDeDominio_DevemSerCriadasSemStackTrace() {
+        assertEquals(0, new EmailBusinessException("erro").getStackTrace().length);
+        assertEquals(0, new EmailIntegrationException("erro", new RuntimeException("causa")).getStackTrace().length);
+        assertEquals(0, new ConcurrencyLimitExceededException("enviar", 20).getStackTrace().length);
+        assertEquals(0, new ConcurrencyLimitExceededException("enviar", 20).getSuppressed().length);
+    }
+}
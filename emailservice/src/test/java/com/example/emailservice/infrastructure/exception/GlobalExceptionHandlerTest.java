@@ -7,6 +7,7 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.when;
 
+import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
@@ -18,19 +19,26 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
+import org.springframework.web.HttpRequestMethodNotSupportedException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.servlet.resource.NoResourceFoundException;
 
 import com.example.emailservice.business.exception.EmailBusinessException;
 import com.example.emailservice.integration.exception.EmailIntegrationException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("GlobalExceptionHandler - Testes Unitários")
 public class GlobalExceptionHandlerTest {
     
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
     private GlobalExceptionHandler globalExceptionHandler;
 
     @Mock
@@ -44,19 +52,23 @@ public class GlobalExceptionHandlerTest {
         globalExceptionHandler = new GlobalExceptionHandler();
     }
 
+    private Map<String, Object> corpo(ResponseEntity<byte[]> response) throws IOException {
+        return objectMapper.readValue(response.getBody(), new TypeReference<Map<String, Object>>() { });
+    }
+
     @Test
     @DisplayName("Deve tratar EmailBusinessException e retornar BAD_REQUEST com estrutura correta")
-    void tratarExcecao_ComEmailBusinessException_DeveRetornarBadRequest() {
+    void tratarExcecao_ComEmailBusinessException_DeveRetornarBadRequest() throws IOException {
         String errorMessage = "Erro de negócio";
         EmailBusinessException exception = new EmailBusinessException(errorMessage);
 
-        ResponseEntity<Map<String, Object>> response = globalExceptionHandler
+        ResponseEntity<byte[]> response = globalExceptionHandler
             .handleEmailBusinessException(exception);
         
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
         assertNotNull(response.getBody());
 
-        Map<String, Object> body = response.getBody();
+        Map<String, Object> body = corpo(response);
         assertEquals(400, body.get("status"));
         assertEquals("BUSINESS_ERROR", body.get("error"));
         assertEquals(errorMessage, body.get("message"));
@@ -66,26 +78,57 @@ public class GlobalExceptionHandlerTest {
 
     @Test
     @DisplayName("Deve tratar EmailIntegrationException e retornar BAD_REQUEST com estrutura correta")
-    void tratarExcecao_ComEmailIntegrationException_DeveRetornarBadRequest() {
+    void tratarExcecao_ComEmailIntegrationException_DeveRetornarBadRequest() throws IOException {
         String errorMessage = "Erro de integração";
         EmailIntegrationException exception = new EmailIntegrationException(errorMessage);
 
-        ResponseEntity<Map<String, Object>> response = globalExceptionHandler
+        ResponseEntity<byte[]> response = globalExceptionHandler
             .handleEmailIntegrationException(exception);
         
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
         assertNotNull(response.getBody());
 
-        Map<String, Object> body = response.getBody();
+        Map<String, Object> body = corpo(response);
         assertEquals(400, body.get("status"));
         assertEquals("INTEGRATION_ERROR", body.get("error"));
         assertEquals(errorMessage, body.get("message"));
         assertNotNull(body.get("timestamp"));
     }
 
+    @Test
+    @DisplayName("Deve tratar ConcurrencyLimitExceededException e retornar SERVICE_UNAVAILABLE com Retry-After")
+    void tratarExcecao_ComConcurrencyLimitExceededException_DeveRetornarServiceUnavailable() throws IOException {
+        ConcurrencyLimitExceededException exception = new ConcurrencyLimitExceededException("enviar", 20);
+
+        ResponseEntity<byte[]> response = globalExceptionHandler
+            .handleConcurrencyLimitExceededException(exception);
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("1", response.getHeaders().getFirst("Retry-After"));
+        assertNotNull(response.getBody());
+
+        Map<String, Object> body = corpo(response);
+        assertEquals(503, body.get("status"));
+        assertEquals("SERVICE_OVERLOADED", body.get("error"));
+        assertTrue(body.get("message").toString().contains("enviar"));
+    }
+
+    @Test
+    @DisplayName("Deve responder rota inexistente com NOT_FOUND e método não suportado com METHOD_NOT_ALLOWED e Allow")
+    void tratarExcecao_ComErroDeRota_DeveManterStatusDaExcecao() {
+        ResponseEntity<Void> naoEncontrada = globalExceptionHandler.handleRoutingException(
+            new NoResourceFoundException(HttpMethod.GET, "actuator/provedores"));
+        ResponseEntity<Void> metodo = globalExceptionHandler.handleRoutingException(
+            new HttpRequestMethodNotSupportedException("DELETE", List.of("GET")));
+
+        assertEquals(HttpStatus.NOT_FOUND, naoEncontrada.getStatusCode());
+        assertEquals(HttpStatus.METHOD_NOT_ALLOWED, metodo.getStatusCode());
+        assertEquals("GET", metodo.getHeaders().getFirst("Allow"));
+    }
+
     @Test
     @DisplayName("Deve tratar MethodArgumentNotValidException e formatar erros de validação corretamente")
-    void tratarExcecao_ComValidationException_DeveFormatarFieldErrors() {
+    void tratarExcecao_ComValidationException_DeveFormatarFieldErrors() throws IOException {
         FieldError emailError = new FieldError("emailRequestDTO", "recipientEmail", "deve ser um endereço de e-mail válido");
         FieldError nameError = new FieldError("emailRequestDTO", "recipientName", "não pode estar em branco");
 
@@ -94,13 +137,13 @@ public class GlobalExceptionHandlerTest {
         when(methodArgumentNotValidException.getBindingResult()).thenReturn(bindingResult);
         when(bindingResult.getFieldErrors()).thenReturn(fieldErrors);
 
-        ResponseEntity<Map<String, Object>> response = globalExceptionHandler
+        ResponseEntity<byte[]> response = globalExceptionHandler
             .handleValidationException(methodArgumentNotValidException);
 
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
         assertNotNull(response.getBody());
 
-        Map<String, Object> body = response.getBody();
+        Map<String, Object> body = corpo(response);
         assertEquals(400, body.get("status"));
         assertEquals("VALIDATION_ERROR", body.get("error"));
 
@@ -113,33 +156,33 @@ public class GlobalExceptionHandlerTest {
 
     @Test
     @DisplayName("Deve tratar MethodArgumentNotValidException com lista vazia de erros")
-    void tratarExcecao_ComValidationExceptionSemFieldErrors_DeveTratarCorretamente() {
+    void tratarExcecao_ComValidationExceptionSemFieldErrors_DeveTratarCorretamente() throws IOException {
         when(methodArgumentNotValidException.getBindingResult()).thenReturn(bindingResult);
         when(bindingResult.getFieldErrors()).thenReturn(Arrays.asList());
 
-        ResponseEntity<Map<String, Object>> response = globalExceptionHandler
+        ResponseEntity<byte[]> response = globalExceptionHandler
             .handleValidationException(methodArgumentNotValidException);
 
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
         assertNotNull(response.getBody());
 
-        Map<String, Object> body = response.getBody();
+        Map<String, Object> body = corpo(response);
         assertEquals("Dados inválidos => ", body.get("message"));
     }
 
     @Test
     @DisplayName("Deve tratar IllegalArgumentException e retornar BAD_REQUEST")
-    void tratarExcecao_ComIllegalArgumentException_DeveRetornarBadRequest() {
+    void tratarExcecao_ComIllegalArgumentException_DeveRetornarBadRequest() throws IOException {
         String errorMessage = "Argumento inválido fornecido";
         IllegalArgumentException exception = new IllegalArgumentException(errorMessage);
 
-        ResponseEntity<Map<String, Object>> response = globalExceptionHandler
+        ResponseEntity<byte[]> response = globalExceptionHandler
             .handleIllegalArgumentException(exception);
 
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
         assertNotNull(response.getBody());
 
-        Map<String, Object> body = response.getBody();
+        Map<String, Object> body = corpo(response);
         assertEquals(400, body.get("status"));
         assertEquals("DOMAIN_VALIDATION_ERROR", body.get("error"));
         assertEquals(errorMessage, body.get("message"));
@@ -148,17 +191,17 @@ public class GlobalExceptionHandlerTest {
 
     @Test
     @DisplayName("Deve tratar Exception genérica e retornar INTERNAL_SERVER_ERROR")
-    void tratarExcecao_ComExceptionGenerica_DeveRetornarInternalServerError() {
+    void tratarExcecao_ComExceptionGenerica_DeveRetornarInternalServerError() throws IOException {
         String errorMessage = "Erro inesperado do sistema";
         RuntimeException exception = new RuntimeException(errorMessage);
 
-        ResponseEntity<Map<String, Object>> response = globalExceptionHandler
+        ResponseEntity<byte[]> response = globalExceptionHandler
             .handleGenericException(exception);
 
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
         assertNotNull(response.getBody());
 
-        Map<String, Object> body = response.getBody();
+        Map<String, Object> body = corpo(response);
         assertEquals(500, body.get("status"));
         assertEquals("INTERNAL_SERVER_ERROR", body.get("error"));
         assertEquals("Erro interno do servidor", body.get("message"));
@@ -167,30 +210,30 @@ public class GlobalExceptionHandlerTest {
 
     @Test
     @DisplayName("Deve tratar NullPointerException como erro genérico")
-    void tratarExcecao_ComNullPointerException_DeveTratarComoErroGenerico() {
+    void tratarExcecao_ComNullPointerException_DeveTratarComoErroGenerico() throws IOException {
         NullPointerException exception = new NullPointerException("Referência nula encontrada");
 
-        ResponseEntity<Map<String, Object>> response = globalExceptionHandler
+        ResponseEntity<byte[]> response = globalExceptionHandler
             .handleGenericException(exception);
 
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
         assertNotNull(response.getBody());
 
-        Map<String, Object> body = response.getBody();
+        Map<String, Object> body = corpo(response);
         assertEquals("INTERNAL_SERVER_ERROR", body.get("error"));
         assertEquals("Erro interno do servidor", body.get("message"));
     }
 
     @Test
     @DisplayName("Deve criar estrutura de resposta de erro consistente")
-    void criarRespostaErro_Sempre_DeveManterEstruturaConsistente() {
+    void criarRespostaErro_Sempre_DeveManterEstruturaConsistente() throws IOException {
         String errorMessage = "Mensagem de teste";
         EmailBusinessException exception = new EmailBusinessException(errorMessage);
 
-        ResponseEntity<Map<String, Object>> response = globalExceptionHandler
+        ResponseEntity<byte[]> response = globalExceptionHandler
             .handleEmailBusinessException(exception);
 
-        Map<String, Object> body = response.getBody();
+        Map<String, Object> body = corpo(response);
         assertNotNull(body);
         assertEquals(4, body.size());
         
@@ -207,27 +250,27 @@ public class GlobalExceptionHandlerTest {
 
     @Test
     @DisplayName("Deve gerar timestamp válido em todas as respostas de erro")
-    void criarRespostaErro_Sempre_DeveGerarTimestampValido() {
+    void criarRespostaErro_Sempre_DeveGerarTimestampValido() throws IOException {
         LocalDateTime beforeTest = LocalDateTime.now().minusSeconds(1);
 
-        ResponseEntity<Map<String, Object>> businessResponse = globalExceptionHandler
+        ResponseEntity<byte[]> businessResponse = globalExceptionHandler
             .handleEmailBusinessException(new EmailBusinessException("teste"));
 
-        ResponseEntity<Map<String, Object>> integrationResponse = globalExceptionHandler
+        ResponseEntity<byte[]> integrationResponse = globalExceptionHandler
             .handleEmailIntegrationException(new EmailIntegrationException("teste"));
         
-        ResponseEntity<Map<String, Object>> argumentResponse = globalExceptionHandler
+        ResponseEntity<byte[]> argumentResponse = globalExceptionHandler
             .handleIllegalArgumentException(new IllegalArgumentException("teste"));
         
-        ResponseEntity<Map<String, Object>> genericResponse = globalExceptionHandler
+        ResponseEntity<byte[]> genericResponse = globalExceptionHandler
             .handleGenericException(new RuntimeException("teste"));
         
         LocalDateTime afterTest = LocalDateTime.now().plusSeconds(1);
 
-        String businessTimestamp = (String) businessResponse.getBody().get("timestamp");
-        String integrationTimestamp = (String) integrationResponse.getBody().get("timestamp");
-        String argumentTimestamp = (String) argumentResponse.getBody().get("timestamp");
-        String genericTimestamp = (String) genericResponse.getBody().get("timestamp");
+        String businessTimestamp = (String) corpo(businessResponse).get("timestamp");
+        String integrationTimestamp = (String) corpo(integrationResponse).get("timestamp");
+        String argumentTimestamp = (String) corpo(argumentResponse).get("timestamp");
+        String genericTimestamp = (String) corpo(genericResponse).get("timestamp");
 
         LocalDateTime businessTime = LocalDateTime.parse(businessTimestamp);
         LocalDateTime integrationTime = LocalDateTime.parse(integrationTimestamp);
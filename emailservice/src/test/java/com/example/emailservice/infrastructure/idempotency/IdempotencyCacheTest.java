@@ -0,0 +1,162 @@
+package com.example.emailservice.infrastructure.idempotency;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.example.emailservice.business.exception.EmailBusinessException;
+
+@DisplayName("IdempotencyCache - Testes Unitários")
+public class IdempotencyCacheTest {
+
+    private static final long CORPO = 42L;
+
+    private final AtomicLong relogio = new AtomicLong();
+
+    private IdempotencyCache criar(int tamanho, int segmentos) {
+        return new IdempotencyCache(tamanho, segmentos, 60, 1000, relogio::get);
+    }
+
+    @Test
+    @DisplayName("Deve devolver a resposta concluída às repetições da chave")
+    void reservar_ComChaveConcluida_DeveDevolverMesmaResposta() throws Exception {
+        IdempotencyCache cache = criar(100, 4);
+        IdempotencyCache.Resposta resposta = IdempotencyCache.Resposta.SEM_CONTEUDO;
+
+        IdempotencyCache.Reserva primeira = cache.reservar("pedido-1", CORPO);
+        primeira.concluir(resposta);
+        IdempotencyCache.Reserva repetida = cache.reservar("pedido-1", CORPO);
+
+        assertTrue(primeira.isNova());
+        assertFalse(repetida.isNova());
+        assertSame(resposta, repetida.aguardar());
+        assertTrue(cache.reservar("pedido-2", CORPO).isNova());
+    }
+
+    @Test
+    @DisplayName("Deve marcar como divergente a repetição da chave com outro corpo")
+    void reservar_ComOutroCorpo_DeveMarcarDivergente() {
+        IdempotencyCache cache = criar(100, 4);
+        IdempotencyCache.Reserva primeira = cache.reservar("pedido-1", CORPO);
+
+        IdempotencyCache.Reserva mesmoCorpo = cache.reservar("pedido-1", CORPO);
+        IdempotencyCache.Reserva outroCorpo = cache.reservar("pedido-1", CORPO + 1);
+
+        assertFalse(primeira.isCorpoDivergente());
+        assertFalse(mesmoCorpo.isCorpoDivergente());
+        assertTrue(outroCorpo.isCorpoDivergente());
+        assertFalse(outroCorpo.isNova());
+    }
+
+    @Test
+    @DisplayName("Deve fazer a repetição em andamento aguardar a primeira execução")
+    void aguardar_ComChaveEmAndamento_DeveReceberResultadoDaPrimeira() throws Exception {
+        IdempotencyCache cache = criar(100, 4);
+        IdempotencyCache.Reserva primeira = cache.reservar("pedido-1", CORPO);
+        IdempotencyCache.Resposta resposta = new IdempotencyCache.Resposta(200, "{}".getBytes(StandardCharsets.UTF_8));
+
+        CompletableFuture<IdempotencyCache.Resposta> repetida = CompletableFuture.supplyAsync(() -> {
+            try {
+                return cache.reservar("pedido-1", CORPO).aguardar();
+            } catch (TimeoutException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        Thread.sleep(50);
+        assertFalse(repetida.isDone());
+        primeira.concluir(resposta);
+
+        assertSame(resposta, repetida.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Deve repassar a falha às repetições em andamento e liberar a chave")
+    void falhar_DeveRepassarErroELiberarChave() {
+        IdempotencyCache cache = criar(100, 4);
+        IdempotencyCache.Reserva primeira = cache.reservar("pedido-1", CORPO);
+        IdempotencyCache.Reserva repetida = cache.reservar("pedido-1", CORPO);
+
+        primeira.falhar(new EmailBusinessException("Dados inválidos"));
+
+        EmailBusinessException erro = assertThrows(EmailBusinessException.class, repetida::aguardar);
+        assertEquals("Dados inválidos", erro.getMessage());
+        assertTrue(cache.reservar("pedido-1", CORPO).isNova());
+    }
+
+    @Test
+    @DisplayName("Deve guardar apenas respostas 2xx")
+    void concluir_ComRespostaDeErro_DeveLiberarChave() {
+        IdempotencyCache cache = criar(100, 4);
+
+        cache.reservar("pedido-1", CORPO).concluir(new IdempotencyCache.Resposta(400, null));
+
+        assertTrue(cache.reservar("pedido-1", CORPO).isNova());
+    }
+
+    @Test
+    @DisplayName("Deve lançar TimeoutException quando a primeira execução não termina dentro da espera")
+    void aguardar_SemConclusao_DeveLancarTimeout() {
+        IdempotencyCache cache = new IdempotencyCache(100, 4, 60, 20, relogio::get);
+        cache.reservar("pedido-1", CORPO);
+
+        assertThrows(TimeoutException.class, () -> cache.reservar("pedido-1", CORPO).aguardar());
+    }
+
+    @Test
+    @DisplayName("Deve tratar a chave como nova depois do ttl")
+    void reservar_AposTtl_DeveCriarNovaReserva() {
+        IdempotencyCache cache = criar(100, 4);
+        cache.reservar("pedido-1", CORPO).concluir(IdempotencyCache.Resposta.SEM_CONTEUDO);
+
+        relogio.addAndGet(TimeUnit.SECONDS.toNanos(59));
+        assertFalse(cache.reservar("pedido-1", CORPO).isNova());
+        relogio.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertTrue(cache.reservar("pedido-1", CORPO).isNova());
+        assertEquals(1, cache.getQuantidade());
+    }
+
+    @Test
+    @DisplayName("Deve descartar a chave menos usada quando o segmento atinge a capacidade")
+    void reservar_AcimaDaCapacidade_DeveDescartarMenosUsada() {
+        IdempotencyCache cache = criar(2, 1);
+        cache.reservar("pedido-1", CORPO).concluir(IdempotencyCache.Resposta.SEM_CONTEUDO);
+        cache.reservar("pedido-2", CORPO).concluir(IdempotencyCache.Resposta.SEM_CONTEUDO);
+
+        cache.reservar("pedido-1", CORPO);
+        cache.reservar("pedido-3", CORPO);
+
+        assertEquals(2, cache.getQuantidade());
+        assertFalse(cache.reservar("pedido-1", CORPO).isNova());
+        assertTrue(cache.reservar("pedido-2", CORPO).isNova());
+    }
+
+    @Test
+    @DisplayName("Deve manter o total de entradas dentro do tamanho configurado")
+    void reservar_ComMuitasChaves_DeveRespeitarTamanho() {
+        IdempotencyCache cache = criar(1024, 16);
+
+        for (int i = 0; i < 10_000; i++) {
+            cache.reservar("pedido-" + i, CORPO).concluir(IdempotencyCache.Resposta.SEM_CONTEUDO);
+        }
+
+        assertTrue(cache.getQuantidade() <= 1024, "Entradas: " + cache.getQuantidade());
+        assertTrue(cache.getQuantidade() > 512, "Entradas: " + cache.getQuantidade());
+    }
+
+    @Test
+    @DisplayName("Deve recusar configuração com menos de uma entrada por segmento")
+    void criar_ComTamanhoMenorQueSegmentos_DeveLancarExcecao() {
+        assertThrows(IllegalArgumentException.class, () -> criar(8, 16));
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.emailservice.infrastructure.logging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+
+@DisplayName("InfoSamplingTurboFilter - Testes Unitários")
+public class InfoSamplingTurboFilterTest {
+
+    private LoggerContext contexto;
+    private ListAppender<ILoggingEvent> eventos;
+
+    @BeforeEach
+    void setup() {
+        contexto = new LoggerContext();
+        InfoSamplingTurboFilter filtro = new InfoSamplingTurboFilter();
+        filtro.setTaxa(100);
+        filtro.setPrefixo("com.example.emailservice");
+        filtro.start();
+        contexto.addTurboFilter(filtro);
+
+        eventos = new ListAppender<>();
+        eventos.setContext(contexto);
+        eventos.start();
+        contexto.getLogger(Logger.ROOT_LOGGER_NAME).addAppender(eventos);
+    }
+
+    private long contar(String mensagem) {
+        return eventos.list.stream().filter(evento -> evento.getMessage().equals(mensagem)).count();
+    }
+
+    @Test
+    @DisplayName("Deve registrar uma a cada N ocorrências de cada mensagem INFO, começando pela primeira")
+    void decide_ComMensagensInfo_DeveAmostrarPorMensagem() {
+        Logger logger = contexto.getLogger("com.example.emailservice.Teste");
+
+        for (int i = 0; i < 250; i++) {
+            logger.info("Email enviado.");
+            if (i % 10 == 0) {
+                logger.info("Template {} aplicado.", i);
+            }
+        }
+
+        assertEquals(3, contar("Email enviado."));
+        assertEquals(1, contar("Template {} aplicado."));
+        assertEquals("Email enviado.", eventos.list.get(0).getMessage());
+    }
+
+    @Test
+    @DisplayName("Não deve amostrar WARN, INFO com exceção nem loggers fora do prefixo")
+    void decide_ForaDoEscopo_NaoDeveAmostrar() {
+        Logger aplicacao = contexto.getLogger("com.example.emailservice.Teste");
+        Logger biblioteca = contexto.getLogger("org.springframework.Teste");
+
+        for (int i = 0; i < 10; i++) {
+            aplicacao.warn("Aviso.");
+            aplicacao.info("Falha tratada.", new IllegalStateException());
+            biblioteca.info("Biblioteca.");
+        }
+
+        assertEquals(10, contar("Aviso."));
+        assertEquals(10, contar("Falha tratada."));
+        assertEquals(10, contar("Biblioteca."));
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.emailservice.infrastructure.logging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.example.emailservice.business.domain.dto.EmailRequestDTO;
+import com.example.emailservice.integration.dto.EmailSmtpDTO;
+
+@DisplayName("LogMasking - Testes Unitários")
+public class LogMaskingTest {
+
+    private String email(String valor) {
+        return LogMasking.anexarEmail(new StringBuilder(), valor).toString();
+    }
+
+    @Test
+    @DisplayName("Deve manter apenas o primeiro caractere e o domínio do endereço")
+    void anexarEmail_DeveMascararParteLocal() {
+        assertEquals("j***@email.com", email("joao.silva@email.com"));
+        assertEquals("a***@email.com", email("a@b@email.com"));
+        assertEquals("***@email.com", email("@email.com"));
+        assertEquals("***", email("sem-arroba"));
+        assertEquals("null", email(null));
+    }
+
+    @Test
+    @DisplayName("Deve manter apenas a inicial do nome e o tamanho dos textos")
+    void anexarNomeETexto_DeveMascarar() {
+        assertEquals("J***", LogMasking.anexarNome(new StringBuilder(), "João Silva").toString());
+        assertEquals("***", LogMasking.anexarNome(new StringBuilder(), "").toString());
+        assertEquals("[5 caracteres]", LogMasking.anexarTexto(new StringBuilder(), "Olá!!").toString());
+        assertEquals("null", LogMasking.anexarTexto(new StringBuilder(), null).toString());
+    }
+
+    @Test
+    @DisplayName("Não deve expor endereços, nomes nem conteúdo no toString dos DTOs")
+    void toString_DosDtos_NaoDeveExporDadosPessoais() {
+        EmailRequestDTO requisicao = new EmailRequestDTO("destinatario@email.com", "João Silva",
+            "remetente@email.com", "Assunto secreto", "Conteúdo secreto");
+        requisicao.setVariaveis(Map.of("nome", "Maria"));
+        EmailSmtpDTO smtp = new EmailSmtpDTO("remetente@email.com", "destinatario@email.com", "João Silva",
+            "Assunto secreto", "Conteúdo secreto");
+
+        for (String texto : new String[] { requisicao.toString(), smtp.toString() }) {
+            assertFalse(texto.contains("destinatario@"), texto);
+            assertFalse(texto.contains("remetente@"), texto);
+            assertFalse(texto.contains("Silva"), texto);
+            assertFalse(texto.contains("secreto"), texto);
+            assertFalse(texto.contains("Maria"), texto);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.emailservice.infrastructure.metrics;
+
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.nullValue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+@DisplayName("Endpoint de latências - Testes de Integração")
+public class LatencyEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private void enviarEmail() throws Exception {
+        mockMvc.perform(post("/api/email/enviar")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("""
+                                {"recipientEmail":"destinatario@email.com","recipientName":"João Silva",
+                                 "senderEmail":"remetente@email.com","subject":"Assunto","content":"Conteúdo"}
+                                """))
+               .andExpect(status().isNoContent());
+    }
+
+    @Test
+    @DisplayName("Deve expor os percentis por etapa após um envio")
+    void latencias_AposEnvio_DeveExporPercentisPorEtapa() throws Exception {
+        enviarEmail();
+
+        mockMvc.perform(get("/actuator/latencias"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.janelaSegundos").value(60))
+               .andExpect(jsonPath("$.intervaloEsperadoUs").value(nullValue()))
+               .andExpect(jsonPath("$.series[*].etapa").value(hasItem("processamento")))
+               .andExpect(jsonPath("$.series[?(@.etapa == 'integracao')].provedor").value(hasItem("AWS")))
+               .andExpect(jsonPath("$.series[0].atual.amostras").value(greaterThan(0)));
+    }
+
+    @Test
+    @DisplayName("Deve aceitar o intervalo esperado e recusar o DELETE e as demais escritas sem o perfil gestao")
+    void latencias_ComIntervaloEsperado_DeveCorrigirERecusarEscritas() throws Exception {
+        enviarEmail();
+
+        mockMvc.perform(get("/actuator/latencias").param("intervaloEsperadoUs", "1000"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.intervaloEsperadoUs").value(1000));
+
+        mockMvc.perform(delete("/actuator/latencias"))
+               .andExpect(status().isMethodNotAllowed());
+        mockMvc.perform(post("/actuator/provedores")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("""
+                                {"autor":"ana","provedor":"OCI"}
+                                """))
+               .andExpect(status().isMethodNotAllowed());
+
+        mockMvc.perform(get("/actuator/latencias"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.series").isNotEmpty());
+        mockMvc.perform(get("/actuator/provedores"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.atual.provedor").value("AWS"));
+    }
+}
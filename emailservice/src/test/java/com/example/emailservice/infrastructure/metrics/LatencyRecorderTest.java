@@ -0,0 +1,163 @@
+package com.example.emailservice.infrastructure.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.example.emailservice.shared.enums.PipelineStage;
+
+@DisplayName("LatencyRecorder - Testes Unitários")
+public class LatencyRecorderTest {
+
+    private static final long UM_MS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private LatencyRecorder latencyRecorder;
+
+    @BeforeEach
+    void setup() {
+        latencyRecorder = new LatencyRecorder(3600);
+    }
+
+    @AfterEach
+    void encerrar() {
+        latencyRecorder.fechar();
+    }
+
+    private LatencyRecorder.Estatisticas unica(long intervaloEsperadoNanos) {
+        List<LatencyRecorder.Estatisticas> series = latencyRecorder.consultar(intervaloEsperadoNanos);
+        assertEquals(1, series.size());
+        return series.get(0);
+    }
+
+    @Test
+    @DisplayName("Deve calcular os percentis em microssegundos por provedor e etapa")
+    void consultar_ComMedicoes_DeveRetornarPercentis() {
+        for (int i = 1; i <= 1000; i++) {
+            latencyRecorder.registrar(PipelineStage.ENTREGA, "SMTP", i * 1000L);
+        }
+
+        LatencyRecorder.Estatisticas estatisticas = unica(0);
+
+        assertEquals("SMTP", estatisticas.provedor());
+        assertEquals("entrega", estatisticas.etapa());
+        assertEquals(1000, estatisticas.atual().amostras());
+        assertEquals(500, estatisticas.atual().p50(), 5);
+        assertEquals(990, estatisticas.atual().p99(), 10);
+        assertEquals(999, estatisticas.atual().p999(), 10);
+        assertEquals(1000, estatisticas.atual().max(), 10);
+    }
+
+    @Test
+    @DisplayName("Deve expor na janela apenas as medições da última janela fechada")
+    void fecharJanela_DeveSepararJanelaDoAcumulado() {
+        latencyRecorder.registrar(PipelineStage.REGRAS, "AWS", UM_MS);
+        assertEquals(0, unica(0).janela().amostras());
+
+        latencyRecorder.fecharJanela();
+        latencyRecorder.registrar(PipelineStage.REGRAS, "AWS", UM_MS);
+        assertEquals(1, unica(0).janela().amostras());
+        assertEquals(2, unica(0).atual().amostras());
+
+        latencyRecorder.fecharJanela();
+        latencyRecorder.fecharJanela();
+        assertEquals(0, unica(0).janela().amostras());
+        assertEquals(2, unica(0).atual().amostras());
+    }
+
+    @Test
+    @DisplayName("Deve corrigir a omissão coordenada com o intervalo esperado")
+    void consultar_ComIntervaloEsperado_DeveCorrigirOmissaoCoordenada() {
+        for (int i = 0; i < 99; i++) {
+            latencyRecorder.registrar(PipelineStage.ENTREGA, "AWS", UM_MS);
+        }
+        latencyRecorder.registrar(PipelineStage.ENTREGA, "AWS", 100 * UM_MS);
+
+        LatencyRecorder.Percentis gravados = unica(0).atual();
+        LatencyRecorder.Percentis corrigidos = unica(UM_MS).atual();
+
+        assertEquals(100, gravados.amostras());
+        assertEquals(1000, gravados.p99(), 10);
+        assertEquals(199, corrigidos.amostras());
+        assertTrue(corrigidos.p50() > 1000, "p50 corrigido: " + corrigidos.p50());
+        assertTrue(corrigidos.p99() > 90_000, "p99 corrigido: " + corrigidos.p99());
+        assertEquals(gravados.max(), corrigidos.max());
+    }
+
+    @Test
+    @DisplayName("Deve descartar as medições ao reiniciar")
+    void reiniciar_DeveDescartarMedicoes() {
+        latencyRecorder.registrar(PipelineStage.CRIACAO, "AWS", UM_MS);
+        latencyRecorder.fecharJanela();
+
+        latencyRecorder.reiniciar();
+
+        assertTrue(latencyRecorder.consultar(0).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Não deve perder medições gravadas durante consultas concorrentes")
+    void registrar_ComConsultasConcorrentes_NaoDevePerderMedicoes() throws Exception {
+        int threads = 4;
+        int porThread = 50_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch fim = new CountDownLatch(threads);
+        try {
+            for (int t = 0; t < threads; t++) {
+                executor.execute(() -> {
+                    for (int i = 0; i < porThread; i++) {
+                        latencyRecorder.registrar(PipelineStage.SERIALIZACAO, "OCI", i);
+                    }
+                    fim.countDown();
+                });
+            }
+            while (!fim.await(1, TimeUnit.MILLISECONDS)) {
+                latencyRecorder.consultar(0);
+                latencyRecorder.fecharJanela();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals((long) threads * porThread, unica(0).atual().amostras());
+    }
+
+    @Test
+    @DisplayName("Deve gravar durações acima da faixa do histograma como o máximo")
+    void registrar_ComDuracaoAcimaDoMaximo_DeveLimitar() {
+        latencyRecorder.registrar(PipelineStage.ENTREGA, "AWS", TimeUnit.HOURS.toNanos(1));
+
+        assertEquals(TimeUnit.MINUTES.toMicros(10), unica(0).atual().max(), TimeUnit.MINUTES.toMicros(10) / 100.0);
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar janela não positiva")
+    void construtor_ComJanelaInvalida_DeveLancarExcecao() {
+        assertThrows(IllegalArgumentException.class, () -> new LatencyRecorder(0));
+    }
+
+    @Test
+    @DisplayName("Deve parar o agendador das janelas no stop e reagendá-lo no start, mantendo as medições")
+    void stopEStart_DeveReagendarAsJanelas() {
+        latencyRecorder.registrar(PipelineStage.ENTREGA, "SMTP", UM_MS);
+
+        latencyRecorder.stop();
+        assertFalse(latencyRecorder.isRunning());
+
+        latencyRecorder.start();
+        assertTrue(latencyRecorder.isRunning());
+        latencyRecorder.registrar(PipelineStage.ENTREGA, "SMTP", UM_MS);
+        assertEquals(2, unica(0).atual().amostras());
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.emailservice.infrastructure.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.example.emailservice.shared.enums.PipelineStage;
+
+import jdk.jfr.EventType;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+@DisplayName("PipelineEvent - Testes Unitários")
+public class PipelineEventTest {
+
+    private static final List<Class<? extends PipelineEvent>> TIPOS = List.of(PipelineEvent.Validacao.class,
+        PipelineEvent.Criacao.class, PipelineEvent.Regras.class, PipelineEvent.Adaptacao.class,
+        PipelineEvent.Serializacao.class, PipelineEvent.Impressao.class);
+
+    @TempDir
+    Path diretorio;
+
+    private List<RecordedEvent> gravar(Runnable acao) throws Exception {
+        Path arquivo = diretorio.resolve("gravacao.jfr");
+        try (Recording gravacao = new Recording()) {
+            for (Class<? extends PipelineEvent> tipo : TIPOS) {
+                gravacao.enable(tipo);
+            }
+            gravacao.start();
+            acao.run();
+            gravacao.stop();
+            gravacao.dump(arquivo);
+        }
+        return RecordingFile.readAllEvents(arquivo).stream()
+            .filter(evento -> evento.getEventType().getName().startsWith("com.example.emailservice."))
+            .toList();
+    }
+
+    @Test
+    @DisplayName("Deve gravar o evento da etapa com message id, provedor, tamanho e resultado")
+    void concluir_ComGravacaoAtiva_DeveGravarCampos() throws Exception {
+        List<RecordedEvent> eventos = gravar(() ->
+            PipelineEvent.iniciar(PipelineStage.SERIALIZACAO).concluir("id-1", "AWS", 321, true));
+
+        assertEquals(1, eventos.size());
+        RecordedEvent evento = eventos.get(0);
+        assertEquals("com.example.emailservice.Serializacao", evento.getEventType().getName());
+        assertEquals("id-1", evento.getString("messageId"));
+        assertEquals("AWS", evento.getString("provedor"));
+        assertEquals(321, evento.getLong("tamanhoPayload"));
+        assertTrue(evento.getBoolean("sucesso"));
+        assertFalse(evento.getDuration().isNegative());
+    }
+
+    @Test
+    @DisplayName("Deve ter um tipo de evento habilitado por padrão para cada etapa síncrona")
+    void iniciar_ParaCadaEtapaSincrona_DeveCriarTipoProprio() throws Exception {
+        List<PipelineStage> etapas = List.of(PipelineStage.VALIDACAO, PipelineStage.CRIACAO, PipelineStage.REGRAS,
+            PipelineStage.ADAPTACAO, PipelineStage.SERIALIZACAO, PipelineStage.IMPRESSAO);
+
+        List<RecordedEvent> eventos = gravar(() ->
+            etapas.forEach(etapa -> PipelineEvent.iniciar(etapa).concluir("id-1", "AWS", 0, true)));
+
+        assertEquals(etapas.size(), eventos.stream().map(evento -> evento.getEventType().getName()).distinct().count());
+        for (Class<? extends PipelineEvent> tipo : TIPOS) {
+            assertTrue(habilitadoPorPadrao(EventType.getEventType(tipo)), tipo.getName());
+        }
+    }
+
+    private static boolean habilitadoPorPadrao(EventType tipo) {
+        return tipo.getSettingDescriptors().stream()
+            .anyMatch(configuracao -> "enabled".equals(configuracao.getName())
+                && "true".equals(configuracao.getDefaultValue()));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar etapas sem evento próprio")
+    void iniciar_ComEtapaAssincrona_DeveLancarExcecao() {
+        assertThrows(IllegalArgumentException.class, () -> PipelineEvent.iniciar(PipelineStage.ENTREGA));
+    }
+
+    @Test
+    @DisplayName("Deve devolver o evento compartilhado, sem alocar, quando não há gravação ativa")
+    void iniciar_SemGravacao_NaoDeveAlocar() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported(), "JVM sem medição de alocação por thread");
+        threads.setThreadAllocatedMemoryEnabled(true);
+        assertSame(PipelineEvent.iniciar(PipelineStage.ADAPTACAO), PipelineEvent.iniciar(PipelineStage.SERIALIZACAO));
+
+        long thread = Thread.currentThread().getId();
+        long antes = threads.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < 100_000; i++) {
+            PipelineEvent.iniciar(PipelineStage.ADAPTACAO).concluir("id", "AWS", i, true);
+        }
+        long alocados = threads.getThreadAllocatedBytes(thread) - antes;
+
+        // 100 mil eventos com alocação somariam megabytes; a folga cobre apenas a própria medição
+        assertTrue(alocados < 1024, "Bytes alocados em 100 mil eventos: " + alocados);
+    }
+}
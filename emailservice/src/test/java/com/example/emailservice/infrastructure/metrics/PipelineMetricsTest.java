@@ -0,0 +1,90 @@
+package com.example.emailservice.infrastructure.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.example.emailservice.shared.enums.DeliveryStatus;
+import com.example.emailservice.shared.enums.PipelineStage;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("PipelineMetrics - Testes Unitários")
+public class PipelineMetricsTest {
+
+    private SimpleMeterRegistry registry;
+    private PipelineMetrics pipelineMetrics;
+
+    @BeforeEach
+    void setup() {
+        registry = new SimpleMeterRegistry();
+        pipelineMetrics = new PipelineMetrics(registry, new LatencyRecorder(60), "aws");
+    }
+
+    private Timer timer(String etapa, String provedor, String resultado) {
+        return registry.find(PipelineMetrics.METRICA_ETAPA)
+            .tags("etapa", etapa, "provedor", provedor, "resultado", resultado)
+            .timer();
+    }
+
+    private double envios(String provedor, String resultado) {
+        return registry.find(PipelineMetrics.METRICA_ENVIOS)
+            .tags("provedor", provedor, "resultado", resultado)
+            .counter()
+            .count();
+    }
+
+    @Test
+    @DisplayName("Deve registrar a duração da etapa com provedor e resultado")
+    void registrar_ComEtapa_DeveRegistrarTimerComTags() {
+        long inicio = pipelineMetrics.iniciar() - TimeUnit.MILLISECONDS.toNanos(5);
+
+        pipelineMetrics.registrar(PipelineStage.SERIALIZACAO, "OCI", inicio, true);
+        pipelineMetrics.registrar(PipelineStage.SERIALIZACAO, "OCI", pipelineMetrics.iniciar(), false);
+
+        Timer sucesso = timer("serializacao", "OCI", "sucesso");
+        assertNotNull(sucesso);
+        assertEquals(1, sucesso.count());
+        assertTrue(sucesso.totalTime(TimeUnit.MILLISECONDS) >= 5);
+        assertEquals(1, timer("serializacao", "OCI", "falha").count());
+    }
+
+    @Test
+    @DisplayName("Deve atribuir etapas sem provedor explícito ao provedor configurado")
+    void registrar_SemProvedor_DeveUsarProvedorPadrao() {
+        pipelineMetrics.registrar(PipelineStage.VALIDACAO, pipelineMetrics.iniciar(), true);
+
+        assertEquals(1, timer("validacao", "AWS", "sucesso").count());
+    }
+
+    @Test
+    @DisplayName("Deve contar envios por provedor e resultado")
+    void registrarEnvio_DeveContarPorResultado() {
+        pipelineMetrics.registrarEnvio("SMTP", DeliveryStatus.ENTREGUE);
+        pipelineMetrics.registrarEnvio("SMTP", DeliveryStatus.ENTREGUE);
+        pipelineMetrics.registrarEnvio("SMTP", DeliveryStatus.NAO_ENVIADO);
+        pipelineMetrics.registrarFalhaEnvio("SMTP");
+
+        assertEquals(2, envios("SMTP", "entregue"));
+        assertEquals(1, envios("SMTP", "nao_enviado"));
+        assertEquals(1, envios("SMTP", "falha"));
+    }
+
+    @Test
+    @DisplayName("Deve contar cada medição feita em laço")
+    void registrar_EmLaco_DeveContarCadaMedicao() {
+        int iteracoes = 100_000;
+        for (int i = 0; i < iteracoes; i++) {
+            pipelineMetrics.registrar(PipelineStage.ADAPTACAO, "AWS", pipelineMetrics.iniciar(), true);
+        }
+
+        assertEquals(iteracoes, timer("adaptacao", "AWS", "sucesso").count());
+    }
+}
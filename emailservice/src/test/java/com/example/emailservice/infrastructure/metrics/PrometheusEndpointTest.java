@@ -0,0 +1,45 @@
+package com.example.emailservice.infrastructure.metrics;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+@DisplayName("Endpoint Prometheus - Testes de Integração")
+public class PrometheusEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("Deve expor as métricas das etapas e dos envios no formato Prometheus")
+    void prometheus_AposEnvio_DeveExporMetricasDoPipeline() throws Exception {
+        mockMvc.perform(post("/api/email/enviar")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("""
+                                {"recipientEmail":"destinatario@email.com","recipientName":"João Silva",
+                                 "senderEmail":"remetente@email.com","subject":"Assunto","content":"Conteúdo"}
+                                """))
+               .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+               .andExpect(status().isOk())
+               .andExpect(content().string(containsString(
+                   "email_pipeline_etapa_seconds_count{etapa=\"serializacao\",provedor=\"AWS\",resultado=\"sucesso\"}")))
+               .andExpect(content().string(containsString(
+                   "email_envios_total{provedor=\"AWS\",resultado=\"nao_enviado\"}")));
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.emailservice.infrastructure.tracing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.example.emailservice.infrastructure.util.JsonSerializer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+
+@DisplayName("FileSpanExporter - Testes Unitários")
+public class FileSpanExporterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TempDir
+    Path diretorio;
+
+    @Test
+    @DisplayName("Deve gravar um JSON por span com a hierarquia e os atributos")
+    void export_ComSpans_DeveGravarNdjson() throws Exception {
+        Path arquivo = diretorio.resolve("rastros/spans.ndjson");
+        FileSpanExporter exportador = new FileSpanExporter(arquivo, new JsonSerializer(objectMapper));
+
+        try (SdkTracerProvider tracerProvider = SdkTracerProvider.builder()
+                .addSpanProcessor(SimpleSpanProcessor.create(exportador))
+                .build()) {
+            PipelineTracing pipelineTracing = new PipelineTracing(tracerProvider.get(PipelineTracing.ESCOPO));
+            Span raiz = pipelineTracing.iniciar("raiz", "id-1", "AWS");
+            try (Scope escopo = raiz.makeCurrent()) {
+                Span filho = pipelineTracing.iniciar("filho");
+                PipelineTracing.registrarFalha(filho, new IllegalStateException("falha"));
+                filho.end();
+            }
+            raiz.end();
+        }
+
+        List<String> linhas = Files.readAllLines(arquivo);
+        assertEquals(2, linhas.size());
+        JsonNode filho = objectMapper.readTree(linhas.get(0));
+        JsonNode raiz = objectMapper.readTree(linhas.get(1));
+
+        assertEquals("filho", filho.get("nome").asText());
+        assertEquals("ERROR", filho.get("status").asText());
+        assertEquals(raiz.get("traceId").asText(), filho.get("traceId").asText());
+        assertEquals(raiz.get("spanId").asText(), filho.get("parentSpanId").asText());
+        assertTrue(raiz.get("parentSpanId").isNull());
+        assertEquals("id-1", raiz.get("atributos").get("email.message_id").asText());
+        assertEquals("AWS", raiz.get("atributos").get("email.provedor").asText());
+        assertTrue(raiz.get("amostradoNaCabeca").asBoolean());
+    }
+
+    @Test
+    @DisplayName("Deve falhar a exportação após o encerramento")
+    void export_AposShutdown_DeveFalhar() throws Exception {
+        FileSpanExporter exportador = new FileSpanExporter(diretorio.resolve("spans.ndjson"),
+            new JsonSerializer(objectMapper));
+        exportador.shutdown();
+
+        assertFalse(exportador.export(List.of()).isSuccess());
+    }
+
+    @Test
+    @DisplayName("Deve fechar o arquivo no stop e continuar gravando no mesmo arquivo após o start")
+    void stopEStart_DeveReabrirOArquivoEmModoAppend() throws Exception {
+        Path arquivo = diretorio.resolve("spans.ndjson");
+        FileSpanExporter exportador = new FileSpanExporter(arquivo, new JsonSerializer(objectMapper));
+
+        try (SdkTracerProvider tracerProvider = SdkTracerProvider.builder()
+                .addSpanProcessor(SimpleSpanProcessor.create(exportador))
+                .build()) {
+            Tracer tracer = tracerProvider.get(PipelineTracing.ESCOPO);
+            tracer.spanBuilder("antes").startSpan().end();
+
+            exportador.stop();
+            assertFalse(exportador.isRunning());
+            tracer.spanBuilder("durante").startSpan().end();
+
+            exportador.start();
+            assertTrue(exportador.isRunning());
+            tracer.spanBuilder("depois").startSpan().end();
+        }
+
+        List<String> linhas = Files.readAllLines(arquivo);
+        assertEquals(2, linhas.size());
+        assertEquals("antes", objectMapper.readTree(linhas.get(0)).get("nome").asText());
+        assertEquals("depois", objectMapper.readTree(linhas.get(1)).get("nome").asText());
+    }
+}
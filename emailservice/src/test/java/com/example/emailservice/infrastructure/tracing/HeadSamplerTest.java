@@ -0,0 +1,67 @@
+package com.example.emailservice.infrastructure.tracing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceState;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import io.opentelemetry.sdk.trace.samplers.SamplingDecision;
+
+@DisplayName("HeadSampler - Testes Unitários")
+public class HeadSamplerTest {
+
+    private static final String TRACE_ID = "0af7651916cd43dd8448eb211c80319c";
+
+    private SamplingDecision decidir(Sampler sampler, Context contextoPai) {
+        return sampler.shouldSample(contextoPai, TRACE_ID, "span", SpanKind.INTERNAL, Attributes.empty(), List.of())
+            .getDecision();
+    }
+
+    private Context pai(TraceFlags flags, boolean remoto) {
+        SpanContext contexto = remoto
+            ? SpanContext.createFromRemoteParent(TRACE_ID, "b7ad6b7169203331", flags, TraceState.getDefault())
+            : SpanContext.create(TRACE_ID, "b7ad6b7169203331", flags, TraceState.getDefault());
+        return Context.root().with(Span.wrap(contexto));
+    }
+
+    @Test
+    @DisplayName("Deve amostrar a raiz com probabilidade 1")
+    void shouldSample_ComProbabilidadeTotal_DeveAmostrar() {
+        assertEquals(SamplingDecision.RECORD_AND_SAMPLE, decidir(HeadSampler.criar(1), Context.root()));
+    }
+
+    @Test
+    @DisplayName("Deve manter como RECORD_ONLY a raiz não amostrada")
+    void shouldSample_ComProbabilidadeZero_DeveApenasGravar() {
+        assertEquals(SamplingDecision.RECORD_ONLY, decidir(HeadSampler.criar(0), Context.root()));
+    }
+
+    @Test
+    @DisplayName("Deve seguir a decisão do pai local ou remoto")
+    void shouldSample_ComPai_DeveSeguirDecisaoDoPai() {
+        Sampler sampler = HeadSampler.criar(0.5);
+
+        assertEquals(SamplingDecision.RECORD_AND_SAMPLE, decidir(sampler, pai(TraceFlags.getSampled(), true)));
+        assertEquals(SamplingDecision.RECORD_AND_SAMPLE, decidir(sampler, pai(TraceFlags.getSampled(), false)));
+        assertEquals(SamplingDecision.RECORD_ONLY, decidir(sampler, pai(TraceFlags.getDefault(), true)));
+        assertEquals(SamplingDecision.RECORD_ONLY, decidir(sampler, pai(TraceFlags.getDefault(), false)));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar probabilidade fora de [0, 1]")
+    void criar_ComProbabilidadeInvalida_DeveLancarExcecao() {
+        assertThrows(IllegalArgumentException.class, () -> HeadSampler.criar(1.5));
+        assertThrows(IllegalArgumentException.class, () -> HeadSampler.criar(-0.1));
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.emailservice.infrastructure.tracing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.data.SpanData;
+
+/**
+ * Nenhum rastro é amostrado na cabeça e o limite de latência da cauda é zero: todos os rastros chegam ao
+ * exportador em memória pela amostragem na cauda, de forma síncrona, no fim do span HTTP
+ */
+@SpringBootTest(properties = {
+    "management.tracing.sampling.probability=0",
+    "mail.tracing.cauda.latencia-ms=0"
+})
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@DisplayName("Tracing do pipeline - Testes de Integração")
+public class PipelineTracingTest {
+
+    @TestConfiguration
+    static class ExportadorEmMemoria {
+
+        @Bean
+        InMemorySpanExporter inMemorySpanExporter() {
+            return InMemorySpanExporter.create();
+        }
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private InMemorySpanExporter exportador;
+
+    @BeforeEach
+    void setup() {
+        exportador.reset();
+    }
+
+    private void enviarEmail(String destinatario, int statusEsperado) throws Exception {
+        mockMvc.perform(post("/api/email/enviar")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("""
+                                {"recipientEmail":"%s","recipientName":"João Silva",
+                                 "senderEmail":"remetente@email.com","subject":"Assunto","content":"Conteúdo"}
+                                """.formatted(destinatario)))
+               .andExpect(status().is(statusEsperado));
+    }
+
+    private Map<String, SpanData> porNome(List<SpanData> spans) {
+        return spans.stream().collect(Collectors.toMap(SpanData::getName, Function.identity(), (a, b) -> a));
+    }
+
+    private void assertFilho(SpanData pai, SpanData filho) {
+        assertEquals(pai.getSpanId(), filho.getParentSpanId(), filho.getName() + " deveria ser filho de " + pai.getName());
+    }
+
+    @Test
+    @DisplayName("Deve encadear os spans do controller até a entrega em um único rastro")
+    void enviarEmail_ComSucesso_DeveGerarHierarquiaDeSpans() throws Exception {
+        enviarEmail("destinatario@email.com", 204);
+
+        List<SpanData> spans = exportador.getFinishedSpanItems();
+        Map<String, SpanData> nomes = porNome(spans);
+        assertEquals(1, spans.stream().map(SpanData::getTraceId).distinct().count());
+
+        SpanData controller = nomes.get("EmailController.enviarEmail");
+        SpanData processamento = nomes.get("EmailProcessingService.processarEmail");
+        SpanData integracao = nomes.get("EmailIntegrationService.enviarEmail");
+        SpanData http = spans.stream().filter(span -> span.getSpanId().equals(controller.getParentSpanId()))
+            .findFirst().orElseThrow();
+
+        assertFalse(http.getParentSpanContext().isValid());
+        assertFilho(controller, processamento);
+        assertFilho(processamento, integracao);
+        for (String etapa : List.of("email.adaptacao", "email.serializacao", "email.impressao", "email.entrega")) {
+            assertFilho(integracao, nomes.get(etapa));
+            assertEquals("AWS", nomes.get(etapa).getAttributes().get(PipelineTracing.PROVEDOR));
+        }
+        assertEquals(controller.getAttributes().get(PipelineTracing.MESSAGE_ID),
+            integracao.getAttributes().get(PipelineTracing.MESSAGE_ID));
+        assertTrue(spans.stream().noneMatch(span -> span.getSpanContext().isSampled()));
+    }
+
+    @Test
+    @DisplayName("Deve marcar com erro o span do controller quando a requisição é inválida")
+    void enviarEmail_ComRequisicaoInvalida_DeveRegistrarFalha() throws Exception {
+        enviarEmail("invalido", 400);
+
+        SpanData controller = porNome(exportador.getFinishedSpanItems()).get("EmailController.enviarEmail");
+
+        assertEquals(StatusCode.ERROR, controller.getStatus().getStatusCode());
+        assertFalse(controller.getEvents().isEmpty());
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.emailservice.infrastructure.tracing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+
+@DisplayName("TailSamplingSpanProcessor - Testes Unitários")
+public class TailSamplingSpanProcessorTest {
+
+    private final InMemorySpanExporter exportador = InMemorySpanExporter.create();
+    private TailSamplingSpanProcessor processor;
+    private SdkTracerProvider tracerProvider;
+
+    private Tracer criarTracer(double probabilidade, int maxRastros) {
+        processor = new TailSamplingSpanProcessor(() -> exportador, 100, maxRastros, 60_000);
+        tracerProvider = SdkTracerProvider.builder()
+            .setSampler(HeadSampler.criar(probabilidade))
+            .addSpanProcessor(processor)
+            .build();
+        return tracerProvider.get(PipelineTracing.ESCOPO);
+    }
+
+    @AfterEach
+    void encerrar() {
+        tracerProvider.close();
+    }
+
+    /**
+     * Rastro com uma raiz e um filho; a raiz dura duracaoMs e o filho falha se indicado
+     */
+    private Span rastro(Tracer tracer, long duracaoMs, boolean filhoFalha) {
+        long inicio = TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis());
+        Span raiz = tracer.spanBuilder("raiz").setStartTimestamp(inicio, TimeUnit.NANOSECONDS).startSpan();
+        try (Scope escopo = raiz.makeCurrent()) {
+            Span filho = tracer.spanBuilder("filho").startSpan();
+            if (filhoFalha) {
+                PipelineTracing.registrarFalha(filho, new IllegalStateException("falha"));
+            }
+            filho.end();
+        }
+        raiz.end(inicio + TimeUnit.MILLISECONDS.toNanos(duracaoMs), TimeUnit.NANOSECONDS);
+        return raiz;
+    }
+
+    @Test
+    @DisplayName("Deve descartar rastros rápidos e sem falhas")
+    void onEnd_RastroRapidoSemFalha_DeveDescartar() {
+        Tracer tracer = criarTracer(0, 100);
+
+        rastro(tracer, 1, false);
+
+        assertTrue(exportador.getFinishedSpanItems().isEmpty());
+        assertEquals(1, processor.getDescartados());
+        assertEquals(0, processor.getPendentes());
+    }
+
+    @Test
+    @DisplayName("Deve exportar o rastro inteiro quando algum span falha")
+    void onEnd_RastroComFalha_DeveExportarTodosOsSpans() {
+        Tracer tracer = criarTracer(0, 100);
+
+        Span raiz = rastro(tracer, 1, true);
+
+        List<SpanData> spans = exportador.getFinishedSpanItems();
+        assertEquals(List.of("filho", "raiz"), spans.stream().map(SpanData::getName).toList());
+        assertTrue(spans.stream().allMatch(span -> span.getTraceId().equals(raiz.getSpanContext().getTraceId())));
+        assertFalse(spans.get(0).getSpanContext().isSampled());
+        assertEquals(1, processor.getExportados());
+    }
+
+    @Test
+    @DisplayName("Deve exportar o rastro quando a raiz dura pelo menos o limite")
+    void onEnd_RastroLento_DeveExportar() {
+        Tracer tracer = criarTracer(0, 100);
+
+        rastro(tracer, 100, false);
+
+        assertEquals(2, exportador.getFinishedSpanItems().size());
+        assertEquals(1, processor.getExportados());
+    }
+
+    @Test
+    @DisplayName("Deve ignorar rastros já amostrados na cabeça")
+    void onEnd_RastroAmostradoNaCabeca_DeveIgnorar() {
+        Tracer tracer = criarTracer(1, 100);
+
+        rastro(tracer, 100, true);
+
+        assertTrue(exportador.getFinishedSpanItems().isEmpty());
+        assertEquals(0, processor.getExportados());
+        assertEquals(0, processor.getDescartados());
+    }
+
+    @Test
+    @DisplayName("Não deve guardar mais rastros pendentes que o limite")
+    void onEnd_AcimaDoLimiteDeRastros_NaoDeveGuardar() {
+        Tracer tracer = criarTracer(0, 2);
+        Span[] raizes = new Span[3];
+        for (int i = 0; i < raizes.length; i++) {
+            raizes[i] = tracer.spanBuilder("raiz").startSpan();
+            try (Scope escopo = raizes[i].makeCurrent()) {
+                tracer.spanBuilder("filho").startSpan().end();
+            }
+        }
+
+        assertEquals(2, processor.getPendentes());
+
+        for (Span raiz : raizes) {
+            raiz.setStatus(StatusCode.ERROR);
+            raiz.end();
+        }
+
+        assertEquals(0, processor.getPendentes());
+        assertEquals(5, exportador.getFinishedSpanItems().size());
+    }
+}
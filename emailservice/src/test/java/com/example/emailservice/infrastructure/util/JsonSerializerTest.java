@@ -1,5 +1,7 @@
 package com.example.emailservice.infrastructure.util;
 
+import java.util.Arrays;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -9,9 +11,11 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import com.example.emailservice.integration.exception.EmailIntegrationException;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.json.JsonWriteFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectWriter;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -92,4 +96,41 @@ public class JsonSerializerTest {
         
         assertTrue(exception.getMessage().contains("Erro na serialização JSON compacto"));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Deve serializar objeto em bytes JSON compactos")
+    void serializeToBytes_DeveRetornarBytesDoJsonCompacto() throws Exception {
+        Object obj = new Object();
+        byte[] expected = "{\"key\":\"value\"}".getBytes();
+
+        when(objectMapper.writeValueAsBytes(obj)).thenReturn(expected);
+
+        assertArrayEquals(expected, jsonSerializer.serializeToBytes(obj));
+        verify(objectMapper).writeValueAsBytes(obj);
+    }
+
+    @Test
+    @DisplayName("Deve lançar EmailIntegrationException ao falhar na serialização em bytes")
+    void serializeToBytes_QuandoJsonProcessingException_DeveLancarEmailIntegrationException() throws Exception {
+        Object obj = new Object();
+        when(objectMapper.writeValueAsBytes(obj)).thenThrow(new JsonProcessingException("Erro!") {});
+
+        EmailIntegrationException exception = assertThrows(EmailIntegrationException.class,
+            () -> jsonSerializer.serializeToBytes(obj));
+
+        assertTrue(exception.getMessage().contains("Erro na serialização JSON em bytes"));
+    }
+
+    @Test
+    @DisplayName("Deve serializar textos com os mesmos bytes do ObjectMapper, inclusive escapes")
+    void serializeTextToBytes_DeveIgualarObjectMapper() throws Exception {
+        ObjectMapper padrao = new ObjectMapper();
+        ObjectMapper ascii = new ObjectMapper();
+        ascii.getFactory().enable(JsonWriteFeature.ESCAPE_NON_ASCII.mappedFeature());
+
+        for (String texto : Arrays.asList("Ana", "João \"J\" \\ Silva\n\t\u0001", "emoji \uD83D\uDCE7", "", null)) {
+            assertArrayEquals(padrao.writeValueAsBytes(texto), new JsonSerializer(padrao).serializeTextToBytes(texto));
+            assertArrayEquals(ascii.writeValueAsBytes(texto), new JsonSerializer(ascii).serializeTextToBytes(texto));
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.emailservice.infrastructure.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("JsonTemplate - Testes Unitários")
+public class JsonTemplateTest {
+
+    private static byte[] bytes(String texto) {
+        return texto.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String concatenar(List<byte[]> partes) {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        partes.forEach(saida::writeBytes);
+        return saida.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    @DisplayName("Deve trocar cada marcador pelo valor na posição correspondente, em qualquer ordem no JSON")
+    void preencher_ComValores_DeveMontarJson() {
+        JsonTemplate template = JsonTemplate.compilar(bytes("{\"nome\":\"N1\",\"conteudo\":\"longo\",\"email\":\"E1\"}"),
+            List.of(bytes("\"E1\""), bytes("\"N1\"")));
+
+        List<byte[]> partes = template.preencher(List.of(bytes("\"ana@email.com\""), bytes("\"Ana\"")));
+
+        assertEquals("{\"nome\":\"Ana\",\"conteudo\":\"longo\",\"email\":\"ana@email.com\"}", concatenar(partes));
+    }
+
+    @Test
+    @DisplayName("Deve reaproveitar as mesmas partes fixas em todos os preenchimentos")
+    void preencher_VariasVezes_DeveCompartilharPartesFixas() {
+        JsonTemplate template = JsonTemplate.compilar(bytes("{\"a\":\"X\",\"b\":1}"), List.of(bytes("\"X\"")));
+
+        List<byte[]> primeira = template.preencher(List.of(bytes("\"1\"")));
+        List<byte[]> segunda = template.preencher(List.of(bytes("null")));
+
+        assertEquals("{\"a\":null,\"b\":1}", concatenar(segunda));
+        assertSame(primeira.get(0), segunda.get(0));
+        assertSame(primeira.get(2), segunda.get(2));
+    }
+
+    @Test
+    @DisplayName("Deve recusar marcadores ausentes, repetidos ou sobrepostos")
+    void compilar_ComMarcadorInvalido_DeveRetornarNulo() {
+        byte[] json = bytes("{\"a\":\"XY\",\"b\":\"Z\",\"c\":\"Z\"}");
+
+        assertNull(JsonTemplate.compilar(json, List.of(bytes("\"W\""))));
+        assertNull(JsonTemplate.compilar(json, List.of(bytes("\"Z\""))));
+        assertNull(JsonTemplate.compilar(json, List.of(bytes("\"XY\""), bytes("XY"))));
+    }
+
+    @Test
+    @DisplayName("Deve lançar IllegalArgumentException quando a quantidade de valores não corresponde aos marcadores")
+    void preencher_ComQuantidadeErrada_DeveLancarExcecao() {
+        JsonTemplate template = JsonTemplate.compilar(bytes("{\"a\":\"X\"}"), List.of(bytes("\"X\"")));
+
+        assertThrows(IllegalArgumentException.class, () -> template.preencher(List.of()));
+    }
+}
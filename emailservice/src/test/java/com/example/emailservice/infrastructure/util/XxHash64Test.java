@@ -0,0 +1,79 @@
+package com.example.emailservice.infrastructure.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+@DisplayName("XxHash64 - Testes Unitários")
+public class XxHash64Test {
+
+    @TempDir
+    Path diretorio;
+
+    private byte[] gerarDados(int tamanho) {
+        byte[] dados = new byte[tamanho];
+        for (int i = 0; i < tamanho; i++) {
+            dados[i] = (byte) (i * 131 + 7);
+        }
+        return dados;
+    }
+
+    @Test
+    @DisplayName("Deve produzir os valores de referência do XXH64")
+    void hash_ComValoresDeReferencia_DeveCoincidir() {
+        assertEquals(0xEF46DB3751D8E999L, XxHash64.hash(new byte[0]));
+        assertEquals(0x44BC2CF5AD770999L, XxHash64.hash("abc".getBytes(StandardCharsets.US_ASCII)));
+        assertEquals(0xFBCEA83C8A378BF1L,
+            XxHash64.hash("Nobody inspects the spammish repetition".getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    @Test
+    @DisplayName("Deve produzir o mesmo valor com os dados fornecidos em partes de qualquer tamanho")
+    void atualizar_EmPartes_DeveProduzirMesmoValor() {
+        byte[] dados = gerarDados(10_007);
+        long esperado = XxHash64.hash(dados);
+
+        for (int parte : new int[] { 1, 7, 31, 32, 33, 4096 }) {
+            XxHash64 hash = new XxHash64();
+            for (int i = 0; i < dados.length; i += parte) {
+                hash.atualizar(dados, i, Math.min(parte, dados.length - i));
+            }
+            assertEquals(esperado, hash.valor(), "Partes de " + parte + " bytes");
+        }
+    }
+
+    @Test
+    @DisplayName("Deve calcular o hash do texto igual ao dos seus bytes em UTF-8, inclusive acentos e emojis")
+    void hashUtf8_ComTextoLongo_DeveCoincidirComBytes() {
+        String texto = "Conteúdo com acentuação, emoji \uD83D\uDCE7 e surrogate solto \uD800 ".repeat(200);
+
+        assertEquals(XxHash64.hash(texto.getBytes(StandardCharsets.UTF_8)), XxHash64.hashUtf8(texto));
+        assertEquals(XxHash64.hash(new byte[0]), XxHash64.hashUtf8(""));
+    }
+
+    @Test
+    @DisplayName("Deve calcular o hash do arquivo igual ao do conteúdo em memória")
+    void hash_ComArquivo_DeveCoincidirComConteudo() throws Exception {
+        byte[] dados = gerarDados(200_000);
+        Path arquivo = Files.write(diretorio.resolve("dados.bin"), dados);
+
+        assertEquals(XxHash64.hash(dados), XxHash64.hash(arquivo));
+    }
+
+    @Test
+    @DisplayName("Deve mudar o hash quando um único byte muda")
+    void hash_ComByteAlterado_DeveMudar() {
+        byte[] dados = gerarDados(1000);
+        long original = XxHash64.hash(dados);
+        dados[500] ^= 1;
+
+        assertNotEquals(original, XxHash64.hash(dados));
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.emailservice.infrastructure.warmup;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+
+@DisplayName("JitWarmupHealthIndicator - Testes Unitários")
+public class JitWarmupHealthIndicatorTest {
+
+    private final JitWarmup jitWarmup = mock(JitWarmup.class);
+    private final JitWarmupHealthIndicator healthIndicator = new JitWarmupHealthIndicator(jitWarmup);
+
+    @Test
+    @DisplayName("Deve ficar fora de serviço enquanto o aquecimento não termina")
+    void health_DuranteAquecimento_DeveRetornarOutOfService() {
+        when(jitWarmup.getLotes()).thenReturn(4);
+
+        Health health = healthIndicator.health();
+
+        assertEquals(Status.OUT_OF_SERVICE, health.getStatus());
+        assertEquals(4, health.getDetails().get("lotes"));
+    }
+
+    @Test
+    @DisplayName("Deve ficar UP com os lotes e a duração após o aquecimento")
+    void health_AposAquecimento_DeveRetornarUp() {
+        when(jitWarmup.isConcluido()).thenReturn(true);
+        when(jitWarmup.getLotes()).thenReturn(12);
+        when(jitWarmup.getDuracaoMs()).thenReturn(850L);
+
+        Health health = healthIndicator.health();
+
+        assertEquals(Status.UP, health.getStatus());
+        assertEquals(12, health.getDetails().get("lotes"));
+        assertEquals(850L, health.getDetails().get("duracaoMs"));
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.emailservice.infrastructure.warmup;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.example.emailservice.business.domain.model.Email;
+import com.example.emailservice.business.domain.service.EmailDomainService;
+import com.example.emailservice.infrastructure.util.JsonSerializer;
+import com.example.emailservice.integration.adapter.IEmailProviderAdapter;
+import com.example.emailservice.integration.adapter.impl.AwsEmailAdapter;
+import com.example.emailservice.integration.adapter.impl.OciEmailAdapter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@DisplayName("JitWarmup - Testes Unitários")
+public class JitWarmupTest {
+
+    private IEmailProviderAdapter<Object> adapter;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setup() {
+        adapter = mock(IEmailProviderAdapter.class);
+        when(adapter.adaptEmail(any(Email.class))).thenReturn(Map.of("provedor", "TESTE"));
+    }
+
+    private JitWarmup criar(boolean habilitado, int lote, int lotesMinimos, long limiarMs, long maxSegundos) {
+        ObjectMapper objectMapper = new ObjectMapper();
+        return new JitWarmup(objectMapper, new EmailDomainService(),
+            List.of(new AwsEmailAdapter(null, ""), new OciEmailAdapter(null, ""), adapter),
+            new JsonSerializer(objectMapper), habilitado, lote, lotesMinimos, limiarMs, maxSegundos);
+    }
+
+    @Test
+    @DisplayName("Deve passar os emails sintéticos por todos os adapters até a compilação estabilizar")
+    void aquecer_ComCompilacaoEstavel_DeveConcluirAposLotesEstaveis() {
+        JitWarmup jitWarmup = criar(true, 50, 2, Long.MAX_VALUE, 30);
+        assertFalse(jitWarmup.isConcluido());
+
+        jitWarmup.aquecer();
+
+        assertTrue(jitWarmup.isConcluido());
+        assertEquals(3, jitWarmup.getLotes());
+        verify(adapter, times(150)).adaptEmail(any(Email.class));
+    }
+
+    @Test
+    @DisplayName("Deve concluir ao atingir o tempo máximo, mesmo sem a compilação estabilizar")
+    void aquecer_ComTempoMaximoEsgotado_DeveConcluir() {
+        JitWarmup jitWarmup = criar(true, 50, 2, 0, 0);
+
+        jitWarmup.aquecer();
+
+        assertTrue(jitWarmup.isConcluido());
+        assertEquals(0, jitWarmup.getLotes());
+    }
+
+    @Test
+    @DisplayName("Deve concluir sem travar a prontidão quando um envio sintético falha")
+    void aquecer_ComFalhaNoAdapter_DeveConcluir() {
+        when(adapter.adaptEmail(any(Email.class))).thenThrow(new IllegalStateException("falha"));
+        JitWarmup jitWarmup = criar(true, 50, 2, Long.MAX_VALUE, 30);
+
+        jitWarmup.aquecer();
+
+        assertTrue(jitWarmup.isConcluido());
+        assertEquals(0, jitWarmup.getLotes());
+    }
+
+    @Test
+    @DisplayName("Deve exercitar a quantidade pedida de envios mesmo com o aquecimento da partida desabilitado")
+    void exercitarEnvios_Desabilitado_DeveExercitarQuantidadePedida() throws Exception {
+        JitWarmup jitWarmup = criar(false, 50, 2, Long.MAX_VALUE, 30);
+
+        int exercitados = jitWarmup.exercitarEnvios(7);
+
+        assertEquals(7, exercitados);
+        verify(adapter, times(7)).adaptEmail(any(Email.class));
+    }
+
+    @Test
+    @DisplayName("Deve estar concluído desde a criação quando desabilitado")
+    void aoIniciar_Desabilitado_NaoDeveAquecer() {
+        JitWarmup jitWarmup = criar(false, 50, 2, Long.MAX_VALUE, 30);
+
+        jitWarmup.aoIniciar();
+
+        assertTrue(jitWarmup.isConcluido());
+        verify(adapter, never()).adaptEmail(any(Email.class));
+    }
+}
@@ -2,30 +2,49 @@ package com.example.emailservice.integration.adapter.impl;
 
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import com.example.emailservice.business.domain.model.Email;
+import com.example.emailservice.infrastructure.util.JsonSerializer;
 import com.example.emailservice.integration.adapter.IEmailProviderAdapter;
 import com.example.emailservice.integration.dto.EmailAwsDTO;
+import com.example.emailservice.integration.dto.EmailDeliveryResult;
+import com.example.emailservice.integration.exception.EmailIntegrationException;
+import com.example.emailservice.integration.http.ProviderHttpClient;
 import com.example.emailservice.shared.constants.EmailConstants;
+import com.example.emailservice.shared.enums.DeliveryStatus;
 import com.example.emailservice.shared.enums.IntegrationType;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 @DisplayName("AwsEmailAdapter - Teste Unitários")
 public class AwsEmailAdapterTest {
     
+    private ProviderHttpClient httpClient;
     private AwsEmailAdapter awsEmailAdapter;
     private Email validEmail;
 
     @BeforeEach
     void setup() {
-        awsEmailAdapter = new AwsEmailAdapter();
+        httpClient = mock(ProviderHttpClient.class);
+        awsEmailAdapter = new AwsEmailAdapter(httpClient, "");
 
         validEmail = new Email(
             "destinatario@email.com", 
@@ -69,6 +88,17 @@ public class AwsEmailAdapterTest {
         );
     }
 
+    @Test
+    @DisplayName("Deve repassar as cópias do email e omiti-las do JSON quando não houver")
+    void adaptEmail_ComCopias_DeveRepassarCc() {
+        Email emailComCopias = new Email(null, "destinatario@email.com", "João Silva", "remetente@email.com",
+            "Assunto do Email", "Conteúdo do email de teste", List.of(), List.of("copia@email.com"));
+
+        assertEquals(List.of("copia@email.com"), awsEmailAdapter.adaptEmail(emailComCopias).getCc());
+        assertTrue(awsEmailAdapter.adaptEmail(validEmail).getCc().isEmpty());
+        assertFalse(new JsonSerializer(new ObjectMapper()).serialize(awsEmailAdapter.adaptEmail(validEmail)).contains("\"cc\""));
+    }
+
     @Test
     @DisplayName("Deve lançar IllegalArgumentException quando email é nulo")
     void adaptEmail_ComEmailNulo_DeveLancarIllegalArgumentException() {
@@ -251,4 +281,56 @@ public class AwsEmailAdapterTest {
         assertEquals(subjectOriginal, resultado.getSubject());
         assertEquals(contentOriginal, resultado.getContent());
     }
+
+    @Test
+    @DisplayName("Não deve chamar a API do provedor quando não há endpoint configurado")
+    void entregar_SemEndpoint_NaoDeveChamarProvedor() {
+        EmailDeliveryResult<EmailAwsDTO> resultado = awsEmailAdapter.entregar(awsEmailAdapter.adaptEmail(validEmail));
+
+        assertEquals(DeliveryStatus.NAO_ENVIADO, resultado.situacao());
+        verify(httpClient, never()).postarJson(any(), any(Object.class));
+    }
+
+    @Test
+    @DisplayName("Deve enviar o email adaptado ao endpoint configurado e retornar o status HTTP")
+    void entregarAsync_ComEndpoint_DeveEnviarAoProvedor() {
+        AwsEmailAdapter adapterComEndpoint = new AwsEmailAdapter(httpClient, "http://localhost:8089/emails");
+        EmailAwsDTO emailAdaptado = adapterComEndpoint.adaptEmail(validEmail);
+        when(httpClient.postarJson(URI.create("http://localhost:8089/emails"), emailAdaptado))
+            .thenReturn(CompletableFuture.completedFuture(202));
+
+        EmailDeliveryResult<EmailAwsDTO> resultado = adapterComEndpoint.entregarAsync(emailAdaptado).join();
+
+        assertTrue(resultado.isEntregue());
+        assertEquals("HTTP 202", resultado.detalhe());
+        assertEquals(emailAdaptado, resultado.emailAdaptado());
+    }
+
+    @Test
+    @DisplayName("Deve enviar os bytes já serializados pelo pipeline sem serializar de novo")
+    void entregarAsync_ComJsonSerializado_DeveEnviarBytes() {
+        AwsEmailAdapter adapterComEndpoint = new AwsEmailAdapter(httpClient, "http://localhost:8089/emails");
+        EmailAwsDTO emailAdaptado = adapterComEndpoint.adaptEmail(validEmail);
+        List<byte[]> json = List.of("{}".getBytes(StandardCharsets.UTF_8));
+        when(httpClient.postarJson(URI.create("http://localhost:8089/emails"), json))
+            .thenReturn(CompletableFuture.completedFuture(202));
+
+        EmailDeliveryResult<EmailAwsDTO> resultado = adapterComEndpoint.entregarAsync(emailAdaptado, json).join();
+
+        assertTrue(resultado.isEntregue());
+        verify(httpClient, never()).postarJson(any(), any(Object.class));
+    }
+
+    @Test
+    @DisplayName("Deve relançar a falha do provedor na entrega síncrona")
+    void entregar_ComFalhaNoProvedor_DeveLancarEmailIntegrationException() {
+        AwsEmailAdapter adapterComEndpoint = new AwsEmailAdapter(httpClient, "http://localhost:8089/emails");
+        when(httpClient.postarJson(any(), any(Object.class)))
+            .thenReturn(CompletableFuture.failedFuture(new EmailIntegrationException("Provedor respondeu HTTP 503.")));
+
+        EmailIntegrationException exception = assertThrows(EmailIntegrationException.class,
+            () -> adapterComEndpoint.entregar(adapterComEndpoint.adaptEmail(validEmail)));
+
+        assertEquals("Provedor respondeu HTTP 503.", exception.getMessage());
+    }
 }
\ No newline at end of file
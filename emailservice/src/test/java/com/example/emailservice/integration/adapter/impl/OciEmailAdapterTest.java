@@ -6,6 +6,16 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -13,19 +23,25 @@ import org.junit.jupiter.api.Test;
 
 import com.example.emailservice.business.domain.model.Email;
 import com.example.emailservice.integration.adapter.IEmailProviderAdapter;
+import com.example.emailservice.integration.dto.EmailDeliveryResult;
 import com.example.emailservice.integration.dto.EmailOciDTO;
+import com.example.emailservice.integration.exception.EmailIntegrationException;
+import com.example.emailservice.integration.http.ProviderHttpClient;
 import com.example.emailservice.shared.constants.EmailConstants;
+import com.example.emailservice.shared.enums.DeliveryStatus;
 import com.example.emailservice.shared.enums.IntegrationType;
 
 @DisplayName("OciEmailAdapter - Testes Unitários")
 public class OciEmailAdapterTest {
     
+    private ProviderHttpClient httpClient;
     private OciEmailAdapter ociEmailAdapter;
     private Email validEmail;
 
     @BeforeEach
     void setup() {
-        ociEmailAdapter = new OciEmailAdapter();
+        httpClient = mock(ProviderHttpClient.class);
+        ociEmailAdapter = new OciEmailAdapter(httpClient, "");
 
         validEmail = new Email(
             "destinatario@email.com", 
@@ -252,4 +268,56 @@ public class OciEmailAdapterTest {
         assertEquals(subjectOriginal, resultado.getSubject());
         assertEquals(contentOriginal, resultado.getBody());
     }
+
+    @Test
+    @DisplayName("Não deve chamar a API do provedor quando não há endpoint configurado")
+    void entregar_SemEndpoint_NaoDeveChamarProvedor() {
+        EmailDeliveryResult<EmailOciDTO> resultado = ociEmailAdapter.entregar(ociEmailAdapter.adaptEmail(validEmail));
+
+        assertEquals(DeliveryStatus.NAO_ENVIADO, resultado.situacao());
+        verify(httpClient, never()).postarJson(any(), any(Object.class));
+    }
+
+    @Test
+    @DisplayName("Deve enviar o email adaptado ao endpoint configurado e retornar o status HTTP")
+    void entregarAsync_ComEndpoint_DeveEnviarAoProvedor() {
+        OciEmailAdapter adapterComEndpoint = new OciEmailAdapter(httpClient, "http://localhost:8089/emails");
+        EmailOciDTO emailAdaptado = adapterComEndpoint.adaptEmail(validEmail);
+        when(httpClient.postarJson(URI.create("http://localhost:8089/emails"), emailAdaptado))
+            .thenReturn(CompletableFuture.completedFuture(202));
+
+        EmailDeliveryResult<EmailOciDTO> resultado = adapterComEndpoint.entregarAsync(emailAdaptado).join();
+
+        assertTrue(resultado.isEntregue());
+        assertEquals("HTTP 202", resultado.detalhe());
+        assertEquals(emailAdaptado, resultado.emailAdaptado());
+    }
+
+    @Test
+    @DisplayName("Deve enviar os bytes já serializados pelo pipeline sem serializar de novo")
+    void entregarAsync_ComJsonSerializado_DeveEnviarBytes() {
+        OciEmailAdapter adapterComEndpoint = new OciEmailAdapter(httpClient, "http://localhost:8089/emails");
+        EmailOciDTO emailAdaptado = adapterComEndpoint.adaptEmail(validEmail);
+        List<byte[]> json = List.of("{}".getBytes(StandardCharsets.UTF_8));
+        when(httpClient.postarJson(URI.create("http://localhost:8089/emails"), json))
+            .thenReturn(CompletableFuture.completedFuture(202));
+
+        EmailDeliveryResult<EmailOciDTO> resultado = adapterComEndpoint.entregarAsync(emailAdaptado, json).join();
+
+        assertTrue(resultado.isEntregue());
+        verify(httpClient, never()).postarJson(any(), any(Object.class));
+    }
+
+    @Test
+    @DisplayName("Deve relançar a falha do provedor na entrega síncrona")
+    void entregar_ComFalhaNoProvedor_DeveLancarEmailIntegrationException() {
+        OciEmailAdapter adapterComEndpoint = new OciEmailAdapter(httpClient, "http://localhost:8089/emails");
+        when(httpClient.postarJson(any(), any(Object.class)))
+            .thenReturn(CompletableFuture.failedFuture(new EmailIntegrationException("Provedor respondeu HTTP 503.")));
+
+        EmailIntegrationException exception = assertThrows(EmailIntegrationException.class,
+            () -> adapterComEndpoint.entregar(adapterComEndpoint.adaptEmail(validEmail)));
+
+        assertEquals("Provedor respondeu HTTP 503.", exception.getMessage());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,102 @@
+package com.example.emailservice.integration.adapter.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CompletionException;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.example.emailservice.business.domain.model.Email;
+import com.example.emailservice.integration.dto.EmailDeliveryResult;
+import com.example.emailservice.integration.dto.EmailSmtpDTO;
+import com.example.emailservice.integration.exception.EmailIntegrationException;
+import com.example.emailservice.integration.smtp.EmbeddedSmtpServer;
+import com.example.emailservice.integration.smtp.SmtpConnectionPool;
+import com.example.emailservice.shared.enums.IntegrationType;
+
+@DisplayName("SmtpEmailAdapter - Testes Unitários")
+public class SmtpEmailAdapterTest {
+
+    private EmbeddedSmtpServer servidor;
+    private SmtpConnectionPool pool;
+    private SmtpEmailAdapter smtpEmailAdapter;
+    private Email validEmail;
+
+    @BeforeEach
+    void setup() throws Exception {
+        servidor = new EmbeddedSmtpServer(true);
+        pool = new SmtpConnectionPool("localhost", servidor.getPort(), 2, 5000, 30000, 100, "teste.local");
+        smtpEmailAdapter = new SmtpEmailAdapter(pool);
+
+        validEmail = new Email(
+            "destinatario@email.com",
+            "João Silva",
+            "remetente@email.com",
+            "Assunto do Email",
+            "Conteúdo do email de teste");
+    }
+
+    @AfterEach
+    void encerrar() throws Exception {
+        pool.fechar();
+        servidor.close();
+    }
+
+    @Test
+    @DisplayName("Deve adaptar email corretamente para EmailSmtpDTO")
+    void adaptEmail_ComEmailValido_DeveAdaptarCorretamente() {
+        EmailSmtpDTO resultado = smtpEmailAdapter.adaptEmail(validEmail);
+
+        assertNotNull(resultado);
+        assertEquals("remetente@email.com", resultado.getMailFrom());
+        assertEquals("destinatario@email.com", resultado.getRcptTo());
+        assertEquals("João Silva", resultado.getRecipientName());
+        assertEquals("Assunto do Email", resultado.getSubject());
+        assertEquals("Conteúdo do email de teste", resultado.getContent());
+    }
+
+    @Test
+    @DisplayName("Deve lançar IllegalArgumentException quando email é nulo")
+    void adaptEmail_ComEmailNulo_DeveLancarExcecao() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+            () -> smtpEmailAdapter.adaptEmail(null));
+
+        assertEquals("Email de domínio não pode ser nulo.", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Deve entregar o email adaptado ao servidor SMTP e retornar o Message-ID")
+    void entregar_ComEmailAdaptado_DeveEntregarNoServidor() {
+        EmailDeliveryResult<EmailSmtpDTO> resultado = smtpEmailAdapter.entregar(smtpEmailAdapter.adaptEmail(validEmail));
+
+        assertTrue(resultado.isEntregue());
+        assertTrue(servidor.getMensagens().get(0).dados().contains("Message-ID: <" + resultado.detalhe() + ">"));
+        assertEquals(1, servidor.getMensagens().size());
+        assertEquals("remetente@email.com", servidor.getMensagens().get(0).mailFrom());
+        assertEquals("destinatario@email.com", servidor.getMensagens().get(0).rcptTo());
+    }
+
+    @Test
+    @DisplayName("Deve completar a entrega assíncrona com EmailIntegrationException para destinatário rejeitado")
+    void entregarAsync_ComDestinatarioRejeitado_DeveCompletarComExcecao() {
+        EmailSmtpDTO emailRejeitado = new EmailSmtpDTO("remetente@email.com", "rejeitado@email.com",
+            "João Silva", "Assunto do Email", "Conteúdo do email de teste");
+
+        CompletionException exception = assertThrows(CompletionException.class,
+            () -> smtpEmailAdapter.entregarAsync(emailRejeitado).join());
+
+        assertTrue(exception.getCause() instanceof EmailIntegrationException);
+    }
+
+    @Test
+    @DisplayName("Deve retornar o tipo de provedor SMTP")
+    void getProviderType_DeveRetornarSmtp() {
+        assertEquals(IntegrationType.SMTP.name(), smtpEmailAdapter.getProviderType());
+    }
+}
@@ -34,7 +34,7 @@ public class EmailAdapterFactoryTest {
     private IEmailProviderAdapter ociAdapter;
 
     private EmailAdapterFactory emailAdapterFactory;
-    private List<IEmailProviderAdapter> adapterList;
+    private List<IEmailProviderAdapter<?>> adapterList;
 
     @BeforeEach
     void setup() {
@@ -155,7 +155,7 @@ public class EmailAdapterFactoryTest {
     @Test
     @DisplayName("Deve criar factory vazia quando lista de adapters estiver vazia")
     void criarFactory_ComListaAdaptersVazia_DeveCriarFactoryVazia() {
-        List<IEmailProviderAdapter> emptyList = Arrays.asList();
+        List<IEmailProviderAdapter<?>> emptyList = Arrays.asList();
 
         EmailAdapterFactory factory = new EmailAdapterFactory(emptyList);
 
@@ -166,7 +166,7 @@ public class EmailAdapterFactoryTest {
     @Test
     @DisplayName("Deve lançar exceção quando tentar criar adapter com factory vazia")
     void retornaAdapter_ComFactoryVazia_DeveLancarExcecao() {
-        List<IEmailProviderAdapter> emptyList = Arrays.asList();
+        List<IEmailProviderAdapter<?>> emptyList = Arrays.asList();
         EmailAdapterFactory emptyFactory = new EmailAdapterFactory(emptyList);
 
         EmailIntegrationException exception = assertThrows(
@@ -182,7 +182,7 @@ public class EmailAdapterFactoryTest {
         IEmailProviderAdapter awsAdapterDuplicado = mock(IEmailProviderAdapter.class);
         when(awsAdapterDuplicado.getProviderType()).thenReturn("AWS");
 
-        List<IEmailProviderAdapter> listaDuplicada = Arrays.asList(
+        List<IEmailProviderAdapter<?>> listaDuplicada = Arrays.asList(
             awsAdapter,
             ociAdapter,
             awsAdapterDuplicado
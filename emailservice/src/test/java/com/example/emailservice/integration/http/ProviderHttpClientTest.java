@@ -0,0 +1,196 @@
+package com.example.emailservice.integration.http;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.ServerSocket;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.example.emailservice.infrastructure.util.JsonSerializer;
+import com.example.emailservice.integration.dto.EmailAwsDTO;
+import com.example.emailservice.integration.dto.EmailOciDTO;
+import com.example.emailservice.integration.exception.EmailIntegrationException;
+import com.example.emailservice.integration.exception.EmailNotDeliveredException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+
+@DisplayName("ProviderHttpClient - Testes de Integração")
+public class ProviderHttpClientTest {
+
+    private StubProviderServer servidor;
+    private ProviderHttpClient httpClient;
+
+    @BeforeEach
+    void setup() throws Exception {
+        servidor = new StubProviderServer();
+        httpClient = criarCliente(5000);
+    }
+
+    private ProviderHttpClient criarCliente(long timeoutRequisicaoMs) {
+        return new ProviderHttpClient(new JsonSerializer(new ObjectMapper()), 1000, timeoutRequisicaoMs, 4, 2);
+    }
+
+    @AfterEach
+    void encerrar() throws Exception {
+        httpClient.fechar();
+        servidor.close();
+    }
+
+    private EmailAwsDTO criarEmailAws(int indice) {
+        return new EmailAwsDTO("destinatario" + indice + "@email.com", "João Silva", "remetente@email.com",
+            "Assunto do Email", "Conteúdo do email de teste");
+    }
+
+    @Test
+    @DisplayName("Deve enviar o payload como JSON compacto e retornar o status HTTP")
+    void postarJson_ComPayloadValido_DeveEnviarJsonCompacto() {
+        int status = httpClient.postarJson(servidor.uri("/aws"), criarEmailAws(1)).join();
+
+        assertEquals(202, status);
+        assertEquals(1, servidor.getCorpos().size());
+        assertEquals("{\"recipient\":\"destinatario1@email.com\",\"recipientName\":\"João Silva\","
+            + "\"sender\":\"remetente@email.com\",\"subject\":\"Assunto do Email\","
+            + "\"content\":\"Conteúdo do email de teste\"}", servidor.getCorpos().get(0));
+    }
+
+    @Test
+    @DisplayName("Deve enviar os bytes já serializados sem alterá-los")
+    void postarJson_ComBytes_DeveEnviarCorpoRecebido() {
+        byte[] json = "{\"recipient\":\"destinatario@email.com\"}".getBytes(StandardCharsets.UTF_8);
+
+        int status = httpClient.postarJson(servidor.uri("/aws"), json).join();
+
+        assertEquals(202, status);
+        assertEquals(List.of("{\"recipient\":\"destinatario@email.com\"}"), servidor.getCorpos());
+    }
+
+    @Test
+    @DisplayName("Deve enviar as partes do JSON concatenadas, na ordem recebida")
+    void postarJson_ComPartes_DeveEnviarCorpoConcatenado() {
+        List<byte[]> partes = List.of("{\"recipient\":".getBytes(StandardCharsets.UTF_8),
+            "\"destinatário@email.com\"".getBytes(StandardCharsets.UTF_8), "}".getBytes(StandardCharsets.UTF_8));
+
+        int status = httpClient.postarJson(servidor.uri("/aws"), partes).join();
+
+        assertEquals(202, status);
+        assertEquals(List.of("{\"recipient\":\"destinatário@email.com\"}"), servidor.getCorpos());
+    }
+
+    @Test
+    @DisplayName("Deve concluir requisições concorrentes reaproveitando conexões e respeitando o limite global de requisições")
+    void postarJson_Concorrente_DeveRespeitarLimiteDeRequisicoes() {
+        List<CompletableFuture<Integer>> envios = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            envios.add(httpClient.postarJson(servidor.uri("/aws"), criarEmailAws(i)));
+            envios.add(httpClient.postarJson(servidor.uri("/oci"), new EmailOciDTO("destinatario" + i + "@email.com",
+                "João Silva", "remetente@email.com", "Assunto do Email", "Conteúdo do email de teste")));
+        }
+
+        CompletableFuture.allOf(envios.toArray(CompletableFuture[]::new)).join();
+
+        assertEquals(80, servidor.getCorpos().size());
+        assertEquals(0, httpClient.getPendentes());
+        assertTrue(servidor.getPicoEmAndamento() <= 4,
+            "Requisições simultâneas: " + servidor.getPicoEmAndamento());
+        assertTrue(servidor.getConexoesAceitas() <= 4,
+            "Conexões abertas: " + servidor.getConexoesAceitas());
+    }
+
+    @Test
+    @DisplayName("Deve propagar o contexto de tracing corrente no cabeçalho traceparent")
+    void postarJson_ComSpanCorrente_DevePropagarTraceparent() {
+        try (SdkTracerProvider tracerProvider = SdkTracerProvider.builder().build()) {
+            Span span = tracerProvider.get("teste").spanBuilder("entrega").startSpan();
+            try (Scope escopo = span.makeCurrent()) {
+                httpClient.postarJson(servidor.uri("/aws"), criarEmailAws(1)).join();
+            } finally {
+                span.end();
+            }
+
+            assertEquals(List.of("00-" + span.getSpanContext().getTraceId() + "-"
+                + span.getSpanContext().getSpanId() + "-01"), servidor.getTraceparents());
+        }
+    }
+
+    @Test
+    @DisplayName("Não deve enviar traceparent sem span corrente")
+    void postarJson_SemSpanCorrente_NaoDeveEnviarTraceparent() {
+        httpClient.postarJson(servidor.uri("/aws"), criarEmailAws(1)).join();
+
+        assertTrue(servidor.getTraceparents().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve completar com EmailIntegrationException quando o provedor responde fora de 2xx")
+    void postarJson_ComStatusDeErro_DeveCompletarComExcecao() {
+        CompletionException exception = assertThrows(CompletionException.class,
+            () -> httpClient.postarJson(servidor.uri("/falha"), criarEmailAws(1)).join());
+
+        assertInstanceOf(EmailNotDeliveredException.class, exception.getCause());
+        assertTrue(exception.getCause().getMessage().contains("HTTP 503"));
+    }
+
+    @Test
+    @DisplayName("Deve completar com EmailNotDeliveredException quando a conexão é recusada")
+    void postarJson_ComConexaoRecusada_DeveCompletarComNaoEntregue() throws Exception {
+        int porta;
+        try (ServerSocket livre = new ServerSocket(0)) {
+            porta = livre.getLocalPort();
+        }
+
+        CompletionException exception = assertThrows(CompletionException.class,
+            () -> httpClient.postarJson(URI.create("http://localhost:" + porta + "/aws"), criarEmailAws(1)).join());
+
+        assertInstanceOf(EmailNotDeliveredException.class, exception.getCause());
+    }
+
+    @Test
+    @DisplayName("Deve completar com EmailIntegrationException quando o provedor excede o timeout")
+    void postarJson_ComProvedorLento_DeveCompletarComExcecaoDeTimeout() {
+        ProviderHttpClient clienteComTimeoutCurto = criarCliente(500);
+
+        try {
+            CompletionException exception = assertThrows(CompletionException.class,
+                () -> clienteComTimeoutCurto.postarJson(servidor.uri("/lento"), criarEmailAws(1)).join());
+
+            assertTrue(exception.getCause() instanceof EmailIntegrationException);
+            assertFalse(exception.getCause() instanceof EmailNotDeliveredException);
+            assertTrue(exception.getCause().getMessage().contains("Timeout de 500 ms"));
+        } finally {
+            clienteComTimeoutCurto.fechar();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve recusar envios após stop e voltar a enviar após start, como no checkpoint do CRaC")
+    void stopEStart_DeveDescartarERecriarOCliente() {
+        httpClient.postarJson(servidor.uri("/aws"), criarEmailAws(1)).join();
+
+        httpClient.stop();
+        assertFalse(httpClient.isRunning());
+        CompletionException erro = assertThrows(CompletionException.class,
+            () -> httpClient.postarJson(servidor.uri("/aws"), criarEmailAws(2)).join());
+        assertInstanceOf(EmailIntegrationException.class, erro.getCause());
+
+        httpClient.start();
+        assertTrue(httpClient.isRunning());
+        assertEquals(202, httpClient.postarJson(servidor.uri("/aws"), criarEmailAws(3)).join());
+        assertEquals(2, servidor.getCorpos().size());
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.emailservice.integration.http;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * API de provedor HTTP/1.1 mínima para testes de integração em localhost
+ * Mantém as conexões abertas (keep-alive) e reproduz um perfil de latência por rota: /aws responde
+ * em ~30 ms, /oci entre 5 e 60 ms, /falha devolve 503 e /lento demora 2 s. Registra os corpos
+ * e cabeçalhos traceparent recebidos, quantas conexões foram abertas e o pico de requisições simultâneas.
+ */
+public class StubProviderServer implements AutoCloseable {
+
+    private final ServerSocket serverSocket;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final Set<Socket> conexoesAtivas = ConcurrentHashMap.newKeySet();
+    private final List<String> corpos = new CopyOnWriteArrayList<>();
+    private final List<String> traceparents = new CopyOnWriteArrayList<>();
+    private final AtomicInteger conexoesAceitas = new AtomicInteger();
+    private final AtomicInteger emAndamento = new AtomicInteger();
+    private final AtomicInteger picoEmAndamento = new AtomicInteger();
+
+    public StubProviderServer() throws IOException {
+        this.serverSocket = new ServerSocket(0, 100, InetAddress.getLoopbackAddress());
+        executor.submit(this::aceitarConexoes);
+    }
+
+    public URI uri(String rota) {
+        return URI.create("http://localhost:" + serverSocket.getLocalPort() + rota);
+    }
+
+    public List<String> getCorpos() {
+        return corpos;
+    }
+
+    public List<String> getTraceparents() {
+        return traceparents;
+    }
+
+    public int getConexoesAceitas() {
+        return conexoesAceitas.get();
+    }
+
+    public int getPicoEmAndamento() {
+        return picoEmAndamento.get();
+    }
+
+    private void aceitarConexoes() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                conexoesAceitas.incrementAndGet();
+                conexoesAtivas.add(socket);
+                executor.submit(() -> atender(socket));
+            } catch (IOException e) {
+                return;
+            }
+        }
+    }
+
+    private void atender(Socket socket) {
+        try (socket) {
+            InputStream entrada = new BufferedInputStream(socket.getInputStream());
+            OutputStream saida = socket.getOutputStream();
+            String linhaRequisicao;
+
+            while ((linhaRequisicao = lerLinha(entrada)) != null) {
+                int tamanhoCorpo = 0;
+                String linha;
+                while ((linha = lerLinha(entrada)) != null && !linha.isEmpty()) {
+                    if (linha.toLowerCase(Locale.ROOT).startsWith("content-length:")) {
+                        tamanhoCorpo = Integer.parseInt(linha.substring(15).trim());
+                    } else if (linha.toLowerCase(Locale.ROOT).startsWith("traceparent:")) {
+                        traceparents.add(linha.substring(12).trim());
+                    }
+                }
+                corpos.add(new String(entrada.readNBytes(tamanhoCorpo), StandardCharsets.UTF_8));
+
+                String rota = linhaRequisicao.split(" ")[1];
+                int status = switch (rota) {
+                    case "/aws" -> processar(30, 30, 202);
+                    case "/oci" -> processar(5, 60, 200);
+                    case "/falha" -> processar(0, 0, 503);
+                    case "/lento" -> processar(2000, 2000, 200);
+                    default -> 404;
+                };
+
+                saida.write(("HTTP/1.1 " + status + " Stub\r\nContent-Length: 0\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+                saida.flush();
+            }
+        } catch (IOException e) {
+            // conexão encerrada pelo cliente ou pelo close
+        } finally {
+            conexoesAtivas.remove(socket);
+        }
+    }
+
+    /**
+     * Simula o processamento no provedor; a requisição conta como em andamento até a resposta ser escrita
+     */
+    private int processar(int latenciaMinMs, int latenciaMaxMs, int status) {
+        picoEmAndamento.accumulateAndGet(emAndamento.incrementAndGet(), Math::max);
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextInt(latenciaMinMs, latenciaMaxMs + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            emAndamento.decrementAndGet();
+        }
+        return status;
+    }
+
+    private String lerLinha(InputStream entrada) throws IOException {
+        ByteArrayOutputStream linha = new ByteArrayOutputStream();
+        int b;
+        while ((b = entrada.read()) != -1) {
+            if (b == '\n') {
+                String texto = linha.toString(StandardCharsets.US_ASCII);
+                return texto.endsWith("\r") ? texto.substring(0, texto.length() - 1) : texto;
+            }
+            linha.write(b);
+        }
+        return null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        for (Socket socket : conexoesAtivas) {
+            socket.close();
+        }
+        executor.shutdownNow();
+    }
+}
@@ -2,29 +2,54 @@ package com.example.emailservice.integration.service;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import com.example.emailservice.business.domain.model.Email;
+import com.example.emailservice.business.domain.model.EmailAttachment;
+import com.example.emailservice.infrastructure.concurrency.AdaptiveConcurrencyLimiter;
+import com.example.emailservice.infrastructure.config.ProviderSettingsRegistry;
+import com.example.emailservice.infrastructure.exception.ConcurrencyLimitExceededException;
+import com.example.emailservice.infrastructure.metrics.LatencyRecorder;
+import com.example.emailservice.infrastructure.metrics.PipelineEvent;
+import com.example.emailservice.infrastructure.metrics.PipelineMetrics;
+import com.example.emailservice.infrastructure.tracing.PipelineTracing;
 import com.example.emailservice.infrastructure.util.JsonSerializer;
 import com.example.emailservice.integration.adapter.IEmailProviderAdapter;
 import com.example.emailservice.integration.dto.EmailAwsDTO;
+import com.example.emailservice.integration.dto.EmailDeliveryResult;
 import com.example.emailservice.integration.dto.EmailOciDTO;
 import com.example.emailservice.integration.exception.EmailIntegrationException;
+import com.example.emailservice.integration.exception.EmailNotDeliveredException;
 import com.example.emailservice.integration.factory.EmailAdapterFactory;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
 @ExtendWith(MockitoExtension.class)
 @DisplayName("EmailIntegrationService - Testes Unitários")
 public class EmailIntegrationServiceTest {
@@ -38,7 +63,14 @@ public class EmailIntegrationServiceTest {
     @Mock
     private IEmailProviderAdapter emailProviderAdapter;
 
+    @Mock
+    private IEmailProviderAdapter fallbackAdapter;
+
     private EmailIntegrationService emailIntegrationService;
+    private AdaptiveConcurrencyLimiter provedorLimiter;
+    private ProviderSettingsRegistry providerSettingsRegistry;
+    private SimpleMeterRegistry meterRegistry;
+    private PipelineMetrics pipelineMetrics;
 
     private Email emailMock;
     private EmailAwsDTO emailAwsDTO;
@@ -46,6 +78,10 @@ public class EmailIntegrationServiceTest {
 
     @BeforeEach
     void setup() {
+        provedorLimiter = new AdaptiveConcurrencyLimiter("provedor", 10, 1, 10);
+        meterRegistry = new SimpleMeterRegistry();
+        pipelineMetrics = new PipelineMetrics(meterRegistry, new LatencyRecorder(60), "AWS");
+
         emailMock = new Email(
             "destinatario@email.com", 
             "João Silva", 
@@ -69,7 +105,23 @@ public class EmailIntegrationServiceTest {
     }
 
     private EmailIntegrationService createService(String mailIntegracao) {
-        return new EmailIntegrationService(adapterFactory, jsonSerializer, mailIntegracao);
+        return createService(mailIntegracao, 1000, "");
+    }
+
+    private EmailIntegrationService createService(String mailIntegracao, long timeoutMs, String fallback) {
+        providerSettingsRegistry = new ProviderSettingsRegistry(provedorLimiter, pipelineMetrics, mailIntegracao,
+            fallback, "", timeoutMs, 10);
+        return new EmailIntegrationService(adapterFactory, jsonSerializer, providerSettingsRegistry, provedorLimiter,
+            pipelineMetrics, PipelineTracing.desabilitado());
+    }
+
+    private static byte[] json(String texto) {
+        return texto.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private void simularEntrega(IEmailProviderAdapter adapter, Object emailAdaptado) {
+        when(adapter.entregarAsync(eq(emailAdaptado), any()))
+            .thenReturn(CompletableFuture.completedFuture(EmailDeliveryResult.naoEnviado("AWS", emailAdaptado)));
     }
 
     @Test
@@ -81,13 +133,14 @@ public class EmailIntegrationServiceTest {
 
         when(adapterFactory.createAdapter(mailIntegracao)).thenReturn(emailProviderAdapter);
         when(emailProviderAdapter.adaptEmail(emailMock)).thenReturn(emailAwsDTO);
-        when(jsonSerializer.serialize(emailAwsDTO)).thenReturn(jsonEsperado);
+        when(jsonSerializer.serializeToBytes(emailAwsDTO)).thenReturn(json(jsonEsperado));
+        simularEntrega(emailProviderAdapter, emailAwsDTO);
 
         assertDoesNotThrow(() -> emailIntegrationService.enviarEmail(emailMock));
 
         verify(adapterFactory).createAdapter(mailIntegracao);
         verify(emailProviderAdapter).adaptEmail(emailMock);
-        verify(jsonSerializer).serialize(emailAwsDTO);
+        verify(jsonSerializer).serializeToBytes(emailAwsDTO);
     }
 
     @Test
@@ -99,13 +152,98 @@ public class EmailIntegrationServiceTest {
 
         when(adapterFactory.createAdapter(mailIntegracao)).thenReturn(emailProviderAdapter);
         when(emailProviderAdapter.adaptEmail(emailMock)).thenReturn(emailAwsDTO);
-        when(jsonSerializer.serialize(emailAwsDTO)).thenReturn(jsonEsperado);
+        when(jsonSerializer.serializeToBytes(emailAwsDTO)).thenReturn(json(jsonEsperado));
+        simularEntrega(emailProviderAdapter, emailAwsDTO);
 
         assertDoesNotThrow(() -> emailIntegrationService.enviarEmail(emailMock));
 
         verify(adapterFactory).createAdapter(mailIntegracao);
         verify(emailProviderAdapter).adaptEmail(emailMock);
-        verify(jsonSerializer).serialize(emailAwsDTO);
+        verify(jsonSerializer).serializeToBytes(emailAwsDTO);
+    }
+
+    @Test
+    @DisplayName("Deve recusar email com anexos quando o provedor não suporta anexos")
+    void enviarEmail_ComAnexosEmProvedorSemSuporte_DeveLancarEmailIntegrationException() {
+        String mailIntegracao = "AWS";
+        emailIntegrationService = createService(mailIntegracao);
+        Email emailComAnexo = new Email("destinatario@email.com", "João Silva", "remetente@email.com",
+            "Assunto do Email", "Conteúdo do email de teste",
+            List.of(new EmailAttachment("relatorio.pdf", "application/pdf", Path.of("/anexos/relatorio.pdf"), 1024)));
+
+        when(adapterFactory.createAdapter(mailIntegracao)).thenReturn(emailProviderAdapter);
+
+        EmailIntegrationException exception = assertThrows(EmailIntegrationException.class,
+            () -> emailIntegrationService.enviarEmail(emailComAnexo));
+
+        assertEquals("Erro na integração: O provedor AWS não suporta anexos.", exception.getMessage());
+        verify(emailProviderAdapter, never()).adaptEmail(emailComAnexo);
+        verifyNoInteractions(jsonSerializer);
+    }
+
+    @Test
+    @DisplayName("Deve medir cada etapa da integração e contar o envio pelo resultado")
+    void enviarEmail_ComSucesso_DeveRegistrarMetricasDasEtapas() {
+        emailIntegrationService = createService("AWS");
+        when(adapterFactory.createAdapter("AWS")).thenReturn(emailProviderAdapter);
+        when(emailProviderAdapter.adaptEmail(emailMock)).thenReturn(emailAwsDTO);
+        when(jsonSerializer.serializeToBytes(emailAwsDTO)).thenReturn(json("{}"));
+        simularEntrega(emailProviderAdapter, emailAwsDTO);
+
+        emailIntegrationService.enviarEmail(emailMock);
+
+        for (String etapa : List.of("adaptacao", "serializacao", "impressao", "entrega")) {
+            assertEquals(1, meterRegistry.find(PipelineMetrics.METRICA_ETAPA)
+                .tags("etapa", etapa, "provedor", "AWS", "resultado", "sucesso").timer().count(), etapa);
+        }
+        assertEquals(1, meterRegistry.find(PipelineMetrics.METRICA_ENVIOS)
+            .tags("provedor", "AWS", "resultado", "nao_enviado").counter().count());
+    }
+
+    @Test
+    @DisplayName("Deve emitir eventos JFR das etapas com o message id do email")
+    void enviarEmail_ComGravacaoJfr_DeveEmitirEventosDoEmail(@TempDir Path diretorio) throws Exception {
+        emailIntegrationService = createService("AWS");
+        when(adapterFactory.createAdapter("AWS")).thenReturn(emailProviderAdapter);
+        when(emailProviderAdapter.adaptEmail(emailMock)).thenReturn(emailAwsDTO);
+        when(jsonSerializer.serializeToBytes(emailAwsDTO)).thenReturn(json("{\"a\":1}"));
+        simularEntrega(emailProviderAdapter, emailAwsDTO);
+
+        Path arquivo = diretorio.resolve("integracao.jfr");
+        try (Recording gravacao = new Recording()) {
+            gravacao.enable(PipelineEvent.Adaptacao.class);
+            gravacao.enable(PipelineEvent.Serializacao.class);
+            gravacao.enable(PipelineEvent.Impressao.class);
+            gravacao.start();
+            emailIntegrationService.enviarEmail(emailMock);
+            gravacao.stop();
+            gravacao.dump(arquivo);
+        }
+
+        List<RecordedEvent> eventos = RecordingFile.readAllEvents(arquivo).stream()
+            .filter(evento -> emailMock.getMessageId().equals(evento.getString("messageId")))
+            .toList();
+        assertEquals(List.of("com.example.emailservice.Adaptacao", "com.example.emailservice.Serializacao",
+            "com.example.emailservice.Impressao"), eventos.stream().map(evento -> evento.getEventType().getName()).toList());
+        assertEquals(emailMock.getTamanhoPayload(), eventos.get(0).getLong("tamanhoPayload"));
+        assertEquals(7, eventos.get(1).getLong("tamanhoPayload"));
+        assertTrue(eventos.stream().allMatch(evento -> "AWS".equals(evento.getString("provedor"))));
+    }
+
+    @Test
+    @DisplayName("Deve registrar falha na etapa de serialização e contar o envio como falha")
+    void enviarEmail_ComErroNaSerializacao_DeveRegistrarFalhaDaEtapa() {
+        emailIntegrationService = createService("AWS");
+        when(adapterFactory.createAdapter("AWS")).thenReturn(emailProviderAdapter);
+        when(emailProviderAdapter.adaptEmail(emailMock)).thenReturn(emailAwsDTO);
+        when(jsonSerializer.serializeToBytes(emailAwsDTO)).thenThrow(new EmailIntegrationException("Erro na serialização JSON"));
+
+        assertThrows(EmailIntegrationException.class, () -> emailIntegrationService.enviarEmail(emailMock));
+
+        assertEquals(1, meterRegistry.find(PipelineMetrics.METRICA_ETAPA)
+            .tags("etapa", "serializacao", "resultado", "falha").timer().count());
+        assertEquals(1, meterRegistry.find(PipelineMetrics.METRICA_ENVIOS)
+            .tags("provedor", "AWS", "resultado", "falha").counter().count());
     }
 
     @Test
@@ -159,7 +297,7 @@ public class EmailIntegrationServiceTest {
 
         when(adapterFactory.createAdapter(mailIntegracao)).thenReturn(emailProviderAdapter);
         when(emailProviderAdapter.adaptEmail(emailMock)).thenReturn(emailAwsDTO);
-        when(jsonSerializer.serialize(emailAwsDTO))
+        when(jsonSerializer.serializeToBytes(emailAwsDTO))
             .thenThrow(new RuntimeException(mensagemErro));
         
         EmailIntegrationException exception = assertThrows(EmailIntegrationException.class, 
@@ -170,7 +308,7 @@ public class EmailIntegrationServiceTest {
 
         verify(adapterFactory).createAdapter(mailIntegracao);
         verify(emailProviderAdapter).adaptEmail(emailMock);
-        verify(jsonSerializer).serialize(emailAwsDTO);
+        verify(jsonSerializer).serializeToBytes(emailAwsDTO);
     }
 
     @Test
@@ -182,14 +320,15 @@ public class EmailIntegrationServiceTest {
 
         when(adapterFactory.createAdapter(mailIntegracao)).thenReturn(emailProviderAdapter);
         when(emailProviderAdapter.adaptEmail(emailMock)).thenReturn(emailAwsDTO);
-        when(jsonSerializer.serialize(emailAwsDTO)).thenReturn(jsonEsperado);
+        when(jsonSerializer.serializeToBytes(emailAwsDTO)).thenReturn(json(jsonEsperado));
+        simularEntrega(emailProviderAdapter, emailAwsDTO);
         
         emailIntegrationService.enviarEmail(emailMock);
 
         var inOrder = inOrder(adapterFactory, emailProviderAdapter, jsonSerializer);
         inOrder.verify(adapterFactory).createAdapter(mailIntegracao);
         inOrder.verify(emailProviderAdapter).adaptEmail(emailMock);
-        inOrder.verify(jsonSerializer).serialize(emailAwsDTO);
+        inOrder.verify(jsonSerializer).serializeToBytes(emailAwsDTO);
     }
 
     @Test
@@ -203,7 +342,8 @@ public class EmailIntegrationServiceTest {
 
             when(adapterFactory.createAdapter(tipo)).thenReturn(emailProviderAdapter);
             when(emailProviderAdapter.adaptEmail(emailMock)).thenReturn(emailAwsDTO);
-            when(jsonSerializer.serialize(emailAwsDTO)).thenReturn(jsonEsperado);
+            when(jsonSerializer.serializeToBytes(emailAwsDTO)).thenReturn(json(jsonEsperado));
+            simularEntrega(emailProviderAdapter, emailAwsDTO);
             
             assertDoesNotThrow(() -> emailIntegrationService.enviarEmail(emailMock),
                 "Deve funcionar com tipo: " + tipo);
@@ -211,4 +351,203 @@ public class EmailIntegrationServiceTest {
             reset(adapterFactory, emailProviderAdapter, jsonSerializer);
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Deve lançar ConcurrencyLimitExceededException sem chamar o provedor quando o limite foi atingido")
+    void enviarEmail_ComLimiteAtingido_DeveRejeitarSemChamarProvedor() {
+        String mailIntegracao = "AWS";
+        emailIntegrationService = createService(mailIntegracao);
+
+        when(adapterFactory.createAdapter(mailIntegracao)).thenReturn(emailProviderAdapter);
+        while (provedorLimiter.tentarAdquirir().isPresent()) { }
+
+        assertThrows(ConcurrencyLimitExceededException.class,
+            () -> emailIntegrationService.enviarEmail(emailMock));
+
+        verifyNoInteractions(emailProviderAdapter, jsonSerializer);
+    }
+
+    @Test
+    @DisplayName("Deve liberar a vaga do limitador após envio com sucesso ou falha")
+    void enviarEmail_DeveLiberarVagaDoLimitador() {
+        String mailIntegracao = "AWS";
+        emailIntegrationService = createService(mailIntegracao);
+
+        when(adapterFactory.createAdapter(mailIntegracao)).thenReturn(emailProviderAdapter);
+        when(emailProviderAdapter.adaptEmail(emailMock)).thenReturn(emailAwsDTO);
+        when(jsonSerializer.serializeToBytes(emailAwsDTO))
+            .thenReturn(json("{}"))
+            .thenThrow(new RuntimeException("Erro na serialização JSON"));
+        simularEntrega(emailProviderAdapter, emailAwsDTO);
+
+        emailIntegrationService.enviarEmail(emailMock);
+        assertThrows(EmailIntegrationException.class, () -> emailIntegrationService.enviarEmail(emailMock));
+
+        assertEquals(0, provedorLimiter.getEmUso());
+    }
+
+    @Test
+    @DisplayName("Deve entregar o email adaptado pelo adapter após a serialização")
+    void enviarEmail_DeveEntregarEmailAdaptadoAposSerializacao() {
+        String mailIntegracao = "SMTP";
+        emailIntegrationService = createService(mailIntegracao);
+
+        when(adapterFactory.createAdapter(mailIntegracao)).thenReturn(emailProviderAdapter);
+        when(emailProviderAdapter.adaptEmail(emailMock)).thenReturn(emailAwsDTO);
+        when(jsonSerializer.serializeToBytes(emailAwsDTO)).thenReturn(json("{}"));
+        simularEntrega(emailProviderAdapter, emailAwsDTO);
+
+        emailIntegrationService.enviarEmail(emailMock);
+
+        var inOrder = inOrder(jsonSerializer, emailProviderAdapter);
+        inOrder.verify(jsonSerializer).serializeToBytes(emailAwsDTO);
+        inOrder.verify(emailProviderAdapter).entregarAsync(eq(emailAwsDTO), any());
+    }
+
+    @Test
+    @DisplayName("Deve retornar sem aguardar a entrega e liberar a vaga quando ela concluir")
+    void enviarEmailAsync_DeveRetornarAntesDaEntregaConcluir() {
+        String mailIntegracao = "AWS";
+        emailIntegrationService = createService(mailIntegracao);
+        CompletableFuture<EmailDeliveryResult<EmailAwsDTO>> entregaPendente = new CompletableFuture<>();
+
+        when(adapterFactory.createAdapter(mailIntegracao)).thenReturn(emailProviderAdapter);
+        when(emailProviderAdapter.adaptEmail(emailMock)).thenReturn(emailAwsDTO);
+        when(jsonSerializer.serializeToBytes(emailAwsDTO)).thenReturn(json("{}"));
+        when(emailProviderAdapter.entregarAsync(eq(emailAwsDTO), any())).thenReturn(entregaPendente);
+
+        CompletableFuture<EmailDeliveryResult<?>> resultado = emailIntegrationService.enviarEmailAsync(emailMock);
+
+        assertFalse(resultado.isDone());
+        assertEquals(1, provedorLimiter.getEmUso());
+
+        entregaPendente.complete(EmailDeliveryResult.entregue("AWS", emailAwsDTO, "HTTP 202"));
+
+        assertEquals("HTTP 202", resultado.join().detalhe());
+        assertEquals(0, provedorLimiter.getEmUso());
+    }
+
+    @Test
+    @DisplayName("Deve lançar EmailIntegrationException quando o provedor excede o tempo limite")
+    void enviarEmail_ComProvedorLento_DeveLancarExcecaoDeTimeout() {
+        String mailIntegracao = "AWS";
+        emailIntegrationService = createService(mailIntegracao, 50, "");
+
+        when(adapterFactory.createAdapter(mailIntegracao)).thenReturn(emailProviderAdapter);
+        when(emailProviderAdapter.adaptEmail(emailMock)).thenReturn(emailAwsDTO);
+        when(jsonSerializer.serializeToBytes(emailAwsDTO)).thenReturn(json("{}"));
+        when(emailProviderAdapter.entregarAsync(eq(emailAwsDTO), any())).thenReturn(new CompletableFuture<>());
+
+        EmailIntegrationException exception = assertThrows(EmailIntegrationException.class,
+            () -> emailIntegrationService.enviarEmail(emailMock));
+
+        assertEquals("Erro na integração: tempo limite de 50 ms excedido.", exception.getMessage());
+        assertEquals(0, provedorLimiter.getEmUso());
+    }
+
+    @Test
+    @DisplayName("Deve entregar pelo provedor alternativo quando o principal falha")
+    void enviarEmailAsync_ComFalhaNoProvedorPrincipal_DeveUsarFallback() {
+        emailIntegrationService = createService("AWS", 1000, "OCI");
+
+        when(adapterFactory.createAdapter("AWS")).thenReturn(emailProviderAdapter);
+        when(adapterFactory.createAdapter("OCI")).thenReturn(fallbackAdapter);
+        when(emailProviderAdapter.adaptEmail(emailMock)).thenReturn(emailAwsDTO);
+        when(fallbackAdapter.adaptEmail(emailMock)).thenReturn(emailOciDTO);
+        when(jsonSerializer.serializeToBytes(emailAwsDTO)).thenReturn(json("{}"));
+        when(jsonSerializer.serializeToBytes(emailOciDTO)).thenReturn(json("{}"));
+        when(emailProviderAdapter.entregarAsync(eq(emailAwsDTO), any()))
+            .thenReturn(CompletableFuture.failedFuture(new EmailNotDeliveredException("Provedor respondeu HTTP 503.")));
+        when(fallbackAdapter.entregarAsync(eq(emailOciDTO), any())).thenAnswer(invocacao -> {
+            assertEquals(1, provedorLimiter.getEmUso());
+            return CompletableFuture.completedFuture(EmailDeliveryResult.entregue("OCI", emailOciDTO, "HTTP 200"));
+        });
+
+        EmailDeliveryResult<?> resultado = emailIntegrationService.enviarEmailAsync(emailMock).join();
+
+        assertEquals("OCI", resultado.provedor());
+        assertEquals(emailOciDTO, resultado.emailAdaptado());
+        assertEquals(0, provedorLimiter.getEmUso());
+    }
+
+    @Test
+    @DisplayName("Não deve usar o provedor alternativo quando o principal pode ter recebido o email")
+    void enviarEmailAsync_ComFalhaDuranteEntrega_NaoDeveUsarFallback() {
+        emailIntegrationService = createService("AWS", 1000, "OCI");
+
+        when(adapterFactory.createAdapter("AWS")).thenReturn(emailProviderAdapter);
+        when(emailProviderAdapter.adaptEmail(emailMock)).thenReturn(emailAwsDTO);
+        when(jsonSerializer.serializeToBytes(emailAwsDTO)).thenReturn(json("{}"));
+        when(emailProviderAdapter.entregarAsync(eq(emailAwsDTO), any()))
+            .thenReturn(CompletableFuture.failedFuture(new EmailIntegrationException("Conexão encerrada pelo provedor.")));
+
+        EmailIntegrationException exception = assertThrows(EmailIntegrationException.class,
+            () -> emailIntegrationService.enviarEmail(emailMock));
+
+        assertEquals("Erro na integração: Conexão encerrada pelo provedor.", exception.getMessage());
+        verify(adapterFactory, never()).createAdapter("OCI");
+        assertEquals(0, provedorLimiter.getEmUso());
+    }
+
+    @Test
+    @DisplayName("Não deve usar o provedor alternativo quando o principal excede o timeout")
+    void enviarEmailAsync_ComTimeoutNoPrincipal_NaoDeveUsarFallback() {
+        emailIntegrationService = createService("AWS", 50, "OCI");
+
+        when(adapterFactory.createAdapter("AWS")).thenReturn(emailProviderAdapter);
+        when(emailProviderAdapter.adaptEmail(emailMock)).thenReturn(emailAwsDTO);
+        when(jsonSerializer.serializeToBytes(emailAwsDTO)).thenReturn(json("{}"));
+        when(emailProviderAdapter.entregarAsync(eq(emailAwsDTO), any())).thenReturn(new CompletableFuture<>());
+
+        EmailIntegrationException exception = assertThrows(EmailIntegrationException.class,
+            () -> emailIntegrationService.enviarEmail(emailMock));
+
+        assertEquals("Erro na integração: tempo limite de 50 ms excedido.", exception.getMessage());
+        verify(adapterFactory, never()).createAdapter("OCI");
+    }
+
+    @Test
+    @DisplayName("Deve usar o provedor alternativo quando o principal falha antes da entrega")
+    void enviarEmailAsync_ComFalhaAntesDaEntrega_DeveUsarFallback() {
+        emailIntegrationService = createService("AWS", 1000, "OCI");
+
+        when(adapterFactory.createAdapter("AWS")).thenReturn(emailProviderAdapter);
+        when(adapterFactory.createAdapter("OCI")).thenReturn(fallbackAdapter);
+        when(emailProviderAdapter.adaptEmail(emailMock)).thenThrow(new IllegalStateException("Erro na adaptação"));
+        when(fallbackAdapter.adaptEmail(emailMock)).thenReturn(emailOciDTO);
+        when(jsonSerializer.serializeToBytes(emailOciDTO)).thenReturn(json("{}"));
+        simularEntrega(fallbackAdapter, emailOciDTO);
+
+        emailIntegrationService.enviarEmail(emailMock);
+
+        verify(fallbackAdapter).entregarAsync(eq(emailOciDTO), any());
+        assertEquals(0, provedorLimiter.getEmUso());
+    }
+
+    @Test
+    @DisplayName("Deve concluir pelo provedor antigo o envio em andamento durante a troca de provedor")
+    void enviarEmailAsync_ComTrocaDeProvedorDuranteEnvio_DeveManterConfiguracaoDoEnvio() {
+        emailIntegrationService = createService("AWS");
+        CompletableFuture<EmailDeliveryResult<EmailAwsDTO>> entregaAws = new CompletableFuture<>();
+
+        when(adapterFactory.createAdapter("AWS")).thenReturn(emailProviderAdapter);
+        when(adapterFactory.createAdapter("OCI")).thenReturn(fallbackAdapter);
+        when(emailProviderAdapter.adaptEmail(emailMock)).thenReturn(emailAwsDTO);
+        when(fallbackAdapter.adaptEmail(emailMock)).thenReturn(emailOciDTO);
+        when(jsonSerializer.serializeToBytes(emailAwsDTO)).thenReturn(json("{}"));
+        when(jsonSerializer.serializeToBytes(emailOciDTO)).thenReturn(json("{}"));
+        when(emailProviderAdapter.entregarAsync(eq(emailAwsDTO), any())).thenReturn(entregaAws);
+        when(fallbackAdapter.entregarAsync(eq(emailOciDTO), any()))
+            .thenReturn(CompletableFuture.completedFuture(EmailDeliveryResult.entregue("OCI", emailOciDTO, "HTTP 200")));
+
+        CompletableFuture<EmailDeliveryResult<?>> emAndamento = emailIntegrationService.enviarEmailAsync(emailMock);
+        providerSettingsRegistry.atualizar(new ProviderSettingsRegistry.Mudanca("OCI", null, null, 20L, null),
+            1L, "operador", "migração");
+        EmailDeliveryResult<?> posTroca = emailIntegrationService.enviarEmailAsync(emailMock).join();
+        entregaAws.complete(EmailDeliveryResult.entregue("AWS", emailAwsDTO, "HTTP 200"));
+
+        assertEquals("OCI", posTroca.provedor());
+        assertEquals("AWS", emAndamento.join().provedor());
+        assertEquals(0, provedorLimiter.getEmUso());
+    }
+}
@@ -0,0 +1,176 @@
+package com.example.emailservice.integration.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.example.emailservice.integration.exception.EmailIntegrationException;
+
+@DisplayName("ExecutorRecipientDispatcher - Testes Unitários")
+public class ExecutorRecipientDispatcherTest {
+
+    private ExecutorRecipientDispatcher dispatcher;
+
+    @AfterEach
+    void encerrar() {
+        if (dispatcher != null) {
+            dispatcher.fechar();
+        }
+    }
+
+    /**
+     * Envio que fica bloqueado até ser interrompido, contando a interrupção
+     */
+    private static Callable<String> bloqueado(CountDownLatch interrompidos) {
+        return () -> {
+            try {
+                Thread.sleep(10_000);
+                return "concluído";
+            } catch (InterruptedException e) {
+                interrompidos.countDown();
+                throw e;
+            }
+        };
+    }
+
+    @Test
+    @DisplayName("Deve devolver os resultados na ordem dos envios, com no máximo paralelismo envios simultâneos")
+    void despachar_ComVariosEnvios_DeveRespeitarOrdemEParalelismo() {
+        dispatcher = new ExecutorRecipientDispatcher(3, 100, 5000);
+        AtomicInteger emAndamento = new AtomicInteger();
+        AtomicInteger maximo = new AtomicInteger();
+        List<Callable<Integer>> envios = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            int indice = i;
+            envios.add(() -> {
+                maximo.accumulateAndGet(emAndamento.incrementAndGet(), Math::max);
+                Thread.sleep(5);
+                emAndamento.decrementAndGet();
+                return indice;
+            });
+        }
+
+        List<Integer> resultados = dispatcher.despachar(envios, indice -> -1);
+
+        for (int i = 0; i < 20; i++) {
+            assertEquals(i, resultados.get(i));
+        }
+        assertTrue(maximo.get() <= 3, "Envios simultâneos: " + maximo.get());
+    }
+
+    @Test
+    @DisplayName("Deve cancelar os envios pendentes no fim do prazo e usar o resultado de expiração")
+    void despachar_ComPrazoExcedido_DeveCancelarPendentes() throws Exception {
+        dispatcher = new ExecutorRecipientDispatcher(2, 10, 200);
+        CountDownLatch interrompidos = new CountDownLatch(1);
+
+        long inicio = System.nanoTime();
+        List<String> resultados = dispatcher.despachar(List.of(() -> "enviado", bloqueado(interrompidos)),
+            indice -> "expirado " + indice);
+
+        assertEquals(List.of("enviado", "expirado 1"), resultados);
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio) < 5000);
+        assertTrue(interrompidos.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Deve enviar listas maiores que pool e fila juntos sem recusar destinatários")
+    void despachar_ComListaMaiorQueAFila_DeveEnviarTodos() {
+        dispatcher = new ExecutorRecipientDispatcher(8, 256, 30_000);
+        List<Callable<String>> envios = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            envios.add(() -> {
+                Thread.sleep(1);
+                return "enviado";
+            });
+        }
+
+        List<String> resultados = dispatcher.despachar(envios, indice -> "expirado", indice -> "recusado");
+
+        assertEquals(1000, resultados.stream().filter("enviado"::equals).count());
+    }
+
+    @Test
+    @DisplayName("Deve usar o resultado de recusa quando a fila fica cheia até o prazo, sem rodar o envio na requisição")
+    void despachar_ComFilaCheiaAteOPrazo_DeveRecusarSemExecutar() throws Exception {
+        dispatcher = new ExecutorRecipientDispatcher(1, 1, 300);
+        CountDownLatch iniciado = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        Callable<String> ocupado = () -> {
+            iniciado.countDown();
+            while (true) {
+                try {
+                    liberar.await();
+                    return "enviado";
+                } catch (InterruptedException e) {
+                    // ignora o cancelamento para manter a thread do pool ocupada até liberar
+                }
+            }
+        };
+        Thread naThread = new Thread(() -> dispatcher.despachar(List.of(ocupado), indice -> "expirado"));
+        Thread naFila = new Thread(() -> dispatcher.despachar(List.of(() -> "enviado"), indice -> "expirado"));
+        try {
+            naThread.start();
+            assertTrue(iniciado.await(5, TimeUnit.SECONDS));
+            naFila.start();
+            while (naFila.getState() != Thread.State.TIMED_WAITING) {
+                Thread.onSpinWait();
+            }
+
+            AtomicInteger executados = new AtomicInteger();
+            List<String> resultados = dispatcher.despachar(List.of(() -> "enviado " + executados.incrementAndGet()),
+                indice -> "expirado " + indice, indice -> "recusado " + indice);
+
+            assertEquals(List.of("recusado 0"), resultados);
+            assertEquals(0, executados.get());
+        } finally {
+            liberar.countDown();
+            naThread.join();
+            naFila.join();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve cancelar os demais envios quando um deles falha de forma inesperada")
+    void despachar_ComFalhaFatal_DeveCancelarOsDemais() throws Exception {
+        dispatcher = new ExecutorRecipientDispatcher(2, 10, 10_000);
+        CountDownLatch interrompidos = new CountDownLatch(1);
+        Callable<String> falha = () -> {
+            Thread.sleep(50);
+            throw new IllegalStateException("Falha inesperada");
+        };
+
+        EmailIntegrationException erro = assertThrows(EmailIntegrationException.class,
+            () -> dispatcher.despachar(List.of(bloqueado(interrompidos), falha), indice -> "expirado"));
+
+        assertTrue(erro.getMessage().contains("Falha inesperada"));
+        assertTrue(interrompidos.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Deve recusar envios após stop e voltar a aceitá-los após start")
+    void stopEStart_DevemEncerrarERecriarOExecutor() {
+        dispatcher = new ExecutorRecipientDispatcher(2, 10, 5000);
+        List<Callable<String>> envios = List.of(() -> "enviado");
+
+        dispatcher.stop();
+        assertFalse(dispatcher.isRunning());
+        assertThrows(EmailIntegrationException.class, () -> dispatcher.despachar(envios, indice -> "expirado"));
+
+        dispatcher.start();
+        assertTrue(dispatcher.isRunning());
+        assertEquals(List.of("enviado"), dispatcher.despachar(envios, indice -> "expirado"));
+    }
+}
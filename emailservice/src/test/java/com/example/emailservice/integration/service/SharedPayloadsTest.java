@@ -0,0 +1,109 @@
+package com.example.emailservice.integration.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.example.emailservice.business.domain.model.Email;
+import com.example.emailservice.infrastructure.util.JsonSerializer;
+import com.example.emailservice.integration.adapter.IEmailProviderAdapter;
+import com.example.emailservice.integration.adapter.impl.AwsEmailAdapter;
+import com.example.emailservice.integration.adapter.impl.OciEmailAdapter;
+import com.example.emailservice.integration.adapter.impl.SmtpEmailAdapter;
+import com.example.emailservice.integration.dto.EmailAwsDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@DisplayName("SharedPayloads - Testes Unitários")
+public class SharedPayloadsTest {
+
+    private final JsonSerializer jsonSerializer = new JsonSerializer(new ObjectMapper());
+
+    private static Email criarCopia(String destinatario, String nome) {
+        return new Email(null, destinatario, nome, "remetente@email.com", "Aviso \"importante\"",
+            "Conteúdo com acentuação, aspas \" e barra \\ ".repeat(20), List.of(), List.of("copia@email.com"));
+    }
+
+    private static String concatenar(List<byte[]> partes) {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        partes.forEach(saida::writeBytes);
+        return saida.toString(StandardCharsets.UTF_8);
+    }
+
+    private <T> void assertCopiasIguaisAoEmailInteiro(IEmailProviderAdapter<T> adapter) {
+        SharedPayloads compartilhado = new SharedPayloads(jsonSerializer);
+        List<Email> copias = List.of(
+            criarCopia("ana@email.com", "Ana"),
+            criarCopia("bruno.com.um.endereco.bem.maior.que.o.limite@email.com", "Bruno \"B\" de Souza e Silva ".repeat(5)),
+            criarCopia("carla@email.com", "Cárla\n "));
+
+        for (Email copia : copias) {
+            T emailAdaptado = compartilhado.adaptar(adapter, copia);
+
+            assertEquals(new String(jsonSerializer.serializeToBytes(adapter.adaptEmail(copia)), StandardCharsets.UTF_8),
+                concatenar(compartilhado.serializar(adapter, emailAdaptado)));
+        }
+    }
+
+    @Test
+    @DisplayName("Deve produzir para cada cópia o mesmo JSON do email serializado por inteiro, com truncamento e escape")
+    void serializar_ComVariasCopias_DeveIgualarEmailInteiro() {
+        assertCopiasIguaisAoEmailInteiro(new AwsEmailAdapter(null, ""));
+        assertCopiasIguaisAoEmailInteiro(new OciEmailAdapter(null, ""));
+        assertCopiasIguaisAoEmailInteiro(new SmtpEmailAdapter(null));
+    }
+
+    @Test
+    @DisplayName("Deve adaptar o email inteiro uma única vez e compartilhar as partes fixas do JSON entre as cópias")
+    void serializar_ComVariasCopias_DeveCompartilharModelo() {
+        AwsEmailAdapter adapter = spy(new AwsEmailAdapter(null, ""));
+        SharedPayloads compartilhado = new SharedPayloads(jsonSerializer);
+
+        List<byte[]> primeira = compartilhado.serializar(adapter,
+            compartilhado.adaptar(adapter, criarCopia("ana@email.com", "Ana")));
+        List<byte[]> segunda = compartilhado.serializar(adapter,
+            compartilhado.adaptar(adapter, criarCopia("bruno@email.com", "Bruno")));
+
+        verify(adapter, times(1)).adaptEmail(any());
+        assertEquals(primeira.size(), segunda.size());
+        for (int i = 0; i < primeira.size(); i += 2) {
+            assertSame(primeira.get(i), segunda.get(i));
+        }
+    }
+
+    @Test
+    @DisplayName("Deve serializar cada cópia por inteiro quando o adapter não informa os campos do destinatário")
+    void serializar_SemCamposDoDestinatario_DeveSerializarPorInteiro() {
+        IEmailProviderAdapter<EmailAwsDTO> adapter = new IEmailProviderAdapter<>() {
+            private final AwsEmailAdapter aws = new AwsEmailAdapter(null, "");
+
+            @Override
+            public EmailAwsDTO adaptEmail(Email email) {
+                return aws.adaptEmail(email);
+            }
+
+            @Override
+            public String getProviderType() {
+                return "PROPRIO";
+            }
+        };
+        SharedPayloads compartilhado = new SharedPayloads(jsonSerializer);
+        Email copia = criarCopia("bruno@email.com", "Bruno");
+
+        compartilhado.adaptar(adapter, criarCopia("ana@email.com", "Ana"));
+        List<byte[]> json = compartilhado.serializar(adapter, compartilhado.adaptar(adapter, copia));
+
+        assertEquals(1, json.size());
+        assertEquals(new String(jsonSerializer.serializeToBytes(adapter.adaptEmail(copia)), StandardCharsets.UTF_8),
+            concatenar(json));
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.emailservice.integration.smtp;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Servidor SMTP mínimo para testes de integração em localhost
+ * Registra as mensagens recebidas, quantas conexões foram abertas e quantos lotes de comandos
+ * chegaram juntos (evidência de PIPELINING). Destinatários contendo "rejeitado" recebem 550, os contendo
+ * "resposta-invalida" recebem uma resposta sem código e, para os contendo "sem-aceite", a mensagem é
+ * registrada mas o 250 final nunca é enviado.
+ */
+public class EmbeddedSmtpServer implements AutoCloseable {
+
+    private final ServerSocket serverSocket;
+    private final boolean anunciarPipelining;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final Set<Socket> conexoesAtivas = ConcurrentHashMap.newKeySet();
+    private final List<MensagemRecebida> mensagens = new CopyOnWriteArrayList<>();
+    private final AtomicInteger conexoesAceitas = new AtomicInteger();
+    private final AtomicInteger lotesPipelining = new AtomicInteger();
+
+    public EmbeddedSmtpServer(boolean anunciarPipelining) throws IOException {
+        this.anunciarPipelining = anunciarPipelining;
+        this.serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        executor.submit(this::aceitarConexoes);
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public List<MensagemRecebida> getMensagens() {
+        return mensagens;
+    }
+
+    public int getConexoesAceitas() {
+        return conexoesAceitas.get();
+    }
+
+    public int getLotesPipelining() {
+        return lotesPipelining.get();
+    }
+
+    /**
+     * Simula o servidor derrubando as sessões ociosas
+     */
+    public void derrubarConexoes() throws IOException {
+        for (Socket socket : conexoesAtivas) {
+            socket.close();
+        }
+    }
+
+    private void aceitarConexoes() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                conexoesAceitas.incrementAndGet();
+                conexoesAtivas.add(socket);
+                executor.submit(() -> atender(socket));
+            } catch (IOException e) {
+                return;
+            }
+        }
+    }
+
+    private void atender(Socket socket) {
+        try (socket) {
+            BufferedReader entrada = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            OutputStream saida = socket.getOutputStream();
+            responder(saida, "220 localhost ESMTP teste");
+
+            String mailFrom = null;
+            String rcptTo = null;
+            String linha;
+
+            while ((linha = entrada.readLine()) != null) {
+                String comando = linha.toUpperCase();
+
+                if (comando.startsWith("EHLO")) {
+                    responder(saida, anunciarPipelining
+                        ? "250-localhost\r\n250-PIPELINING\r\n250 8BITMIME"
+                        : "250-localhost\r\n250 8BITMIME");
+                } else if (comando.startsWith("MAIL FROM:")) {
+                    if (entrada.ready()) {
+                        lotesPipelining.incrementAndGet();
+                    }
+                    mailFrom = extrairEndereco(linha);
+                    responder(saida, "250 OK");
+                } else if (comando.startsWith("RCPT TO:")) {
+                    String endereco = extrairEndereco(linha);
+                    if (endereco.contains("rejeitado")) {
+                        responder(saida, "550 Destinatário rejeitado");
+                    } else if (endereco.contains("resposta-invalida")) {
+                        responder(saida, "OK");
+                    } else {
+                        rcptTo = endereco;
+                        responder(saida, "250 OK");
+                    }
+                } else if (comando.equals("DATA")) {
+                    if (mailFrom == null || rcptTo == null) {
+                        responder(saida, "503 Sequência inválida");
+                        continue;
+                    }
+                    responder(saida, "354 Envie os dados");
+                    mensagens.add(new MensagemRecebida(mailFrom, rcptTo, lerDados(entrada)));
+                    boolean semAceite = rcptTo.contains("sem-aceite");
+                    mailFrom = null;
+                    rcptTo = null;
+                    if (!semAceite) {
+                        responder(saida, "250 Mensagem aceita");
+                    }
+                } else if (comando.equals("RSET")) {
+                    mailFrom = null;
+                    rcptTo = null;
+                    responder(saida, "250 OK");
+                } else if (comando.equals("QUIT")) {
+                    responder(saida, "221 Até logo");
+                    return;
+                } else {
+                    responder(saida, "502 Comando não implementado");
+                }
+            }
+        } catch (IOException e) {
+            // conexão encerrada pelo cliente ou por derrubarConexoes
+        } finally {
+            conexoesAtivas.remove(socket);
+        }
+    }
+
+    private String lerDados(BufferedReader entrada) throws IOException {
+        StringBuilder dados = new StringBuilder();
+        String linha;
+        while ((linha = entrada.readLine()) != null && !linha.equals(".")) {
+            dados.append(linha.startsWith("..") ? linha.substring(1) : linha).append("\r\n");
+        }
+        return dados.toString();
+    }
+
+    private String extrairEndereco(String linha) {
+        return linha.substring(linha.indexOf('<') + 1, linha.indexOf('>'));
+    }
+
+    private void responder(OutputStream saida, String resposta) throws IOException {
+        saida.write((resposta + "\r\n").getBytes(StandardCharsets.UTF_8));
+        saida.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        derrubarConexoes();
+        executor.shutdownNow();
+    }
+
+    public record MensagemRecebida(String mailFrom, String rcptTo, String dados) { }
+}
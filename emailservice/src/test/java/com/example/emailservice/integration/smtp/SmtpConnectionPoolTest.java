@@ -0,0 +1,357 @@
+package com.example.emailservice.integration.smtp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.example.emailservice.business.domain.model.EmailAttachment;
+import com.example.emailservice.integration.dto.EmailSmtpDTO;
+import com.example.emailservice.integration.exception.EmailIntegrationException;
+import com.example.emailservice.integration.exception.EmailNotDeliveredException;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.EventData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+
+@DisplayName("SmtpConnectionPool - Testes de Integração")
+public class SmtpConnectionPoolTest {
+
+    @TempDir
+    Path diretorio;
+
+    private EmbeddedSmtpServer servidor;
+    private SmtpConnectionPool pool;
+
+    private void iniciar(boolean pipelining, int tamanhoPool) throws Exception {
+        iniciar(pipelining, tamanhoPool, 5000);
+    }
+
+    private void iniciar(boolean pipelining, int tamanhoPool, int timeoutMs) throws Exception {
+        servidor = new EmbeddedSmtpServer(pipelining);
+        pool = new SmtpConnectionPool("localhost", servidor.getPort(), tamanhoPool, timeoutMs, 30000, 100, "teste.local");
+    }
+
+    @AfterEach
+    void encerrar() throws Exception {
+        if (pool != null) {
+            pool.fechar();
+        }
+        if (servidor != null) {
+            servidor.close();
+        }
+    }
+
+    private EmailSmtpDTO criarEmail(String destinatario) {
+        return new EmailSmtpDTO("remetente@email.com", destinatario, "João Silva",
+            "Assunto do Email", "Conteúdo do email de teste");
+    }
+
+    private String decodificarCorpo(String dados) {
+        String corpo = dados.substring(dados.indexOf("\r\n\r\n") + 4).replace("\r\n", "");
+        return new String(Base64.getDecoder().decode(corpo), StandardCharsets.UTF_8);
+    }
+
+    private String boundary(String dados) {
+        int inicio = dados.indexOf("boundary=\"") + "boundary=\"".length();
+        return dados.substring(inicio, dados.indexOf('"', inicio));
+    }
+
+    /**
+     * Retorna as partes do multipart (cabeçalhos e corpo), sem o preâmbulo e o fechamento
+     */
+    private List<String> partes(String dados) {
+        String delimitador = "--" + boundary(dados);
+        String[] blocos = dados.split(Pattern.quote(delimitador));
+        assertTrue(blocos[blocos.length - 1].startsWith("--"), "Multipart sem delimitador final");
+        return Arrays.asList(blocos).subList(1, blocos.length - 1);
+    }
+
+    private EmailAttachment criarAnexo(String nome, byte[] conteudo) throws Exception {
+        Path arquivo = Files.write(diretorio.resolve("anexo-" + conteudo.length), conteudo);
+        return new EmailAttachment(nome, "application/octet-stream", arquivo, conteudo.length);
+    }
+
+    @Test
+    @DisplayName("Deve enviar várias mensagens reaproveitando a mesma sessão SMTP")
+    void enviar_VariasMensagens_DeveReaproveitarSessao() throws Exception {
+        iniciar(true, 2);
+
+        for (int i = 0; i < 10; i++) {
+            pool.enviar(criarEmail("destinatario" + i + "@email.com"));
+        }
+
+        assertEquals(10, servidor.getMensagens().size());
+        assertEquals(1, servidor.getConexoesAceitas());
+        assertEquals(1, pool.getConexoesAbertas());
+        assertEquals(1, pool.getConexoesOciosas());
+    }
+
+    @Test
+    @DisplayName("Deve propagar o span do chamador para a thread do pool")
+    void enviarAsync_ComSpanCorrente_DevePropagarContexto() throws Exception {
+        iniciar(true, 1);
+        InMemorySpanExporter exportador = InMemorySpanExporter.create();
+
+        try (SdkTracerProvider tracerProvider = SdkTracerProvider.builder()
+                .addSpanProcessor(SimpleSpanProcessor.create(exportador))
+                .build()) {
+            Span span = tracerProvider.get("teste").spanBuilder("entrega").startSpan();
+            try (Scope escopo = span.makeCurrent()) {
+                pool.enviarAsync(criarEmail("destinatario@email.com")).join();
+                pool.enviarAsync(criarEmail("destinatario@email.com")).join();
+            } finally {
+                span.end();
+            }
+
+            assertEquals(List.of("smtp.sessao_nova", "smtp.sessao_reaproveitada"),
+                exportador.getFinishedSpanItems().get(0).getEvents().stream().map(EventData::getName).toList());
+        }
+    }
+
+    @Test
+    @DisplayName("Deve enviar MAIL, RCPT e DATA em lote quando o servidor anuncia PIPELINING")
+    void enviar_ComPipelining_DeveEnviarComandosEmLote() throws Exception {
+        iniciar(true, 1);
+
+        for (int i = 0; i < 5; i++) {
+            pool.enviar(criarEmail("destinatario@email.com"));
+        }
+
+        assertEquals(5, servidor.getMensagens().size());
+        assertEquals(5, servidor.getLotesPipelining());
+    }
+
+    @Test
+    @DisplayName("Deve enviar comando a comando quando o servidor não anuncia PIPELINING")
+    void enviar_SemPipelining_DeveEnviarComandoAComando() throws Exception {
+        iniciar(false, 1);
+
+        pool.enviar(criarEmail("destinatario@email.com"));
+        pool.enviar(criarEmail("outro@email.com"));
+
+        assertEquals(2, servidor.getMensagens().size());
+        assertEquals(0, servidor.getLotesPipelining());
+        assertEquals("outro@email.com", servidor.getMensagens().get(1).rcptTo());
+    }
+
+    @Test
+    @DisplayName("Deve reenviar em nova sessão quando o servidor derruba a sessão ociosa")
+    void enviar_ComSessaoDerrubada_DeveReconectarEEnviar() throws Exception {
+        iniciar(true, 1);
+
+        pool.enviar(criarEmail("primeiro@email.com"));
+        servidor.derrubarConexoes();
+        pool.enviar(criarEmail("segundo@email.com"));
+
+        assertEquals(2, servidor.getMensagens().size());
+        assertEquals(2, servidor.getConexoesAceitas());
+    }
+
+    @Test
+    @DisplayName("Não deve reenviar quando a sessão reaproveitada falha aguardando o aceite após o fim do DATA")
+    void enviar_ComTimeoutAposFimDoData_NaoDeveReenviar() throws Exception {
+        iniciar(true, 1, 300);
+
+        pool.enviar(criarEmail("primeiro@email.com"));
+        EmailIntegrationException exception = assertThrows(EmailIntegrationException.class,
+            () -> pool.enviar(criarEmail("sem-aceite@email.com")));
+
+        assertFalse(exception instanceof EmailNotDeliveredException);
+        assertEquals(2, servidor.getMensagens().size());
+        assertEquals(1, servidor.getConexoesAceitas());
+        assertEquals(0, pool.getConexoesOciosas());
+    }
+
+    @Test
+    @DisplayName("Deve descartar a sessão e lançar EmailNotDeliveredException para resposta SMTP malformada")
+    void enviar_ComRespostaMalformada_DeveDescartarSessao() throws Exception {
+        iniciar(true, 1);
+
+        pool.enviar(criarEmail("primeiro@email.com"));
+        EmailNotDeliveredException exception = assertThrows(EmailNotDeliveredException.class,
+            () -> pool.enviar(criarEmail("resposta-invalida@email.com")));
+
+        assertTrue(exception.getMessage().contains("Resposta SMTP inválida"));
+        assertEquals(1, servidor.getMensagens().size());
+        assertEquals(2, servidor.getConexoesAceitas());
+        assertEquals(0, pool.getConexoesOciosas());
+    }
+
+    @Test
+    @DisplayName("Deve lançar EmailIntegrationException para destinatário rejeitado e manter a sessão utilizável")
+    void enviar_ComDestinatarioRejeitado_DeveLancarExcecaoEManterSessao() throws Exception {
+        iniciar(true, 1);
+
+        EmailIntegrationException exception = assertThrows(EmailIntegrationException.class,
+            () -> pool.enviar(criarEmail("rejeitado@email.com")));
+        pool.enviar(criarEmail("destinatario@email.com"));
+
+        assertTrue(exception.getMessage().contains("550"));
+        assertEquals(1, servidor.getMensagens().size());
+        assertEquals(1, servidor.getConexoesAceitas());
+    }
+
+    @Test
+    @DisplayName("Deve limitar o número de sessões ao tamanho do pool em envios concorrentes")
+    void enviar_Concorrente_DeveRespeitarTamanhoDoPool() throws Exception {
+        iniciar(true, 4);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        try {
+            List<Future<?>> envios = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                String destinatario = "destinatario" + i + "@email.com";
+                envios.add(executor.submit(() -> pool.enviar(criarEmail(destinatario))));
+            }
+            for (Future<?> envio : envios) {
+                envio.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(200, servidor.getMensagens().size());
+        assertTrue(servidor.getConexoesAceitas() <= 4,
+            "Sessões abertas: " + servidor.getConexoesAceitas());
+    }
+
+    @Test
+    @DisplayName("Deve codificar assunto não ASCII e corpo em base64")
+    void enviar_ComConteudoUnicode_DeveCodificarCabecalhosECorpo() throws Exception {
+        iniciar(true, 1);
+
+        pool.enviar(new EmailSmtpDTO("remetente@email.com", "destinatario@email.com", "João Silva",
+            "Promoção de verão", "Olá, João!\n.\nLinha com ponto acima."));
+
+        String dados = servidor.getMensagens().get(0).dados();
+        assertTrue(dados.contains("Subject: =?UTF-8?B?"));
+        assertTrue(dados.contains("To: =?UTF-8?B?"));
+        assertTrue(dados.contains("Content-Transfer-Encoding: base64"));
+        assertEquals("Olá, João!\n.\nLinha com ponto acima.", decodificarCorpo(dados));
+    }
+
+    @Test
+    @DisplayName("Deve listar as cópias no cabeçalho Cc sem incluí-las no envelope")
+    void enviar_ComCopias_DeveEscreverCabecalhoCc() throws Exception {
+        iniciar(true, 1);
+        EmailSmtpDTO email = new EmailSmtpDTO("remetente@email.com", "destinatario@email.com", "João Silva",
+            "Assunto", "Conteúdo");
+        email.setCc(List.of("ana@email.com", "bruno@email.com"));
+
+        pool.enviar(email);
+
+        EmbeddedSmtpServer.MensagemRecebida mensagem = servidor.getMensagens().get(0);
+        assertTrue(mensagem.dados().contains("Cc: ana@email.com, bruno@email.com\r\n"));
+        assertEquals("destinatario@email.com", mensagem.rcptTo());
+    }
+
+    @Test
+    @DisplayName("Deve impedir injeção de cabeçalhos pelo assunto")
+    void enviar_ComQuebraDeLinhaNoAssunto_NaoDeveInjetarCabecalho() throws Exception {
+        iniciar(true, 1);
+
+        pool.enviar(new EmailSmtpDTO("remetente@email.com", "destinatario@email.com", "João Silva",
+            "Assunto\r\nBcc: intruso@email.com", "Conteúdo"));
+
+        String dados = servidor.getMensagens().get(0).dados();
+        assertFalse(dados.contains("Bcc: intruso@email.com"));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar endereço com caracteres que alterariam o comando SMTP")
+    void enviar_ComEnderecoInvalido_DeveLancarExcecaoSemEnviar() throws Exception {
+        iniciar(true, 1);
+
+        assertThrows(EmailIntegrationException.class,
+            () -> pool.enviar(criarEmail("destinatario@email.com>\r\nRCPT TO:<intruso@email.com")));
+
+        assertTrue(servidor.getMensagens().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve enviar anexos como partes multipart codificadas em base64")
+    void enviar_ComAnexos_DeveMontarMultipart() throws Exception {
+        iniciar(true, 1);
+        byte[] conteudo = new byte[10_000];
+        for (int i = 0; i < conteudo.length; i++) {
+            conteudo[i] = (byte) (i * 31);
+        }
+
+        pool.enviar(new EmailSmtpDTO("remetente@email.com", "destinatario@email.com", "João Silva",
+            "Relatório", "Segue o relatório.", List.of(criarAnexo("Relatório de Março.bin", conteudo),
+                criarAnexo("vazio.txt", new byte[0]))));
+
+        String dados = servidor.getMensagens().get(0).dados();
+        List<String> partes = partes(dados);
+        assertTrue(dados.contains("Content-Type: multipart/mixed; boundary="));
+        assertEquals(3, partes.size());
+        assertEquals("Segue o relatório.", decodificarCorpo(partes.get(0)));
+
+        String anexo = partes.get(1);
+        assertTrue(anexo.contains("Content-Disposition: attachment; filename*=UTF-8''Relat%C3%B3rio%20de%20Mar%C3%A7o.bin"));
+        String corpo = anexo.substring(anexo.indexOf("\r\n\r\n") + 4);
+        for (String linha : corpo.split("\r\n")) {
+            assertTrue(linha.length() <= 76, "Linha com " + linha.length() + " caracteres");
+        }
+        assertTrue(Arrays.equals(conteudo, Base64.getDecoder().decode(corpo.replace("\r\n", ""))));
+        assertTrue(partes.get(2).contains("filename=\"vazio.txt\""));
+    }
+
+    @Test
+    @DisplayName("Deve transmitir anexo grande em blocos, sem carregá-lo inteiro em memória")
+    void enviar_ComAnexoGrande_NaoDeveCarregarArquivoEmMemoria() throws Exception {
+        iniciar(true, 1);
+        int tamanho = 16 * 1024 * 1024;
+        EmailAttachment anexo = criarAnexo("grande.bin", new byte[tamanho]);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+        pool.enviar(criarEmail("aquecimento@email.com"));
+        long antes = threads.getCurrentThreadAllocatedBytes();
+        pool.enviar(new EmailSmtpDTO("remetente@email.com", "destinatario@email.com", "João Silva",
+            "Arquivo grande", "Segue o arquivo.", List.of(anexo)));
+        long alocados = threads.getCurrentThreadAllocatedBytes() - antes;
+
+        assertEquals(2, servidor.getMensagens().size());
+        assertTrue(alocados < tamanho / 8, "Bytes alocados no envio: " + alocados);
+    }
+
+    @Test
+    @DisplayName("Deve fechar as sessões no stop e abrir novas após o start, como no checkpoint do CRaC")
+    void stopEStart_DeveFecharSessoesEReabrirPool() throws Exception {
+        iniciar(true, 2);
+        pool.enviarAsync(criarEmail("antes@email.com")).join();
+
+        pool.stop();
+        assertFalse(pool.isRunning());
+        assertEquals(0, pool.getConexoesOciosas());
+
+        pool.start();
+        assertTrue(pool.isRunning());
+        pool.enviarAsync(criarEmail("depois@email.com")).join();
+
+        assertEquals(2, servidor.getMensagens().size());
+        assertEquals(2, servidor.getConexoesAceitas());
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.emailservice.presentation.controller;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.example.emailservice.infrastructure.concurrency.AdaptiveConcurrencyLimiter;
+
+/**
+ * Envio pelo pipeline real até um provedor AWS cujo endpoint recusa a conexão
+ */
+@SpringBootTest(properties = {
+    "mail.integracao=AWS",
+    "mail.integracao.fallback=",
+    "mail.http.aws.endpoint=http://127.0.0.1:1/enviar"
+})
+@AutoConfigureMockMvc
+@DisplayName("EmailController - Testes de Integração")
+public class EmailControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    @Qualifier("enviarEmailLimiter")
+    private AdaptiveConcurrencyLimiter enviarEmailLimiter;
+
+    @Test
+    @DisplayName("Deve registrar a falha do provedor como descarte no limitador do endpoint")
+    void enviarEmail_ComProvedorIndisponivel_DeveReduzirLimiteDoEndpoint() throws Exception {
+        int limiteAntes = enviarEmailLimiter.getLimite();
+
+        mockMvc.perform(post("/api/email/enviar")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("""
+                                {"recipientEmail":"destinatario@email.com","recipientName":"João Silva",
+                                 "senderEmail":"remetente@email.com","subject":"Assunto","content":"Conteúdo"}
+                                """))
+               .andExpect(status().isBadRequest())
+               .andExpect(jsonPath("$.error").value("INTEGRATION_ERROR"));
+
+        assertTrue(enviarEmailLimiter.getLimite() < limiteAntes,
+            "Limite do endpoint: " + limiteAntes + " -> " + enviarEmailLimiter.getLimite());
+    }
+}
@@ -6,22 +6,46 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import com.example.emailservice.business.domain.dto.EmailRequestDTO;
+import com.example.emailservice.business.domain.dto.MultiRecipientResultDTO;
+import com.example.emailservice.business.domain.dto.RecipientResultDTO;
 import com.example.emailservice.business.exception.EmailBusinessException;
+import com.example.emailservice.business.service.EmailFanOutService;
 import com.example.emailservice.business.service.EmailProcessingService;
+import com.example.emailservice.infrastructure.concurrency.AdaptiveConcurrencyLimiter;
+import com.example.emailservice.infrastructure.config.ConcurrencyLimitConfiguration;
+import com.example.emailservice.infrastructure.idempotency.IdempotencyCache;
+import com.example.emailservice.infrastructure.metrics.LatencyRecorder;
+import com.example.emailservice.infrastructure.metrics.PipelineMetrics;
+import com.example.emailservice.infrastructure.tracing.PipelineTracing;
+import com.example.emailservice.infrastructure.util.JsonSerializer;
+import com.example.emailservice.infrastructure.util.XxHash64;
+import com.example.emailservice.infrastructure.warmup.JitWarmup;
 import com.example.emailservice.integration.exception.EmailIntegrationException;
+import com.example.emailservice.shared.enums.DeliveryStatus;
+import com.example.emailservice.shared.enums.RecipientType;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
-@WebMvcTest
+@WebMvcTest(value = EmailController.class, properties = "mail.idempotencia.espera-ms=100")
+@Import({ ConcurrencyLimitConfiguration.class, PipelineMetrics.class, LatencyRecorder.class, SimpleMeterRegistry.class,
+    PipelineTracing.class, IdempotencyCache.class, JsonSerializer.class })
 @DisplayName("EmailController - Testes Unitários")
 public class EmailControllerTest {
     
@@ -31,13 +55,30 @@ public class EmailControllerTest {
     @MockBean
     private EmailProcessingService emailProcessingService;
 
+    @MockBean
+    private EmailFanOutService emailFanOutService;
+
+    @MockBean
+    private JitWarmup jitWarmup;
+
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private AdaptiveConcurrencyLimiter enviarEmailLimiter;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private IdempotencyCache idempotencyCache;
+
     private EmailRequestDTO validEmailRequestDTO;
 
     @BeforeEach
     void setup() {
+        when(jitWarmup.isConcluido()).thenReturn(true);
+
         validEmailRequestDTO = new EmailRequestDTO();
         validEmailRequestDTO.setRecipientEmail("destinatario@email.com");
         validEmailRequestDTO.setRecipientName("João Silva");
@@ -60,6 +101,61 @@ public class EmailControllerTest {
         verify(emailProcessingService).processarEmail(any(EmailRequestDTO.class));
     }
 
+    @Test
+    @DisplayName("Deve retornar 204 quando o email referencia um template em vez de assunto e conteúdo")
+    void enviarEmail_ComTemplate_DeveRetornar204() throws Exception {
+        doNothing().when(emailProcessingService).processarEmail(any(EmailRequestDTO.class));
+
+        mockMvc.perform(post("/api/email/enviar")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("""
+                                {"recipientEmail":"destinatario@email.com","recipientName":"João Silva",
+                                 "senderEmail":"remetente@email.com","templateId":"boas-vindas",
+                                 "variaveis":{"produto":"Email Service","link":"https://exemplo.com"}}
+                                """))
+               .andExpect(status().isNoContent());
+
+        verify(emailProcessingService).processarEmail(any(EmailRequestDTO.class));
+    }
+
+    @Test
+    @DisplayName("Deve retornar 200 com o resultado de cada destinatário quando o email usa as listas to/cc/bcc")
+    void enviarEmail_ComListasDeDestinatarios_DeveRetornar200ComResultados() throws Exception {
+        when(emailFanOutService.processar(any(EmailRequestDTO.class))).thenReturn(new MultiRecipientResultDTO(List.of(
+            RecipientResultDTO.enviado("ana@email.com", RecipientType.TO, "id.1", "AWS", DeliveryStatus.ENTREGUE),
+            RecipientResultDTO.falha("carla@email.com", RecipientType.CC, "id.2", "Provedor indisponível."))));
+
+        mockMvc.perform(post("/api/email/enviar")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("""
+                                {"senderEmail":"remetente@email.com","subject":"Reunião","content":"Pauta anexa.",
+                                 "to":[{"recipientEmail":"ana@email.com","recipientName":"Ana"}],
+                                 "cc":[{"recipientEmail":"carla@email.com"}]}
+                                """))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.destinatarios").value(2))
+               .andExpect(jsonPath("$.enviados").value(1))
+               .andExpect(jsonPath("$.resultados[1].tipo").value("CC"))
+               .andExpect(jsonPath("$.resultados[1].erro").value("Provedor indisponível."));
+
+        verifyNoInteractions(emailProcessingService);
+    }
+
+    @Test
+    @DisplayName("Deve retornar 400 quando o email informa recipientEmail e também as listas")
+    void enviarEmail_ComDestinatarioEListas_DeveRetornar400() throws Exception {
+        mockMvc.perform(post("/api/email/enviar")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("""
+                                {"recipientEmail":"destinatario@email.com","recipientName":"João Silva",
+                                 "senderEmail":"remetente@email.com","subject":"Reunião","content":"Pauta anexa.",
+                                 "to":[{"recipientEmail":"ana@email.com"}]}
+                                """))
+               .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(emailProcessingService, emailFanOutService);
+    }
+
     @Test
     @DisplayName("Deve retornar 400 quando dados de entrada são inválidos")
     void enviarEmail_ComDadosInvalidos_DeveRetornar400() throws Exception {
@@ -78,6 +174,47 @@ public class EmailControllerTest {
         verifyNoInteractions(emailProcessingService);
     }
 
+    @Test
+    @DisplayName("Deve responder a requisição inválida com o corpo de erro de domínio")
+    void enviarEmail_ComDadosInvalidos_DeveRetornarCorpoDeErro() throws Exception {
+        validEmailRequestDTO.setSenderEmail("remetente-invalido");
+
+        mockMvc.perform(post("/api/email/enviar")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(validEmailRequestDTO)))
+               .andExpect(status().isBadRequest())
+               .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+               .andExpect(jsonPath("$.status").value(400))
+               .andExpect(jsonPath("$.error").value("DOMAIN_VALIDATION_ERROR"))
+               .andExpect(jsonPath("$.message").value("Email do remetente deve ter formato válido"))
+               .andExpect(jsonPath("$.timestamp").exists());
+
+        verifyNoInteractions(emailProcessingService);
+    }
+
+    @Test
+    @DisplayName("Deve registrar a duração da validação com o resultado")
+    void enviarEmail_DeveRegistrarMetricaDaValidacao() throws Exception {
+        double falhasAntes = contarValidacoes("falha");
+        double sucessosAntes = contarValidacoes("sucesso");
+        validEmailRequestDTO.setRecipientEmail("email-invalido");
+
+        mockMvc.perform(post("/api/email/enviar")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(validEmailRequestDTO)))
+               .andExpect(status().isBadRequest());
+
+        assertEquals(falhasAntes + 1, contarValidacoes("falha"));
+        assertEquals(sucessosAntes, contarValidacoes("sucesso"));
+    }
+
+    private double contarValidacoes(String resultado) {
+        var timer = meterRegistry.find(PipelineMetrics.METRICA_ETAPA)
+            .tags("etapa", "validacao", "resultado", resultado)
+            .timer();
+        return timer == null ? 0 : timer.count();
+    }
+
     @Test
     @DisplayName("Deve retornar 400 quando corpo da requisição está vazio")
     void enviarEmail_ComCorpoVazio_DeveRetornar400() throws Exception {
@@ -183,6 +320,128 @@ public class EmailControllerTest {
         verify(emailProcessingService).processarEmail(any(EmailRequestDTO.class));
     }
 
+    @Test
+    @DisplayName("Deve devolver a resposta guardada sem reenviar quando a Idempotency-Key se repete")
+    void enviarEmail_ComChaveRepetida_DeveDevolverRespostaSemReenviar() throws Exception {
+        doNothing().when(emailProcessingService).processarEmail(any(EmailRequestDTO.class));
+        String corpo = objectMapper.writeValueAsString(validEmailRequestDTO);
+
+        mockMvc.perform(post("/api/email/enviar")
+                            .header(EmailController.CABECALHO_IDEMPOTENCIA, "pedido-repetido")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(corpo))
+               .andExpect(status().isNoContent())
+               .andExpect(header().doesNotExist(EmailController.CABECALHO_REPETIDA));
+        mockMvc.perform(post("/api/email/enviar")
+                            .header(EmailController.CABECALHO_IDEMPOTENCIA, "pedido-repetido")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(corpo))
+               .andExpect(status().isNoContent())
+               .andExpect(header().string(EmailController.CABECALHO_REPETIDA, "true"));
+
+        verify(emailProcessingService, times(1)).processarEmail(any(EmailRequestDTO.class));
+    }
+
+    @Test
+    @DisplayName("Deve liberar a Idempotency-Key quando o envio falha, permitindo nova tentativa")
+    void enviarEmail_ComChaveDeEnvioQueFalhou_DeveProcessarNovamente() throws Exception {
+        doThrow(new EmailIntegrationException("Erro de integração")).doNothing()
+            .when(emailProcessingService).processarEmail(any(EmailRequestDTO.class));
+        String corpo = objectMapper.writeValueAsString(validEmailRequestDTO);
+
+        mockMvc.perform(post("/api/email/enviar")
+                            .header(EmailController.CABECALHO_IDEMPOTENCIA, "pedido-com-falha")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(corpo))
+               .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/email/enviar")
+                            .header(EmailController.CABECALHO_IDEMPOTENCIA, "pedido-com-falha")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(corpo))
+               .andExpect(status().isNoContent())
+               .andExpect(header().doesNotExist(EmailController.CABECALHO_REPETIDA));
+
+        verify(emailProcessingService, times(2)).processarEmail(any(EmailRequestDTO.class));
+    }
+
+    @Test
+    @DisplayName("Deve devolver o 200 guardado com os resultados por destinatário quando a Idempotency-Key se repete")
+    void enviarEmail_ComChaveRepetidaEmListas_DeveDevolverResultadosGuardados() throws Exception {
+        when(emailFanOutService.processar(any(EmailRequestDTO.class))).thenReturn(new MultiRecipientResultDTO(List.of(
+            RecipientResultDTO.enviado("ana@email.com", RecipientType.TO, "id.1", "AWS", DeliveryStatus.ENTREGUE))));
+        String corpo = """
+            {"senderEmail":"remetente@email.com","subject":"Reunião","content":"Pauta anexa.",
+             "to":[{"recipientEmail":"ana@email.com","recipientName":"Ana"}]}
+            """;
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(post("/api/email/enviar")
+                                .header(EmailController.CABECALHO_IDEMPOTENCIA, "pedido-listas")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(corpo))
+                   .andExpect(status().isOk())
+                   .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                   .andExpect(jsonPath("$.enviados").value(1))
+                   .andExpect(jsonPath("$.resultados[0].recipientEmail").value("ana@email.com"));
+        }
+
+        verify(emailFanOutService, times(1)).processar(any(EmailRequestDTO.class));
+    }
+
+    @Test
+    @DisplayName("Deve retornar 422 quando a Idempotency-Key se repete com outro corpo")
+    void enviarEmail_ComChaveRepetidaEOutroCorpo_DeveRetornar422() throws Exception {
+        doNothing().when(emailProcessingService).processarEmail(any(EmailRequestDTO.class));
+
+        mockMvc.perform(post("/api/email/enviar")
+                            .header(EmailController.CABECALHO_IDEMPOTENCIA, "pedido-reusado")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(validEmailRequestDTO)))
+               .andExpect(status().isNoContent());
+        validEmailRequestDTO.setSubject("Outro assunto");
+        mockMvc.perform(post("/api/email/enviar")
+                            .header(EmailController.CABECALHO_IDEMPOTENCIA, "pedido-reusado")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(validEmailRequestDTO)))
+               .andExpect(status().isUnprocessableEntity())
+               .andExpect(jsonPath("$.error").value("IDEMPOTENCY_KEY_REUSED"));
+
+        verify(emailProcessingService, times(1)).processarEmail(any(EmailRequestDTO.class));
+    }
+
+    @Test
+    @DisplayName("Deve retornar 409 quando a requisição com a mesma Idempotency-Key não termina dentro da espera")
+    void enviarEmail_ComChaveEmAndamento_DeveRetornar409() throws Exception {
+        IdempotencyCache.Reserva emAndamento = idempotencyCache.reservar("pedido-em-andamento",
+            XxHash64.hash(objectMapper.writeValueAsBytes(validEmailRequestDTO)));
+
+        try {
+            mockMvc.perform(post("/api/email/enviar")
+                                .header(EmailController.CABECALHO_IDEMPOTENCIA, "pedido-em-andamento")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(validEmailRequestDTO)))
+                   .andExpect(status().isConflict())
+                   .andExpect(jsonPath("$.error").value("IDEMPOTENCY_CONFLICT"));
+        } finally {
+            emAndamento.falhar(new IllegalStateException("Encerrada pelo teste"));
+        }
+
+        verifyNoInteractions(emailProcessingService);
+    }
+
+    @Test
+    @DisplayName("Deve retornar 400 quando a Idempotency-Key é vazia ou longa demais")
+    void enviarEmail_ComChaveInvalida_DeveRetornar400() throws Exception {
+        mockMvc.perform(post("/api/email/enviar")
+                            .header(EmailController.CABECALHO_IDEMPOTENCIA, "x".repeat(256))
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(validEmailRequestDTO)))
+               .andExpect(status().isBadRequest())
+               .andExpect(jsonPath("$.message").value("Idempotency-Key deve ter de 1 a 255 caracteres"));
+
+        verifyNoInteractions(emailProcessingService);
+    }
+
     @Test
     @DisplayName("Deve retornar 200 para health check")
     void healthCheck_DeveRetornar200() throws Exception {
@@ -191,6 +450,16 @@ public class EmailControllerTest {
                .andExpect(content().string("Email Service está funcionando!"));
     }
 
+    @Test
+    @DisplayName("Deve retornar 503 no health check enquanto o aquecimento do JIT não termina")
+    void healthCheck_DuranteAquecimento_DeveRetornar503() throws Exception {
+        when(jitWarmup.isConcluido()).thenReturn(false);
+
+        mockMvc.perform(get("/api/email/health"))
+               .andExpect(status().isServiceUnavailable())
+               .andExpect(content().string("Email Service em aquecimento."));
+    }
+
     @Test
     @DisplayName("Deve chamar emailProcessingService apenas uma vez com dados corretos")
     void enviarEmail_DeveInvocarServiceApenasUmaVez() throws Exception {
@@ -203,4 +472,26 @@ public class EmailControllerTest {
         
         verify(emailProcessingService, times(1)).processarEmail(any(EmailRequestDTO.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Deve retornar 503 sem processar quando o limite de concorrência foi atingido")
+    void enviarEmail_ComLimiteAtingido_DeveRetornar503() throws Exception {
+        List<AdaptiveConcurrencyLimiter.Permissao> ocupadas = new ArrayList<>();
+        enviarEmailLimiter.tentarAdquirir().ifPresent(ocupadas::add);
+        while (enviarEmailLimiter.getEmUso() < enviarEmailLimiter.getLimite()) {
+            enviarEmailLimiter.tentarAdquirir().ifPresent(ocupadas::add);
+        }
+
+        try {
+            mockMvc.perform(post("/api/email/enviar")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(validEmailRequestDTO)))
+                   .andExpect(status().isServiceUnavailable())
+                   .andExpect(header().string("Retry-After", "1"));
+        } finally {
+            ocupadas.forEach(AdaptiveConcurrencyLimiter.Permissao::ignorar);
+        }
+
+        verifyNoInteractions(emailProcessingService);
+    }
+}
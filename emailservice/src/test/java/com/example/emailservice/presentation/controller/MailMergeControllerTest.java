@@ -0,0 +1,88 @@
+package com.example.emailservice.presentation.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.example.emailservice.business.domain.dto.MailMergeHeaderDTO;
+import com.example.emailservice.business.domain.dto.MailMergeRecipientDTO;
+import com.example.emailservice.business.domain.dto.MailMergeResultDTO;
+import com.example.emailservice.business.service.MailMergeService;
+
+@WebMvcTest(MailMergeController.class)
+@DisplayName("MailMergeController - Testes Unitários")
+public class MailMergeControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private MailMergeService mailMergeService;
+
+    @Test
+    @DisplayName("Deve ler o cabeçalho e repassar os destinatários do corpo NDJSON")
+    void enviarMalaDireta_ComCorpoNdjson_DeveRepassarCabecalhoEDestinatarios() throws Exception {
+        AtomicReference<MailMergeHeaderDTO> cabecalhoRecebido = new AtomicReference<>();
+        List<String> destinatariosRecebidos = new ArrayList<>();
+
+        when(mailMergeService.processar(any(), any())).thenAnswer(invocacao -> {
+            cabecalhoRecebido.set(invocacao.getArgument(0));
+            Iterator<MailMergeRecipientDTO> destinatarios = invocacao.getArgument(1);
+            destinatarios.forEachRemaining(destinatario -> destinatariosRecebidos.add(destinatario.getRecipientEmail()));
+            return new MailMergeResultDTO(destinatariosRecebidos.size(), destinatariosRecebidos.size(), 0, false, List.of());
+        });
+
+        mockMvc.perform(post("/api/email/mala-direta")
+                            .contentType(MailMergeController.APPLICATION_NDJSON)
+                            .content("""
+                                {"senderEmail":"remetente@email.com","subject":"Novidades","content":"Olá, {{recipientName}}!"}
+                                {"recipientEmail":"ana@email.com","recipientName":"Ana"}
+                                {"recipientEmail":"bruno@email.com","recipientName":"Bruno","variaveis":{"cupom":"X1"}}
+                                """))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.destinatarios").value(2))
+               .andExpect(jsonPath("$.enviados").value(2));
+
+        assertEquals("remetente@email.com", cabecalhoRecebido.get().getSenderEmail());
+        assertEquals("Olá, {{recipientName}}!", cabecalhoRecebido.get().getContent());
+        assertEquals(List.of("ana@email.com", "bruno@email.com"), destinatariosRecebidos);
+    }
+
+    @Test
+    @DisplayName("Deve retornar 400 quando o corpo não tem cabeçalho")
+    void enviarMalaDireta_ComCorpoVazio_DeveRetornar400() throws Exception {
+        mockMvc.perform(post("/api/email/mala-direta")
+                            .contentType(MailMergeController.APPLICATION_NDJSON)
+                            .content(""))
+               .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(mailMergeService);
+    }
+
+    @Test
+    @DisplayName("Deve retornar 400 quando o cabeçalho não é JSON válido")
+    void enviarMalaDireta_ComCabecalhoInvalido_DeveRetornar400() throws Exception {
+        mockMvc.perform(post("/api/email/mala-direta")
+                            .contentType(MailMergeController.APPLICATION_NDJSON)
+                            .content("{\"senderEmail\": \n"))
+               .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(mailMergeService);
+    }
+}
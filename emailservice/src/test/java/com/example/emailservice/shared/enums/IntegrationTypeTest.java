@@ -16,6 +16,7 @@ public class IntegrationTypeTest {
     void deveRetornarDescricaoCorreta() {
         assertEquals("Amazon Web Services", IntegrationType.AWS.getDescription());
         assertEquals("Oracle Cloud Infrastructure", IntegrationType.OCI.getDescription());
+        assertEquals("Servidor SMTP local", IntegrationType.SMTP.getDescription());
     }
 
     @Test
@@ -25,6 +26,7 @@ public class IntegrationTypeTest {
         assertEquals(IntegrationType.AWS, IntegrationType.fromString("aws"));
         assertEquals(IntegrationType.OCI, IntegrationType.fromString("OCI"));
         assertEquals(IntegrationType.OCI, IntegrationType.fromString("oci"));
+        assertEquals(IntegrationType.SMTP, IntegrationType.fromString("smtp"));
     }
 
     @Test
@@ -43,6 +45,7 @@ public class IntegrationTypeTest {
         assertTrue(IntegrationType.isValid("aws"));
         assertTrue(IntegrationType.isValid("OCI"));
         assertTrue(IntegrationType.isValid("oci"));
+        assertTrue(IntegrationType.isValid("SMTP"));
     }
 
     @Test
@@ -0,0 +1,113 @@
+package com.example.emailservice.shared.enums;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.example.emailservice.business.domain.dto.EmailAttachmentDTO;
+import com.example.emailservice.business.domain.dto.EmailRecipientDTO;
+import com.example.emailservice.business.domain.dto.EmailRequestDTO;
+import com.example.emailservice.shared.constants.EmailConstants;
+
+@DisplayName("ValidationResult - Testes Unitários")
+public class ValidationResultTest {
+
+    private EmailRequestDTO requisicaoComListas() {
+        EmailRequestDTO requisicao = new EmailRequestDTO();
+        requisicao.setSenderEmail("remetente@email.com");
+        requisicao.setSubject("Assunto");
+        requisicao.setContent("Conteúdo");
+        return requisicao;
+    }
+
+    private EmailRequestDTO requisicaoValida() {
+        return new EmailRequestDTO("destinatario@email.com", "João Silva", "remetente@email.com",
+            "Assunto", "Conteúdo");
+    }
+
+    @Test
+    @DisplayName("Deve retornar VALIDO para uma requisição válida")
+    void validar_ComRequisicaoValida_DeveRetornarValido() {
+        ValidationResult resultado = requisicaoValida().validar();
+
+        assertEquals(ValidationResult.VALIDO, resultado);
+        assertTrue(resultado.isValido());
+        assertNull(resultado.getMensagem());
+        assertDoesNotThrow(resultado::lancarSeInvalido);
+    }
+
+    @Test
+    @DisplayName("Deve retornar a primeira falha encontrada, sem lançar exceção")
+    void validar_ComRequisicaoInvalida_DeveRetornarFalhaSemLancar() {
+        EmailRequestDTO semDestinatario = requisicaoValida();
+        semDestinatario.setRecipientEmail(" ");
+        EmailRequestDTO destinatarioInvalido = requisicaoValida();
+        destinatarioInvalido.setRecipientEmail("destinatario");
+        EmailRequestDTO remetenteInvalido = requisicaoValida();
+        remetenteInvalido.setSenderEmail("remetente@email");
+        EmailRequestDTO semConteudo = requisicaoValida();
+        semConteudo.setContent(null);
+        semConteudo.setSubject(null);
+
+        assertEquals(ValidationResult.DESTINATARIO_OBRIGATORIO, semDestinatario.validar());
+        assertEquals(ValidationResult.DESTINATARIO_INVALIDO, destinatarioInvalido.validar());
+        assertEquals(ValidationResult.REMETENTE_INVALIDO, remetenteInvalido.validar());
+        assertEquals(ValidationResult.ASSUNTO_OBRIGATORIO, semConteudo.validar());
+    }
+
+    @Test
+    @DisplayName("Deve validar os anexos da requisição")
+    void validar_ComAnexoInvalido_DeveRetornarFalhaDoAnexo() {
+        EmailRequestDTO comAnexoNulo = requisicaoValida();
+        comAnexoNulo.setAnexos(Arrays.asList((EmailAttachmentDTO) null));
+        EmailRequestDTO comAnexoSemArquivo = requisicaoValida();
+        comAnexoSemArquivo.setAnexos(List.of(new EmailAttachmentDTO()));
+
+        assertEquals(ValidationResult.ANEXO_NULO, comAnexoNulo.validar());
+        assertEquals(ValidationResult.ARQUIVO_ANEXO_OBRIGATORIO, comAnexoSemArquivo.validar());
+    }
+
+    @Test
+    @DisplayName("Deve validar as listas to, cc e bcc no lugar de recipientEmail")
+    void validar_ComListasDeDestinatarios_DeveValidarCadaDestinatario() {
+        EmailRequestDTO comListas = requisicaoComListas();
+        comListas.setTo(List.of(new EmailRecipientDTO("ana@email.com", null)));
+        comListas.setBcc(List.of(new EmailRecipientDTO("bruno@email.com", "Bruno")));
+        EmailRequestDTO comDestinatarioEListas = requisicaoValida();
+        comDestinatarioEListas.setCc(List.of(new EmailRecipientDTO("ana@email.com", "Ana")));
+        EmailRequestDTO comCopiaInvalida = requisicaoComListas();
+        comCopiaInvalida.setCc(Arrays.asList(new EmailRecipientDTO("ana@email.com", "Ana"), new EmailRecipientDTO("ana", "Ana")));
+        EmailRequestDTO comDestinatarioNulo = requisicaoComListas();
+        comDestinatarioNulo.setBcc(Arrays.asList((EmailRecipientDTO) null));
+        EmailRequestDTO comExcesso = requisicaoComListas();
+        comExcesso.setTo(Collections.nCopies(EmailConstants.MAX_DESTINATARIOS + 1, new EmailRecipientDTO("ana@email.com", "Ana")));
+
+        assertEquals(ValidationResult.VALIDO, comListas.validar());
+        assertEquals(ValidationResult.DESTINATARIO_E_LISTAS, comDestinatarioEListas.validar());
+        assertEquals(ValidationResult.DESTINATARIO_INVALIDO, comCopiaInvalida.validar());
+        assertEquals(ValidationResult.DESTINATARIO_OBRIGATORIO, comDestinatarioNulo.validar());
+        assertEquals(ValidationResult.DESTINATARIOS_EXCEDIDOS, comExcesso.validar());
+    }
+
+    @Test
+    @DisplayName("lancarSeInvalido deve manter a mensagem do validate")
+    void lancarSeInvalido_ComFalha_DeveLancarComAMensagem() {
+        EmailRequestDTO requisicao = requisicaoValida();
+        requisicao.setRecipientName(null);
+
+        IllegalArgumentException erro = assertThrows(IllegalArgumentException.class, requisicao::validate);
+
+        assertEquals(ValidationResult.NOME_OBRIGATORIO.getMensagem(), erro.getMessage());
+        assertFalse(ValidationResult.NOME_OBRIGATORIO.isValido());
+    }
+}
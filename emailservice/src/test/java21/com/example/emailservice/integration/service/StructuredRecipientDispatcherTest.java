@@ -0,0 +1,99 @@
+package com.example.emailservice.integration.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.example.emailservice.integration.exception.EmailIntegrationException;
+
+@DisplayName("StructuredRecipientDispatcher - Testes Unitários")
+public class StructuredRecipientDispatcherTest {
+
+    /**
+     * Envio que fica bloqueado até ser interrompido, registrando a interrupção
+     */
+    private static Callable<String> bloqueado(AtomicBoolean interrompido) {
+        return () -> {
+            try {
+                Thread.sleep(10_000);
+                return "concluído";
+            } catch (InterruptedException e) {
+                interrompido.set(true);
+                throw e;
+            }
+        };
+    }
+
+    @Test
+    @DisplayName("Deve executar cada envio em uma thread virtual e devolver os resultados na ordem")
+    void despachar_ComVariosEnvios_DeveUsarThreadsVirtuaisERespeitarParalelismo() {
+        StructuredRecipientDispatcher dispatcher = new StructuredRecipientDispatcher(3, 5000);
+        AtomicInteger emAndamento = new AtomicInteger();
+        AtomicInteger maximo = new AtomicInteger();
+        AtomicBoolean plataforma = new AtomicBoolean();
+        List<Callable<Integer>> envios = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            int indice = i;
+            envios.add(() -> {
+                if (!Thread.currentThread().isVirtual()) {
+                    plataforma.set(true);
+                }
+                maximo.accumulateAndGet(emAndamento.incrementAndGet(), Math::max);
+                Thread.sleep(5);
+                emAndamento.decrementAndGet();
+                return indice;
+            });
+        }
+
+        List<Integer> resultados = dispatcher.despachar(envios, indice -> -1);
+
+        for (int i = 0; i < 20; i++) {
+            assertEquals(i, resultados.get(i));
+        }
+        assertTrue(maximo.get() <= 3, "Envios simultâneos: " + maximo.get());
+        assertFalse(plataforma.get(), "Envio executado fora de thread virtual");
+    }
+
+    @Test
+    @DisplayName("Deve interromper as subtarefas pendentes no fim do prazo antes de retornar")
+    void despachar_ComPrazoExcedido_DeveInterromperPendentes() {
+        StructuredRecipientDispatcher dispatcher = new StructuredRecipientDispatcher(2, 200);
+        AtomicBoolean interrompido = new AtomicBoolean();
+
+        long inicio = System.nanoTime();
+        List<String> resultados = dispatcher.despachar(List.of(() -> "enviado", bloqueado(interrompido)),
+            indice -> "expirado " + indice);
+
+        assertEquals(List.of("enviado", "expirado 1"), resultados);
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio) < 5000);
+        assertTrue(interrompido.get());
+    }
+
+    @Test
+    @DisplayName("Deve interromper as subtarefas irmãs quando uma delas falha de forma inesperada")
+    void despachar_ComFalhaFatal_DeveInterromperIrmas() {
+        StructuredRecipientDispatcher dispatcher = new StructuredRecipientDispatcher(2, 10_000);
+        AtomicBoolean interrompido = new AtomicBoolean();
+        Callable<String> falha = () -> {
+            Thread.sleep(50);
+            throw new IllegalStateException("Falha inesperada");
+        };
+
+        EmailIntegrationException erro = assertThrows(EmailIntegrationException.class,
+            () -> dispatcher.despachar(List.of(bloqueado(interrompido), falha), indice -> "expirado"));
+
+        assertTrue(erro.getMessage().contains("Falha inesperada"));
+        assertTrue(interrompido.get());
+    }
+}
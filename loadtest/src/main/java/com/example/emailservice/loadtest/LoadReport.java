@@ -0,0 +1,86 @@
+package com.example.emailservice.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+
+import org.HdrHistogram.Histogram;
+
+import com.example.emailservice.loadtest.OpenLoopGenerator.Amostra;
+import com.example.emailservice.loadtest.OpenLoopGenerator.StepResult;
+
+/**
+ * Relatórios de uma execução de carga, gravados em saida/rotulo:
+ * - taxa-N.hgrm: distribuição de latências da etapa (ms), no formato do HdrHistogram, para plotagem
+ * - curva.csv: uma linha por etapa, com vazão e percentis (curva taxa x latência)
+ * - serie.csv: um ponto por segundo de cada etapa (vazão e latência ao longo do tempo)
+ * Cada etapa também é acrescentada a saida/historico.csv, que acumula as execuções para comparação entre commits.
+ */
+public final class LoadReport {
+
+    private static final double NANOS_POR_MS = 1_000_000.0;
+    private static final String CABECALHO_CURVA =
+        "rotulo,cenario,taxa_alvo,enviadas,sucesso,rejeitadas,falhas,vazao_rps,p50_ms,p90_ms,p99_ms,p999_ms,max_ms";
+
+    private LoadReport() { }
+
+    public static Path gravar(LoadTestSettings configuracao, String rotulo, List<StepResult> etapas,
+                              PrintStream console) throws IOException {
+        Path diretorio = configuracao.saida().resolve(rotulo);
+        Files.createDirectories(diretorio);
+
+        StringBuilder curva = new StringBuilder(CABECALHO_CURVA).append('\n');
+        StringBuilder serie = new StringBuilder("rotulo,taxa_alvo,segundo,concluidas,erros,p50_ms,p99_ms\n");
+        for (StepResult etapa : etapas) {
+            try (PrintStream hgrm = new PrintStream(Files.newOutputStream(diretorio.resolve("taxa-" + etapa.taxa() + ".hgrm")))) {
+                etapa.latencias().outputPercentileDistribution(hgrm, NANOS_POR_MS);
+            }
+            curva.append(linhaCurva(rotulo, configuracao.cenario(), etapa)).append('\n');
+            for (Amostra amostra : etapa.serie()) {
+                serie.append(String.format(Locale.ROOT, "%s,%d,%d,%d,%d,%.3f,%.3f%n", rotulo, etapa.taxa(),
+                    amostra.segundo(), amostra.concluidas(), amostra.erros(), amostra.p50Ms(), amostra.p99Ms()));
+            }
+        }
+        Files.writeString(diretorio.resolve("curva.csv"), curva);
+        Files.writeString(diretorio.resolve("serie.csv"), serie);
+
+        Path historico = configuracao.saida().resolve("historico.csv");
+        if (Files.notExists(historico)) {
+            Files.writeString(historico, "instante," + CABECALHO_CURVA + '\n');
+        }
+        String instante = Instant.now().toString();
+        StringBuilder linhas = new StringBuilder();
+        for (StepResult etapa : etapas) {
+            linhas.append(instante).append(',').append(linhaCurva(rotulo, configuracao.cenario(), etapa)).append('\n');
+        }
+        Files.writeString(historico, linhas, StandardOpenOption.APPEND);
+
+        console.println(curva);
+        return diretorio;
+    }
+
+    /**
+     * Resumo de uma etapa para acompanhamento no console
+     */
+    public static String resumir(StepResult etapa) {
+        Histogram latencias = etapa.latencias();
+        return String.format(Locale.ROOT, "taxa %d/s: %d enviadas, %d sucesso, %d rejeitadas, %d falhas, %.1f resp/s, "
+                + "p50 %.2f ms, p99 %.2f ms, máx %.2f ms", etapa.taxa(), etapa.enviadas(), etapa.sucesso(),
+            etapa.rejeitadas(), etapa.falhas(), etapa.vazao(), latencias.getValueAtPercentile(50) / NANOS_POR_MS,
+            latencias.getValueAtPercentile(99) / NANOS_POR_MS, latencias.getMaxValue() / NANOS_POR_MS);
+    }
+
+    private static String linhaCurva(String rotulo, String cenario, StepResult etapa) {
+        Histogram latencias = etapa.latencias();
+        return String.format(Locale.ROOT, "%s,%s,%d,%d,%d,%d,%d,%.1f,%.3f,%.3f,%.3f,%.3f,%.3f", rotulo, cenario,
+            etapa.taxa(), etapa.enviadas(), etapa.sucesso(), etapa.rejeitadas(), etapa.falhas(), etapa.vazao(),
+            latencias.getValueAtPercentile(50) / NANOS_POR_MS, latencias.getValueAtPercentile(90) / NANOS_POR_MS,
+            latencias.getValueAtPercentile(99) / NANOS_POR_MS, latencias.getValueAtPercentile(99.9) / NANOS_POR_MS,
+            latencias.getMaxValue() / NANOS_POR_MS);
+    }
+}
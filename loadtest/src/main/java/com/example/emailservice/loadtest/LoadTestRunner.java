@@ -0,0 +1,140 @@
+package com.example.emailservice.loadtest;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.example.emailservice.EmailServiceRestApplication;
+import com.example.emailservice.loadtest.OpenLoopGenerator.StepResult;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Execução de carga ponta a ponta contra a aplicação
+ * Sem carga.url, inicia EmailServiceRestApplication em porta aleatória na mesma JVM (logs a partir de WARN e
+ * saída padrão da aplicação descartada); as propriedades mail.* passadas à JVM valem para a aplicação.
+ * Executa um aquecimento na primeira taxa e depois uma etapa por taxa, gravando os relatórios de LoadReport.
+ */
+public final class LoadTestRunner {
+
+    private LoadTestRunner() { }
+
+    public static void main(String[] args) throws Exception {
+        PrintStream console = System.out;
+        LoadTestSettings configuracao = LoadTestSettings.lerPropriedades();
+        String rotulo = configuracao.rotulo().isBlank() ? commitAtual() : configuracao.rotulo();
+
+        ConfigurableApplicationContext aplicacao = null;
+        URI base;
+        if (configuracao.url().isBlank()) {
+            System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+            aplicacao = new SpringApplicationBuilder(EmailServiceRestApplication.class)
+                .properties("server.port=0", "logging.level.com.example.emailservice=WARN",
+                    "spring.main.banner-mode=off")
+                .run();
+            base = URI.create("http://localhost:"
+                + ((WebServerApplicationContext) aplicacao).getWebServer().getPort());
+        } else {
+            base = URI.create(configuracao.url());
+        }
+
+        try {
+            HttpClient cliente = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+            OpenLoopGenerator gerador = new OpenLoopGenerator(cliente, criarRequisicao(base, configuracao),
+                configuracao.conexoes());
+            console.printf("Carga %s contra %s (%s), até %d conexões.%n", rotulo, base, configuracao.cenario(),
+                configuracao.conexoes());
+
+            if (configuracao.aquecimentoSegundos() > 0) {
+                console.println("Aquecimento: " + LoadReport.resumir(
+                    gerador.executar(configuracao.taxas().get(0), configuracao.aquecimentoSegundos())));
+            }
+            List<StepResult> etapas = new ArrayList<>();
+            for (int taxa : configuracao.taxas()) {
+                StepResult etapa = gerador.executar(taxa, configuracao.duracaoSegundos());
+                console.println(LoadReport.resumir(etapa));
+                etapas.add(etapa);
+            }
+            console.println("Relatórios em " + LoadReport.gravar(configuracao, rotulo, etapas, console));
+        } finally {
+            if (aplicacao != null) {
+                aplicacao.close();
+            }
+            System.setOut(console);
+        }
+    }
+
+    private static HttpRequest criarRequisicao(URI base, LoadTestSettings configuracao) throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper();
+        String conteudo = conteudo(configuracao.tamanhoConteudo());
+
+        if (!configuracao.isMalaDireta()) {
+            Map<String, Object> email = new LinkedHashMap<>();
+            email.put("recipientEmail", "destinatario@email.com");
+            email.put("recipientName", "Destinatário de Carga");
+            email.put("senderEmail", "remetente@email.com");
+            email.put("subject", "Teste de carga");
+            email.put("content", conteudo);
+            return HttpRequest.newBuilder(base.resolve("/api/email/enviar"))
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(30))
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(email)))
+                .build();
+        }
+
+        StringBuilder corpo = new StringBuilder(objectMapper.writeValueAsString(Map.of(
+            "senderEmail", "remetente@email.com",
+            "subject", "Teste de carga",
+            "content", "Olá, {{recipientName}}! " + conteudo))).append('\n');
+        for (int i = 0; i < configuracao.destinatarios(); i++) {
+            corpo.append(objectMapper.writeValueAsString(Map.of(
+                "recipientEmail", "destinatario" + i + "@email.com",
+                "recipientName", "Destinatário " + i))).append('\n');
+        }
+        return HttpRequest.newBuilder(base.resolve("/api/email/mala-direta"))
+            .header("Content-Type", "application/x-ndjson")
+            .timeout(Duration.ofSeconds(30))
+            .POST(HttpRequest.BodyPublishers.ofString(corpo.toString(), StandardCharsets.UTF_8))
+            .build();
+    }
+
+    private static String conteudo(int tamanho) {
+        String frase = "Seu pedido foi confirmado e será entregue no prazo informado. ";
+        StringBuilder conteudo = new StringBuilder(tamanho + frase.length());
+        while (conteudo.length() < tamanho) {
+            conteudo.append(frase);
+        }
+        return conteudo.substring(0, tamanho).strip();
+    }
+
+    /**
+     * Commit atual (abreviado), usado como rótulo padrão para comparar execuções entre commits
+     */
+    private static String commitAtual() {
+        try {
+            Process git = new ProcessBuilder("git", "rev-parse", "--short", "HEAD").redirectErrorStream(true).start();
+            String commit = new String(git.getInputStream().readAllBytes(), StandardCharsets.UTF_8).strip();
+            return git.waitFor() == 0 && !commit.isEmpty() ? commit : "local";
+        } catch (IOException e) {
+            return "local";
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "local";
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.emailservice.loadtest;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Parâmetros de uma execução de carga, lidos das propriedades de sistema carga.*
+ * @param taxas taxas de chegada (requisições por segundo), uma etapa por taxa, em ordem
+ * @param duracaoSegundos duração de cada etapa
+ * @param aquecimentoSegundos aquecimento na primeira taxa, descartado dos relatórios
+ * @param conexoes máximo de requisições em andamento (e de conexões HTTP/1.1 abertas)
+ * @param cenario "enviar" (POST /api/email/enviar) ou "mala-direta" (POST /api/email/mala-direta)
+ * @param destinatarios destinatários por requisição no cenário mala-direta
+ * @param tamanhoConteudo tamanho do conteúdo de cada email, em caracteres
+ * @param url endereço de uma instância já em execução; vazio inicia a aplicação embarcada em porta aleatória
+ * @param rotulo identificação da execução nos relatórios; vazio usa o commit atual
+ * @param saida diretório dos relatórios
+ */
+public record LoadTestSettings(List<Integer> taxas, int duracaoSegundos, int aquecimentoSegundos, int conexoes,
+                               String cenario, int destinatarios, int tamanhoConteudo, String url, String rotulo,
+                               Path saida) {
+
+    public static LoadTestSettings lerPropriedades() {
+        LoadTestSettings configuracao = new LoadTestSettings(
+            Arrays.stream(System.getProperty("carga.taxas", "50,100,200").split(","))
+                .map(String::trim)
+                .map(Integer::valueOf)
+                .toList(),
+            Integer.getInteger("carga.duracao-s", 20),
+            Integer.getInteger("carga.aquecimento-s", 5),
+            Integer.getInteger("carga.conexoes", 64),
+            System.getProperty("carga.cenario", "enviar"),
+            Integer.getInteger("carga.destinatarios", 10),
+            Integer.getInteger("carga.tamanho-conteudo", 1024),
+            System.getProperty("carga.url", ""),
+            System.getProperty("carga.rotulo", ""),
+            Path.of(System.getProperty("carga.saida", "resultados")));
+        configuracao.validar();
+        return configuracao;
+    }
+
+    public boolean isMalaDireta() {
+        return "mala-direta".equals(cenario);
+    }
+
+    private void validar() {
+        if (taxas.isEmpty() || taxas.stream().anyMatch(taxa -> taxa <= 0)) {
+            throw new IllegalArgumentException("carga.taxas deve ter apenas taxas positivas.");
+        }
+        if (duracaoSegundos <= 0 || aquecimentoSegundos < 0 || conexoes <= 0 || destinatarios <= 0) {
+            throw new IllegalArgumentException("Duração, conexões e destinatários devem ser positivos.");
+        }
+        if (!"enviar".equals(cenario) && !isMalaDireta()) {
+            throw new IllegalArgumentException("carga.cenario deve ser enviar ou mala-direta.");
+        }
+    }
+}
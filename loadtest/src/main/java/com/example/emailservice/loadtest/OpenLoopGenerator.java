@@ -0,0 +1,135 @@
+package com.example.emailservice.loadtest;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+/**
+ * Gerador de carga em modelo aberto: as requisições partem em instantes fixos (taxa constante),
+ * independentemente de as anteriores já terem terminado
+ * A latência é medida a partir do instante em que a requisição deveria ter partido, e não de quando
+ * partiu de fato: se o serviço ou o limite de conexões atrasar o envio, a espera entra na medição
+ * (sem omissão coordenada). Uma etapa termina quando todas as requisições enviadas respondem.
+ */
+public class OpenLoopGenerator {
+
+    private static final long NANOS_POR_SEGUNDO = TimeUnit.SECONDS.toNanos(1);
+
+    private final HttpClient cliente;
+    private final HttpRequest requisicao;
+    private final int conexoes;
+
+    public OpenLoopGenerator(HttpClient cliente, HttpRequest requisicao, int conexoes) {
+        this.cliente = cliente;
+        this.requisicao = requisicao;
+        this.conexoes = conexoes;
+    }
+
+    /**
+     * Executa uma etapa na taxa informada
+     * @param taxa requisições por segundo
+     * @param duracaoSegundos duração do envio; a etapa ainda aguarda as respostas pendentes
+     */
+    public StepResult executar(int taxa, int duracaoSegundos) throws InterruptedException {
+        Semaphore vagas = new Semaphore(conexoes);
+        Recorder recorder = new Recorder(3);
+        Histogram latencias = new Histogram(3);
+        LongAdder sucesso = new LongAdder();
+        LongAdder rejeitadas = new LongAdder();
+        LongAdder falhas = new LongAdder();
+        LongAdder errosNoIntervalo = new LongAdder();
+        List<Amostra> serie = new ArrayList<>();
+
+        ScheduledExecutorService amostragem = Executors.newSingleThreadScheduledExecutor(tarefa -> {
+            Thread thread = new Thread(tarefa, "carga-amostragem");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalo = NANOS_POR_SEGUNDO / taxa;
+        long inicio = System.nanoTime();
+        long fim = inicio + duracaoSegundos * NANOS_POR_SEGUNDO;
+        long enviadas = 0;
+
+        amostragem.scheduleAtFixedRate(() -> amostrar(recorder, latencias, errosNoIntervalo, serie),
+            1, 1, TimeUnit.SECONDS);
+        try {
+            for (long previsto = inicio; previsto < fim; previsto += intervalo) {
+                esperarAte(previsto);
+                vagas.acquire();
+                long agendado = previsto;
+                enviadas++;
+                cliente.sendAsync(requisicao, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((resposta, erro) -> {
+                        recorder.recordValue(System.nanoTime() - agendado);
+                        vagas.release();
+                        if (erro == null && resposta.statusCode() / 100 == 2) {
+                            sucesso.increment();
+                            return;
+                        }
+                        errosNoIntervalo.increment();
+                        if (erro == null && (resposta.statusCode() == 429 || resposta.statusCode() == 503)) {
+                            rejeitadas.increment();
+                        } else {
+                            falhas.increment();
+                        }
+                    });
+            }
+            vagas.acquire(conexoes);
+        } finally {
+            amostragem.shutdown();
+            amostragem.awaitTermination(5, TimeUnit.SECONDS);
+        }
+        double duracaoReal = (System.nanoTime() - inicio) / (double) NANOS_POR_SEGUNDO;
+        amostrar(recorder, latencias, errosNoIntervalo, serie);
+
+        return new StepResult(taxa, enviadas, sucesso.sum(), rejeitadas.sum(), falhas.sum(), duracaoReal,
+            latencias, serie);
+    }
+
+    /**
+     * Fecha o intervalo do recorder: acumula no histograma da etapa e registra o ponto da série
+     * Chamado a cada segundo pela thread de amostragem e uma última vez ao fim da etapa
+     */
+    private static synchronized void amostrar(Recorder recorder, Histogram latencias, LongAdder errosNoIntervalo,
+                                              List<Amostra> serie) {
+        Histogram intervalo = recorder.getIntervalHistogram();
+        latencias.add(intervalo);
+        serie.add(new Amostra(serie.size() + 1, intervalo.getTotalCount(), errosNoIntervalo.sumThenReset(),
+            intervalo.getValueAtPercentile(50) / 1e6, intervalo.getValueAtPercentile(99) / 1e6));
+    }
+
+    private static void esperarAte(long instante) {
+        long restante;
+        while ((restante = instante - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(restante);
+        }
+    }
+
+    /**
+     * Um segundo da série: respostas recebidas, das quais com erro (rejeições e falhas), e latências em ms
+     */
+    public record Amostra(int segundo, long concluidas, long erros, double p50Ms, double p99Ms) {
+    }
+
+    /**
+     * Resultado de uma etapa; latências em nanossegundos
+     */
+    public record StepResult(int taxa, long enviadas, long sucesso, long rejeitadas, long falhas,
+                             double duracaoSegundos, Histogram latencias, List<Amostra> serie) {
+
+        public double vazao() {
+            return (sucesso + rejeitadas + falhas) / duracaoSegundos;
+        }
+    }
+}
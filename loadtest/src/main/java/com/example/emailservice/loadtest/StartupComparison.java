@@ -0,0 +1,208 @@
+package com.example.emailservice.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Comparação de partida entre as formas de executar a aplicação:
+ * - jvm: o jar executável
+ * - jvm-extraido e jvm-cds: o jar extraído pelo perfil Maven "cds", sem e com o arquivo CDS
+ * - nativo: a imagem nativa do perfil Maven "native"
+ * Cada variante é iniciada partida.repeticoes vezes em processo separado, em porta livre, medindo:
+ * - o tempo até /actuator/health responder 200 (inclui a subida do processo e o aquecimento do JIT)
+ * - o tempo até o primeiro POST /api/email/enviar bem-sucedido, enviado logo depois
+ * - o RSS do processo quando pronto e depois de partida.envios envios
+ * O RSS é lido de /proc/PID/status (Linux). Variantes sem artefato são ignoradas com aviso.
+ * O resultado vai para saida/rotulo/partida.csv, com a mediana de cada variante no console.
+ */
+public final class StartupComparison {
+
+    private static final Duration ESPERA_MAXIMA = Duration.ofSeconds(60);
+    private static final String CORPO_EMAIL = "{\"recipientEmail\":\"destinatario@email.com\","
+        + "\"recipientName\":\"Destinatário de Partida\",\"senderEmail\":\"remetente@email.com\","
+        + "\"subject\":\"Teste de partida\",\"content\":\"Seu pedido foi confirmado.\"}";
+
+    private StartupComparison() { }
+
+    record Medicao(String variante, int execucao, long partidaMs, long primeiroEnvioMs, long rssProntoKb,
+                   long rssAposEnviosKb) { }
+
+    public static void main(String[] args) throws Exception {
+        PrintStream console = System.out;
+        int repeticoes = Integer.getInteger("partida.repeticoes", 5);
+        int envios = Integer.getInteger("partida.envios", 200);
+        String rotulo = System.getProperty("partida.rotulo", "partida");
+        Path saida = Path.of(System.getProperty("partida.saida", "resultados")).resolve(rotulo);
+        Path jar = Path.of(System.getProperty("partida.jar", "../emailservice/target/emailservice-0.0.1-SNAPSHOT-exec.jar"));
+        Path cds = Path.of(System.getProperty("partida.cds", "../emailservice/target/cds"));
+        Path nativo = Path.of(System.getProperty("partida.nativo", "../emailservice/target/emailservice"));
+        List<String> jvmArgs = Arrays.stream(System.getProperty("partida.jvm.args", "").split(" "))
+            .filter(arg -> !arg.isBlank())
+            .toList();
+
+        HttpClient cliente = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        List<Medicao> medicoes = new ArrayList<>();
+        if (Files.isRegularFile(jar)) {
+            medicoes.addAll(medir("jvm", java(jvmArgs, null, jar), repeticoes, envios, cliente, console));
+        } else {
+            console.println("Jar não encontrado em " + jar + "; execute mvn install na raiz.");
+        }
+        Path arquivoCds = cds.resolve("emailservice.jsa").toAbsolutePath().normalize();
+        if (Files.isRegularFile(arquivoCds)) {
+            // mesmo caminho absoluto usado no treino, exigido pela JVM para aceitar o arquivo
+            Path extraido = cds.resolve("emailservice.jar").toAbsolutePath().normalize();
+            medicoes.addAll(medir("jvm-extraido", java(jvmArgs, null, extraido), repeticoes, envios, cliente, console));
+            medicoes.addAll(medir("jvm-cds", java(jvmArgs, arquivoCds, extraido), repeticoes, envios, cliente, console));
+        } else {
+            console.println("Arquivo CDS não encontrado em " + cds + "; execute mvn -Pcds package em emailservice.");
+        }
+        if (Files.isExecutable(nativo)) {
+            medicoes.addAll(medir("nativo", List.of(nativo.toString()), repeticoes, envios, cliente, console));
+        } else {
+            console.println("Imagem nativa não encontrada em " + nativo + "; execute mvn -Pnative package em emailservice.");
+        }
+        if (medicoes.isEmpty()) {
+            return;
+        }
+
+        Files.createDirectories(saida);
+        StringBuilder csv = new StringBuilder(
+            "variante,execucao,partida_ms,primeiro_envio_ms,rss_pronto_kb,rss_apos_envios_kb\n");
+        for (Medicao medicao : medicoes) {
+            csv.append(String.format(Locale.ROOT, "%s,%d,%d,%d,%d,%d%n", medicao.variante(), medicao.execucao(),
+                medicao.partidaMs(), medicao.primeiroEnvioMs(), medicao.rssProntoKb(), medicao.rssAposEnviosKb()));
+        }
+        Files.writeString(saida.resolve("partida.csv"), csv);
+        for (String variante : List.of("jvm", "jvm-extraido", "jvm-cds", "nativo")) {
+            List<Medicao> daVariante = medicoes.stream().filter(medicao -> medicao.variante().equals(variante)).toList();
+            if (!daVariante.isEmpty()) {
+                console.printf(Locale.ROOT, "%s: partida %d ms, primeiro envio %d ms, RSS pronto %.1f MB, "
+                        + "RSS após %d envios %.1f MB (medianas de %d)%n",
+                    variante, mediana(daVariante.stream().mapToLong(Medicao::partidaMs).toArray()),
+                    mediana(daVariante.stream().mapToLong(Medicao::primeiroEnvioMs).toArray()),
+                    mediana(daVariante.stream().mapToLong(Medicao::rssProntoKb).toArray()) / 1024.0, envios,
+                    mediana(daVariante.stream().mapToLong(Medicao::rssAposEnviosKb).toArray()) / 1024.0,
+                    daVariante.size());
+            }
+        }
+        console.println("Relatório em " + saida.resolve("partida.csv"));
+    }
+
+    private static List<Medicao> medir(String variante, List<String> comando, int repeticoes, int envios,
+                                       HttpClient cliente, PrintStream console) throws Exception {
+        List<Medicao> medicoes = new ArrayList<>();
+        for (int execucao = 1; execucao <= repeticoes; execucao++) {
+            int porta = portaLivre();
+            List<String> completo = new ArrayList<>(comando);
+            completo.addAll(List.of("--server.port=" + porta, "--spring.main.banner-mode=off",
+                "--logging.level.com.example.emailservice=WARN"));
+            URI base = URI.create("http://localhost:" + porta);
+
+            long inicio = System.nanoTime();
+            Process processo = new ProcessBuilder(completo)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .redirectError(ProcessBuilder.Redirect.DISCARD)
+                .start();
+            try {
+                aguardarPronto(cliente, base, processo);
+                long partidaMs = (System.nanoTime() - inicio) / 1_000_000;
+                long rssPronto = rssKb(processo.pid());
+                HttpRequest envio = requisicaoDeEnvio(base);
+                int status = cliente.send(envio, HttpResponse.BodyHandlers.discarding()).statusCode();
+                if (status != 204) {
+                    throw new IllegalStateException("Primeiro envio de " + variante + " respondeu " + status + ".");
+                }
+                long primeiroEnvioMs = (System.nanoTime() - inicio) / 1_000_000;
+                for (int i = 1; i < envios; i++) {
+                    cliente.send(envio, HttpResponse.BodyHandlers.discarding());
+                }
+                Medicao medicao = new Medicao(variante, execucao, partidaMs, primeiroEnvioMs, rssPronto,
+                    rssKb(processo.pid()));
+                console.printf("%s #%d: partida %d ms, primeiro envio %d ms, RSS %d KB -> %d KB%n", variante, execucao,
+                    medicao.partidaMs(), medicao.primeiroEnvioMs(), medicao.rssProntoKb(), medicao.rssAposEnviosKb());
+                medicoes.add(medicao);
+            } finally {
+                processo.destroy();
+                processo.waitFor();
+            }
+        }
+        return medicoes;
+    }
+
+    private static void aguardarPronto(HttpClient cliente, URI base, Process processo) throws Exception {
+        HttpRequest health = HttpRequest.newBuilder(base.resolve("/actuator/health")).timeout(Duration.ofSeconds(1)).build();
+        long limite = System.nanoTime() + ESPERA_MAXIMA.toNanos();
+        while (System.nanoTime() < limite) {
+            if (!processo.isAlive()) {
+                throw new IllegalStateException("Processo encerrado antes de ficar pronto (código " + processo.exitValue() + ").");
+            }
+            try {
+                if (cliente.send(health, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // ainda subindo
+            }
+            Thread.sleep(5);
+        }
+        throw new IllegalStateException("Aplicação não ficou pronta em " + ESPERA_MAXIMA.toSeconds() + " s.");
+    }
+
+    private static HttpRequest requisicaoDeEnvio(URI base) {
+        return HttpRequest.newBuilder(base.resolve("/api/email/enviar"))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(CORPO_EMAIL, StandardCharsets.UTF_8))
+            .build();
+    }
+
+    private static List<String> java(List<String> jvmArgs, Path arquivoCds, Path jar) {
+        List<String> comando = new ArrayList<>(List.of("java"));
+        if (arquivoCds != null) {
+            comando.add("-XX:SharedArchiveFile=" + arquivoCds);
+        }
+        comando.addAll(jvmArgs);
+        comando.addAll(List.of("-jar", jar.toString()));
+        return comando;
+    }
+
+    /**
+     * RSS atual do processo em KB, ou -1 fora do Linux
+     */
+    private static long rssKb(long pid) throws IOException {
+        Path status = Path.of("/proc", Long.toString(pid), "status");
+        if (!Files.isReadable(status)) {
+            return -1;
+        }
+        for (String linha : Files.readAllLines(status)) {
+            if (linha.startsWith("VmRSS:")) {
+                return Long.parseLong(linha.substring("VmRSS:".length()).replace("kB", "").trim());
+            }
+        }
+        return -1;
+    }
+
+    private static int portaLivre() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static long mediana(long[] valores) {
+        long[] ordenados = valores.clone();
+        Arrays.sort(ordenados);
+        return ordenados[ordenados.length / 2];
+    }
+}